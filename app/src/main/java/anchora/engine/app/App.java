@@ -11,13 +11,60 @@ import static anchora.engine.app.MessageUtils.getMessage;
 
 import org.apache.commons.text.WordUtils;
 
+import anchora.engine.app.render.FrameReadback;
+import anchora.engine.app.texture.Image;
+import anchora.engine.app.texture.ImageUtils;
+
 public class App {
     public static void main(String[] args) {
         LinkedList tokens;
         tokens = split(getMessage());
         String result = join(tokens);
         System.out.println(WordUtils.capitalize(result));
-        WindowUtils window = new WindowUtils();
+
+        // --headless <frames> [--capture <file.png>] renders offscreen and
+        // prints the frame metrics, optionally saving the last frame
+        boolean headless = false;
+        int headlessFrames = 0;
+        String capturePath = null;
+        for (int i = 0; i < args.length; i += 2) {
+            if (!args[i].equals("--headless") && !args[i].equals("--capture")) {
+                continue;
+            } else if (i + 1 == args.length) {
+                throw new IllegalArgumentException("App: Missing value for " + args[i]);
+            }
+
+            if (args[i].equals("--headless")) {
+                headless = true;
+                headlessFrames = Integer.parseInt(args[i + 1]);
+                if (headlessFrames <= 0) {
+                    throw new IllegalArgumentException("App: Invalid headless frame count: "
+                            + args[i + 1]);
+                }
+            } else {
+                capturePath = args[i + 1];
+            }
+        }
+
+        if (!headless) {
+            WindowUtils window = new WindowUtils();
+            window.run();
+            return;
+        }
+
+        Image[] lastFrame = new Image[1];
+        WindowUtils window = WindowUtils.headless(headlessFrames, capturePath == null ? null
+                : (frame, pixels, width, height) -> {
+                    if (lastFrame[0] == null) {
+                        lastFrame[0] = Image.allocate(width, height);
+                    }
+                    FrameReadback.copyToImage(pixels, width, height, lastFrame[0]);
+                });
         window.run();
+
+        if (lastFrame[0] != null) {
+            ImageUtils.writePng(lastFrame[0], capturePath);
+            lastFrame[0].free();
+        }
     }
 }
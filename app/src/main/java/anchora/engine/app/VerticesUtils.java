@@ -1,33 +1,66 @@
 package anchora.engine.app;
 
+import java.nio.FloatBuffer;
+
+import anchora.engine.app.geometry.UnitCircle;
+
+/**
+ * Generates interleaved vertex data for simple 2D shapes.
+ *
+ * <p>Every shape comes in two forms. The array form allocates and returns a
+ * new {@code float[]}. The buffer form writes complete
+ * {@link #SINGLE_VERTEX_ARRAY_LENGTH}-float vertices (position, z and color)
+ * straight into a caller-owned {@link FloatBuffer} at an absolute offset and
+ * returns the number of floats written, so a frame's geometry can be built
+ * without touching the heap. The buffer's position and limit are never
+ * changed.
+ *
+ * <p>These shapes are outlines only. Filled, indexed circles and polygons
+ * with an adaptive segment count come from
+ * {@link anchora.engine.app.geometry.GeometryUtils}, and arbitrary polygons
+ * and joined polylines from {@link anchora.engine.app.geometry.Tessellator}.
+ */
 public class VerticesUtils {
 
-    private final static int SINGLE_VERTEX_ARRAY_LENGTH = 7;
+    public final static int SINGLE_VERTEX_ARRAY_LENGTH = 7;
 
     public static float[] generateHexagon(
             float sideLength, float centerX, float centerY, int singleVertexArrayLength) {
 
         float[] verticies = new float[6 * singleVertexArrayLength];
+        writeHexagon(FloatBuffer.wrap(verticies), 0, singleVertexArrayLength,
+                sideLength, centerX, centerY, null);
+        return verticies;
+    }
 
-        // Calculate vertices for the hexagon
-        for (int i = 0; i < 6; i++) {
-            double angle = 2 * Math.PI / 6 * i;
-            verticies[i * singleVertexArrayLength] = (int) (centerX + sideLength * Math.cos(angle));
-            verticies[i * singleVertexArrayLength + 1] = (int) (centerY + sideLength * Math.sin(angle));
-        }
+    /**
+     * Writes a hexagon into {@code dst}.
+     *
+     * @param dst        The buffer to write into.
+     * @param offset     The index of the first float to write.
+     * @param sideLength The distance from the center to each corner.
+     * @param centerX    The x coordinate of the center.
+     * @param centerY    The y coordinate of the center.
+     * @param color      An array of floats with RGBA values.
+     * @return The number of floats written.
+     */
+    public static int generateHexagon(FloatBuffer dst, int offset,
+            float sideLength, float centerX, float centerY, float[] color) {
 
-        return verticies;
+        checkDestination(dst, offset, 6, color);
+        return writeHexagon(dst, offset, SINGLE_VERTEX_ARRAY_LENGTH,
+                sideLength, centerX, centerY, color);
     }
 
     /**
-     * Generates a line with the specified coordinates, line width and color.
-     * @param x1 
-     * @param y1
-     * @param x2
-     * @param y2
-     * @param lineWidth 
-     * @param color an array of floats with RGBA values.
-     * @return
+     * Generates a line from (x1, y1) to (x2, y2) as a quad, its four corners
+     * in winding order for {@code ShapeBatch.drawQuad}. The quad reaches
+     * {@code lineWidth} to either side of the line and ends flat at both
+     * points. A line of zero length becomes a vertical edge.
+     *
+     * @param lineWidth The distance from the line to each long edge.
+     * @param color     An array of floats with RGBA values.
+     * @return The four vertices.
      */
     public static float[] generateLine(int x1, int y1, int x2, int y2, float lineWidth, float[] color) {
 
@@ -35,65 +68,122 @@ public class VerticesUtils {
             throw new IllegalArgumentException("VerticesUtils: Invalid color input.");
         }
 
-        float[] vertices = generateVerticies(color, 4);
-        vertices[0] = x1;
-        vertices[1] = y1 + lineWidth;
-        vertices[0 + SINGLE_VERTEX_ARRAY_LENGTH] = y1 - lineWidth;
-        vertices[1 + SINGLE_VERTEX_ARRAY_LENGTH] = x1;
-        vertices[0 + SINGLE_VERTEX_ARRAY_LENGTH * 2] = y2 + lineWidth;
-        vertices[1 + SINGLE_VERTEX_ARRAY_LENGTH * 2] = x2;
-        vertices[0 + SINGLE_VERTEX_ARRAY_LENGTH * 3] = y2 - lineWidth;
-        vertices[1 + SINGLE_VERTEX_ARRAY_LENGTH * 3] = x2;
+        float[] vertices = new float[4 * SINGLE_VERTEX_ARRAY_LENGTH];
+        writeLine(FloatBuffer.wrap(vertices), 0, x1, y1, x2, y2, lineWidth, color);
         return vertices;
 
     }
 
+    /**
+     * Writes a line into {@code dst}.
+     *
+     * @param dst    The buffer to write into.
+     * @param offset The index of the first float to write.
+     * @param color  An array of floats with RGBA values.
+     * @return The number of floats written.
+     * @see #generateLine(int, int, int, int, float, float[])
+     */
+    public static int generateLine(FloatBuffer dst, int offset,
+            int x1, int y1, int x2, int y2, float lineWidth, float[] color) {
+
+        checkDestination(dst, offset, 4, color);
+        return writeLine(dst, offset, x1, y1, x2, y2, lineWidth, color);
+    }
+
     public static float[] generateRectangle(int x, int y, int width, int height, int singleVertexArrayLength) {
         float[] vertices = new float[4 * singleVertexArrayLength];
-        vertices[0] = x;
-        vertices[1] = y;
-        vertices[0 + singleVertexArrayLength] = x;
-        vertices[1 + singleVertexArrayLength] = y + height;
-        vertices[0 + singleVertexArrayLength * 2] = x + width;
-        vertices[1 + singleVertexArrayLength * 2] = y + height;
-        vertices[0 + singleVertexArrayLength * 3] = x + width;
-        vertices[1 + singleVertexArrayLength * 3] = y;
+        writeRectangle(FloatBuffer.wrap(vertices), 0, singleVertexArrayLength,
+                x, y, width, height, null);
         return vertices;
     }
 
+    /**
+     * Writes a rectangle into {@code dst}.
+     *
+     * @param dst    The buffer to write into.
+     * @param offset The index of the first float to write.
+     * @param color  An array of floats with RGBA values.
+     * @return The number of floats written.
+     */
+    public static int generateRectangle(FloatBuffer dst, int offset,
+            int x, int y, int width, int height, float[] color) {
+
+        checkDestination(dst, offset, 4, color);
+        return writeRectangle(dst, offset, SINGLE_VERTEX_ARRAY_LENGTH,
+                x, y, width, height, color);
+    }
+
     public static float[] generateTriangle(int x1, int y1, int x2, int y2, int x3, int y3,
             int singleVertexArrayLength) {
         float[] vertices = new float[3 * singleVertexArrayLength];
-        vertices[0] = x1;
-        vertices[1] = y1;
-        vertices[0 + singleVertexArrayLength] = x2;
-        vertices[1 + singleVertexArrayLength] = y2;
-        vertices[0 + singleVertexArrayLength * 2] = x3;
-        vertices[1 + singleVertexArrayLength * 2] = y3;
+        writeTriangle(FloatBuffer.wrap(vertices), 0, singleVertexArrayLength,
+                x1, y1, x2, y2, x3, y3, null);
         return vertices;
     }
 
+    /**
+     * Writes a triangle into {@code dst}.
+     *
+     * @param dst    The buffer to write into.
+     * @param offset The index of the first float to write.
+     * @param color  An array of floats with RGBA values.
+     * @return The number of floats written.
+     */
+    public static int generateTriangle(FloatBuffer dst, int offset,
+            int x1, int y1, int x2, int y2, int x3, int y3, float[] color) {
+
+        checkDestination(dst, offset, 3, color);
+        return writeTriangle(dst, offset, SINGLE_VERTEX_ARRAY_LENGTH,
+                x1, y1, x2, y2, x3, y3, color);
+    }
+
     public static float[] generateCircle(int centerX, int centerY, int radius, int singleVertexArrayLength) {
         float[] vertices = new float[360 * singleVertexArrayLength];
-        for (int i = 0; i < 360; i++) {
-            double angle = 2 * Math.PI / 360 * i;
-            vertices[i * singleVertexArrayLength] = (int) (centerX + radius * Math.cos(angle));
-            vertices[i * singleVertexArrayLength + 1] = (int) (centerY + radius * Math.sin(angle));
-        }
+        writePolygon(FloatBuffer.wrap(vertices), 0, singleVertexArrayLength,
+                centerX, centerY, radius, 360, null);
         return vertices;
     }
 
+    /**
+     * Writes a circle into {@code dst}.
+     *
+     * @param dst    The buffer to write into.
+     * @param offset The index of the first float to write.
+     * @param color  An array of floats with RGBA values.
+     * @return The number of floats written.
+     */
+    public static int generateCircle(FloatBuffer dst, int offset,
+            int centerX, int centerY, int radius, float[] color) {
+
+        checkDestination(dst, offset, 360, color);
+        return writePolygon(dst, offset, SINGLE_VERTEX_ARRAY_LENGTH,
+                centerX, centerY, radius, 360, color);
+    }
+
     public static float[] generatePolygon(int centerX, int centerY, int radius, int sides,
             int singleVertexArrayLength) {
         float[] vertices = new float[sides * singleVertexArrayLength];
-        for (int i = 0; i < sides; i++) {
-            double angle = 2 * Math.PI / sides * i;
-            vertices[i * singleVertexArrayLength] = (int) (centerX + radius * Math.cos(angle));
-            vertices[i * singleVertexArrayLength + 1] = (int) (centerY + radius * Math.sin(angle));
-        }
+        writePolygon(FloatBuffer.wrap(vertices), 0, singleVertexArrayLength,
+                centerX, centerY, radius, sides, null);
         return vertices;
     }
 
+    /**
+     * Writes a regular polygon into {@code dst}.
+     *
+     * @param dst    The buffer to write into.
+     * @param offset The index of the first float to write.
+     * @param color  An array of floats with RGBA values.
+     * @return The number of floats written.
+     */
+    public static int generatePolygon(FloatBuffer dst, int offset,
+            int centerX, int centerY, int radius, int sides, float[] color) {
+
+        checkDestination(dst, offset, sides, color);
+        return writePolygon(dst, offset, SINGLE_VERTEX_ARRAY_LENGTH,
+                centerX, centerY, radius, sides, color);
+    }
+
     /**
      * Generates a vertex with the specified coordinates and color.
      *
@@ -111,22 +201,125 @@ public class VerticesUtils {
             throw new IllegalArgumentException("VerticesUtils: Invalid verticies amount.");
         }
 
-        float x = 0;
-        float y = 0;
-        float z = 0;
-        int singleVertexArrayLength = 7;
-        float[] vertices = new float[singleVertexArrayLength * verticiesAmount];
+        float[] vertices = new float[SINGLE_VERTEX_ARRAY_LENGTH * verticiesAmount];
+        writeVerticies(FloatBuffer.wrap(vertices), 0, color, verticiesAmount);
+        return vertices;
+    }
+
+    /**
+     * Writes vertices at the origin with the specified color into {@code dst}.
+     *
+     * @param dst             The buffer to write into.
+     * @param offset          The index of the first float to write.
+     * @param color           An array of floats with RGBA values.
+     * @param verticiesAmount The amount of verticies to generate.
+     * @return The number of floats written.
+     */
+    public static int generateVerticies(FloatBuffer dst, int offset, float[] color, int verticiesAmount) {
+
+        if (verticiesAmount < 1) {
+            throw new IllegalArgumentException("VerticesUtils: Invalid verticies amount.");
+        }
+
+        checkDestination(dst, offset, verticiesAmount, color);
+        return writeVerticies(dst, offset, color, verticiesAmount);
+    }
+
+    private static int writeHexagon(FloatBuffer dst, int offset, int stride,
+            float sideLength, float centerX, float centerY, float[] color) {
+
+        // Calculate vertices for the hexagon
+        UnitCircle circle = UnitCircle.of(6);
+        for (int i = 0; i < 6; i++) {
+            putVertex(dst, offset + i * stride,
+                    centerX + sideLength * circle.cos(i),
+                    centerY + sideLength * circle.sin(i), color);
+        }
+
+        return 6 * stride;
+    }
+
+    private static int writeLine(FloatBuffer dst, int offset,
+            int x1, int y1, int x2, int y2, float lineWidth, float[] color) {
+
+        // lineWidth along the line's left normal
+        float dx = x2 - x1;
+        float dy = y2 - y1;
+        float length = (float) Math.sqrt(dx * dx + dy * dy);
+        float nx = length == 0f ? 0f : -dy / length * lineWidth;
+        float ny = length == 0f ? lineWidth : dx / length * lineWidth;
+
+        int stride = SINGLE_VERTEX_ARRAY_LENGTH;
+        putVertex(dst, offset, x1 - nx, y1 - ny, color);
+        putVertex(dst, offset + stride, x2 - nx, y2 - ny, color);
+        putVertex(dst, offset + stride * 2, x2 + nx, y2 + ny, color);
+        putVertex(dst, offset + stride * 3, x1 + nx, y1 + ny, color);
+        return 4 * stride;
+    }
 
+    private static int writeRectangle(FloatBuffer dst, int offset, int stride,
+            int x, int y, int width, int height, float[] color) {
+
+        putVertex(dst, offset, x, y, color);
+        putVertex(dst, offset + stride, x, y + height, color);
+        putVertex(dst, offset + stride * 2, x + width, y + height, color);
+        putVertex(dst, offset + stride * 3, x + width, y, color);
+        return 4 * stride;
+    }
+
+    private static int writeTriangle(FloatBuffer dst, int offset, int stride,
+            int x1, int y1, int x2, int y2, int x3, int y3, float[] color) {
+
+        putVertex(dst, offset, x1, y1, color);
+        putVertex(dst, offset + stride, x2, y2, color);
+        putVertex(dst, offset + stride * 2, x3, y3, color);
+        return 3 * stride;
+    }
+
+    private static int writePolygon(FloatBuffer dst, int offset, int stride,
+            int centerX, int centerY, int radius, int sides, float[] color) {
+
+        UnitCircle circle = UnitCircle.of(sides);
+        for (int i = 0; i < sides; i++) {
+            putVertex(dst, offset + i * stride,
+                    centerX + radius * circle.cos(i),
+                    centerY + radius * circle.sin(i), color);
+        }
+
+        return sides * stride;
+    }
+
+    private static int writeVerticies(FloatBuffer dst, int offset, float[] color, int verticiesAmount) {
         for (int i = 0; i < verticiesAmount; i++) {
-            vertices[i * singleVertexArrayLength] = x;
-            vertices[i * singleVertexArrayLength + 1] = y;
-            vertices[i * singleVertexArrayLength + 2] = z;
-            vertices[i * singleVertexArrayLength + 3] = color[0];
-            vertices[i * singleVertexArrayLength + 4] = color[1];
-            vertices[i * singleVertexArrayLength + 5] = color[2];
-            vertices[i * singleVertexArrayLength + 6] = color[3];
+            putVertex(dst, offset + i * SINGLE_VERTEX_ARRAY_LENGTH, 0, 0, color);
         }
 
-        return vertices;
+        return verticiesAmount * SINGLE_VERTEX_ARRAY_LENGTH;
+    }
+
+    /**
+     * Writes the position of one vertex and, when a color is given, its z
+     * coordinate and color as well. The array forms pass a null color and
+     * leave everything but x and y untouched.
+     */
+    private static void putVertex(FloatBuffer dst, int index, float x, float y, float[] color) {
+        dst.put(index, x);
+        dst.put(index + 1, y);
+        if (color != null) {
+            dst.put(index + 2, 0);
+            dst.put(index + 3, color[0]);
+            dst.put(index + 4, color[1]);
+            dst.put(index + 5, color[2]);
+            dst.put(index + 6, color[3]);
+        }
+    }
+
+    private static void checkDestination(FloatBuffer dst, int offset, int verticiesAmount, float[] color) {
+        if (color == null || color.length != 4) {
+            throw new IllegalArgumentException("VerticesUtils: Invalid color input.");
+        } else if (dst == null || offset < 0
+                || offset + verticiesAmount * SINGLE_VERTEX_ARRAY_LENGTH > dst.limit()) {
+            throw new IllegalArgumentException("VerticesUtils: Destination buffer is too small.");
+        }
     }
 }
@@ -1,8 +1,11 @@
 package anchora.engine.app;
 
-import static anchora.engine.app.ShaderUtils.loadShader;
 import static org.lwjgl.glfw.Callbacks.glfwFreeCallbacks;
+import static org.lwjgl.glfw.GLFW.GLFW_CONTEXT_CREATION_API;
 import static org.lwjgl.glfw.GLFW.GLFW_FALSE;
+import static org.lwjgl.glfw.GLFW.GLFW_OSMESA_CONTEXT_API;
+import static org.lwjgl.glfw.GLFW.GLFW_PLATFORM;
+import static org.lwjgl.glfw.GLFW.GLFW_PLATFORM_NULL;
 import static org.lwjgl.glfw.GLFW.GLFW_RESIZABLE;
 import static org.lwjgl.glfw.GLFW.GLFW_TRUE;
 import static org.lwjgl.glfw.GLFW.GLFW_VISIBLE;
@@ -12,12 +15,14 @@ import static org.lwjgl.glfw.GLFW.glfwDestroyWindow;
 import static org.lwjgl.glfw.GLFW.glfwGetPrimaryMonitor;
 import static org.lwjgl.glfw.GLFW.glfwGetVideoMode;
 import static org.lwjgl.glfw.GLFW.glfwInit;
+import static org.lwjgl.glfw.GLFW.glfwInitHint;
 import static org.lwjgl.glfw.GLFW.glfwMakeContextCurrent;
 import static org.lwjgl.glfw.GLFW.glfwPollEvents;
 import static org.lwjgl.glfw.GLFW.glfwSetErrorCallback;
 import static org.lwjgl.glfw.GLFW.glfwSetWindowPos;
 import static org.lwjgl.glfw.GLFW.glfwShowWindow;
 import static org.lwjgl.glfw.GLFW.glfwSwapBuffers;
+import static org.lwjgl.glfw.GLFW.glfwSwapInterval;
 import static org.lwjgl.glfw.GLFW.glfwTerminate;
 import static org.lwjgl.glfw.GLFW.glfwWindowHint;
 import static org.lwjgl.glfw.GLFW.glfwWindowShouldClose;
@@ -27,22 +32,58 @@ import static org.lwjgl.opengl.GL11.glClearColor;
 import static org.lwjgl.system.MemoryUtil.NULL;
 
 import java.io.IOException;
-import java.net.URISyntaxException;
-import java.nio.FloatBuffer;
-import java.nio.file.Files;
 import java.nio.file.Paths;
 
-import org.lwjgl.BufferUtils;
 import org.lwjgl.glfw.GLFWErrorCallback;
 import org.lwjgl.glfw.GLFWVidMode;
 import org.lwjgl.opengl.GL;
 import org.lwjgl.opengl.GL11;
-import org.lwjgl.opengl.GL15;
-import org.lwjgl.opengl.GL20;
-import org.lwjgl.opengl.GL30;
+
+import anchora.engine.app.asset.AssetManager;
+import anchora.engine.app.asset.AssetSource;
+import anchora.engine.app.asset.TextLoader;
+import anchora.engine.app.camera.Camera2D;
+import anchora.engine.app.camera.CameraUniformBuffer;
+import anchora.engine.app.loop.Clock;
+import anchora.engine.app.loop.FixedStepLoop;
+import anchora.engine.app.loop.FramePacer;
+import anchora.engine.app.loop.SnapshotRenderer;
+import anchora.engine.app.loop.VSyncMode;
+import anchora.engine.app.metrics.GpuTimer;
+import anchora.engine.app.metrics.Histogram;
+import anchora.engine.app.metrics.MetricsRegistry;
+import anchora.engine.app.render.FrameConsumer;
+import anchora.engine.app.render.FrameReadback;
+import anchora.engine.app.render.Framebuffer;
+import anchora.engine.app.render.GLBatchBackend;
+import anchora.engine.app.render.GLReadbackBackend;
+import anchora.engine.app.render.ShapeBatch;
+import anchora.engine.app.shader.GLShaderBackend;
+import anchora.engine.app.shader.ProgramBinaryCache;
+import anchora.engine.app.shader.ShaderManager;
+import anchora.engine.app.shader.ShaderProgram;
+import anchora.engine.jobs.JobSystem;
 
 public class WindowUtils {
 
+    // Debug switches, e.g. -Danchora.glDebug=true
+    private static final boolean GL_DEBUG = Boolean.getBoolean("anchora.glDebug");
+    private static final boolean METRICS_DUMP = Boolean.getBoolean("anchora.metrics");
+    private static final long METRICS_DUMP_INTERVAL_NANOS = 5_000_000_000L;
+
+    // Shader binary cache location and, when set, the source root to hot-reload from
+    private static final String SHADER_CACHE = System.getProperty("anchora.shaderCache",
+            Paths.get(System.getProperty("java.io.tmpdir"), "anchora-shader-cache").toString());
+    private static final String SHADER_RELOAD = System.getProperty("anchora.shaderReload");
+    // Creates headless contexts through OSMesa, for machines without a display
+    private static final boolean OSMESA = Boolean.getBoolean("anchora.osmesa");
+
+    // Asset loading: the time the render thread spends on uploads per frame,
+    // and the shape shader's sources
+    private static final long UPLOAD_BUDGET_NANOS = 2_000_000L;
+    private static final String SHAPE_VERTEX = "shaders/vertex.glsl";
+    private static final String SHAPE_FRAGMENT = "shaders/fragment.glsl";
+
     // Window Properties
     private static final int WIDTH = 800;
     private static final int HEIGHT = 600;
@@ -51,25 +92,136 @@ public class WindowUtils {
     // GLFW window handle
     private long window;
 
+    // Worker threads for background work, and the jobs they hand back to
+    // the render thread
+    private JobSystem jobs;
+
+    // Background asset loading
+    private AssetManager assets;
+
     // Shader Variables
-    private int vertexShaderId, fragmentShaderId, shaderProgramId;
+    private ShaderManager shaderManager;
+    private ShaderProgram shapeShader;
+
+    // World units are pixels, with the origin at the bottom left corner
+    private Camera2D camera;
+    private CameraUniformBuffer cameraBuffer;
+
+    // Geometry drawn every frame
+    private float[] vertexArray;
+    private ShapeBatch shapeBatch;
+
+    // Frame pacing
+    private final VSyncMode vSyncMode;
+    private final FramePacer framePacer;
+
+    // Headless mode renders a fixed number of frames offscreen
+    private final int headlessFrames;
+    private final FrameConsumer frameConsumer;
+    private Framebuffer framebuffer;
+    private FrameReadback readback;
+
+    // Frame metrics
+    private final MetricsRegistry metrics = new MetricsRegistry(
+            METRICS_DUMP ? METRICS_DUMP_INTERVAL_NANOS : 0);
+    private GpuTimer gpuTimer;
+
+    public WindowUtils() {
+        this(VSyncMode.OFF, 0);
+    }
 
-    // VAO and VBO Variables
-    private int VAOId, VBOId, EBOId;
+    /**
+     * @param vSyncMode How buffer swaps wait for the display.
+     * @param targetFps The frame rate cap, or 0 for uncapped.
+     */
+    public WindowUtils(VSyncMode vSyncMode, int targetFps) {
+        this(vSyncMode, targetFps, 0, null);
+    }
+
+    private WindowUtils(VSyncMode vSyncMode, int targetFps, int headlessFrames,
+            FrameConsumer frameConsumer) {
+        this.vSyncMode = vSyncMode;
+        this.framePacer = new FramePacer(Clock.SYSTEM, targetFps);
+        this.headlessFrames = headlessFrames;
+        this.frameConsumer = frameConsumer;
+    }
+
+    /**
+     * Creates a window that is never shown and renders {@code frames} frames
+     * as fast as it can into an offscreen framebuffer, then prints the frame
+     * metrics. Set {@code -Danchora.osmesa=true} to get a software context
+     * where there is no display at all.
+     *
+     * @param frames   The number of frames to render.
+     * @param consumer Receives every frame, read back asynchronously, or null
+     *                 to skip readback.
+     * @throws IllegalArgumentException If {@code frames} is not positive.
+     */
+    public static WindowUtils headless(int frames, FrameConsumer consumer) {
+        if (frames <= 0) {
+            throw new IllegalArgumentException("WindowUtils: Invalid headless frame count.");
+        }
+        return new WindowUtils(VSyncMode.OFF, 0, frames, consumer);
+    }
+
+    private boolean isHeadless() {
+        return headlessFrames > 0;
+    }
 
     public void run() {
+        run(null, null);
+    }
+
+    /**
+     * @return The frame, GPU, update and draw metrics of this window.
+     */
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Opens the window and renders until it is closed, while {@code updates}
+     * ticks its simulation on its own thread.
+     *
+     * @param updates  The simulation loop to run, or null for none.
+     * @param renderer Draws the snapshots handed over by {@code updates}.
+     */
+    public <S> void run(FixedStepLoop<S> updates, SnapshotRenderer<S> renderer) {
         // ======================================================
         // LWJGL Initialization
         // ======================================================
 
         init();
-        loop();
+        if (updates != null) {
+            updates.setUpdateTimes(metrics.histogram(MetricsRegistry.UPDATE_TIME));
+            updates.start();
+        }
+        try {
+            loop(updates, renderer);
+        } finally {
+            if (updates != null) {
+                updates.stop();
+            }
+        }
 
         // ======================================================
         // LWJGL Cleanup and Exit
         // ======================================================
 
         // Release resources when the window is closed
+        if (isHeadless()) {
+            if (readback != null) {
+                readback.dispose();
+            }
+            framebuffer.dispose();
+            System.out.println(metrics.report());
+        }
+        assets.dispose();
+        jobs.close();
+        shapeBatch.dispose();
+        shaderManager.dispose();
+        cameraBuffer.dispose();
+        gpuTimer.dispose();
         glfwFreeCallbacks(window);
         glfwDestroyWindow(window);
 
@@ -82,11 +234,21 @@ public class WindowUtils {
     }
 
     private void init() {
+        // Start reading shader sources so they load while GLFW starts up
+        jobs = new JobSystem();
+        assets = new AssetManager(AssetSource.classpath(), jobs, Clock.SYSTEM);
+        assets.load(SHAPE_VERTEX, new TextLoader());
+        assets.load(SHAPE_FRAGMENT, new TextLoader());
+
         // ======================================================
         // GLFW Window Setup
         // ======================================================
 
-        // Initialize GLFW
+        // Initialize GLFW, without a windowing system when OSMesa renders
+        // offscreen, so it starts where there is no display
+        if (OSMESA) {
+            glfwInitHint(GLFW_PLATFORM, GLFW_PLATFORM_NULL);
+        }
         if (!glfwInit()) {
             throw new IllegalStateException("Unable to initialize GLFW");
         }
@@ -95,6 +257,9 @@ public class WindowUtils {
         glfwDefaultWindowHints();
         glfwWindowHint(GLFW_VISIBLE, GLFW_FALSE);
         glfwWindowHint(GLFW_RESIZABLE, GLFW_TRUE);
+        if (OSMESA) {
+            glfwWindowHint(GLFW_CONTEXT_CREATION_API, GLFW_OSMESA_CONTEXT_API);
+        }
 
         // Create the window
         System.out.println("Creating window...");
@@ -103,10 +268,13 @@ public class WindowUtils {
             throw new RuntimeException("Failed to create the GLFW window");
         }
 
-        // Center the window on the screen
-        GLFWVidMode vidMode = glfwGetVideoMode(glfwGetPrimaryMonitor());
-        glfwSetWindowPos(window,
-                (vidMode.width() - WIDTH) / 2, (vidMode.height() - HEIGHT) / 2);
+        // Center the window on the screen, if there is one
+        long monitor = glfwGetPrimaryMonitor();
+        GLFWVidMode vidMode = monitor == NULL ? null : glfwGetVideoMode(monitor);
+        if (vidMode != null && !isHeadless()) {
+            glfwSetWindowPos(window,
+                    (vidMode.width() - WIDTH) / 2, (vidMode.height() - HEIGHT) / 2);
+        }
 
         // Make the OpenGL context current
         glfwMakeContextCurrent(window);
@@ -114,156 +282,138 @@ public class WindowUtils {
         // Create capabilities for the current context
         GL.createCapabilities();
 
-        // // Enable v-sync (removed for aesthedics ;3)
-        // glfwSwapInterval(1);
+        // Apply the v-sync mode, off by default (for aesthedics ;3)
+        glfwSwapInterval(vSyncMode.swapInterval());
+
+        if (isHeadless()) {
+            framebuffer = new Framebuffer(WIDTH, HEIGHT);
+            // The readback's pixel buffers are only needed when someone
+            // takes the frames
+            if (frameConsumer != null) {
+                readback = new FrameReadback(new GLReadbackBackend(), WIDTH, HEIGHT);
+            }
+            checkGLError("Framebuffer");
+        }
 
         // ======================================================
         // OpenGL Shader and Vertices Setup
         // ======================================================
 
-        float[] vertexArray = {
+        vertexArray = new float[] {
             // Positions          // Colors
-            -1.0f,  -1.0f, 0.0f,     1.0f, 0.0f, 0.0f, 1.0f, // Bottom left vertex 1
-             1.0f,  -1.0f, 0.0f,     0.0f, 1.0f, 0.0f, 1.0f, // Bottom right vertex 2
-             1.0f,   1.0f, 0.0f,     0.0f, 0.0f, 1.0f, 1.0f, // Top right vertex 3
-            -1.0f,   1.0f, 0.0f,     0.0f, 1.0f, 0.0f, 1.0f  // Top left vertex 4
-        };
-
-        int[] elementArray = {
-                0, 1, 2,
-                2, 3, 0
+             0.0f,    0.0f,  0.0f,     1.0f, 0.0f, 0.0f, 1.0f, // Bottom left vertex 1
+            WIDTH,    0.0f,  0.0f,     0.0f, 1.0f, 0.0f, 1.0f, // Bottom right vertex 2
+            WIDTH,   HEIGHT, 0.0f,     0.0f, 0.0f, 1.0f, 1.0f, // Top right vertex 3
+             0.0f,   HEIGHT, 0.0f,     0.0f, 1.0f, 0.0f, 1.0f  // Top left vertex 4
         };
 
         checkVertexArray(vertexArray);
 
-        // shader source code
-        String vertexShaderSource;
-        String fragmentShaderSource;
-
-        try {
-            vertexShaderSource = new String(Files.readAllBytes(Paths.get(getClass()
-                    .getClassLoader().getResource("shaders/vertex.glsl").toURI())));
-            fragmentShaderSource = new String(Files.readAllBytes(Paths.get(getClass()
-                    .getClassLoader().getResource("shaders/fragment.glsl").toURI())));
-        } catch (IOException e) {
-            System.err.println("IOException message: " + e.getMessage());
-            throw new RuntimeException("Error reading shader files", e);
-        } catch (URISyntaxException e) {
-            System.err.println("URISyntaxException message: " + e.getMessage());
-            throw new RuntimeException("Error parsing shader file URI", e);
-        }
-
-        // Vertex Shader Setup
-        vertexShaderId = loadShader(GL20.GL_VERTEX_SHADER,
-                vertexShaderSource, "vertex");
-
-        // Fragment Shader Setup
-        fragmentShaderId = loadShader(GL20.GL_FRAGMENT_SHADER,
-                fragmentShaderSource, "fragment");
-
-        // Shader Program Setup
-        shaderProgramId = GL20.glCreateProgram();
-        GL20.glAttachShader(shaderProgramId, vertexShaderId);
-        GL20.glAttachShader(shaderProgramId, fragmentShaderId);
-        GL20.glLinkProgram(shaderProgramId);
-
-        // Check for shader program linking errors
-        int linkStatus = GL20.glGetProgrami(shaderProgramId, GL20.GL_LINK_STATUS);
-        if (linkStatus != GL11.GL_TRUE) {
-            String errorLog = GL20.glGetProgramInfoLog(shaderProgramId);
-            throw new RuntimeException("Shader program linking failed:\n" + errorLog);
+        camera = new Camera2D(WIDTH, HEIGHT);
+        camera.setPosition(WIDTH * 0.5f, HEIGHT * 0.5f);
+        cameraBuffer = new CameraUniformBuffer();
+        checkGLError("CameraUniformBuffer");
+
+        // Programs come from the binary cache when the driver allows it
+        GLShaderBackend shaderBackend = new GLShaderBackend();
+        shaderManager = new ShaderManager(shaderBackend,
+                new ProgramBinaryCache(Paths.get(SHADER_CACHE), shaderBackend.driverFingerprint()));
+        shapeShader = assets.await(assets.loadShader(shaderManager, SHAPE_VERTEX, SHAPE_FRAGMENT));
+        checkGLError("ShaderManager");
+
+        if (SHADER_RELOAD != null) {
+            try {
+                shaderManager.watch(Paths.get(SHADER_RELOAD));
+            } catch (IOException e) {
+                System.err.println("Shader hot reload disabled: " + e.getMessage());
+            }
         }
 
         // ======================================================
-        // OpenGL VAO, EBO and VBO Setup
+        // Shape Batch Setup
         // ======================================================
 
-        // Generate Vertices FloatBuffer
-        FloatBuffer verticesBuffer = BufferUtils.createFloatBuffer(vertexArray.length);
-        verticesBuffer.put(vertexArray);
-        verticesBuffer.flip();
-
-        // Generate Vertex Buffer Object (VBO)
-        int vertexVBO = GL15.glGenBuffers();
-        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, vertexVBO);
-        GL15.glBufferData(GL15.GL_ARRAY_BUFFER, verticesBuffer, GL15.GL_STATIC_DRAW);
-
-        // Generate Vertex Array Object VAO
-        VAOId = GL30.glGenVertexArrays();
-        GL30.glBindVertexArray(VAOId);
-
-        // Element Buffer Object (EBO) Setup
-        int EBOId = GL15.glGenBuffers();
-        GL15.glBindBuffer(GL15.GL_ELEMENT_ARRAY_BUFFER, EBOId);
-        GL15.glBufferData(GL15.GL_ELEMENT_ARRAY_BUFFER, elementArray, GL15.GL_STATIC_DRAW);
-
-        // ======================================================
-        // Specify vertex attribute pointers
-        // ======================================================
-
-        // Attribute sizes
-        int positionSize = 3;
-        int colorSize = 4;
-        int vertexSizeBytes = (positionSize + colorSize) * Float.BYTES;
-
-        // Specify the layout of the position data
-        GL20.glVertexAttribPointer(0, positionSize,
-                GL11.GL_FLOAT, false, vertexSizeBytes, 0);
-        checkGLError("glVertexAttribPointer position");
-
-        GL20.glEnableVertexAttribArray(0);
-        checkGLError("glEnableVertexAttribArray position");
-
-        // Specify the layout of the color data
-        GL20.glVertexAttribPointer(1, colorSize,
-                GL11.GL_FLOAT, false, vertexSizeBytes, positionSize * Float.BYTES);
-        checkGLError("glVertexAttribPointer color");
-
-        GL20.glEnableVertexAttribArray(1);
-        checkGLError("glEnableVertexAttribArray color");
-
-        // Use your shader program to draw the rectangle
-        GL20.glUseProgram(shaderProgramId);
-        checkGLError("glUseProgram");
+        shapeBatch = new ShapeBatch(new GLBatchBackend(ShapeBatch.DEFAULT_MAX_VERTICES,
+                ShapeBatch.DEFAULT_MAX_VERTICES * 3));
+        checkGLError("GLBatchBackend");
 
-        GL30.glBindVertexArray(VAOId);
-        checkGLError("glBindVertexArray");
-
-        GL11.glDrawElements(GL11.GL_TRIANGLES, 6, GL11.GL_UNSIGNED_INT, 0);
-        checkGLError("glDrawElements");
+        gpuTimer = new GpuTimer(metrics.histogram(MetricsRegistry.GPU_TIME));
 
         // Make the window visible
-        glfwShowWindow(window);
+        if (!isHeadless()) {
+            glfwShowWindow(window);
+        }
     }
 
-    private void loop() {
+    private <S> void loop(FixedStepLoop<S> updates, SnapshotRenderer<S> renderer) {
         // Set the clear color
         System.out.println("Setting clear color..." + window);
         glClearColor(0.0f, 1.0f, 1.0f, 0.0f);
 
-        // Run the rendering loop until the user closes the window
-        while (!glfwWindowShouldClose(window)) {
-            // Clear the framebuffer
-            glClear(GL_COLOR_BUFFER_BIT);
+        // Look the histograms up once, outside of the loop
+        Histogram frameTimes = metrics.histogram(MetricsRegistry.FRAME_TIME);
+        Histogram cpuTimes = metrics.histogram(MetricsRegistry.CPU_TIME);
+        Histogram drawCalls = metrics.histogram(MetricsRegistry.DRAW_CALLS);
+        Histogram vertices = metrics.histogram(MetricsRegistry.VERTICES);
+        long lastFrameStart = 0;
+        int frame = 0;
 
-            // Use your shader program to draw the rectangle
-            GL20.glUseProgram(shaderProgramId);
-            GL30.glBindVertexArray(VAOId);
+        if (isHeadless()) {
+            framebuffer.bind();
+        }
+
+        // Run the rendering loop until the user closes the window, or for a
+        // fixed number of frames when headless
+        while (isHeadless() ? frame < headlessFrames : !glfwWindowShouldClose(window)) {
+            long frameStart = System.nanoTime();
+            if (lastFrameStart != 0) {
+                frameTimes.record(frameStart - lastFrameStart);
+            }
+            lastFrameStart = frameStart;
+            gpuTimer.begin();
 
-            // Enable attribute pointers for index 0 and 1
-            GL20.glEnableVertexAttribArray(0);
-            GL20.glEnableVertexAttribArray(1);
+            shaderManager.pollReloads();
+            jobs.runMainThreadJobs();
+            assets.processUploads(UPLOAD_BUDGET_NANOS);
+            cameraBuffer.update(camera);
 
-            GL11.glDrawElements(GL11.GL_TRIANGLES, 6, GL11.GL_UNSIGNED_INT, 0);
-            checkGLError("glDrawElements");
+            // Clear the framebuffer
+            glClear(GL_COLOR_BUFFER_BIT);
 
-            // Disable attribute pointers after drawing
-            GL20.glDisableVertexAttribArray(0);
-            GL20.glDisableVertexAttribArray(1);
+            // Draw every shape of the frame through the batch
+            shapeBatch.begin();
+            shapeBatch.setShader(shapeShader.getId());
+            shapeBatch.drawQuad(vertexArray);
+            if (updates != null) {
+                updates.render(shapeBatch, renderer);
+            }
+            shapeBatch.end();
+            checkGLError("ShapeBatch");
+
+            gpuTimer.end();
+            drawCalls.record(shapeBatch.getDrawCalls());
+            vertices.record(shapeBatch.getVerticesDrawn());
+            cpuTimes.record(System.nanoTime() - frameStart);
+            frame++;
+
+            if (isHeadless()) {
+                // Nothing to present; read the frame back without waiting on it
+                if (frameConsumer != null) {
+                    readback.capture(frameConsumer);
+                }
+                glfwPollEvents();
+                continue;
+            }
 
             // Poll for events and swap the buffers
             glfwSwapBuffers(window);
             glfwPollEvents();
+            framePacer.sync();
+            metrics.dumpIfDue(System.nanoTime(), System.out);
+        }
+
+        if (isHeadless() && frameConsumer != null) {
+            readback.finish(frameConsumer);
         }
     }
 
@@ -272,11 +422,11 @@ public class WindowUtils {
     }
 
     private void checkVertexArray(float[] vertexArray) {
-        if (vertexArray == null || vertexArray.length == 0 || vertexArray.length % 7 != 0) {
+        if (vertexArray == null || vertexArray.length == 0 || vertexArray.length % VerticesUtils.SINGLE_VERTEX_ARRAY_LENGTH != 0) {
             throw new IllegalArgumentException("Vertex array is null, empty, or has an invalid length.");
         }
         System.out.println("Checking vertex array... Length: " + vertexArray.length);
-        for (int i = 3; i < vertexArray.length; i += 7) {
+        for (int i = 3; i < vertexArray.length; i += VerticesUtils.SINGLE_VERTEX_ARRAY_LENGTH) {
             for (int j = 0; j < 4; j++) {
                 float color = vertexArray[i + j];
                 if (!isValidColor(color)) {
@@ -286,7 +436,15 @@ public class WindowUtils {
         }
     }
 
+    /**
+     * Prints every pending GL error. {@code glGetError} forces the driver to
+     * synchronize, so this only runs when {@code anchora.glDebug} is set.
+     */
     private void checkGLError(String glOperation) {
+        if (!GL_DEBUG) {
+            return;
+        }
+
         int error;
         while ((error = GL11.glGetError()) != GL11.GL_NO_ERROR) {
             String errorMessage;
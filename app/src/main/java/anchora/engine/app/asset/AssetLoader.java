@@ -0,0 +1,43 @@
+package anchora.engine.app.asset;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Turns an asset's bytes into something the game can use, in two steps: a
+ * {@link #decode} that may run on any worker thread, and an {@link #upload}
+ * that runs on the render thread for work that needs the GL context.
+ *
+ * @param <D> The decoded, CPU-side form.
+ * @param <T> The loaded asset handed to the game.
+ */
+public interface AssetLoader<D, T> {
+
+    /**
+     * Decodes an asset. Runs on a worker thread, so it must not touch GL.
+     *
+     * @param path The asset path, for error messages.
+     * @param data The asset contents between position and limit. The buffer
+     *             is only valid during the call and may be read-only.
+     * @return The decoded asset.
+     * @throws Exception If the data cannot be decoded.
+     */
+    D decode(String path, ByteBuffer data) throws Exception;
+
+    /**
+     * Finishes loading on the render thread, within
+     * {@link AssetManager#processUploads(long)}'s frame budget. Only called
+     * when {@link #requiresRenderThread()} is true.
+     *
+     * @param decoded The result of {@link #decode}.
+     * @return The loaded asset.
+     */
+    T upload(D decoded);
+
+    /**
+     * @return False if {@link #upload} does not need the GL context, in which
+     *         case it runs right after decoding on the worker.
+     */
+    default boolean requiresRenderThread() {
+        return true;
+    }
+}
@@ -0,0 +1,288 @@
+package anchora.engine.app.asset;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import anchora.engine.app.loop.Clock;
+import anchora.engine.app.shader.ShaderManager;
+import anchora.engine.app.shader.ShaderProgram;
+
+/**
+ * Loads assets in the background. Reading and decoding run on a worker pool;
+ * only the final step that needs the GL context, such as creating a texture,
+ * is queued for the render thread, which drains the queue with
+ * {@link #processUploads(long)} under a per-frame time budget.
+ *
+ * <p>Every load returns a {@link CompletableFuture}, and the same path loaded
+ * twice with the same loader shares one future. A failed load is forgotten,
+ * so loading it again retries. {@link #getProgress()} counts finished loads,
+ * failed ones included, for loading screens.
+ *
+ * <pre>
+ * CompletableFuture&lt;Integer&gt; texture = assets.load("textures/player.png", new TextureLoader());
+ * // every frame, on the render thread
+ * assets.processUploads(2_000_000L);
+ * </pre>
+ */
+public class AssetManager {
+
+    // How long await blocks for an upload before checking its future again,
+    // for loads that finish on a worker without queueing one
+    private static final long AWAIT_POLL_MILLIS = 1;
+
+    private final AssetSource source;
+    private final Executor workers;
+    private final ExecutorService ownedWorkers;
+    private final Clock clock;
+
+    private final Map<String, CompletableFuture<?>> loads = new ConcurrentHashMap<>();
+    private final BlockingQueue<Runnable> uploads = new LinkedBlockingQueue<>();
+    private final AtomicInteger requested = new AtomicInteger();
+    private final AtomicInteger finished = new AtomicInteger();
+
+    /**
+     * Creates a manager with its own pool of daemon workers, one per core
+     * beyond the render thread's.
+     */
+    public AssetManager(AssetSource source) {
+        this(source, createPool(), Clock.SYSTEM, true);
+    }
+
+    /**
+     * @param source  Where asset bytes come from.
+     * @param workers Runs reads and decodes. The manager does not shut it
+     *                down.
+     * @param clock   Measures the upload budget.
+     * @throws IllegalArgumentException If any argument is null.
+     */
+    public AssetManager(AssetSource source, Executor workers, Clock clock) {
+        this(source, workers, clock, false);
+    }
+
+    private AssetManager(AssetSource source, Executor workers, Clock clock, boolean owned) {
+        if (source == null || workers == null || clock == null) {
+            throw new IllegalArgumentException("AssetManager: Invalid manager inputs.");
+        }
+
+        this.source = source;
+        this.workers = workers;
+        this.ownedWorkers = owned ? (ExecutorService) workers : null;
+        this.clock = clock;
+    }
+
+    private static ExecutorService createPool() {
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory factory = task -> {
+            Thread thread = new Thread(task, "asset-worker-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(threads, factory);
+    }
+
+    /**
+     * Starts loading an asset, or returns the load already started for the
+     * same path and loader type.
+     *
+     * @return A future completed with the asset, or exceptionally if it could
+     *         not be read, decoded or uploaded.
+     */
+    public <D, T> CompletableFuture<T> load(String path, AssetLoader<D, T> loader) {
+        if (path == null || loader == null) {
+            throw new IllegalArgumentException("AssetManager: Invalid load inputs.");
+        }
+
+        return share(loader.getClass().getName() + '\0' + path,
+                future -> start(path, loader, future));
+    }
+
+    /**
+     * Returns the load registered under {@code key}, or registers a new one
+     * and only then starts it, so a load that fails at once can still remove
+     * itself from the map.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> share(String key, Consumer<CompletableFuture<T>> starter) {
+        CompletableFuture<?> existing = loads.get(key);
+        if (existing != null) {
+            return (CompletableFuture<T>) existing;
+        }
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        existing = loads.putIfAbsent(key, future);
+        if (existing != null) {
+            return (CompletableFuture<T>) existing;
+        }
+
+        requested.incrementAndGet();
+        future.whenComplete((asset, error) -> {
+            finished.incrementAndGet();
+            if (error != null) {
+                loads.remove(key, future);
+            }
+        });
+        starter.accept(future);
+        return future;
+    }
+
+    private <D, T> void start(String path, AssetLoader<D, T> loader, CompletableFuture<T> future) {
+        workers.execute(() -> {
+            D decoded;
+            try {
+                ByteBuffer data = source.open(path);
+                decoded = loader.decode(path, data);
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+                return;
+            }
+
+            if (loader.requiresRenderThread()) {
+                uploads.add(() -> upload(loader, decoded, future));
+            } else {
+                upload(loader, decoded, future);
+            }
+        });
+    }
+
+    private static <D, T> void upload(AssetLoader<D, T> loader, D decoded, CompletableFuture<T> future) {
+        try {
+            future.complete(loader.upload(decoded));
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Loads a shader program's two sources in the background and links it
+     * on the render thread. The program stays hot-reloadable like one from
+     * {@link ShaderManager#load(String, String)}. Like any other load, the
+     * same pair of paths shares one future.
+     */
+    public CompletableFuture<ShaderProgram> loadShader(ShaderManager shaders,
+            String vertexPath, String fragmentPath) {
+
+        if (shaders == null || vertexPath == null || fragmentPath == null) {
+            throw new IllegalArgumentException("AssetManager: Invalid shader inputs.");
+        }
+
+        return share(ShaderProgram.class.getName() + '\0' + vertexPath + '\0' + fragmentPath,
+                program -> startShader(shaders, vertexPath, fragmentPath, program));
+    }
+
+    private void startShader(ShaderManager shaders, String vertexPath, String fragmentPath,
+            CompletableFuture<ShaderProgram> program) {
+
+        CompletableFuture<String> vertex = load(vertexPath, new TextLoader());
+        CompletableFuture<String> fragment = load(fragmentPath, new TextLoader());
+        vertex.thenAcceptBoth(fragment, (vertexSource, fragmentSource) -> uploads.add(() -> {
+            try {
+                program.complete(shaders.load(vertexPath, fragmentPath, vertexSource, fragmentSource));
+            } catch (Throwable e) {
+                program.completeExceptionally(e);
+            }
+        })).exceptionally(error -> {
+            program.completeExceptionally(error);
+            return null;
+        });
+    }
+
+    /**
+     * Runs queued render-thread steps until the queue is empty or the budget
+     * is spent. At least one step runs per call, so a step longer than the
+     * budget still makes progress. Must be called on the render thread.
+     *
+     * @param budgetNanos How long to spend, in nanoseconds.
+     * @return The number of steps run.
+     */
+    public int processUploads(long budgetNanos) {
+        long deadline = clock.nanoTime() + budgetNanos;
+        int count = 0;
+        Runnable upload;
+        while ((upload = uploads.poll()) != null) {
+            upload.run();
+            count++;
+            if (clock.nanoTime() - deadline >= 0) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Blocks the render thread until the future is done, running uploads as
+     * they arrive so it cannot wait on itself. Meant for the few assets
+     * needed before the first frame.
+     *
+     * @return The asset.
+     * @throws RuntimeException If the load failed or the thread was
+     *                          interrupted.
+     */
+    public <T> T await(CompletableFuture<T> future) {
+        while (!future.isDone()) {
+            Runnable upload;
+            try {
+                upload = uploads.poll(AWAIT_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("AssetManager: Interrupted while waiting for a load.", e);
+            }
+            if (upload != null) {
+                upload.run();
+            }
+        }
+        return future.join();
+    }
+
+    /**
+     * @return The number of loads started.
+     */
+    public int getRequestedCount() {
+        return requested.get();
+    }
+
+    /**
+     * @return The number of loads that succeeded or failed.
+     */
+    public int getFinishedCount() {
+        return finished.get();
+    }
+
+    /**
+     * @return The fraction of started loads that are finished, 1 when nothing
+     *         is loading.
+     */
+    public float getProgress() {
+        int total = requested.get();
+        return total == 0 ? 1f : (float) finished.get() / total;
+    }
+
+    /**
+     * @return True if every started load is finished.
+     */
+    public boolean isIdle() {
+        return finished.get() == requested.get();
+    }
+
+    /**
+     * Stops the worker pool if the manager created it. Queued uploads are
+     * dropped.
+     */
+    public void dispose() {
+        if (ownedWorkers != null) {
+            ownedWorkers.shutdownNow();
+        }
+        uploads.clear();
+    }
+}
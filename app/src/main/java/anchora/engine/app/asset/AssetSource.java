@@ -0,0 +1,76 @@
+package anchora.engine.app.asset;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import org.lwjgl.BufferUtils;
+
+/**
+ * Where an {@link AssetManager} reads asset bytes from. Sources are called
+ * from worker threads and must be thread-safe.
+ */
+public interface AssetSource {
+
+    /**
+     * Opens an asset for reading.
+     *
+     * @param path The asset path, relative to the source, with {@code /}
+     *             separators.
+     * @return The whole contents between position and limit, in a direct
+     *         buffer that may be a read-only file mapping.
+     * @throws IOException If the asset is missing or cannot be read.
+     */
+    ByteBuffer open(String path) throws IOException;
+
+    /**
+     * @return A source that memory-maps files under {@code root}, so reading
+     *         costs page faults in the decoder instead of a copy up front.
+     */
+    static AssetSource directory(Path root) {
+        return path -> map(root.resolve(path));
+    }
+
+    /**
+     * @return A source for classpath resources. Loose files, as when running
+     *         from the build directory, are memory-mapped; resources inside a
+     *         jar are read into a direct buffer.
+     */
+    static AssetSource classpath() {
+        return path -> {
+            ClassLoader loader = AssetSource.class.getClassLoader();
+            URL url = loader.getResource(path);
+            if (url == null) {
+                throw new IOException("AssetSource: Resource not found: " + path);
+            }
+
+            if ("file".equals(url.getProtocol())) {
+                try {
+                    return map(Paths.get(url.toURI()));
+                } catch (URISyntaxException e) {
+                    throw new IOException("AssetSource: Invalid resource URL: " + url, e);
+                }
+            }
+
+            try (InputStream in = url.openStream()) {
+                byte[] bytes = in.readAllBytes();
+                ByteBuffer buffer = BufferUtils.createByteBuffer(bytes.length);
+                buffer.put(bytes).flip();
+                return buffer;
+            }
+        };
+    }
+
+    private static ByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package anchora.engine.app.asset;
+
+import java.nio.ByteBuffer;
+
+import anchora.engine.app.texture.Image;
+import anchora.engine.app.texture.ImageUtils;
+
+/**
+ * Decodes images through STB into CPU-side {@link Image}s, for example for
+ * a {@code TextureAtlas}. Needs no render-thread step; the caller frees the
+ * image.
+ */
+public class ImageLoader implements AssetLoader<Image, Image> {
+
+    @Override
+    public Image decode(String path, ByteBuffer data) {
+        return ImageUtils.decode(data, path);
+    }
+
+    @Override
+    public Image upload(Image decoded) {
+        return decoded;
+    }
+
+    @Override
+    public boolean requiresRenderThread() {
+        return false;
+    }
+}
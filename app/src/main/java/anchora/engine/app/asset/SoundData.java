@@ -0,0 +1,49 @@
+package anchora.engine.app.asset;
+
+import java.nio.ShortBuffer;
+
+import org.lwjgl.system.libc.LibCStdlib;
+
+/**
+ * Decoded 16-bit PCM audio, ready for {@code alBufferData}. The samples are
+ * allocated by STB and must be released with {@link #free()}.
+ */
+public final class SoundData {
+
+    private final ShortBuffer samples;
+    private final int channels;
+    private final int sampleRate;
+    private boolean freed;
+
+    SoundData(ShortBuffer samples, int channels, int sampleRate) {
+        this.samples = samples;
+        this.channels = channels;
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * @return The interleaved samples.
+     * @throws IllegalStateException If the data was freed.
+     */
+    public ShortBuffer getSamples() {
+        if (freed) {
+            throw new IllegalStateException("SoundData: Samples already freed.");
+        }
+        return samples;
+    }
+
+    public int getChannels() {
+        return channels;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    public void free() {
+        if (!freed) {
+            LibCStdlib.free(samples);
+            freed = true;
+        }
+    }
+}
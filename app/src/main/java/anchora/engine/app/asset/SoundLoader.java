@@ -0,0 +1,43 @@
+package anchora.engine.app.asset;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+
+import org.lwjgl.stb.STBVorbis;
+import org.lwjgl.system.MemoryStack;
+
+/**
+ * Decodes Ogg Vorbis files through STB into {@link SoundData}. OpenAL
+ * buffers are not tied to the render thread, so there is no upload step; the
+ * audio code creates its buffers from the PCM data.
+ */
+public class SoundLoader implements AssetLoader<SoundData, SoundData> {
+
+    @Override
+    public SoundData decode(String path, ByteBuffer data) {
+        if (!data.isDirect()) {
+            throw new IllegalArgumentException("SoundLoader: Encoded sound must be a direct buffer.");
+        }
+
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            IntBuffer channels = stack.mallocInt(1);
+            IntBuffer sampleRate = stack.mallocInt(1);
+            ShortBuffer samples = STBVorbis.stb_vorbis_decode_memory(data, channels, sampleRate);
+            if (samples == null) {
+                throw new RuntimeException("SoundLoader: Failed to decode " + path);
+            }
+            return new SoundData(samples, channels.get(0), sampleRate.get(0));
+        }
+    }
+
+    @Override
+    public SoundData upload(SoundData decoded) {
+        return decoded;
+    }
+
+    @Override
+    public boolean requiresRenderThread() {
+        return false;
+    }
+}
@@ -0,0 +1,25 @@
+package anchora.engine.app.asset;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Loads UTF-8 text, such as shader sources. Needs no render-thread step.
+ */
+public class TextLoader implements AssetLoader<String, String> {
+
+    @Override
+    public String decode(String path, ByteBuffer data) {
+        return StandardCharsets.UTF_8.decode(data).toString();
+    }
+
+    @Override
+    public String upload(String decoded) {
+        return decoded;
+    }
+
+    @Override
+    public boolean requiresRenderThread() {
+        return false;
+    }
+}
@@ -0,0 +1,32 @@
+package anchora.engine.app.asset;
+
+import java.nio.ByteBuffer;
+
+import anchora.engine.app.texture.Image;
+import anchora.engine.app.texture.ImageUtils;
+import anchora.engine.app.texture.TextureUtils;
+
+/**
+ * Decodes an image on a worker and uploads it as a texture on the render
+ * thread, freeing the pixels once GL has them.
+ */
+public class TextureLoader implements AssetLoader<Image, Integer> {
+
+    @Override
+    public Image decode(String path, ByteBuffer data) {
+        return ImageUtils.decode(data, path);
+    }
+
+    /**
+     * @return The texture ID, to be deleted with
+     *         {@link TextureUtils#deleteTexture(int)}.
+     */
+    @Override
+    public Integer upload(Image decoded) {
+        try {
+            return TextureUtils.createTexture(decoded);
+        } finally {
+            decoded.free();
+        }
+    }
+}
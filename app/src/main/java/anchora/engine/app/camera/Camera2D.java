@@ -0,0 +1,228 @@
+package anchora.engine.app.camera;
+
+import org.joml.Matrix4f;
+import org.joml.Vector2f;
+import org.joml.Vector3f;
+
+/**
+ * An orthographic 2D camera in world units, where one unit is one pixel at a
+ * zoom of 1 and y points up. The camera's position is the world point shown
+ * at the center of the viewport.
+ *
+ * <p>The view and projection matrices are rebuilt lazily, each only when one
+ * of its own inputs changed. Every effective change bumps
+ * {@link #getVersion()}, so uploaders such as {@link CameraUniformBuffer} can
+ * skip frames where the camera stood still.
+ */
+public class Camera2D {
+
+    private float x, y;
+    private float zoom = 1f;
+    private float rotation;
+    private float viewportWidth, viewportHeight;
+
+    private final Matrix4f projection = new Matrix4f();
+    private final Matrix4f view = new Matrix4f();
+    private final Matrix4f viewProjection = new Matrix4f();
+    private final Matrix4f inverseViewProjection = new Matrix4f();
+    private boolean projectionDirty = true, viewDirty = true, combinedDirty = true;
+    private int version;
+
+    private final Vector3f scratch = new Vector3f();
+
+    /**
+     * @param viewportWidth  The viewport width in pixels.
+     * @param viewportHeight The viewport height in pixels.
+     * @throws IllegalArgumentException If either size is not positive.
+     */
+    public Camera2D(float viewportWidth, float viewportHeight) {
+        setViewport(viewportWidth, viewportHeight);
+    }
+
+    /**
+     * Resizes the viewport, usually after the framebuffer changed size.
+     *
+     * @throws IllegalArgumentException If either size is not positive.
+     */
+    public void setViewport(float width, float height) {
+        if (!(width > 0f) || !(height > 0f)) {
+            throw new IllegalArgumentException("Camera2D: Invalid viewport: " + width + "x" + height);
+        }
+        if (width == viewportWidth && height == viewportHeight) {
+            return;
+        }
+
+        viewportWidth = width;
+        viewportHeight = height;
+        projectionDirty = true;
+        changed();
+    }
+
+    public void setPosition(float x, float y) {
+        if (x == this.x && y == this.y) {
+            return;
+        }
+
+        this.x = x;
+        this.y = y;
+        viewDirty = true;
+        changed();
+    }
+
+    public void translate(float dx, float dy) {
+        setPosition(x + dx, y + dy);
+    }
+
+    /**
+     * @param zoom The scale from world units to pixels; 2 shows everything
+     *             twice as large.
+     * @throws IllegalArgumentException If the zoom is not positive.
+     */
+    public void setZoom(float zoom) {
+        if (!(zoom > 0f)) {
+            throw new IllegalArgumentException("Camera2D: Invalid zoom: " + zoom);
+        }
+        if (zoom == this.zoom) {
+            return;
+        }
+
+        this.zoom = zoom;
+        viewDirty = true;
+        changed();
+    }
+
+    /**
+     * @param rotation The camera's rotation in radians, counter-clockwise.
+     *                 The world appears to turn the other way.
+     */
+    public void setRotation(float rotation) {
+        if (rotation == this.rotation) {
+            return;
+        }
+
+        this.rotation = rotation;
+        viewDirty = true;
+        changed();
+    }
+
+    private void changed() {
+        combinedDirty = true;
+        version++;
+    }
+
+    /**
+     * @return The matrix from view space to clip space. The returned matrix is
+     *         owned by the camera and must not be modified.
+     */
+    public Matrix4f getProjection() {
+        if (projectionDirty) {
+            float halfWidth = viewportWidth * 0.5f;
+            float halfHeight = viewportHeight * 0.5f;
+            projection.setOrtho(-halfWidth, halfWidth, -halfHeight, halfHeight, -1f, 1f);
+            projectionDirty = false;
+        }
+        return projection;
+    }
+
+    /**
+     * @return The matrix from world space to view space. The returned matrix is
+     *         owned by the camera and must not be modified.
+     */
+    public Matrix4f getView() {
+        if (viewDirty) {
+            view.identity()
+                    .scale(zoom, zoom, 1f)
+                    .rotateZ(-rotation)
+                    .translate(-x, -y, 0f);
+            viewDirty = false;
+        }
+        return view;
+    }
+
+    /**
+     * @return The matrix from world space to clip space, as uploaded to the
+     *         shaders. The returned matrix is owned by the camera and must not
+     *         be modified.
+     */
+    public Matrix4f getViewProjection() {
+        if (combinedDirty) {
+            getProjection().mul(getView(), viewProjection);
+            viewProjection.invert(inverseViewProjection);
+            combinedDirty = false;
+        }
+        return viewProjection;
+    }
+
+    /**
+     * Converts a window position, in pixels from the top left corner, to the
+     * world point under it.
+     *
+     * @param out Receives the world position.
+     * @return {@code out}.
+     */
+    public Vector2f screenToWorld(float screenX, float screenY, Vector2f out) {
+        getViewProjection();
+        scratch.set(screenX / viewportWidth * 2f - 1f, 1f - screenY / viewportHeight * 2f, 0f);
+        inverseViewProjection.transformPosition(scratch);
+        return out.set(scratch.x, scratch.y);
+    }
+
+    /**
+     * Computes the world-space box around everything the camera can see, for
+     * culling. With a rotated camera the box is larger than the view.
+     *
+     * @param bounds Receives {@code {minX, minY, maxX, maxY}}.
+     */
+    public void getVisibleBounds(float[] bounds) {
+        getViewProjection();
+        bounds[0] = bounds[1] = Float.POSITIVE_INFINITY;
+        bounds[2] = bounds[3] = Float.NEGATIVE_INFINITY;
+        for (int corner = 0; corner < 4; corner++) {
+            scratch.set((corner & 1) == 0 ? -1f : 1f, (corner & 2) == 0 ? -1f : 1f, 0f);
+            inverseViewProjection.transformPosition(scratch);
+            bounds[0] = Math.min(bounds[0], scratch.x);
+            bounds[1] = Math.min(bounds[1], scratch.y);
+            bounds[2] = Math.max(bounds[2], scratch.x);
+            bounds[3] = Math.max(bounds[3], scratch.y);
+        }
+    }
+
+    /**
+     * @return A counter bumped on every change to the camera.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    public boolean isViewDirty() {
+        return viewDirty;
+    }
+
+    public boolean isProjectionDirty() {
+        return projectionDirty;
+    }
+
+    public float getX() {
+        return x;
+    }
+
+    public float getY() {
+        return y;
+    }
+
+    public float getZoom() {
+        return zoom;
+    }
+
+    public float getRotation() {
+        return rotation;
+    }
+
+    public float getViewportWidth() {
+        return viewportWidth;
+    }
+
+    public float getViewportHeight() {
+        return viewportHeight;
+    }
+}
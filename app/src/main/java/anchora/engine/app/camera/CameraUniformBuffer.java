@@ -0,0 +1,78 @@
+package anchora.engine.app.camera;
+
+import java.nio.FloatBuffer;
+
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL31;
+
+/**
+ * Holds a {@link Camera2D}'s view-projection matrix in a uniform buffer bound
+ * to {@link #BINDING}, shared by every program that declares the block:
+ *
+ * <pre>
+ * layout (std140) uniform Camera {
+ *     mat4 uViewProjection;
+ * };
+ * </pre>
+ *
+ * One upload per camera change covers every shader, instead of one
+ * {@code glUniformMatrix4fv} per program per frame.
+ */
+public class CameraUniformBuffer {
+
+    public static final String BLOCK_NAME = "Camera";
+    public static final int BINDING = 0;
+
+    private static final int SIZE_BYTES = 16 * Float.BYTES;
+
+    private final int bufferId;
+    private final FloatBuffer staging = BufferUtils.createFloatBuffer(16);
+    private int uploadedVersion;
+    private boolean uploaded;
+
+    /**
+     * Creates the buffer and binds it to {@link #BINDING}. Must be called with
+     * a current GL context.
+     */
+    public CameraUniformBuffer() {
+        bufferId = GL15.glGenBuffers();
+        GL15.glBindBuffer(GL31.GL_UNIFORM_BUFFER, bufferId);
+        GL15.glBufferData(GL31.GL_UNIFORM_BUFFER, SIZE_BYTES, GL15.GL_DYNAMIC_DRAW);
+        GL30.glBindBufferBase(GL31.GL_UNIFORM_BUFFER, BINDING, bufferId);
+    }
+
+    /**
+     * Uploads the camera's matrix if it changed since the last upload.
+     *
+     * @return True if anything was uploaded.
+     */
+    public boolean update(Camera2D camera) {
+        if (uploaded && camera.getVersion() == uploadedVersion) {
+            return false;
+        }
+
+        camera.getViewProjection().get(staging);
+        GL15.glBindBuffer(GL31.GL_UNIFORM_BUFFER, bufferId);
+        GL15.glBufferSubData(GL31.GL_UNIFORM_BUFFER, 0, staging);
+        uploadedVersion = camera.getVersion();
+        uploaded = true;
+        return true;
+    }
+
+    /**
+     * Points the program's {@link #BLOCK_NAME} block, if it has one, at
+     * {@link #BINDING}. Needed after every link or binary load.
+     */
+    public static void bindBlock(int programId) {
+        int index = GL31.glGetUniformBlockIndex(programId, BLOCK_NAME);
+        if (index != GL31.GL_INVALID_INDEX) {
+            GL31.glUniformBlockBinding(programId, index, BINDING);
+        }
+    }
+
+    public void dispose() {
+        GL15.glDeleteBuffers(bufferId);
+    }
+}
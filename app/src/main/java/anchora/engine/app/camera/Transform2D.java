@@ -0,0 +1,110 @@
+package anchora.engine.app.camera;
+
+import java.nio.FloatBuffer;
+
+import org.joml.Matrix3x2f;
+
+/**
+ * The position, rotation and scale of one object, composed into a 2x3 affine
+ * matrix only when one of them changed. Meshes stay in model space and the
+ * matrix travels to the GPU as six floats per instance, so moving an object
+ * no longer means rewriting its vertices.
+ */
+public class Transform2D {
+
+    /** The floats written by {@link #put(FloatBuffer)}. */
+    public static final int FLOATS = 6;
+
+    private float x, y;
+    private float rotation;
+    private float scaleX = 1f, scaleY = 1f;
+
+    private final Matrix3x2f matrix = new Matrix3x2f();
+    private boolean dirty;
+    private int version;
+
+    public void setPosition(float x, float y) {
+        if (x != this.x || y != this.y) {
+            this.x = x;
+            this.y = y;
+            changed();
+        }
+    }
+
+    /**
+     * @param rotation The rotation in radians, counter-clockwise.
+     */
+    public void setRotation(float rotation) {
+        if (rotation != this.rotation) {
+            this.rotation = rotation;
+            changed();
+        }
+    }
+
+    public void setScale(float scaleX, float scaleY) {
+        if (scaleX != this.scaleX || scaleY != this.scaleY) {
+            this.scaleX = scaleX;
+            this.scaleY = scaleY;
+            changed();
+        }
+    }
+
+    private void changed() {
+        dirty = true;
+        version++;
+    }
+
+    /**
+     * @return The model matrix, scaling first, then rotating, then
+     *         translating. The returned matrix is owned by the transform and
+     *         must not be modified.
+     */
+    public Matrix3x2f getMatrix() {
+        if (dirty) {
+            matrix.translation(x, y).rotate(rotation).scale(scaleX, scaleY);
+            dirty = false;
+        }
+        return matrix;
+    }
+
+    /**
+     * Writes the matrix's columns, {@code m00 m01 m10 m11 m20 m21}, at the
+     * buffer's position and advances it by {@link #FLOATS}.
+     */
+    public void put(FloatBuffer dst) {
+        getMatrix().get(dst);
+        dst.position(dst.position() + FLOATS);
+    }
+
+    /**
+     * @return A counter bumped on every change, so packed instance data can be
+     *         rewritten only for objects that moved.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    public float getX() {
+        return x;
+    }
+
+    public float getY() {
+        return y;
+    }
+
+    public float getRotation() {
+        return rotation;
+    }
+
+    public float getScaleX() {
+        return scaleX;
+    }
+
+    public float getScaleY() {
+        return scaleY;
+    }
+}
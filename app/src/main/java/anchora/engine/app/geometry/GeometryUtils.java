@@ -0,0 +1,128 @@
+package anchora.engine.app.geometry;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+import anchora.engine.app.VerticesUtils;
+
+/**
+ * Generates indexed, filled geometry for circles and regular polygons.
+ *
+ * <p>Shapes are emitted as triangle fans: a center vertex followed by one
+ * vertex per segment, with three indices per segment. All coordinates keep
+ * full float precision and vertices use the
+ * {@link VerticesUtils#SINGLE_VERTEX_ARRAY_LENGTH} layout.
+ */
+public class GeometryUtils {
+
+    /**
+     * The largest distance, in pixels, that a circle's outline may stray from
+     * the true circle when its segment count is chosen automatically.
+     */
+    public static final float DEFAULT_TOLERANCE = 0.25f;
+    public static final int MIN_CIRCLE_SEGMENTS = 8;
+    public static final int MAX_CIRCLE_SEGMENTS = UnitCircle.MAX_CACHED_SEGMENTS;
+
+    private static final int STRIDE = VerticesUtils.SINGLE_VERTEX_ARRAY_LENGTH;
+
+    /**
+     * Chooses the segment count of a circle from its on-screen radius using
+     * {@link #DEFAULT_TOLERANCE}.
+     *
+     * @param radius The on-screen radius, in pixels.
+     * @return The segment count, between {@link #MIN_CIRCLE_SEGMENTS} and
+     *         {@link #MAX_CIRCLE_SEGMENTS}.
+     */
+    public static int segmentsForRadius(float radius) {
+        return segmentsForRadius(radius, DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Chooses the smallest segment count that keeps every chord of the
+     * circle within {@code tolerance} pixels of the true outline, so small
+     * circles get few vertices and large ones stay smooth.
+     *
+     * @param radius    The on-screen radius, in pixels.
+     * @param tolerance The largest allowed distance between a chord and the
+     *                  circle, in pixels.
+     * @return The segment count, between {@link #MIN_CIRCLE_SEGMENTS} and
+     *         {@link #MAX_CIRCLE_SEGMENTS}.
+     */
+    public static int segmentsForRadius(float radius, float tolerance) {
+        if (tolerance <= 0) {
+            throw new IllegalArgumentException("GeometryUtils: Invalid tolerance.");
+        } else if (radius <= tolerance) {
+            return MIN_CIRCLE_SEGMENTS;
+        }
+
+        // A chord spanning angle a deviates from the circle by r * (1 - cos(a / 2))
+        double maxAngle = 2 * Math.acos(1 - tolerance / radius);
+        int segments = (int) Math.ceil(2 * Math.PI / maxAngle);
+        return Math.max(MIN_CIRCLE_SEGMENTS, Math.min(MAX_CIRCLE_SEGMENTS, segments));
+    }
+
+    public static int fanVertexCount(int segments) {
+        return segments + 1;
+    }
+
+    public static int fanIndexCount(int segments) {
+        return segments * 3;
+    }
+
+    /**
+     * Writes a filled regular polygon as an indexed triangle fan. A circle is
+     * a polygon with {@link #segmentsForRadius(float)} sides.
+     *
+     * @param vertices     The vertex buffer to write into.
+     * @param vertexOffset The index of the first float to write.
+     * @param indices      The index buffer to write into.
+     * @param indexOffset  The index of the first index to write.
+     * @param baseVertex   The number added to every index, i.e. the position of
+     *                     the fan's center vertex within the draw.
+     * @param centerX      The x coordinate of the center.
+     * @param centerY      The y coordinate of the center.
+     * @param radius       The distance from the center to each corner.
+     * @param segments     The number of sides, at least 3.
+     * @param color        An array of floats with RGBA values.
+     * @throws IllegalArgumentException If the inputs are invalid or the
+     *                                  buffers are too small.
+     */
+    public static void writeFan(FloatBuffer vertices, int vertexOffset,
+            IntBuffer indices, int indexOffset, int baseVertex,
+            float centerX, float centerY, float radius, int segments, float[] color) {
+
+        if (segments < 3) {
+            throw new IllegalArgumentException("GeometryUtils: A fan needs at least 3 segments.");
+        } else if (color == null || color.length != 4) {
+            throw new IllegalArgumentException("GeometryUtils: Invalid color input.");
+        } else if (vertexOffset < 0 || indexOffset < 0
+                || vertexOffset + fanVertexCount(segments) * STRIDE > vertices.limit()
+                || indexOffset + fanIndexCount(segments) > indices.limit()) {
+            throw new IllegalArgumentException("GeometryUtils: Destination buffer is too small.");
+        }
+
+        UnitCircle circle = UnitCircle.of(segments);
+
+        putVertex(vertices, vertexOffset, centerX, centerY, color);
+        for (int i = 0; i < segments; i++) {
+            putVertex(vertices, vertexOffset + (i + 1) * STRIDE,
+                    centerX + radius * circle.cos(i),
+                    centerY + radius * circle.sin(i), color);
+
+            int index = indexOffset + i * 3;
+            indices.put(index, baseVertex);
+            indices.put(index + 1, baseVertex + 1 + i);
+            indices.put(index + 2, baseVertex + 1 + (i + 1) % segments);
+        }
+    }
+
+    private static void putVertex(FloatBuffer dst, int index, float x, float y, float[] color) {
+        dst.put(index, x);
+        dst.put(index + 1, y);
+        dst.put(index + 2, 0);
+        dst.put(index + 3, color[0]);
+        dst.put(index + 4, color[1]);
+        dst.put(index + 5, color[2]);
+        dst.put(index + 6, color[3]);
+    }
+}
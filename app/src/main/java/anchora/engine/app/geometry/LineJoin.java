@@ -0,0 +1,16 @@
+package anchora.engine.app.geometry;
+
+/**
+ * How {@link Tessellator#stroke} joins two segments of a polyline.
+ */
+public enum LineJoin {
+
+    /**
+     * Extends both edges until they meet in a point. Joins sharper than
+     * {@link Tessellator#MITER_LIMIT} allows are beveled instead.
+     */
+    MITER,
+
+    /** Cuts the corner off with a straight edge. */
+    BEVEL
+}
@@ -0,0 +1,137 @@
+package anchora.engine.app.geometry;
+
+import java.util.Arrays;
+
+import anchora.engine.app.VerticesUtils;
+
+/**
+ * Indexed triangles built by a {@link Tessellator}: vertices in the
+ * {@link VerticesUtils#SINGLE_VERTEX_ARRAY_LENGTH} layout and indices
+ * relative to the first vertex. The arrays grow as needed and are kept by
+ * {@link #clear()}, so one instance can be rebuilt every frame without
+ * allocating.
+ *
+ * <p>The arrays may be longer than the data; only the first
+ * {@link #getVertexCount()} vertices and {@link #getIndexCount()} indices
+ * are valid.
+ */
+public final class Tessellation {
+
+    private static final int STRIDE = VerticesUtils.SINGLE_VERTEX_ARRAY_LENGTH;
+
+    private float[] vertices;
+    private int[] indices;
+    private int vertexCount, indexCount;
+
+    public Tessellation() {
+        this(64);
+    }
+
+    /**
+     * @param vertexCapacity The number of vertices to allocate room for up
+     *                       front.
+     */
+    public Tessellation(int vertexCapacity) {
+        if (vertexCapacity < 1) {
+            throw new IllegalArgumentException("Tessellation: Invalid capacity.");
+        }
+        vertices = new float[vertexCapacity * STRIDE];
+        indices = new int[vertexCapacity * 3];
+    }
+
+    /**
+     * @return The index of the new vertex.
+     */
+    int addVertex(float x, float y, float[] color) {
+        if ((vertexCount + 1) * STRIDE > vertices.length) {
+            vertices = Arrays.copyOf(vertices, vertices.length * 2);
+        }
+
+        int offset = vertexCount * STRIDE;
+        vertices[offset] = x;
+        vertices[offset + 1] = y;
+        vertices[offset + 2] = 0f;
+        vertices[offset + 3] = color[0];
+        vertices[offset + 4] = color[1];
+        vertices[offset + 5] = color[2];
+        vertices[offset + 6] = color[3];
+        return vertexCount++;
+    }
+
+    void addTriangle(int a, int b, int c) {
+        if (indexCount + 3 > indices.length) {
+            indices = Arrays.copyOf(indices, indices.length * 2);
+        }
+        indices[indexCount++] = a;
+        indices[indexCount++] = b;
+        indices[indexCount++] = c;
+    }
+
+    /**
+     * Adds a triangle wound counter-clockwise, whatever order its corners
+     * are given in.
+     */
+    void addTriangleCcw(int a, int b, int c) {
+        if (cross(a, b, c) < 0f) {
+            addTriangle(a, c, b);
+        } else {
+            addTriangle(a, b, c);
+        }
+    }
+
+    private float cross(int a, int b, int c) {
+        float ax = getX(a), ay = getY(a);
+        return (getX(b) - ax) * (getY(c) - ay) - (getY(b) - ay) * (getX(c) - ax);
+    }
+
+    /**
+     * Removes every vertex and index, keeping the storage.
+     */
+    public void clear() {
+        vertexCount = 0;
+        indexCount = 0;
+    }
+
+    /**
+     * @return A copy trimmed to the data, for keeping a result that a
+     *         reused instance would overwrite.
+     */
+    public Tessellation copy() {
+        Tessellation copy = new Tessellation(1);
+        copy.vertices = Arrays.copyOf(vertices, Math.max(1, vertexCount) * STRIDE);
+        copy.indices = Arrays.copyOf(indices, Math.max(3, indexCount));
+        copy.vertexCount = vertexCount;
+        copy.indexCount = indexCount;
+        return copy;
+    }
+
+    public float getX(int vertex) {
+        return vertices[vertex * STRIDE];
+    }
+
+    public float getY(int vertex) {
+        return vertices[vertex * STRIDE + 1];
+    }
+
+    /**
+     * @return The interleaved vertices. Do not modify.
+     */
+    public float[] getVertices() {
+        return vertices;
+    }
+
+    /**
+     * @return The triangle indices. Do not modify.
+     */
+    public int[] getIndices() {
+        return indices;
+    }
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    public int getIndexCount() {
+        return indexCount;
+    }
+}
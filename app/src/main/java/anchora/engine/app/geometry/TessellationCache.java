@@ -0,0 +1,183 @@
+package anchora.engine.app.geometry;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the tessellations of shapes that are drawn again and again, keyed by
+ * everything that shapes them: the points, the fill or stroke settings and
+ * the color. A shape drawn with the same parameters as before is looked up
+ * instead of tessellated, and the lookup allocates nothing.
+ *
+ * <p>The least recently drawn shapes are dropped once the cache is full.
+ * Returned tessellations are shared and must not be modified. A cache is not
+ * thread-safe.
+ *
+ * <pre>
+ * Tessellation outline = cache.stroke(path, pathLength, false, 2f, LineJoin.MITER, red);
+ * shapeBatch.draw(outline);
+ * </pre>
+ */
+public class TessellationCache {
+
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private static final float FILL = 0f, STROKE = 1f;
+
+    private final Tessellator tessellator = new Tessellator();
+    private final Tessellation scratch = new Tessellation();
+    private final Map<ShapeKey, Tessellation> shapes;
+
+    // Reused for lookups and only copied when a shape is added
+    private final ShapeKey probe = new ShapeKey(new float[64], 0);
+
+    private long hits, misses;
+
+    public TessellationCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity The number of shapes kept.
+     */
+    public TessellationCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("TessellationCache: Invalid capacity.");
+        }
+
+        this.shapes = new LinkedHashMap<ShapeKey, Tessellation>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ShapeKey, Tessellation> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * @return The filled polygon, see {@link Tessellator#fill}.
+     */
+    public Tessellation fill(float[] points, int count, float[] color) {
+        probe.set(FILL, points, count, color, 0f, 0f, 0f);
+        Tessellation shape = shapes.get(probe);
+        if (shape != null) {
+            hits++;
+            return shape;
+        }
+
+        scratch.clear();
+        tessellator.fill(points, count, color, scratch);
+        return add(scratch.copy());
+    }
+
+    /**
+     * @return The stroked polyline, see {@link Tessellator#stroke}.
+     */
+    public Tessellation stroke(float[] points, int count, boolean closed, float width, LineJoin join,
+            float[] color) {
+
+        if (join == null) {
+            throw new IllegalArgumentException("TessellationCache: Invalid join.");
+        }
+        probe.set(STROKE, points, count, color, closed ? 1f : 0f, width, join.ordinal());
+        Tessellation shape = shapes.get(probe);
+        if (shape != null) {
+            hits++;
+            return shape;
+        }
+
+        scratch.clear();
+        tessellator.stroke(points, count, closed, width, join, color, scratch);
+        return add(scratch.copy());
+    }
+
+    private Tessellation add(Tessellation shape) {
+        misses++;
+        shapes.put(probe.copy(), shape);
+        return shape;
+    }
+
+    public long getHitCount() {
+        return hits;
+    }
+
+    public long getMissCount() {
+        return misses;
+    }
+
+    public int size() {
+        return shapes.size();
+    }
+
+    public void clear() {
+        shapes.clear();
+    }
+
+    /**
+     * The shape parameters flattened into floats: the kind, the stroke
+     * settings, the color and then the points.
+     */
+    private static final class ShapeKey {
+
+        private static final int HEADER = 8;
+
+        private float[] values;
+        private int length;
+        private int hash;
+
+        ShapeKey(float[] values, int length) {
+            this.values = values;
+            this.length = length;
+            this.hash = hash(values, length);
+        }
+
+        void set(float kind, float[] points, int count, float[] color, float closed, float width,
+                float join) {
+
+            if (points == null || count < 0 || points.length < count * 2) {
+                throw new IllegalArgumentException("TessellationCache: Invalid points.");
+            } else if (color == null || color.length != 4) {
+                throw new IllegalArgumentException("TessellationCache: Invalid color input.");
+            }
+
+            length = HEADER + count * 2;
+            if (values.length < length) {
+                values = new float[Math.max(length, values.length * 2)];
+            }
+            values[0] = kind;
+            values[1] = closed;
+            values[2] = width;
+            values[3] = join;
+            System.arraycopy(color, 0, values, 4, 4);
+            System.arraycopy(points, 0, values, HEADER, count * 2);
+            hash = hash(values, length);
+        }
+
+        ShapeKey copy() {
+            return new ShapeKey(Arrays.copyOf(values, length), length);
+        }
+
+        private static int hash(float[] values, int length) {
+            int hash = 1;
+            for (int i = 0; i < length; i++) {
+                hash = 31 * hash + Float.floatToIntBits(values[i]);
+            }
+            return hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof ShapeKey)) {
+                return false;
+            }
+            ShapeKey key = (ShapeKey) other;
+            return hash == key.hash && length == key.length
+                    && Arrays.equals(values, 0, length, key.values, 0, key.length);
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package anchora.engine.app.geometry;
+
+/**
+ * Turns outlines into indexed triangles: simple polygons are filled by ear
+ * clipping, and polylines are stroked into thick lines with mitered or
+ * beveled joins. Results are appended to a {@link Tessellation}, with
+ * triangles wound counter-clockwise.
+ *
+ * <p>Points are given as interleaved x and y pairs. Repeated consecutive
+ * points are skipped, as is a closing point equal to the first one.
+ *
+ * <p>Scratch arrays are kept between calls, so tessellating into a reused
+ * {@link Tessellation} allocates nothing once both have grown. A tessellator
+ * is not thread-safe. Shapes that do not change can be kept in a
+ * {@link TessellationCache} instead of being rebuilt every frame.
+ */
+public class Tessellator {
+
+    /**
+     * The longest miter, as a multiple of half the line width, before a
+     * {@link LineJoin#MITER} join is beveled. 4 keeps joins sharper than
+     * about 29 degrees from spiking out.
+     */
+    public static final float MITER_LIMIT = 4f;
+
+    private static final float EPSILON = 1e-6f;
+
+    // The points without repeats
+    private float[] px = new float[16], py = new float[16];
+
+    // Fill: the remaining outline as a linked ring
+    private int[] prev = new int[16], next = new int[16];
+    private boolean[] reflex = new boolean[16];
+
+    // Stroke: per segment direction and length, per point the vertices the
+    // segments on either side attach to
+    private float[] dx = new float[16], dy = new float[16], length = new float[16];
+    private int[] startLeft = new int[16], startRight = new int[16];
+    private int[] endLeft = new int[16], endRight = new int[16];
+
+    /**
+     * Fills a simple polygon, convex or not. Self-intersecting outlines still
+     * produce triangles but may overlap.
+     *
+     * @param points The outline as x and y pairs, in either winding.
+     * @param count  The number of points.
+     * @param color  An array of floats with RGBA values.
+     * @param out    Receives the vertices and triangles.
+     * @return The number of triangles added, 0 for outlines with no area.
+     */
+    public int fill(float[] points, int count, float[] color, Tessellation out) {
+        checkInputs(points, count, 3, color, out);
+
+        int n = loadPoints(points, count, true);
+        if (n < 3) {
+            return 0;
+        }
+        float area = 0f;
+        for (int i = 0, j = n - 1; i < n; j = i++) {
+            area += px[j] * py[i] - px[i] * py[j];
+        }
+        if (Math.abs(area) < EPSILON) {
+            return 0;
+        }
+
+        int base = out.getVertexCount();
+        for (int i = 0; i < n; i++) {
+            out.addVertex(px[i], py[i], color);
+        }
+
+        // Walk the ring counter-clockwise whatever the input winding
+        prev = grow(prev, n);
+        next = grow(next, n);
+        reflex = grow(reflex, n);
+        boolean counterClockwise = area > 0f;
+        for (int i = 0; i < n; i++) {
+            int after = (i + 1) % n;
+            int before = (i + n - 1) % n;
+            next[i] = counterClockwise ? after : before;
+            prev[i] = counterClockwise ? before : after;
+        }
+        for (int i = 0; i < n; i++) {
+            reflex[i] = !isConvex(prev[i], i, next[i]);
+        }
+
+        int triangles = 0;
+        int remaining = n;
+        int current = 0;
+        int misses = 0;
+        while (remaining > 3) {
+            int before = prev[current];
+            int after = next[current];
+
+            // With no ear left the outline crosses itself; clip anyway so
+            // the loop always ends
+            if (misses > remaining || isEar(before, current, after)) {
+                out.addTriangle(base + before, base + current, base + after);
+                triangles++;
+                next[before] = after;
+                prev[after] = before;
+                remaining--;
+                misses = 0;
+
+                // Only the neighbours of a clipped ear can change from
+                // reflex to convex
+                reflex[before] = !isConvex(prev[before], before, after);
+                reflex[after] = !isConvex(before, after, next[after]);
+                current = after;
+            } else {
+                misses++;
+                current = after;
+            }
+        }
+        out.addTriangle(base + prev[current], base + current, base + next[current]);
+        return triangles + 1;
+    }
+
+    private boolean isConvex(int a, int b, int c) {
+        return cross(a, b, c) > 0f;
+    }
+
+    private float cross(int a, int b, int c) {
+        return (px[b] - px[a]) * (py[c] - py[b]) - (py[b] - py[a]) * (px[c] - px[b]);
+    }
+
+    /**
+     * A convex corner is an ear when no other corner lies inside it. Only a
+     * reflex corner can, so convex ones are skipped.
+     */
+    private boolean isEar(int a, int b, int c) {
+        if (reflex[b]) {
+            return false;
+        }
+        for (int p = next[c]; p != a; p = next[p]) {
+            if (reflex[p] && !samePoint(p, a) && !samePoint(p, b) && !samePoint(p, c)
+                    && inTriangle(p, a, b, c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean samePoint(int p, int q) {
+        return px[p] == px[q] && py[p] == py[q];
+    }
+
+    /**
+     * @return True if point p is inside or on the edge of the
+     *         counter-clockwise triangle abc.
+     */
+    private boolean inTriangle(int p, int a, int b, int c) {
+        return cross(a, b, p) >= 0f && cross(b, c, p) >= 0f && cross(c, a, p) >= 0f;
+    }
+
+    /**
+     * Strokes a polyline into a thick line whose ends stop flat at the first
+     * and last point.
+     *
+     * @param points The points as x and y pairs.
+     * @param count  The number of points.
+     * @param closed Whether the last point connects back to the first.
+     * @param width  The width of the line.
+     * @param join   How segments are joined.
+     * @param color  An array of floats with RGBA values.
+     * @param out    Receives the vertices and triangles.
+     * @return The number of triangles added.
+     */
+    public int stroke(float[] points, int count, boolean closed, float width, LineJoin join,
+            float[] color, Tessellation out) {
+
+        checkInputs(points, count, 2, color, out);
+        if (width <= 0f || join == null) {
+            throw new IllegalArgumentException("Tessellator: Invalid stroke inputs.");
+        }
+
+        int n = loadPoints(points, count, closed);
+        if (n < 2) {
+            return 0;
+        }
+        closed &= n > 2;
+
+        int segments = closed ? n : n - 1;
+        dx = grow(dx, segments);
+        dy = grow(dy, segments);
+        length = grow(length, segments);
+        for (int s = 0; s < segments; s++) {
+            int e = (s + 1) % n;
+            float x = px[e] - px[s];
+            float y = py[e] - py[s];
+            float l = (float) Math.sqrt(x * x + y * y);
+            dx[s] = x / l;
+            dy[s] = y / l;
+            length[s] = l;
+        }
+
+        startLeft = grow(startLeft, n);
+        startRight = grow(startRight, n);
+        endLeft = grow(endLeft, n);
+        endRight = grow(endRight, n);
+
+        float half = width * 0.5f;
+        int triangles = 0;
+        for (int i = 0; i < n; i++) {
+            if (!closed && (i == 0 || i == n - 1)) {
+                // Flat end, across the only segment at this point
+                int s = i == 0 ? 0 : segments - 1;
+                int left = out.addVertex(px[i] - dy[s] * half, py[i] + dx[s] * half, color);
+                int right = out.addVertex(px[i] + dy[s] * half, py[i] - dx[s] * half, color);
+                startLeft[i] = endLeft[i] = left;
+                startRight[i] = endRight[i] = right;
+            } else {
+                triangles += join(i, (i + segments - 1) % segments, i, half, join, color, out);
+            }
+        }
+
+        // Each segment is a quad from its start point to its end point
+        for (int s = 0; s < segments; s++) {
+            int e = (s + 1) % n;
+            out.addTriangle(startRight[s], endRight[e], endLeft[e]);
+            out.addTriangle(startRight[s], endLeft[e], startLeft[s]);
+            triangles += 2;
+        }
+        return triangles;
+    }
+
+    /**
+     * Builds the vertices where segment {@code in} ends and segment
+     * {@code out} starts, at point {@code i}.
+     *
+     * @return The number of triangles added for the join itself.
+     */
+    private int join(int i, int in, int outSegment, float half, LineJoin join, float[] color,
+            Tessellation out) {
+
+        // Left normals of both segments, and the direction halfway between
+        float n0x = -dy[in], n0y = dx[in];
+        float n1x = -dy[outSegment], n1y = dx[outSegment];
+        float mx = n0x + n1x, my = n0y + n1y;
+        float m = (float) Math.sqrt(mx * mx + my * my);
+        float x = px[i], y = py[i];
+
+        if (m < EPSILON) {
+            // The line doubles back on itself: end one segment and start the
+            // other without joining them
+            endLeft[i] = out.addVertex(x + n0x * half, y + n0y * half, color);
+            endRight[i] = out.addVertex(x - n0x * half, y - n0y * half, color);
+            startLeft[i] = out.addVertex(x + n1x * half, y + n1y * half, color);
+            startRight[i] = out.addVertex(x - n1x * half, y - n1y * half, color);
+            return 0;
+        }
+
+        mx /= m;
+        my /= m;
+        float miter = half / (mx * n0x + my * n0y);
+        float turn = dx[in] * dy[outSegment] - dy[in] * dx[outSegment];
+
+        // Nearly straight joins are mitered whatever the join style
+        if (miter <= MITER_LIMIT * half && (join == LineJoin.MITER || Math.abs(turn) < EPSILON)) {
+            int left = out.addVertex(x + mx * miter, y + my * miter, color);
+            int right = out.addVertex(x - mx * miter, y - my * miter, color);
+            startLeft[i] = endLeft[i] = left;
+            startRight[i] = endRight[i] = right;
+            return 0;
+        }
+
+        // Bevel. The inner edges still meet in a point, but never further
+        // away than the corner of the shorter segment's quad
+        float shorter = Math.min(length[in], length[outSegment]);
+        float inner = Math.min(miter, (float) Math.sqrt(half * half + shorter * shorter));
+        if (turn > 0f) {
+            // Turning left: the left side is inside the bend
+            int shared = out.addVertex(x + mx * inner, y + my * inner, color);
+            int outerIn = out.addVertex(x - n0x * half, y - n0y * half, color);
+            int outerOut = out.addVertex(x - n1x * half, y - n1y * half, color);
+            startLeft[i] = endLeft[i] = shared;
+            endRight[i] = outerIn;
+            startRight[i] = outerOut;
+            out.addTriangleCcw(shared, outerIn, outerOut);
+        } else {
+            int shared = out.addVertex(x - mx * inner, y - my * inner, color);
+            int outerIn = out.addVertex(x + n0x * half, y + n0y * half, color);
+            int outerOut = out.addVertex(x + n1x * half, y + n1y * half, color);
+            startRight[i] = endRight[i] = shared;
+            endLeft[i] = outerIn;
+            startLeft[i] = outerOut;
+            out.addTriangleCcw(shared, outerIn, outerOut);
+        }
+        return 1;
+    }
+
+    /**
+     * Copies the points into the scratch arrays, skipping repeats.
+     *
+     * @param ring Whether a last point equal to the first is dropped too.
+     * @return The number of points kept.
+     */
+    private int loadPoints(float[] points, int count, boolean ring) {
+        px = grow(px, count);
+        py = grow(py, count);
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            float x = points[i * 2];
+            float y = points[i * 2 + 1];
+            if (n == 0 || x != px[n - 1] || y != py[n - 1]) {
+                px[n] = x;
+                py[n] = y;
+                n++;
+            }
+        }
+        if (ring && n > 1 && px[n - 1] == px[0] && py[n - 1] == py[0]) {
+            n--;
+        }
+        return n;
+    }
+
+    private static void checkInputs(float[] points, int count, int minimum, float[] color,
+            Tessellation out) {
+
+        if (points == null || count < minimum || points.length < count * 2) {
+            throw new IllegalArgumentException("Tessellator: Invalid points.");
+        } else if (color == null || color.length != 4) {
+            throw new IllegalArgumentException("Tessellator: Invalid color input.");
+        } else if (out == null) {
+            throw new IllegalArgumentException("Tessellator: Invalid output.");
+        }
+    }
+
+    private static float[] grow(float[] array, int size) {
+        return array.length >= size ? array : new float[Math.max(size, array.length * 2)];
+    }
+
+    private static int[] grow(int[] array, int size) {
+        return array.length >= size ? array : new int[Math.max(size, array.length * 2)];
+    }
+
+    private static boolean[] grow(boolean[] array, int size) {
+        return array.length >= size ? array : new boolean[Math.max(size, array.length * 2)];
+    }
+}
@@ -0,0 +1,76 @@
+package anchora.engine.app.geometry;
+
+/**
+ * Precomputed cosine and sine values for a circle split into a fixed number of
+ * equal segments. Tables are built once per segment count and shared, so
+ * generating a circle costs a table lookup per vertex instead of two trig
+ * calls.
+ */
+public final class UnitCircle {
+
+    /**
+     * The largest segment count whose table is cached. Larger counts are still
+     * supported but are built on every call.
+     */
+    public static final int MAX_CACHED_SEGMENTS = 360;
+
+    private static final UnitCircle[] CACHE = new UnitCircle[MAX_CACHED_SEGMENTS + 1];
+
+    private final float[] cos;
+    private final float[] sin;
+
+    private UnitCircle(int segments) {
+        cos = new float[segments];
+        sin = new float[segments];
+        for (int i = 0; i < segments; i++) {
+            double angle = 2 * Math.PI / segments * i;
+            cos[i] = (float) Math.cos(angle);
+            sin[i] = (float) Math.sin(angle);
+        }
+    }
+
+    /**
+     * Returns the table for the given segment count, building and caching it
+     * on first use. Tables are immutable, so racing threads at worst build the
+     * same table twice.
+     *
+     * @param segments The number of segments, at least 1.
+     * @return The shared table.
+     * @throws IllegalArgumentException If the segment count is not positive.
+     */
+    public static UnitCircle of(int segments) {
+        if (segments < 1) {
+            throw new IllegalArgumentException("UnitCircle: Invalid segment count: " + segments);
+        } else if (segments > MAX_CACHED_SEGMENTS) {
+            return new UnitCircle(segments);
+        }
+
+        UnitCircle table = CACHE[segments];
+        if (table == null) {
+            table = new UnitCircle(segments);
+            CACHE[segments] = table;
+        }
+
+        return table;
+    }
+
+    public int segments() {
+        return cos.length;
+    }
+
+    /**
+     * @param i The segment index, from 0 to {@code segments() - 1}.
+     * @return The cosine of the angle at the start of segment {@code i}.
+     */
+    public float cos(int i) {
+        return cos[i];
+    }
+
+    /**
+     * @param i The segment index, from 0 to {@code segments() - 1}.
+     * @return The sine of the angle at the start of segment {@code i}.
+     */
+    public float sin(int i) {
+        return sin[i];
+    }
+}
@@ -0,0 +1,44 @@
+package anchora.engine.app.loop;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A monotonic nanosecond clock. The engine loops read time only through this
+ * interface so they can be driven by a manual clock in tests.
+ */
+public interface Clock {
+
+    /**
+     * The system clock. Sleeps park the thread until shortly before the
+     * deadline and spin for the rest, since parking alone routinely
+     * oversleeps by a millisecond or more.
+     */
+    Clock SYSTEM = new Clock() {
+        private static final long SPIN_NANOS = 1_000_000L;
+
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
+
+        @Override
+        public void sleepUntil(long deadlineNanos) {
+            long remaining;
+            while ((remaining = deadlineNanos - System.nanoTime()) > SPIN_NANOS) {
+                LockSupport.parkNanos(remaining - SPIN_NANOS);
+            }
+            while (deadlineNanos - System.nanoTime() > 0) {
+                Thread.onSpinWait();
+            }
+        }
+    };
+
+    long nanoTime();
+
+    /**
+     * Blocks the calling thread until {@link #nanoTime()} reaches the deadline.
+     *
+     * @param deadlineNanos The time to wake up at.
+     */
+    void sleepUntil(long deadlineNanos);
+}
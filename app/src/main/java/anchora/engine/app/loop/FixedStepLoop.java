@@ -0,0 +1,226 @@
+package anchora.engine.app.loop;
+
+import anchora.engine.app.metrics.Histogram;
+import anchora.engine.app.render.ShapeBatch;
+
+/**
+ * Runs a {@link Simulation} at a fixed tick rate, independent of the frame
+ * rate, and hands its state to the render thread through a
+ * {@link TripleBuffer} of {@link Snapshot}s.
+ *
+ * <p>The update side is {@link #advanceTo(long)}, which {@link #start()}
+ * calls from a dedicated thread; tests can call it directly with a manual
+ * clock to step the simulation deterministically. The render side is
+ * {@link #latest()} and {@link #render(ShapeBatch, SnapshotRenderer)}, which
+ * interpolate one tick behind the simulation so there is always a pair of
+ * states to blend.
+ *
+ * @param <S> The state type written by the simulation.
+ */
+public class FixedStepLoop<S> {
+
+    public static final int DEFAULT_MAX_CATCH_UP_TICKS = 5;
+
+    private final Simulation<S> simulation;
+    private final Clock clock;
+    private final long tickNanos;
+    private final double tickSeconds;
+    private final int maxCatchUpTicks;
+    private final TripleBuffer<Snapshot<S>> snapshots;
+
+    // Owned by the update thread
+    private long nextTickTime;
+    private long tick;
+    private long droppedTicks;
+
+    private volatile Histogram updateTimes;
+    private volatile boolean running;
+    private volatile Throwable failure;
+    private Thread updateThread;
+
+    public FixedStepLoop(Simulation<S> simulation, Clock clock, int ticksPerSecond) {
+        this(simulation, clock, ticksPerSecond, DEFAULT_MAX_CATCH_UP_TICKS);
+    }
+
+    /**
+     * @param simulation      The simulation to advance.
+     * @param clock           The clock ticks are scheduled against.
+     * @param ticksPerSecond  The fixed tick rate.
+     * @param maxCatchUpTicks The most ticks run in one go after a hitch. Any
+     *                        further ticks are dropped so a slow simulation
+     *                        cannot fall further and further behind.
+     */
+    public FixedStepLoop(Simulation<S> simulation, Clock clock, int ticksPerSecond,
+            int maxCatchUpTicks) {
+
+        if (simulation == null || clock == null || ticksPerSecond < 1 || maxCatchUpTicks < 1) {
+            throw new IllegalArgumentException("FixedStepLoop: Invalid loop inputs.");
+        }
+
+        this.simulation = simulation;
+        this.clock = clock;
+        this.tickNanos = 1_000_000_000L / ticksPerSecond;
+        this.tickSeconds = tickNanos / 1e9;
+        this.maxCatchUpTicks = maxCatchUpTicks;
+        this.snapshots = new TripleBuffer<>(() -> new Snapshot<>(simulation::createState));
+        this.nextTickTime = clock.nanoTime() + tickNanos;
+    }
+
+    /**
+     * Update side. Runs every tick that is due at {@code nowNanos} and, if any
+     * ran, publishes a snapshot of the last one.
+     *
+     * @param nowNanos The current clock time.
+     * @return The number of ticks run.
+     */
+    public int advanceTo(long nowNanos) {
+        if (nowNanos < nextTickTime) {
+            return 0;
+        }
+
+        long due = (nowNanos - nextTickTime) / tickNanos + 1;
+        int ticks = (int) Math.min(due, maxCatchUpTicks);
+
+        Snapshot<S> snapshot = snapshots.back();
+        for (int i = 0; i < ticks; i++) {
+            // Only the state around the last tick is handed over
+            if (i == ticks - 1) {
+                simulation.writeState(snapshot.previous);
+            }
+            long start = clock.nanoTime();
+            simulation.update(tickSeconds);
+            Histogram histogram = updateTimes;
+            if (histogram != null) {
+                histogram.record(clock.nanoTime() - start);
+            }
+            tick++;
+            nextTickTime += tickNanos;
+        }
+
+        if (due > ticks) {
+            droppedTicks += due - ticks;
+            nextTickTime += (due - ticks) * tickNanos;
+        }
+
+        simulation.writeState(snapshot.current);
+        snapshot.tick = tick;
+        snapshot.timeNanos = nextTickTime - tickNanos;
+        snapshots.publish();
+
+        return ticks;
+    }
+
+    /**
+     * Render side.
+     *
+     * @return The most recent snapshot, or null before the first tick.
+     */
+    public Snapshot<S> latest() {
+        Throwable cause = failure;
+        if (cause != null) {
+            throw new RuntimeException("FixedStepLoop: Update thread failed.", cause);
+        }
+
+        return snapshots.acquire();
+    }
+
+    /**
+     * How far between the two states of {@code snapshot} a frame drawn at
+     * {@code nowNanos} falls. Rendering runs one tick behind, so a frame
+     * drawn exactly when a tick completes shows the state before it.
+     *
+     * @return The interpolation factor, clamped to 0..1.
+     */
+    public float alpha(Snapshot<S> snapshot, long nowNanos) {
+        double alpha = (double) (nowNanos - snapshot.timeNanos) / tickNanos;
+        return (float) Math.max(0.0, Math.min(1.0, alpha));
+    }
+
+    /**
+     * Render side. Draws the latest snapshot interpolated to the current time.
+     *
+     * @return Whether anything was drawn.
+     */
+    public boolean render(ShapeBatch batch, SnapshotRenderer<S> renderer) {
+        Snapshot<S> snapshot = latest();
+        if (snapshot == null) {
+            return false;
+        }
+
+        renderer.render(batch, snapshot.previous, snapshot.current,
+                alpha(snapshot, clock.nanoTime()));
+        return true;
+    }
+
+    /**
+     * Starts ticking the simulation on its own thread.
+     */
+    public synchronized void start() {
+        if (running) {
+            throw new IllegalStateException("FixedStepLoop: Already running.");
+        }
+
+        running = true;
+        nextTickTime = clock.nanoTime() + tickNanos;
+        updateThread = new Thread(this::runUpdates, "anchora-update");
+        updateThread.setDaemon(true);
+        updateThread.start();
+    }
+
+    /**
+     * Stops the update thread and waits for it to finish its current tick.
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        updateThread.interrupt();
+        try {
+            updateThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        updateThread = null;
+    }
+
+    /**
+     * @param histogram Where the duration of every tick is recorded, or null
+     *                  to stop recording.
+     */
+    public void setUpdateTimes(Histogram histogram) {
+        this.updateTimes = histogram;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    /**
+     * @return The number of ticks skipped because the simulation fell more
+     *         than {@code maxCatchUpTicks} behind. Only safe to read from the
+     *         update thread or once the loop is stopped.
+     */
+    public long getDroppedTicks() {
+        return droppedTicks;
+    }
+
+    private void runUpdates() {
+        try {
+            while (running) {
+                advanceTo(clock.nanoTime());
+                if (running) {
+                    clock.sleepUntil(nextTickTime);
+                }
+            }
+        } catch (Throwable t) {
+            failure = t;
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package anchora.engine.app.loop;
+
+/**
+ * Caps the render loop at a target frame rate by sleeping until the next
+ * frame deadline. Deadlines advance by a fixed period rather than from the end
+ * of each frame so the average rate does not drift, and a frame that runs
+ * late resets the schedule instead of letting the next frames rush to catch
+ * up.
+ */
+public class FramePacer {
+
+    private final Clock clock;
+    private final long frameNanos;
+    private long deadline;
+
+    /**
+     * @param clock     The clock to pace against.
+     * @param targetFps The frame rate cap, or 0 for uncapped.
+     */
+    public FramePacer(Clock clock, int targetFps) {
+        if (clock == null || targetFps < 0) {
+            throw new IllegalArgumentException("FramePacer: Invalid pacer inputs.");
+        }
+
+        this.clock = clock;
+        this.frameNanos = targetFps == 0 ? 0 : 1_000_000_000L / targetFps;
+        this.deadline = clock.nanoTime() + frameNanos;
+    }
+
+    /**
+     * Waits for the end of the current frame period. Returns immediately when
+     * uncapped or when the frame is already late.
+     */
+    public void sync() {
+        if (frameNanos == 0) {
+            return;
+        }
+
+        long now = clock.nanoTime();
+        if (now < deadline) {
+            clock.sleepUntil(deadline);
+            deadline += frameNanos;
+        } else {
+            deadline = now + frameNanos;
+        }
+    }
+
+    public long getFrameNanos() {
+        return frameNanos;
+    }
+}
@@ -0,0 +1,30 @@
+package anchora.engine.app.loop;
+
+/**
+ * Game state advanced by a {@link FixedStepLoop} on its update thread.
+ *
+ * @param <S> The type the state is copied into for rendering.
+ */
+public interface Simulation<S> {
+
+    /**
+     * @return An empty state object. Called a fixed number of times when the
+     *         loop is created, never per tick.
+     */
+    S createState();
+
+    /**
+     * Advances the simulation by exactly one tick.
+     *
+     * @param tickSeconds The length of a tick, in seconds.
+     */
+    void update(double tickSeconds);
+
+    /**
+     * Copies everything the renderer needs into {@code target}, overwriting
+     * whatever it held before.
+     *
+     * @param target A state object created by {@link #createState()}.
+     */
+    void writeState(S target);
+}
@@ -0,0 +1,51 @@
+package anchora.engine.app.loop;
+
+import java.util.function.Supplier;
+
+/**
+ * One handoff from the update thread to the render thread: the simulation
+ * state before and after the latest tick, so the renderer can interpolate
+ * between them. Treat it as read-only on the render thread.
+ *
+ * @param <S> The type the simulation writes its state into.
+ */
+public final class Snapshot<S> {
+
+    final S previous;
+    final S current;
+    long tick;
+    long timeNanos;
+
+    Snapshot(Supplier<S> factory) {
+        this.previous = factory.get();
+        this.current = factory.get();
+    }
+
+    /**
+     * @return The state before the latest tick.
+     */
+    public S previous() {
+        return previous;
+    }
+
+    /**
+     * @return The state after the latest tick.
+     */
+    public S current() {
+        return current;
+    }
+
+    /**
+     * @return The number of ticks simulated up to {@link #current()}.
+     */
+    public long tick() {
+        return tick;
+    }
+
+    /**
+     * @return The clock time that {@link #current()} corresponds to.
+     */
+    public long timeNanos() {
+        return timeNanos;
+    }
+}
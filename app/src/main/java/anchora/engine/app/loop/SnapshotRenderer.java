@@ -0,0 +1,20 @@
+package anchora.engine.app.loop;
+
+import anchora.engine.app.render.ShapeBatch;
+
+/**
+ * Draws the simulation state handed over by a {@link FixedStepLoop}.
+ *
+ * @param <S> The state type written by the {@link Simulation}.
+ */
+public interface SnapshotRenderer<S> {
+
+    /**
+     * @param batch    The batch to draw into. It has already begun.
+     * @param previous The state before the latest tick.
+     * @param current  The state after the latest tick.
+     * @param alpha    How far between {@code previous} and {@code current}
+     *                 the frame falls, from 0 to 1.
+     */
+    void render(ShapeBatch batch, S previous, S current, float alpha);
+}
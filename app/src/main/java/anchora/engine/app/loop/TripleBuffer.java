@@ -0,0 +1,74 @@
+package anchora.engine.app.loop;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A lock-free, single-writer single-reader handoff of reusable objects.
+ *
+ * <p>The writer fills {@link #back()} and calls {@link #publish()}; the reader
+ * calls {@link #acquire()} and gets the most recently published object, which
+ * stays untouched by the writer until the reader acquires again. Neither side
+ * ever blocks, and the three slots are allocated once up front.
+ *
+ * @param <T> The type of the slots.
+ */
+public class TripleBuffer<T> {
+
+    // Set on the shared index when the writer has published since the last acquire
+    private static final int FRESH = 4;
+    private static final int INDEX_MASK = 3;
+
+    private final Object[] slots = new Object[3];
+    private final AtomicInteger middle = new AtomicInteger(1);
+
+    // Owned by the writer
+    private int back = 2;
+
+    // Owned by the reader
+    private int front = 0;
+    private boolean received;
+
+    /**
+     * @param factory Creates each of the three slots.
+     */
+    public TripleBuffer(Supplier<T> factory) {
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = factory.get();
+        }
+    }
+
+    /**
+     * Writer side.
+     *
+     * @return The slot to fill before the next {@link #publish()}.
+     */
+    @SuppressWarnings("unchecked")
+    public T back() {
+        return (T) slots[back];
+    }
+
+    /**
+     * Writer side. Hands the back slot to the reader and takes over the slot
+     * it replaces, which may hold stale data.
+     */
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * Reader side.
+     *
+     * @return The most recently published slot, or null if nothing has been
+     *         published yet.
+     */
+    @SuppressWarnings("unchecked")
+    public T acquire() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX_MASK;
+            received = true;
+        }
+
+        return received ? (T) slots[front] : null;
+    }
+}
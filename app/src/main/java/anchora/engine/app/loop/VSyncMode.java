@@ -0,0 +1,32 @@
+package anchora.engine.app.loop;
+
+/**
+ * How buffer swaps wait for the display.
+ */
+public enum VSyncMode {
+
+    /** Swap immediately, pacing is left to the {@link FramePacer}. */
+    OFF(0),
+
+    /** Wait for every vertical blank. */
+    ON(1),
+
+    /**
+     * Wait for the vertical blank unless the frame is already late. Needs
+     * {@code WGL_EXT_swap_control_tear} or {@code GLX_EXT_swap_control_tear}.
+     */
+    ADAPTIVE(-1);
+
+    private final int swapInterval;
+
+    VSyncMode(int swapInterval) {
+        this.swapInterval = swapInterval;
+    }
+
+    /**
+     * @return The value to pass to {@code glfwSwapInterval}.
+     */
+    public int swapInterval() {
+        return swapInterval;
+    }
+}
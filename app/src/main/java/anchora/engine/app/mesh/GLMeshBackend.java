@@ -0,0 +1,90 @@
+package anchora.engine.app.mesh;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL20;
+import org.lwjgl.opengl.GL30;
+
+import anchora.engine.list.IntList;
+
+/**
+ * {@link MeshBackend} that gives every mesh its own VAO with a
+ * {@code GL_STATIC_DRAW} vertex and element buffer. The buffers are filled
+ * straight from the mapped file, so the only copy is the driver's. Handles
+ * of deleted meshes are reused by later uploads.
+ */
+public class GLMeshBackend implements MeshBackend {
+
+    // Per handle: the VAO, its two buffers and the index type
+    private int[] vaos = new int[16];
+    private int[] vertexBuffers = new int[16];
+    private int[] indexBuffers = new int[16];
+    private int[] indexTypes = new int[16];
+    private int count;
+
+    // Deleted handles, handed out again before the arrays grow
+    private final IntList freeHandles = new IntList();
+
+    @Override
+    public int upload(ByteBuffer vertices, ByteBuffer indices, int indexSize) {
+        int handle;
+        if (!freeHandles.isEmpty()) {
+            handle = freeHandles.removeAt(freeHandles.size() - 1);
+        } else {
+            if (count == vaos.length) {
+                vaos = Arrays.copyOf(vaos, count * 2);
+                vertexBuffers = Arrays.copyOf(vertexBuffers, count * 2);
+                indexBuffers = Arrays.copyOf(indexBuffers, count * 2);
+                indexTypes = Arrays.copyOf(indexTypes, count * 2);
+            }
+            handle = count++;
+        }
+
+        int vao = GL30.glGenVertexArrays();
+        GL30.glBindVertexArray(vao);
+        int vertexBuffer = GL15.glGenBuffers();
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, vertexBuffer);
+        GL15.glBufferData(GL15.GL_ARRAY_BUFFER, vertices, GL15.GL_STATIC_DRAW);
+        int indexBuffer = GL15.glGenBuffers();
+        GL15.glBindBuffer(GL15.GL_ELEMENT_ARRAY_BUFFER, indexBuffer);
+        GL15.glBufferData(GL15.GL_ELEMENT_ARRAY_BUFFER, indices, GL15.GL_STATIC_DRAW);
+
+        MeshFile.FORMAT.enable(0L);
+        GL30.glBindVertexArray(0);
+
+        vaos[handle] = vao;
+        vertexBuffers[handle] = vertexBuffer;
+        indexBuffers[handle] = indexBuffer;
+        indexTypes[handle] = indexSize == Short.BYTES ? GL11.GL_UNSIGNED_SHORT : GL11.GL_UNSIGNED_INT;
+        return handle;
+    }
+
+    @Override
+    public void bindShader(int programId) {
+        GL20.glUseProgram(programId);
+    }
+
+    @Override
+    public void draw(int mesh, int indexCount) {
+        GL30.glBindVertexArray(vaos[mesh]);
+        GL11.glDrawElements(GL11.GL_TRIANGLES, indexCount, indexTypes[mesh], 0L);
+    }
+
+    @Override
+    public void delete(int mesh) {
+        if (vaos[mesh] == 0) {
+            return;
+        }
+
+        GL15.glDeleteBuffers(vertexBuffers[mesh]);
+        GL15.glDeleteBuffers(indexBuffers[mesh]);
+        GL30.glDeleteVertexArrays(vaos[mesh]);
+        vaos[mesh] = 0;
+        vertexBuffers[mesh] = 0;
+        indexBuffers[mesh] = 0;
+        freeHandles.add(mesh);
+    }
+}
@@ -0,0 +1,82 @@
+package anchora.engine.app.mesh;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * One mesh of a {@link MeshFile}, as read-only views of the file: vertices in
+ * {@link MeshFile#FORMAT} and 16 or 32-bit triangle indices, both ready to
+ * upload as they are.
+ */
+public final class MappedMesh {
+
+    private final String name;
+    private final ByteBuffer vertices, indices;
+    private final int vertexCount, indexCount, indexSize;
+    private final float[] bounds;
+
+    MappedMesh(String name, ByteBuffer vertices, int vertexCount, ByteBuffer indices,
+            int indexCount, int indexSize, float[] bounds) {
+
+        this.name = name;
+        this.vertices = vertices.order(ByteOrder.LITTLE_ENDIAN);
+        this.vertexCount = vertexCount;
+        this.indices = indices.order(ByteOrder.LITTLE_ENDIAN);
+        this.indexCount = indexCount;
+        this.indexSize = indexSize;
+        this.bounds = bounds;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return A little-endian view of the vertex section, from position 0 to
+     *         the end of the section. Each call returns a new view of the
+     *         same bytes.
+     */
+    public ByteBuffer getVertices() {
+        return vertices.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * @return A little-endian view of the index section, see
+     *         {@link #getIndexSize()}.
+     */
+    public ByteBuffer getIndices() {
+        return indices.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    public int getIndexCount() {
+        return indexCount;
+    }
+
+    /**
+     * @return 2 for {@code GL_UNSIGNED_SHORT} indices, used when every index
+     *         fits, otherwise 4 for {@code GL_UNSIGNED_INT}.
+     */
+    public int getIndexSize() {
+        return indexSize;
+    }
+
+    /**
+     * @return The index at position {@code i}, widened to an int.
+     */
+    public int getIndex(int i) {
+        return indexSize == Short.BYTES
+                ? Short.toUnsignedInt(indices.getShort(i * Short.BYTES))
+                : indices.getInt(i * Integer.BYTES);
+    }
+
+    /**
+     * @return The smallest x, y and z of any vertex, then the largest.
+     */
+    public float[] getBounds() {
+        return bounds.clone();
+    }
+}
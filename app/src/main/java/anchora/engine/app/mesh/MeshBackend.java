@@ -0,0 +1,36 @@
+package anchora.engine.app.mesh;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The GL side of a {@link MeshCache}: static meshes uploaded once from the
+ * buffers of a {@link MeshFile} and drawn as they are.
+ */
+public interface MeshBackend {
+
+    /**
+     * Uploads a mesh.
+     *
+     * @param vertices  The vertex data in {@link MeshFile#FORMAT}, from
+     *                  position to limit. Read in place, never copied.
+     * @param indices   The triangle indices, from position to limit.
+     * @param indexSize 2 for 16-bit indices, 4 for 32-bit ones.
+     * @return A handle for {@link #draw}.
+     */
+    int upload(ByteBuffer vertices, ByteBuffer indices, int indexSize);
+
+    /**
+     * Makes the given shader program current for the following draws.
+     */
+    void bindShader(int programId);
+
+    /**
+     * Draws the first {@code indexCount} indices of the mesh.
+     */
+    void draw(int mesh, int indexCount);
+
+    /**
+     * Releases the mesh's GL objects. The handle must not be used afterwards.
+     */
+    void delete(int mesh);
+}
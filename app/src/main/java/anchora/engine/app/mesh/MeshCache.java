@@ -0,0 +1,88 @@
+package anchora.engine.app.mesh;
+
+import java.util.Arrays;
+
+/**
+ * Uploads the meshes of a {@link MeshFile} the first time each is drawn, so
+ * a scene with many meshes only pays for the ones in view and loading the
+ * file itself costs nothing up front.
+ *
+ * <pre>
+ * MeshCache meshes = new MeshCache(MeshFile.open(path), new GLMeshBackend());
+ * // every frame
+ * meshes.bindShader(programId);
+ * meshes.draw(0);
+ * </pre>
+ */
+public class MeshCache {
+
+    private static final int NOT_UPLOADED = -1;
+
+    private final MeshFile file;
+    private final MeshBackend backend;
+    private final int[] handles;
+    private int uploadedCount;
+
+    public MeshCache(MeshFile file, MeshBackend backend) {
+        if (file == null || backend == null) {
+            throw new IllegalArgumentException("MeshCache: Invalid cache inputs.");
+        }
+
+        this.file = file;
+        this.backend = backend;
+        this.handles = new int[file.getMeshCount()];
+        Arrays.fill(handles, NOT_UPLOADED);
+    }
+
+    /**
+     * @return The backend handle of a mesh, uploading it on first use.
+     */
+    public int get(int mesh) {
+        if (mesh < 0 || mesh >= handles.length) {
+            throw new IllegalArgumentException("MeshCache: Invalid mesh index: " + mesh);
+        }
+
+        if (handles[mesh] == NOT_UPLOADED) {
+            MappedMesh data = file.getMesh(mesh);
+            handles[mesh] = backend.upload(data.getVertices(), data.getIndices(), data.getIndexSize());
+            uploadedCount++;
+        }
+        return handles[mesh];
+    }
+
+    public void bindShader(int programId) {
+        backend.bindShader(programId);
+    }
+
+    /**
+     * Draws a mesh, uploading it first if needed.
+     */
+    public void draw(int mesh) {
+        int handle = get(mesh);
+        backend.draw(handle, file.getMesh(mesh).getIndexCount());
+    }
+
+    /**
+     * @return The number of meshes uploaded so far.
+     */
+    public int getUploadedCount() {
+        return uploadedCount;
+    }
+
+    public MeshFile getFile() {
+        return file;
+    }
+
+    /**
+     * Deletes every uploaded mesh. Meshes drawn afterwards are uploaded again.
+     */
+    public void dispose() {
+        for (int i = 0; i < handles.length; i++) {
+            if (handles[i] != NOT_UPLOADED) {
+                backend.delete(handles[i]);
+                handles[i] = NOT_UPLOADED;
+            }
+        }
+        uploadedCount = 0;
+    }
+}
@@ -0,0 +1,225 @@
+package anchora.engine.app.mesh;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.lwjgl.PointerBuffer;
+import org.lwjgl.assimp.AIFace;
+import org.lwjgl.assimp.AIMatrix4x4;
+import org.lwjgl.assimp.AIMesh;
+import org.lwjgl.assimp.AINode;
+import org.lwjgl.assimp.AIScene;
+import org.lwjgl.assimp.AIVector3D;
+import org.lwjgl.assimp.Assimp;
+
+/**
+ * Converts models in any format Assimp reads into {@link MeshFile}s, offline,
+ * so the game never parses a model at runtime. Run by the
+ * {@code convertMeshes} Gradle task:
+ *
+ * <pre>
+ * MeshConverter &lt;source directory&gt; &lt;target directory&gt;
+ * </pre>
+ *
+ * <p>Every supported file under the source directory becomes a file of the
+ * same relative path with the {@link #EXTENSION} extension. Meshes are
+ * triangulated, identical vertices are merged, smooth normals are generated
+ * where the model has none, and triangles are reordered for the vertex
+ * cache. Point and line primitives are dropped, and so are meshes left
+ * with no triangles; nodes only reference the meshes that were kept.
+ */
+public class MeshConverter {
+
+    public static final String EXTENSION = ".amesh";
+
+    private static final int FLAGS = Assimp.aiProcess_Triangulate
+            | Assimp.aiProcess_JoinIdenticalVertices
+            | Assimp.aiProcess_GenSmoothNormals
+            | Assimp.aiProcess_ImproveCacheLocality
+            | Assimp.aiProcess_SortByPType;
+
+    private static final int FLOATS = MeshFile.FORMAT.getFloatCount();
+
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Usage: MeshConverter <source directory> <target directory>");
+            System.exit(1);
+        }
+
+        int converted = convertAll(Paths.get(args[0]), Paths.get(args[1]));
+        System.out.println("MeshConverter: Converted " + converted + " models.");
+    }
+
+    /**
+     * Converts every model under {@code source} that Assimp can read.
+     *
+     * @return The number of files written.
+     */
+    public static int convertAll(Path source, Path target) {
+        if (!Files.isDirectory(source)) {
+            return 0;
+        }
+
+        List<Path> models;
+        try (Stream<Path> files = Files.walk(source)) {
+            models = files.filter(Files::isRegularFile)
+                    .filter(file -> Assimp.aiIsExtensionSupported(extensionOf(file)))
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new RuntimeException("MeshConverter: Error reading " + source, e);
+        }
+
+        for (Path model : models) {
+            String name = source.relativize(model).toString();
+            String base = name.substring(0, name.length() - extensionOf(model).length());
+            convert(model, target.resolve(base + EXTENSION));
+        }
+        return models.size();
+    }
+
+    /**
+     * Imports one model and writes it as a mesh file.
+     *
+     * @throws RuntimeException If Assimp cannot import the model or the file
+     *                          cannot be written.
+     */
+    public static void convert(Path model, Path file) {
+        AIScene scene = Assimp.aiImportFile(model.toString(), FLAGS);
+        if (scene == null) {
+            throw new RuntimeException("MeshConverter: Failed to import " + model + ": "
+                    + Assimp.aiGetErrorString());
+        }
+
+        try {
+            // Each scene mesh's index in the file, or -1 if it was dropped
+            List<MeshData> meshes = new ArrayList<>();
+            int[] remap = new int[scene.mNumMeshes()];
+            PointerBuffer sceneMeshes = scene.mMeshes();
+            for (int i = 0; i < scene.mNumMeshes(); i++) {
+                MeshData mesh = toMeshData(AIMesh.create(sceneMeshes.get(i)));
+                remap[i] = mesh == null ? -1 : meshes.size();
+                if (mesh != null) {
+                    meshes.add(mesh);
+                }
+            }
+
+            List<MeshNode> nodes = new ArrayList<>();
+            AINode root = scene.mRootNode();
+            if (root != null) {
+                addNode(root, MeshNode.NO_PARENT, remap, nodes);
+            }
+
+            MeshFileWriter.write(file, meshes, nodes);
+        } finally {
+            Assimp.aiReleaseImport(scene);
+        }
+    }
+
+    /**
+     * @return The mesh's triangles, or null if it has none, such as a mesh
+     *         of only points or lines.
+     */
+    private static MeshData toMeshData(AIMesh mesh) {
+        int vertexCount = mesh.mNumVertices();
+        AIVector3D.Buffer positions = mesh.mVertices();
+        AIVector3D.Buffer normals = mesh.mNormals();
+        AIVector3D.Buffer uvs = mesh.mTextureCoords(0);
+
+        float[] vertices = new float[vertexCount * FLOATS];
+        for (int v = 0; v < vertexCount; v++) {
+            int offset = v * FLOATS;
+            AIVector3D position = positions.get(v);
+            vertices[offset] = position.x();
+            vertices[offset + 1] = position.y();
+            vertices[offset + 2] = position.z();
+            if (normals != null) {
+                AIVector3D normal = normals.get(v);
+                vertices[offset + 3] = normal.x();
+                vertices[offset + 4] = normal.y();
+                vertices[offset + 5] = normal.z();
+            }
+            if (uvs != null) {
+                AIVector3D uv = uvs.get(v);
+                vertices[offset + 6] = uv.x();
+                vertices[offset + 7] = uv.y();
+            }
+        }
+
+        // After SortByPType a mesh holds one primitive type; anything but
+        // triangles is skipped
+        AIFace.Buffer faces = mesh.mFaces();
+        int[] indices = new int[mesh.mNumFaces() * 3];
+        int indexCount = 0;
+        for (int f = 0; f < mesh.mNumFaces(); f++) {
+            AIFace face = faces.get(f);
+            if (face.mNumIndices() != 3) {
+                continue;
+            }
+            IntBuffer faceIndices = face.mIndices();
+            indices[indexCount++] = faceIndices.get(0);
+            indices[indexCount++] = faceIndices.get(1);
+            indices[indexCount++] = faceIndices.get(2);
+        }
+        if (indexCount == 0) {
+            return null;
+        }
+
+        return new MeshData(mesh.mName().dataString(), vertices,
+                indexCount == indices.length ? indices : Arrays.copyOf(indices, indexCount));
+    }
+
+    /**
+     * Adds a node and, depth first, its children, so parents always come
+     * before their children. Mesh indices go through {@code remap}, leaving
+     * out dropped meshes.
+     */
+    private static void addNode(AINode node, int parent, int[] remap, List<MeshNode> nodes) {
+        int[] meshes = new int[node.mNumMeshes()];
+        int meshCount = 0;
+        IntBuffer nodeMeshes = node.mMeshes();
+        for (int i = 0; i < meshes.length; i++) {
+            int mesh = remap[nodeMeshes.get(i)];
+            if (mesh >= 0) {
+                meshes[meshCount++] = mesh;
+            }
+        }
+        if (meshCount < meshes.length) {
+            meshes = Arrays.copyOf(meshes, meshCount);
+        }
+
+        int index = nodes.size();
+        nodes.add(new MeshNode(node.mName().dataString(), parent,
+                toColumnMajor(node.mTransformation()), meshes));
+
+        PointerBuffer children = node.mChildren();
+        for (int i = 0; i < node.mNumChildren(); i++) {
+            addNode(AINode.create(children.get(i)), index, remap, nodes);
+        }
+    }
+
+    /**
+     * Assimp matrices are row major; a1 to a4 is the first row.
+     */
+    private static float[] toColumnMajor(AIMatrix4x4 m) {
+        return new float[] {
+                m.a1(), m.b1(), m.c1(), m.d1(),
+                m.a2(), m.b2(), m.c2(), m.d2(),
+                m.a3(), m.b3(), m.c3(), m.d3(),
+                m.a4(), m.b4(), m.c4(), m.d4()
+        };
+    }
+
+    private static String extensionOf(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? "" : name.substring(dot);
+    }
+}
@@ -0,0 +1,81 @@
+package anchora.engine.app.mesh;
+
+/**
+ * One mesh on the CPU, as handed to a {@link MeshFileWriter}: interleaved
+ * vertices in {@link MeshFile#FORMAT} and triangle indices starting at 0.
+ */
+public final class MeshData {
+
+    private static final int FLOATS = MeshFile.FORMAT.getFloatCount();
+
+    private final String name;
+    private final float[] vertices;
+    private final int[] indices;
+    private final float[] bounds = new float[6];
+
+    /**
+     * @param name     The mesh name, may be empty.
+     * @param vertices Position, normal and UV for every vertex.
+     * @param indices  Three indices per triangle.
+     * @throws IllegalArgumentException If the arrays do not hold whole
+     *                                  vertices and triangles, or an index is
+     *                                  out of range.
+     */
+    public MeshData(String name, float[] vertices, int[] indices) {
+        if (name == null || vertices == null || indices == null || vertices.length == 0
+                || vertices.length % FLOATS != 0 || indices.length % 3 != 0) {
+            throw new IllegalArgumentException("MeshData: Invalid mesh inputs.");
+        }
+
+        int vertexCount = vertices.length / FLOATS;
+        for (int index : indices) {
+            if (index < 0 || index >= vertexCount) {
+                throw new IllegalArgumentException("MeshData: Index out of range: " + index);
+            }
+        }
+
+        this.name = name;
+        this.vertices = vertices;
+        this.indices = indices;
+
+        for (int axis = 0; axis < 3; axis++) {
+            bounds[axis] = Float.POSITIVE_INFINITY;
+            bounds[axis + 3] = Float.NEGATIVE_INFINITY;
+        }
+        for (int v = 0; v < vertices.length; v += FLOATS) {
+            for (int axis = 0; axis < 3; axis++) {
+                bounds[axis] = Math.min(bounds[axis], vertices[v + axis]);
+                bounds[axis + 3] = Math.max(bounds[axis + 3], vertices[v + axis]);
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The interleaved vertices. Do not modify.
+     */
+    public float[] getVertices() {
+        return vertices;
+    }
+
+    /**
+     * @return The triangle indices. Do not modify.
+     */
+    public int[] getIndices() {
+        return indices;
+    }
+
+    public int getVertexCount() {
+        return vertices.length / FLOATS;
+    }
+
+    /**
+     * @return The smallest x, y and z of any vertex, then the largest.
+     */
+    public float[] getBounds() {
+        return bounds.clone();
+    }
+}
@@ -0,0 +1,305 @@
+package anchora.engine.app.mesh;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import anchora.engine.app.render.VertexFormat;
+
+/**
+ * A mesh container read in place from a memory-mapped file. Vertex and index
+ * data are stored exactly as GL wants them, so a mesh is a pair of slices of
+ * the mapping that go straight to {@code glBufferData} with no parsing or
+ * copying on the Java side.
+ *
+ * <p>Opening a file reads only the header and section table. A mesh's
+ * record is decoded the first time it is asked for, and its pages are only
+ * read from disk once something, normally the upload, touches them. Files
+ * are written by {@link MeshFileWriter}, usually through
+ * {@link MeshConverter} at build time.
+ *
+ * <p>The layout, all little-endian like every platform the engine runs on,
+ * with every section starting on an {@link #ALIGNMENT}-byte boundary:
+ *
+ * <pre>
+ * header    magic, version, section count, reserved     4 ints
+ * table     per section: type, count, offset, length    2 ints, 2 longs
+ * MESHES    per mesh: name offset and length, vertex and index section,
+ *           bounds                                      4 ints, 6 floats
+ * NODES     per node: name offset and length, parent, first entry in
+ *           NODE_MESHES and mesh count, transform       5 ints, 16 floats
+ * NODE_MESHES  mesh indices of every node, in order     ints
+ * STRINGS   UTF-8 names
+ * VERTICES  one per mesh, in {@link #FORMAT}
+ * INDICES16 / INDICES32  one per mesh
+ * </pre>
+ *
+ * <p>Sections of unknown types are skipped, so newer files can add data
+ * older readers ignore.
+ */
+public final class MeshFile {
+
+    public static final VertexFormat FORMAT = VertexFormat.POSITION_NORMAL_UV;
+    public static final int ALIGNMENT = 16;
+
+    static final int MAGIC = 0x48534D41; // "AMSH" read little-endian
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int SECTION_ENTRY_SIZE = 24;
+    static final int MESH_RECORD_SIZE = 40;
+    static final int NODE_RECORD_SIZE = 84;
+
+    static final int MESHES = 1;
+    static final int NODES = 2;
+    static final int NODE_MESHES = 3;
+    static final int STRINGS = 4;
+    static final int VERTICES = 5;
+    static final int INDICES16 = 6;
+    static final int INDICES32 = 7;
+
+    private final ByteBuffer data;
+
+    // The section table
+    private final int[] types, counts;
+    private final long[] offsets, lengths;
+
+    private final int meshSection, nodeSection, nodeMeshSection, stringSection;
+    private final MappedMesh[] meshes;
+    private int loadedCount;
+    private List<MeshNode> nodes;
+
+    private MeshFile(ByteBuffer data) {
+        this.data = data.slice().order(ByteOrder.LITTLE_ENDIAN);
+        if (this.data.remaining() < HEADER_SIZE || this.data.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("MeshFile: Not a mesh file.");
+        } else if (this.data.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("MeshFile: Unsupported version: " + this.data.getInt(4));
+        }
+
+        int sectionCount = this.data.getInt(8);
+        if (sectionCount < 0
+                || HEADER_SIZE + (long) sectionCount * SECTION_ENTRY_SIZE > this.data.limit()) {
+            throw new IllegalArgumentException("MeshFile: Truncated section table.");
+        }
+
+        types = new int[sectionCount];
+        counts = new int[sectionCount];
+        offsets = new long[sectionCount];
+        lengths = new long[sectionCount];
+        for (int i = 0; i < sectionCount; i++) {
+            int entry = HEADER_SIZE + i * SECTION_ENTRY_SIZE;
+            types[i] = this.data.getInt(entry);
+            counts[i] = this.data.getInt(entry + 4);
+            offsets[i] = this.data.getLong(entry + 8);
+            lengths[i] = this.data.getLong(entry + 16);
+            if (counts[i] < 0 || offsets[i] < 0 || lengths[i] < 0
+                    || offsets[i] % ALIGNMENT != 0 || offsets[i] + lengths[i] > this.data.limit()) {
+                throw new IllegalArgumentException("MeshFile: Section " + i + " is out of bounds.");
+            }
+        }
+
+        meshSection = findSection(MESHES, MESH_RECORD_SIZE);
+        nodeSection = findSection(NODES, NODE_RECORD_SIZE);
+        nodeMeshSection = findSection(NODE_MESHES, Integer.BYTES);
+        stringSection = findSection(STRINGS, 0);
+        meshes = new MappedMesh[meshSection < 0 ? 0 : counts[meshSection]];
+    }
+
+    /**
+     * Maps a mesh file. The mapping stays valid after the file is closed and
+     * is released when the {@link MeshFile} is collected.
+     *
+     * @throws RuntimeException         If the file cannot be read.
+     * @throws IllegalArgumentException If it is not a valid mesh file.
+     */
+    public static MeshFile open(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new MeshFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new RuntimeException("MeshFile: Error reading " + file, e);
+        }
+    }
+
+    /**
+     * Reads a mesh file already in memory, between the buffer's position and
+     * limit. Meshes are views of the buffer, so it must not change while
+     * they are used, and must be direct for them to be uploaded.
+     *
+     * @throws IllegalArgumentException If it is not a valid mesh file.
+     */
+    public static MeshFile wrap(ByteBuffer data) {
+        if (data == null) {
+            throw new IllegalArgumentException("MeshFile: Invalid buffer.");
+        }
+        return new MeshFile(data);
+    }
+
+    /**
+     * @return The only section of a type, or -1 if there is none.
+     */
+    private int findSection(int type, int recordSize) {
+        int found = -1;
+        for (int i = 0; i < types.length; i++) {
+            if (types[i] != type) {
+                continue;
+            }
+            if (found >= 0) {
+                throw new IllegalArgumentException("MeshFile: Duplicate section of type " + type);
+            } else if (recordSize > 0 && lengths[i] != (long) counts[i] * recordSize) {
+                throw new IllegalArgumentException("MeshFile: Section " + i + " has the wrong size.");
+            }
+            found = i;
+        }
+        return found;
+    }
+
+    public int getMeshCount() {
+        return meshes.length;
+    }
+
+    /**
+     * Returns a mesh, decoding its record the first time. Nothing is copied:
+     * the mesh's buffers are views of the file.
+     *
+     * @throws IllegalArgumentException If the index is out of range or the
+     *                                  record points at invalid sections.
+     */
+    public MappedMesh getMesh(int index) {
+        if (index < 0 || index >= meshes.length) {
+            throw new IllegalArgumentException("MeshFile: Invalid mesh index: " + index);
+        }
+
+        MappedMesh mesh = meshes[index];
+        if (mesh == null) {
+            mesh = readMesh(index);
+            meshes[index] = mesh;
+            loadedCount++;
+        }
+        return mesh;
+    }
+
+    /**
+     * @return The first mesh with the given name, or null.
+     */
+    public MappedMesh findMesh(String name) {
+        for (int i = 0; i < meshes.length; i++) {
+            int record = recordOffset(meshSection, i, MESH_RECORD_SIZE);
+            if (name.equals(readString(data.getInt(record), data.getInt(record + 4)))) {
+                return getMesh(i);
+            }
+        }
+        return null;
+    }
+
+    private MappedMesh readMesh(int index) {
+        int record = recordOffset(meshSection, index, MESH_RECORD_SIZE);
+        String name = readString(data.getInt(record), data.getInt(record + 4));
+        int vertexSection = data.getInt(record + 8);
+        int indexSection = data.getInt(record + 12);
+        float[] bounds = new float[6];
+        for (int i = 0; i < 6; i++) {
+            bounds[i] = data.getFloat(record + 16 + i * Float.BYTES);
+        }
+
+        if (!isSection(vertexSection, VERTICES)
+                || lengths[vertexSection] != (long) counts[vertexSection] * FORMAT.getStride()) {
+            throw new IllegalArgumentException("MeshFile: Mesh " + index + " has no valid vertices.");
+        }
+        int indexSize;
+        if (isSection(indexSection, INDICES16)) {
+            indexSize = Short.BYTES;
+        } else if (isSection(indexSection, INDICES32)) {
+            indexSize = Integer.BYTES;
+        } else {
+            throw new IllegalArgumentException("MeshFile: Mesh " + index + " has no valid indices.");
+        }
+        if (lengths[indexSection] != (long) counts[indexSection] * indexSize) {
+            throw new IllegalArgumentException("MeshFile: Mesh " + index + " has no valid indices.");
+        }
+
+        return new MappedMesh(name, slice(vertexSection), counts[vertexSection],
+                slice(indexSection), counts[indexSection], indexSize, bounds);
+    }
+
+    /**
+     * @return The scene hierarchy, parents before children, decoded on the
+     *         first call. Empty if the file has no nodes.
+     */
+    public List<MeshNode> getNodes() {
+        if (nodes != null) {
+            return nodes;
+        }
+
+        int count = nodeSection < 0 ? 0 : counts[nodeSection];
+        List<MeshNode> read = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int record = recordOffset(nodeSection, i, NODE_RECORD_SIZE);
+            String name = readString(data.getInt(record), data.getInt(record + 4));
+            int parent = data.getInt(record + 8);
+            int first = data.getInt(record + 12);
+            int meshCount = data.getInt(record + 16);
+            if (parent < MeshNode.NO_PARENT || parent >= i) {
+                throw new IllegalArgumentException("MeshFile: Node " + i + " has an invalid parent.");
+            }
+
+            float[] transform = new float[16];
+            for (int j = 0; j < 16; j++) {
+                transform[j] = data.getFloat(record + 20 + j * Float.BYTES);
+            }
+
+            int available = nodeMeshSection < 0 ? 0 : counts[nodeMeshSection];
+            if (first < 0 || meshCount < 0 || (long) first + meshCount > available) {
+                throw new IllegalArgumentException("MeshFile: Node " + i + " has invalid meshes.");
+            }
+            int[] nodeMeshes = new int[meshCount];
+            for (int j = 0; j < meshCount; j++) {
+                nodeMeshes[j] = data.getInt(recordOffset(nodeMeshSection, first + j, Integer.BYTES));
+                if (nodeMeshes[j] < 0 || nodeMeshes[j] >= meshes.length) {
+                    throw new IllegalArgumentException("MeshFile: Node " + i + " has invalid meshes.");
+                }
+            }
+            read.add(new MeshNode(name, parent, transform, nodeMeshes));
+        }
+        nodes = Collections.unmodifiableList(read);
+        return nodes;
+    }
+
+    /**
+     * @return The number of meshes decoded so far.
+     */
+    public int getLoadedCount() {
+        return loadedCount;
+    }
+
+    private boolean isSection(int section, int type) {
+        return section >= 0 && section < types.length && types[section] == type;
+    }
+
+    private int recordOffset(int section, int index, int recordSize) {
+        return (int) offsets[section] + index * recordSize;
+    }
+
+    private ByteBuffer slice(int section) {
+        return data.slice((int) offsets[section], (int) lengths[section]).asReadOnlyBuffer();
+    }
+
+    private String readString(int offset, int length) {
+        if (length == 0) {
+            return "";
+        } else if (stringSection < 0 || offset < 0 || length < 0
+                || (long) offset + length > lengths[stringSection]) {
+            throw new IllegalArgumentException("MeshFile: Invalid name.");
+        }
+
+        byte[] bytes = new byte[length];
+        data.get((int) offsets[stringSection] + offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
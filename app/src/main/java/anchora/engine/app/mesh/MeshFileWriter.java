@@ -0,0 +1,207 @@
+package anchora.engine.app.mesh;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Writes meshes and their scene hierarchy in the {@link MeshFile} layout.
+ * Indices are stored as 16-bit values whenever a mesh has few enough
+ * vertices, halving their size.
+ */
+public class MeshFileWriter {
+
+    private static final int MAX_SHORT_VERTICES = 1 << 16;
+
+    /**
+     * Writes a mesh file, replacing any previous file in one move so a reader
+     * never maps a half-written one. A failed write removes its temporary
+     * file.
+     *
+     * @param meshes The meshes, referenced by index from the nodes.
+     * @param nodes  The hierarchy, parents before children. May be empty.
+     * @throws RuntimeException If the file cannot be written.
+     */
+    public static void write(Path file, List<MeshData> meshes, List<MeshNode> nodes) {
+        ByteBuffer data = encode(meshes, nodes);
+        Path temp = null;
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (data.hasRemaining()) {
+                    channel.write(data);
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException("MeshFileWriter: Failed to write " + file, e);
+        } finally {
+            // Gone already after a successful move
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    System.err.println("MeshFileWriter: Could not delete " + temp + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The whole file, flipped and ready to read.
+     */
+    public static ByteBuffer encode(List<MeshData> meshes, List<MeshNode> nodes) {
+        if (meshes == null || nodes == null) {
+            throw new IllegalArgumentException("MeshFileWriter: Invalid scene inputs.");
+        }
+        checkNodes(meshes.size(), nodes);
+
+        // Names, each located by its offset and length in the string section
+        ByteArrayOutputStream strings = new ByteArrayOutputStream();
+        int[] meshNames = new int[meshes.size() * 2];
+        for (int i = 0; i < meshes.size(); i++) {
+            addString(strings, meshes.get(i).getName(), meshNames, i);
+        }
+        int[] nodeNames = new int[nodes.size() * 2];
+        int nodeMeshCount = 0;
+        for (int i = 0; i < nodes.size(); i++) {
+            addString(strings, nodes.get(i).getName(), nodeNames, i);
+            nodeMeshCount += nodes.get(i).getMeshes().length;
+        }
+        byte[] stringBytes = strings.toByteArray();
+
+        // The section table: four fixed sections, then vertices and indices
+        // for each mesh
+        int sectionCount = 4 + meshes.size() * 2;
+        int[] types = new int[sectionCount];
+        int[] counts = new int[sectionCount];
+        long[] lengths = new long[sectionCount];
+        setSection(types, counts, lengths, 0, MeshFile.MESHES, meshes.size(), MeshFile.MESH_RECORD_SIZE);
+        setSection(types, counts, lengths, 1, MeshFile.NODES, nodes.size(), MeshFile.NODE_RECORD_SIZE);
+        setSection(types, counts, lengths, 2, MeshFile.NODE_MESHES, nodeMeshCount, Integer.BYTES);
+        setSection(types, counts, lengths, 3, MeshFile.STRINGS, stringBytes.length, 1);
+        for (int i = 0; i < meshes.size(); i++) {
+            MeshData mesh = meshes.get(i);
+            boolean shortIndices = mesh.getVertexCount() <= MAX_SHORT_VERTICES;
+            setSection(types, counts, lengths, 4 + i * 2, MeshFile.VERTICES,
+                    mesh.getVertexCount(), MeshFile.FORMAT.getStride());
+            setSection(types, counts, lengths, 5 + i * 2,
+                    shortIndices ? MeshFile.INDICES16 : MeshFile.INDICES32,
+                    mesh.getIndices().length, shortIndices ? Short.BYTES : Integer.BYTES);
+        }
+
+        long[] offsets = new long[sectionCount];
+        long end = align(MeshFile.HEADER_SIZE + (long) sectionCount * MeshFile.SECTION_ENTRY_SIZE);
+        for (int i = 0; i < sectionCount; i++) {
+            offsets[i] = end;
+            end = align(end + lengths[i]);
+        }
+        if (end > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("MeshFileWriter: Scene is too large for one file.");
+        }
+
+        ByteBuffer out = ByteBuffer.allocate((int) end).order(ByteOrder.LITTLE_ENDIAN);
+        out.putInt(MeshFile.MAGIC).putInt(MeshFile.VERSION).putInt(sectionCount).putInt(0);
+        for (int i = 0; i < sectionCount; i++) {
+            out.putInt(types[i]).putInt(counts[i]).putLong(offsets[i]).putLong(lengths[i]);
+        }
+
+        out.position((int) offsets[0]);
+        for (int i = 0; i < meshes.size(); i++) {
+            out.putInt(meshNames[i * 2]).putInt(meshNames[i * 2 + 1]);
+            out.putInt(4 + i * 2).putInt(5 + i * 2);
+            for (float bound : meshes.get(i).getBounds()) {
+                out.putFloat(bound);
+            }
+        }
+
+        out.position((int) offsets[1]);
+        int firstMesh = 0;
+        for (int i = 0; i < nodes.size(); i++) {
+            MeshNode node = nodes.get(i);
+            out.putInt(nodeNames[i * 2]).putInt(nodeNames[i * 2 + 1]);
+            out.putInt(node.getParent()).putInt(firstMesh).putInt(node.getMeshes().length);
+            for (float value : node.getTransform()) {
+                out.putFloat(value);
+            }
+            firstMesh += node.getMeshes().length;
+        }
+
+        out.position((int) offsets[2]);
+        for (MeshNode node : nodes) {
+            for (int mesh : node.getMeshes()) {
+                out.putInt(mesh);
+            }
+        }
+
+        out.position((int) offsets[3]);
+        out.put(stringBytes);
+
+        for (int i = 0; i < meshes.size(); i++) {
+            MeshData mesh = meshes.get(i);
+            out.position((int) offsets[4 + i * 2]);
+            for (float value : mesh.getVertices()) {
+                out.putFloat(value);
+            }
+
+            out.position((int) offsets[5 + i * 2]);
+            boolean shortIndices = types[5 + i * 2] == MeshFile.INDICES16;
+            for (int index : mesh.getIndices()) {
+                if (shortIndices) {
+                    out.putShort((short) index);
+                } else {
+                    out.putInt(index);
+                }
+            }
+        }
+
+        out.clear();
+        return out;
+    }
+
+    private static void checkNodes(int meshCount, List<MeshNode> nodes) {
+        for (int i = 0; i < nodes.size(); i++) {
+            MeshNode node = nodes.get(i);
+            if (node.getParent() >= i) {
+                throw new IllegalArgumentException("MeshFileWriter: Node " + i
+                        + " must come after its parent.");
+            }
+            for (int mesh : node.getMeshes()) {
+                if (mesh < 0 || mesh >= meshCount) {
+                    throw new IllegalArgumentException("MeshFileWriter: Node " + i
+                            + " references unknown mesh " + mesh);
+                }
+            }
+        }
+    }
+
+    private static void addString(ByteArrayOutputStream strings, String value, int[] names, int i) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        names[i * 2] = strings.size();
+        names[i * 2 + 1] = bytes.length;
+        strings.write(bytes, 0, bytes.length);
+    }
+
+    private static void setSection(int[] types, int[] counts, long[] lengths, int section,
+            int type, int count, int recordSize) {
+
+        types[section] = type;
+        counts[section] = count;
+        lengths[section] = (long) count * recordSize;
+    }
+
+    private static long align(long offset) {
+        return (offset + MeshFile.ALIGNMENT - 1) & ~(long) (MeshFile.ALIGNMENT - 1);
+    }
+}
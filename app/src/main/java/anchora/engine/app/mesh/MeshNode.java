@@ -0,0 +1,58 @@
+package anchora.engine.app.mesh;
+
+/**
+ * One node of a scene's hierarchy: a transform relative to its parent and
+ * the meshes drawn with it. Nodes are stored parents first, so a node's
+ * world transform can be built in one pass over the list.
+ */
+public final class MeshNode {
+
+    /** The parent of a root node. */
+    public static final int NO_PARENT = -1;
+
+    private final String name;
+    private final int parent;
+    private final float[] transform;
+    private final int[] meshes;
+
+    /**
+     * @param name      The node name, may be empty.
+     * @param parent    The index of the parent node, or {@link #NO_PARENT}.
+     * @param transform The 4x4 transform relative to the parent, column
+     *                  major as JOML and GL expect.
+     * @param meshes    The indices of the meshes drawn at this node.
+     */
+    public MeshNode(String name, int parent, float[] transform, int[] meshes) {
+        if (name == null || parent < NO_PARENT || transform == null || transform.length != 16
+                || meshes == null) {
+            throw new IllegalArgumentException("MeshNode: Invalid node inputs.");
+        }
+
+        this.name = name;
+        this.parent = parent;
+        this.transform = transform;
+        this.meshes = meshes;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getParent() {
+        return parent;
+    }
+
+    /**
+     * @return The column-major transform. Do not modify.
+     */
+    public float[] getTransform() {
+        return transform;
+    }
+
+    /**
+     * @return The mesh indices. Do not modify.
+     */
+    public int[] getMeshes() {
+        return meshes;
+    }
+}
@@ -0,0 +1,87 @@
+package anchora.engine.app.metrics;
+
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GLCapabilities;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL33;
+
+/**
+ * Measures GPU time per frame with {@code GL_TIME_ELAPSED} queries. Results
+ * are read a few frames late from a ring of query objects, so the CPU never
+ * waits on the GPU; a frame is simply not measured if its ring slot is still
+ * in flight. Does nothing when timer queries are not supported.
+ */
+public class GpuTimer {
+
+    private static final int QUERY_COUNT = 4;
+
+    private final Histogram histogram;
+    private final boolean supported;
+    private final int[] queries = new int[QUERY_COUNT];
+    private final boolean[] pending = new boolean[QUERY_COUNT];
+    private int current;
+    private boolean active;
+
+    /**
+     * Creates the query objects. Must be called with a current GL context.
+     *
+     * @param histogram Where GPU frame times are recorded.
+     */
+    public GpuTimer(Histogram histogram) {
+        GLCapabilities capabilities = GL.getCapabilities();
+        this.histogram = histogram;
+        this.supported = capabilities.OpenGL33 || capabilities.GL_ARB_timer_query;
+
+        if (supported) {
+            for (int i = 0; i < QUERY_COUNT; i++) {
+                queries[i] = GL15.glGenQueries();
+            }
+        }
+    }
+
+    /**
+     * Starts timing a frame, after collecting the oldest result if it is ready.
+     */
+    public void begin() {
+        if (!supported) {
+            return;
+        }
+
+        if (pending[current]) {
+            if (GL15.glGetQueryObjecti(queries[current], GL15.GL_QUERY_RESULT_AVAILABLE) == 0) {
+                return;
+            }
+            histogram.record(GL33.glGetQueryObjecti64(queries[current], GL15.GL_QUERY_RESULT));
+            pending[current] = false;
+        }
+
+        GL15.glBeginQuery(GL33.GL_TIME_ELAPSED, queries[current]);
+        active = true;
+    }
+
+    /**
+     * Stops timing the frame started by {@link #begin()}.
+     */
+    public void end() {
+        if (!active) {
+            return;
+        }
+
+        GL15.glEndQuery(GL33.GL_TIME_ELAPSED);
+        pending[current] = true;
+        current = (current + 1) % QUERY_COUNT;
+        active = false;
+    }
+
+    public boolean isSupported() {
+        return supported;
+    }
+
+    public void dispose() {
+        if (supported) {
+            for (int query : queries) {
+                GL15.glDeleteQueries(query);
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package anchora.engine.app.metrics;
+
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * The engine's in-process metrics: a set of named {@link Histogram}s that any
+ * thread can record into, with a plain-text report and an optional periodic
+ * dump driven by the render loop.
+ */
+public class MetricsRegistry {
+
+    /** Time between the starts of consecutive frames, in nanoseconds. */
+    public static final String FRAME_TIME = "frame.time";
+
+    /** CPU time spent building and submitting a frame, in nanoseconds. */
+    public static final String CPU_TIME = "frame.cpu";
+
+    /** GPU time spent on a frame, in nanoseconds. Only recorded when timer queries are supported. */
+    public static final String GPU_TIME = "frame.gpu";
+
+    /** Time spent in one simulation tick, in nanoseconds. */
+    public static final String UPDATE_TIME = "update.tick";
+
+    /** Draw calls issued per frame. */
+    public static final String DRAW_CALLS = "frame.drawCalls";
+
+    /** Vertices submitted per frame. */
+    public static final String VERTICES = "frame.vertices";
+
+    private final Map<String, Histogram> histograms = new ConcurrentSkipListMap<>();
+    private final long dumpIntervalNanos;
+    private long nextDump = Long.MIN_VALUE;
+
+    /**
+     * Creates a registry that never dumps on its own.
+     */
+    public MetricsRegistry() {
+        this(0);
+    }
+
+    /**
+     * @param dumpIntervalNanos How often {@link #dumpIfDue(long, PrintStream)}
+     *                          prints and resets the histograms, or 0 never.
+     */
+    public MetricsRegistry(long dumpIntervalNanos) {
+        if (dumpIntervalNanos < 0) {
+            throw new IllegalArgumentException("MetricsRegistry: Invalid dump interval.");
+        }
+
+        this.dumpIntervalNanos = dumpIntervalNanos;
+    }
+
+    /**
+     * Returns the histogram with the given name, creating it on first use.
+     * Callers on hot paths should look it up once and keep the reference.
+     */
+    public Histogram histogram(String name) {
+        return histograms.computeIfAbsent(name, Histogram::new);
+    }
+
+    /**
+     * @return One line per histogram with its count, p50, p99 and max.
+     *         Durations are shown in milliseconds.
+     */
+    public String report() {
+        StringBuilder result = new StringBuilder();
+        for (Histogram histogram : histograms.values()) {
+            if (histogram.count() == 0) {
+                continue;
+            }
+
+            boolean nanos = isDuration(histogram.getName());
+            result.append(histogram.getName())
+                    .append(" n=").append(histogram.count())
+                    .append(" p50=").append(format(histogram.percentile(50), nanos))
+                    .append(" p99=").append(format(histogram.percentile(99), nanos))
+                    .append(" max=").append(format(histogram.max(), nanos))
+                    .append('\n');
+        }
+
+        return result.toString();
+    }
+
+    /**
+     * Prints the report and resets every histogram if the dump interval has
+     * elapsed since the last dump. Meant to be called once per frame.
+     *
+     * @param nowNanos The current time.
+     * @param out      Where to print.
+     * @return Whether a dump happened.
+     */
+    public boolean dumpIfDue(long nowNanos, PrintStream out) {
+        if (dumpIntervalNanos == 0) {
+            return false;
+        } else if (nextDump == Long.MIN_VALUE) {
+            nextDump = nowNanos + dumpIntervalNanos;
+            return false;
+        } else if (nowNanos < nextDump) {
+            return false;
+        }
+
+        out.print(report());
+        for (Histogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+        nextDump = nowNanos + dumpIntervalNanos;
+        return true;
+    }
+
+    private static boolean isDuration(String name) {
+        return !name.equals(DRAW_CALLS) && !name.equals(VERTICES);
+    }
+
+    private static String format(long value, boolean nanos) {
+        return nanos ? String.format(Locale.ROOT, "%.3fms", value / 1e6) : Long.toString(value);
+    }
+}
@@ -0,0 +1,37 @@
+package anchora.engine.app.particle;
+
+/**
+ * The per-frame integration step of a {@link ParticleSystem}, run over its
+ * parallel arrays. Implementations must give the same results, so a system
+ * behaves the same with or without SIMD.
+ */
+public interface ParticleKernel {
+
+    /**
+     * Advances particles {@code [0, count)} by one step:
+     * {@code v = v * damping + g * dt}, then {@code p += v * dt} and
+     * {@code life -= dt}.
+     *
+     * @param damping The velocity factor for this step, from the drag.
+     */
+    void integrate(float[] x, float[] y, float[] vx, float[] vy, float[] life, int count,
+            float gravityX, float gravityY, float damping, float dt);
+
+    /**
+     * @return A short name for logs and benchmarks.
+     */
+    String getName();
+
+    /**
+     * Picks the SIMD kernel when the {@code jdk.incubator.vector} module is
+     * resolved, which needs {@code --add-modules jdk.incubator.vector}, and
+     * the scalar kernel otherwise.
+     */
+    static ParticleKernel best() {
+        try {
+            return new VectorParticleKernel();
+        } catch (LinkageError e) {
+            return new ScalarParticleKernel();
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package anchora.engine.app.particle;
+
+import java.nio.FloatBuffer;
+
+import anchora.engine.app.render.InstanceBatch;
+
+/**
+ * A fixed-capacity pool of particles stored as parallel float arrays, one per
+ * field, so the per-frame update streams through memory and runs through a
+ * SIMD {@link ParticleKernel}. Live particles are always packed at the front
+ * of the arrays; dead ones are replaced by the last live particle, so the
+ * order of particles is not kept.
+ *
+ * <p>Particles are drawn as instances of one mesh, usually a unit circle from
+ * {@link InstanceBatch#createRegularPolygon(int)}, scaled by their size and
+ * faded out over their lifetime. Nothing is allocated after construction.
+ *
+ * <pre>
+ * ParticleSystem sparks = new ParticleSystem(100_000);
+ * sparks.setGravity(0f, -300f);
+ * sparks.emit(x, y, vx, vy, 1.5f, 3f, orange);
+ * // every frame
+ * sparks.update(dt);
+ * instanceBatch.draw(circle, sparks);
+ * </pre>
+ */
+public class ParticleSystem {
+
+    private final ParticleKernel kernel;
+    private final int capacity;
+    private int count;
+
+    private final float[] x, y, vx, vy;
+    private final float[] life, fade, size;
+    private final float[] red, green, blue, alpha;
+
+    private float gravityX, gravityY;
+    private float drag;
+
+    /**
+     * Creates a system using {@link ParticleKernel#best()}.
+     *
+     * @param capacity The most particles alive at once.
+     */
+    public ParticleSystem(int capacity) {
+        this(capacity, ParticleKernel.best());
+    }
+
+    /**
+     * @param capacity The most particles alive at once.
+     * @param kernel   The integration step to use.
+     * @throws IllegalArgumentException If the capacity is not positive or the
+     *                                  kernel is null.
+     */
+    public ParticleSystem(int capacity, ParticleKernel kernel) {
+        if (capacity < 1 || kernel == null) {
+            throw new IllegalArgumentException("ParticleSystem: Invalid particle inputs.");
+        }
+
+        this.kernel = kernel;
+        this.capacity = capacity;
+        x = new float[capacity];
+        y = new float[capacity];
+        vx = new float[capacity];
+        vy = new float[capacity];
+        life = new float[capacity];
+        fade = new float[capacity];
+        size = new float[capacity];
+        red = new float[capacity];
+        green = new float[capacity];
+        blue = new float[capacity];
+        alpha = new float[capacity];
+    }
+
+    /**
+     * Sets the acceleration applied to every particle, in units per second
+     * squared.
+     */
+    public void setGravity(float gravityX, float gravityY) {
+        this.gravityX = gravityX;
+        this.gravityY = gravityY;
+    }
+
+    /**
+     * @param drag The fraction of velocity lost per second, 0 for none.
+     */
+    public void setDrag(float drag) {
+        if (drag < 0f) {
+            throw new IllegalArgumentException("ParticleSystem: Invalid drag.");
+        }
+        this.drag = drag;
+    }
+
+    /**
+     * Adds a particle.
+     *
+     * @param lifetime The seconds until the particle dies. Its alpha falls
+     *                 linearly to 0 over this time.
+     * @param size     The scale applied to the particle mesh.
+     * @param color    The RGBA color at birth.
+     * @return False if the system is full and the particle was dropped.
+     */
+    public boolean emit(float x, float y, float vx, float vy, float lifetime, float size,
+            float[] color) {
+
+        if (lifetime <= 0f || color == null || color.length != 4) {
+            throw new IllegalArgumentException("ParticleSystem: Invalid particle inputs.");
+        }
+        if (count == capacity) {
+            return false;
+        }
+
+        int i = count++;
+        this.x[i] = x;
+        this.y[i] = y;
+        this.vx[i] = vx;
+        this.vy[i] = vy;
+        this.life[i] = lifetime;
+        this.fade[i] = 1f / lifetime;
+        this.size[i] = size;
+        red[i] = color[0];
+        green[i] = color[1];
+        blue[i] = color[2];
+        alpha[i] = color[3];
+        return true;
+    }
+
+    /**
+     * Moves every particle forward by {@code dt} seconds and removes the ones
+     * that died.
+     */
+    public void update(float dt) {
+        if (dt < 0f) {
+            throw new IllegalArgumentException("ParticleSystem: Invalid time step.");
+        }
+
+        float damping = Math.max(0f, 1f - drag * dt);
+        kernel.integrate(x, y, vx, vy, life, count, gravityX, gravityY, damping, dt);
+        compact();
+    }
+
+    /**
+     * Fills each dead particle's place with the last live one, so the live
+     * particles stay packed without shifting the arrays.
+     */
+    private void compact() {
+        int i = 0;
+        while (i < count) {
+            if (life[i] > 0f) {
+                i++;
+                continue;
+            }
+
+            // The moved particle is checked on the next pass at i
+            int last = --count;
+            x[i] = x[last];
+            y[i] = y[last];
+            vx[i] = vx[last];
+            vy[i] = vy[last];
+            life[i] = life[last];
+            fade[i] = fade[last];
+            size[i] = size[last];
+            red[i] = red[last];
+            green[i] = green[last];
+            blue[i] = blue[last];
+            alpha[i] = alpha[last];
+        }
+    }
+
+    /**
+     * Writes particles as {@link InstanceBatch} instances: a scale matrix
+     * translated to the particle's position, then its faded color.
+     *
+     * @param out   The instance stream, written from its position.
+     * @param first The first particle to write.
+     * @param max   The most particles to write.
+     * @return The number of particles written.
+     */
+    public int writeInstances(FloatBuffer out, int first, int max) {
+        if (first < 0 || max < 0) {
+            throw new IllegalArgumentException("ParticleSystem: Invalid instance range.");
+        }
+
+        int end = Math.min(count, first + Math.min(max, out.remaining() / InstanceBatch.INSTANCE_SIZE));
+        for (int i = first; i < end; i++) {
+            float scale = size[i];
+            float fraction = Math.min(1f, life[i] * fade[i]);
+            out.put(scale).put(0f)
+                    .put(0f).put(scale)
+                    .put(x[i]).put(y[i])
+                    .put(red[i]).put(green[i]).put(blue[i]).put(alpha[i] * fraction);
+        }
+        return Math.max(0, end - first);
+    }
+
+    /**
+     * Removes every particle.
+     */
+    public void clear() {
+        count = 0;
+    }
+
+    /**
+     * @return The number of live particles.
+     */
+    public int size() {
+        return count;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public ParticleKernel getKernel() {
+        return kernel;
+    }
+
+    public float getX(int particle) {
+        return x[check(particle)];
+    }
+
+    public float getY(int particle) {
+        return y[check(particle)];
+    }
+
+    public float getVelocityX(int particle) {
+        return vx[check(particle)];
+    }
+
+    public float getVelocityY(int particle) {
+        return vy[check(particle)];
+    }
+
+    /**
+     * @return The seconds the particle has left.
+     */
+    public float getLife(int particle) {
+        return life[check(particle)];
+    }
+
+    private int check(int particle) {
+        if (particle < 0 || particle >= count) {
+            throw new IndexOutOfBoundsException("ParticleSystem: Invalid particle " + particle);
+        }
+        return particle;
+    }
+}
@@ -0,0 +1,36 @@
+package anchora.engine.app.particle;
+
+/**
+ * Integrates one particle at a time. Used when the Vector API is not
+ * available, and for the tail of every {@link VectorParticleKernel} pass.
+ */
+public class ScalarParticleKernel implements ParticleKernel {
+
+    @Override
+    public void integrate(float[] x, float[] y, float[] vx, float[] vy, float[] life, int count,
+            float gravityX, float gravityY, float damping, float dt) {
+        integrate(x, y, vx, vy, life, 0, count, gravityX * dt, gravityY * dt, damping, dt);
+    }
+
+    /**
+     * Integrates particles {@code [from, to)}, with gravity already scaled by
+     * the step.
+     */
+    static void integrate(float[] x, float[] y, float[] vx, float[] vy, float[] life,
+            int from, int to, float gravityStepX, float gravityStepY, float damping, float dt) {
+        for (int i = from; i < to; i++) {
+            float velocityX = vx[i] * damping + gravityStepX;
+            float velocityY = vy[i] * damping + gravityStepY;
+            vx[i] = velocityX;
+            vy[i] = velocityY;
+            x[i] += velocityX * dt;
+            y[i] += velocityY * dt;
+            life[i] -= dt;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,48 @@
+package anchora.engine.app.particle;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Integrates a full SIMD register of particles at a time with the incubating
+ * Vector API, using the widest species the CPU supports. The operations are
+ * the same multiplies and adds as {@link ScalarParticleKernel}, lane by lane,
+ * so both kernels produce identical results.
+ *
+ * <p>Loading this class fails with a {@link LinkageError} unless the JVM runs
+ * with {@code --add-modules jdk.incubator.vector}; use
+ * {@link ParticleKernel#best()} to fall back to the scalar kernel.
+ */
+public class VectorParticleKernel implements ParticleKernel {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    @Override
+    public void integrate(float[] x, float[] y, float[] vx, float[] vy, float[] life, int count,
+            float gravityX, float gravityY, float damping, float dt) {
+
+        float gravityStepX = gravityX * dt;
+        float gravityStepY = gravityY * dt;
+        int bound = SPECIES.loopBound(count);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            FloatVector velocityX = FloatVector.fromArray(SPECIES, vx, i)
+                    .mul(damping).add(gravityStepX);
+            FloatVector velocityY = FloatVector.fromArray(SPECIES, vy, i)
+                    .mul(damping).add(gravityStepY);
+            velocityX.intoArray(vx, i);
+            velocityY.intoArray(vy, i);
+            FloatVector.fromArray(SPECIES, x, i).add(velocityX.mul(dt)).intoArray(x, i);
+            FloatVector.fromArray(SPECIES, y, i).add(velocityY.mul(dt)).intoArray(y, i);
+            FloatVector.fromArray(SPECIES, life, i).sub(dt).intoArray(life, i);
+        }
+
+        // Whatever does not fill a register
+        ScalarParticleKernel.integrate(x, y, vx, vy, life, bound, count,
+                gravityStepX, gravityStepY, damping, dt);
+    }
+
+    @Override
+    public String getName() {
+        return "vector" + SPECIES.length();
+    }
+}
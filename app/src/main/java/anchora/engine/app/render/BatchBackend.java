@@ -0,0 +1,45 @@
+package anchora.engine.app.render;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * The GL side of a {@link ShapeBatch}. Everything the batch needs from the
+ * driver goes through this interface so the batching and ordering logic can
+ * be exercised without a context.
+ */
+public interface BatchBackend {
+
+    /**
+     * Makes the given shader program current for the following draws.
+     *
+     * @param programId The linked shader program ID.
+     */
+    void bindShader(int programId);
+
+    /**
+     * Binds the given texture for the following draws.
+     *
+     * @param textureId The texture ID, or 0 for untextured geometry.
+     */
+    void bindTexture(int textureId);
+
+    /**
+     * Uploads one batch worth of geometry and issues a single indexed draw.
+     *
+     * @param vertices The interleaved vertex data, flipped and ready to read.
+     * @param indices  The triangle indices, flipped and ready to read.
+     */
+    void drawIndexed(FloatBuffer vertices, IntBuffer indices);
+
+    /**
+     * Called once all of a frame's draws have been issued, so streamed
+     * buffers can fence what the GPU still has to read.
+     */
+    void endFrame();
+
+    /**
+     * Releases any GL objects owned by the backend.
+     */
+    void dispose();
+}
@@ -0,0 +1,89 @@
+package anchora.engine.app.render;
+
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import anchora.engine.app.VerticesUtils;
+
+/**
+ * {@link InstanceBackend} for contexts without instanced arrays. Each instance
+ * is transformed on the CPU and appended to a {@link ShapeBatch}, so the same
+ * scene still draws, just with the upload cost instancing would have saved.
+ *
+ * <p>The shape batch belongs to the caller, who must have begun it and must
+ * end it; {@link #endFrame()} and {@link #dispose()} leave it alone.
+ */
+public class ExpandingInstanceBackend implements InstanceBackend {
+
+    private static final int VERTEX_SIZE = VerticesUtils.SINGLE_VERTEX_ARRAY_LENGTH;
+
+    private final ShapeBatch batch;
+    private final List<float[]> meshVertices = new ArrayList<>();
+    private final List<int[]> meshIndices = new ArrayList<>();
+
+    // One transformed copy per mesh, reused for every instance
+    private final List<float[]> scratch = new ArrayList<>();
+
+    public ExpandingInstanceBackend(ShapeBatch batch) {
+        if (batch == null) {
+            throw new IllegalArgumentException("ExpandingInstanceBackend: Invalid shape batch.");
+        }
+
+        this.batch = batch;
+    }
+
+    @Override
+    public int createMesh(float[] vertices, int[] indices) {
+        meshVertices.add(vertices.clone());
+        meshIndices.add(indices.clone());
+        scratch.add(new float[vertices.length]);
+        return meshVertices.size() - 1;
+    }
+
+    /**
+     * Ignored: expanded instances are plain shape vertices, so they are drawn
+     * with whatever shader the shape batch has been given.
+     */
+    @Override
+    public void bindShader(int programId) {
+    }
+
+    @Override
+    public void drawInstanced(int mesh, FloatBuffer instances, int count) {
+        float[] source = meshVertices.get(mesh);
+        float[] target = scratch.get(mesh);
+        int[] indices = meshIndices.get(mesh);
+
+        int base = instances.position();
+        for (int i = 0; i < count; i++) {
+            int at = base + i * InstanceBatch.INSTANCE_SIZE;
+            float m00 = instances.get(at), m01 = instances.get(at + 1);
+            float m10 = instances.get(at + 2), m11 = instances.get(at + 3);
+            float m20 = instances.get(at + 4), m21 = instances.get(at + 5);
+
+            // Same math as shaders/instanced_vertex.glsl
+            for (int v = 0; v < source.length; v += VERTEX_SIZE) {
+                float x = source[v], y = source[v + 1];
+                target[v] = m00 * x + m10 * y + m20;
+                target[v + 1] = m01 * x + m11 * y + m21;
+                target[v + 2] = source[v + 2];
+                for (int c = 0; c < 4; c++) {
+                    target[v + 3 + c] = source[v + 3 + c] * instances.get(at + 6 + c);
+                }
+            }
+            batch.draw(target, indices);
+        }
+    }
+
+    @Override
+    public void endFrame() {
+    }
+
+    @Override
+    public void dispose() {
+        meshVertices.clear();
+        meshIndices.clear();
+        scratch.clear();
+    }
+}
@@ -0,0 +1,17 @@
+package anchora.engine.app.render;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Receives frames read back by a {@link FrameReadback}.
+ */
+@FunctionalInterface
+public interface FrameConsumer {
+
+    /**
+     * @param frame  The number of the frame, counting captures from 0.
+     * @param pixels The RGBA8 pixels, rows from the bottom up. Only valid
+     *               during the call.
+     */
+    void accept(long frame, ByteBuffer pixels, int width, int height);
+}
@@ -0,0 +1,175 @@
+package anchora.engine.app.render;
+
+import java.nio.ByteBuffer;
+
+import anchora.engine.app.texture.Image;
+
+/**
+ * Reads rendered frames back to the CPU without stalling the pipeline. Each
+ * {@link #capture} starts a copy into the next buffer of a small ring and
+ * fences it; frames are handed to the consumer, oldest first, once their
+ * fence has signaled, which is normally a frame or two later. The CPU only
+ * waits when every buffer of the ring is still in flight.
+ */
+public class FrameReadback {
+
+    public static final int DEFAULT_DEPTH = 3;
+
+    private static final long WAIT_NANOS = 1_000_000L;
+
+    private final ReadbackBackend backend;
+    private final int width, height, size;
+    private final int[] buffers;
+    private final long[] fences;
+    private final long[] frames;
+
+    // The ring holds pendingCount captures starting at oldest
+    private int oldest;
+    private int pendingCount;
+
+    private long captured;
+    private long delivered;
+    private long stalls;
+
+    public FrameReadback(ReadbackBackend backend, int width, int height) {
+        this(backend, width, height, DEFAULT_DEPTH);
+    }
+
+    /**
+     * @param backend The GL calls to use.
+     * @param width   The width of the frames, in pixels.
+     * @param height  The height of the frames, in pixels.
+     * @param depth   How many captures can be in flight at once.
+     */
+    public FrameReadback(ReadbackBackend backend, int width, int height, int depth) {
+        if (backend == null || width <= 0 || height <= 0 || depth <= 0) {
+            throw new IllegalArgumentException("FrameReadback: Invalid readback inputs.");
+        }
+
+        this.backend = backend;
+        this.width = width;
+        this.height = height;
+        this.size = width * height * Image.BYTES_PER_PIXEL;
+        this.buffers = new int[depth];
+        this.fences = new long[depth];
+        this.frames = new long[depth];
+        for (int i = 0; i < depth; i++) {
+            buffers[i] = backend.createBuffer(size);
+        }
+    }
+
+    /**
+     * Delivers whatever has finished, then starts reading the bound read
+     * framebuffer. Waits for the oldest capture first if the ring is full.
+     *
+     * @param consumer Receives the finished frames.
+     */
+    public void capture(FrameConsumer consumer) {
+        poll(consumer);
+        if (pendingCount == buffers.length) {
+            stalls++;
+            deliverOldest(consumer);
+        }
+
+        int slot = (oldest + pendingCount) % buffers.length;
+        backend.readPixels(buffers[slot], width, height);
+        fences[slot] = backend.fence();
+        frames[slot] = captured++;
+        pendingCount++;
+    }
+
+    /**
+     * Delivers the captures whose copies have finished, without waiting.
+     *
+     * @return The number of frames delivered.
+     */
+    public int poll(FrameConsumer consumer) {
+        int count = 0;
+        while (pendingCount > 0 && backend.waitFence(fences[oldest], 0L)) {
+            deliverOldest(consumer);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Waits for and delivers every capture still in flight, for the end of a
+     * run.
+     */
+    public void finish(FrameConsumer consumer) {
+        while (pendingCount > 0) {
+            deliverOldest(consumer);
+        }
+    }
+
+    private void deliverOldest(FrameConsumer consumer) {
+        int slot = oldest;
+        // Blocks only when the GPU is a whole ring behind, or at the end
+        while (!backend.waitFence(fences[slot], WAIT_NANOS)) {
+            Thread.onSpinWait();
+        }
+        backend.deleteFence(fences[slot]);
+
+        ByteBuffer pixels = backend.map(buffers[slot], size);
+        try {
+            consumer.accept(frames[slot], pixels, width, height);
+        } finally {
+            backend.unmap(buffers[slot]);
+        }
+
+        oldest = (oldest + 1) % buffers.length;
+        pendingCount--;
+        delivered++;
+    }
+
+    /**
+     * Copies read-back pixels into an image, flipping the rows so the image
+     * is stored top row first like decoded files.
+     *
+     * @param pixels The pixels handed to a {@link FrameConsumer}.
+     * @param image  An image of the same size as the frame.
+     */
+    public static void copyToImage(ByteBuffer pixels, int width, int height, Image image) {
+        if (image.getWidth() != width || image.getHeight() != height) {
+            throw new IllegalArgumentException("FrameReadback: Image size does not match the frame.");
+        }
+
+        int stride = width * Image.BYTES_PER_PIXEL;
+        ByteBuffer target = image.getPixels();
+        for (int y = 0; y < height; y++) {
+            target.put(y * stride, pixels, (height - 1 - y) * stride, stride);
+        }
+    }
+
+    /**
+     * @return The number of frames captured.
+     */
+    public long getCapturedCount() {
+        return captured;
+    }
+
+    /**
+     * @return The number of frames handed to consumers.
+     */
+    public long getDeliveredCount() {
+        return delivered;
+    }
+
+    /**
+     * @return How often a capture had to wait for the GPU because the ring
+     *         was full.
+     */
+    public long getStallCount() {
+        return stalls;
+    }
+
+    public void dispose() {
+        for (int i = 0; i < pendingCount; i++) {
+            backend.deleteFence(fences[(oldest + i) % buffers.length]);
+        }
+        pendingCount = 0;
+        for (int buffer : buffers) {
+            backend.deleteBuffer(buffer);
+        }
+    }
+}
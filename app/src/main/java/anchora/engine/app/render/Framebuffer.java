@@ -0,0 +1,73 @@
+package anchora.engine.app.render;
+
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL30;
+
+/**
+ * An offscreen RGBA8 render target, for rendering without a visible window.
+ */
+public class Framebuffer {
+
+    private final int width, height;
+    private final int framebufferId;
+    private final int colorBufferId;
+
+    /**
+     * Creates the framebuffer. Must be called with a current GL context.
+     *
+     * @throws RuntimeException If the driver reports it incomplete.
+     */
+    public Framebuffer(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Framebuffer: Invalid framebuffer size.");
+        }
+
+        this.width = width;
+        this.height = height;
+
+        colorBufferId = GL30.glGenRenderbuffers();
+        GL30.glBindRenderbuffer(GL30.GL_RENDERBUFFER, colorBufferId);
+        GL30.glRenderbufferStorage(GL30.GL_RENDERBUFFER, GL11.GL_RGBA8, width, height);
+
+        framebufferId = GL30.glGenFramebuffers();
+        GL30.glBindFramebuffer(GL30.GL_FRAMEBUFFER, framebufferId);
+        GL30.glFramebufferRenderbuffer(GL30.GL_FRAMEBUFFER, GL30.GL_COLOR_ATTACHMENT0,
+                GL30.GL_RENDERBUFFER, colorBufferId);
+
+        int status = GL30.glCheckFramebufferStatus(GL30.GL_FRAMEBUFFER);
+        GL30.glBindFramebuffer(GL30.GL_FRAMEBUFFER, 0);
+        if (status != GL30.GL_FRAMEBUFFER_COMPLETE) {
+            dispose();
+            throw new RuntimeException("Framebuffer: Incomplete framebuffer, status 0x"
+                    + Integer.toHexString(status));
+        }
+    }
+
+    /**
+     * Makes this the draw and read target and covers it with the viewport.
+     */
+    public void bind() {
+        GL30.glBindFramebuffer(GL30.GL_FRAMEBUFFER, framebufferId);
+        GL11.glViewport(0, 0, width, height);
+    }
+
+    /**
+     * Goes back to the default framebuffer.
+     */
+    public void unbind() {
+        GL30.glBindFramebuffer(GL30.GL_FRAMEBUFFER, 0);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public void dispose() {
+        GL30.glDeleteFramebuffers(framebufferId);
+        GL30.glDeleteRenderbuffers(colorBufferId);
+    }
+}
@@ -0,0 +1,110 @@
+package anchora.engine.app.render;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL20;
+import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL32;
+import org.lwjgl.system.MemoryUtil;
+
+import anchora.engine.app.VerticesUtils;
+
+/**
+ * {@link BatchBackend} backed by one VAO whose vertex and element buffers are
+ * {@link StreamingVertexBuffer}s, so every flush writes into memory the GPU is
+ * not reading and draws it with a base vertex.
+ */
+public class GLBatchBackend implements BatchBackend {
+
+    /**
+     * How many full batches fit in one region of the streams before the ring
+     * moves on, so a frame with several flushes rarely has to wait on a fence.
+     */
+    private static final int BATCHES_PER_REGION = 4;
+
+    private final int VAOId;
+    private final int vertexSizeBytes;
+    private final StreamingVertexBuffer vertexStream, indexStream;
+
+    /**
+     * Creates a backend for the {@link VerticesUtils} layout,
+     * {@link VertexFormat#POSITION_COLOR}.
+     */
+    public GLBatchBackend(int maxVertices, int maxIndices) {
+        this(maxVertices, maxIndices, VertexFormat.POSITION_COLOR);
+    }
+
+    /**
+     * @param maxVertices The most vertices a single flush can hold.
+     * @param maxIndices  The most indices a single flush can hold.
+     * @param format      The layout of the flushed vertices, bound to
+     *                    locations 0, 1, ... in order.
+     * @throws IllegalArgumentException If the format is null.
+     */
+    public GLBatchBackend(int maxVertices, int maxIndices, VertexFormat format) {
+        if (format == null) {
+            throw new IllegalArgumentException("GLBatchBackend: Invalid vertex layout.");
+        }
+        vertexSizeBytes = format.getStride();
+
+        VAOId = GL30.glGenVertexArrays();
+        GL30.glBindVertexArray(VAOId);
+
+        // Both streams bind their buffers here, so the VAO records them
+        vertexStream = new StreamingVertexBuffer(new GLStreamingBackend(GL15.GL_ARRAY_BUFFER),
+                maxVertices * vertexSizeBytes * BATCHES_PER_REGION);
+        indexStream = new StreamingVertexBuffer(new GLStreamingBackend(GL15.GL_ELEMENT_ARRAY_BUFFER),
+                maxIndices * Integer.BYTES * BATCHES_PER_REGION);
+
+        // The attribute layout lives in the VAO, so it only has to be set once.
+        // GL_ARRAY_BUFFER is still bound to the vertex stream at this point.
+        format.enable(0L);
+    }
+
+    @Override
+    public void bindShader(int programId) {
+        GL20.glUseProgram(programId);
+    }
+
+    @Override
+    public void bindTexture(int textureId) {
+        GL11.glBindTexture(GL11.GL_TEXTURE_2D, textureId);
+    }
+
+    @Override
+    public void drawIndexed(FloatBuffer vertices, IntBuffer indices) {
+        // Mapping the index stream binds GL_ELEMENT_ARRAY_BUFFER, which is VAO
+        // state, so bind ours first or another VAO's element buffer is replaced
+        GL30.glBindVertexArray(VAOId);
+
+        int vertexBytes = vertices.remaining() * Float.BYTES;
+        ByteBuffer vertexTarget = vertexStream.map(vertexBytes, vertexSizeBytes);
+        MemoryUtil.memCopy(MemoryUtil.memAddress(vertices), MemoryUtil.memAddress(vertexTarget), vertexBytes);
+        vertexStream.unmap();
+
+        int indexBytes = indices.remaining() * Integer.BYTES;
+        ByteBuffer indexTarget = indexStream.map(indexBytes, Integer.BYTES);
+        MemoryUtil.memCopy(MemoryUtil.memAddress(indices), MemoryUtil.memAddress(indexTarget), indexBytes);
+        indexStream.unmap();
+
+        GL32.glDrawElementsBaseVertex(GL11.GL_TRIANGLES, indices.remaining(), GL11.GL_UNSIGNED_INT,
+                indexStream.offset(), (int) (vertexStream.offset() / vertexSizeBytes));
+    }
+
+    @Override
+    public void endFrame() {
+        vertexStream.endFrame();
+        indexStream.endFrame();
+    }
+
+    @Override
+    public void dispose() {
+        vertexStream.dispose();
+        indexStream.dispose();
+        GL30.glDeleteVertexArrays(VAOId);
+    }
+}
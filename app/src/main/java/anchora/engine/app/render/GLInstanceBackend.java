@@ -0,0 +1,141 @@
+package anchora.engine.app.render;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL20;
+import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL31;
+import org.lwjgl.opengl.GLCapabilities;
+import org.lwjgl.system.MemoryUtil;
+
+/**
+ * {@link InstanceBackend} that keeps each mesh in its own VAO with static
+ * vertex and element buffers, and streams instance data through one shared
+ * {@link StreamingVertexBuffer}. The instance attributes advance once per
+ * instance and are bound to locations 2 to 5, as read by
+ * {@code shaders/instanced_vertex.glsl}.
+ */
+public class GLInstanceBackend implements InstanceBackend {
+
+    /**
+     * Two axis columns, the translation, then the tint.
+     */
+    private static final VertexFormat INSTANCE_FORMAT = new VertexFormat(
+            VertexAttribute.floats(2), VertexAttribute.floats(2),
+            VertexAttribute.floats(2), VertexAttribute.floats(4));
+    private static final int INSTANCE_LOCATION = 2;
+    private static final int INSTANCE_SIZE_BYTES = INSTANCE_FORMAT.getStride();
+
+    /**
+     * How many full flushes fit in one region of the instance stream.
+     */
+    private static final int BATCHES_PER_REGION = 4;
+
+    private final GLStreamingBackend instanceBuffer;
+    private final StreamingVertexBuffer instanceStream;
+
+    // Per mesh: the VAO, its two buffers and its index count
+    private int[] vaos = new int[16];
+    private int[] vertexBuffers = new int[16];
+    private int[] indexBuffers = new int[16];
+    private int[] indexCounts = new int[16];
+    private int meshCount;
+
+    /**
+     * @return True if the current context can draw instanced arrays.
+     */
+    public static boolean isSupported() {
+        GLCapabilities capabilities = GL.getCapabilities();
+        return isSupported(capabilities.OpenGL33);
+    }
+
+    /**
+     * GL 3.3 is required. {@code ARB_instanced_arrays} on an older context is
+     * not enough, since the divisor and the instanced draw go through their
+     * GL 3.3 and 3.1 entry points, which such a context does not load.
+     */
+    static boolean isSupported(boolean openGL33) {
+        return openGL33;
+    }
+
+    /**
+     * @param maxInstances The most instances a single flush can hold.
+     */
+    public GLInstanceBackend(int maxInstances) {
+        instanceBuffer = new GLStreamingBackend(GL15.GL_ARRAY_BUFFER);
+        instanceStream = new StreamingVertexBuffer(instanceBuffer,
+                maxInstances * INSTANCE_SIZE_BYTES * BATCHES_PER_REGION);
+    }
+
+    @Override
+    public int createMesh(float[] vertices, int[] indices) {
+        if (meshCount == vaos.length) {
+            vaos = Arrays.copyOf(vaos, meshCount * 2);
+            vertexBuffers = Arrays.copyOf(vertexBuffers, meshCount * 2);
+            indexBuffers = Arrays.copyOf(indexBuffers, meshCount * 2);
+            indexCounts = Arrays.copyOf(indexCounts, meshCount * 2);
+        }
+
+        int vao = GL30.glGenVertexArrays();
+        GL30.glBindVertexArray(vao);
+
+        int vertexBuffer = GL15.glGenBuffers();
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, vertexBuffer);
+        GL15.glBufferData(GL15.GL_ARRAY_BUFFER, vertices, GL15.GL_STATIC_DRAW);
+        VertexFormat.POSITION_COLOR.enable(0L);
+
+        int indexBuffer = GL15.glGenBuffers();
+        GL15.glBindBuffer(GL15.GL_ELEMENT_ARRAY_BUFFER, indexBuffer);
+        GL15.glBufferData(GL15.GL_ELEMENT_ARRAY_BUFFER, indices, GL15.GL_STATIC_DRAW);
+
+        // The instance pointers are rebased per draw, since the stream moves
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, instanceBuffer.getBufferId());
+        INSTANCE_FORMAT.enable(INSTANCE_LOCATION, 0L, 1);
+        GL30.glBindVertexArray(0);
+
+        vaos[meshCount] = vao;
+        vertexBuffers[meshCount] = vertexBuffer;
+        indexBuffers[meshCount] = indexBuffer;
+        indexCounts[meshCount] = indices.length;
+        return meshCount++;
+    }
+
+    @Override
+    public void bindShader(int programId) {
+        GL20.glUseProgram(programId);
+    }
+
+    @Override
+    public void drawInstanced(int mesh, FloatBuffer instances, int count) {
+        int bytes = instances.remaining() * Float.BYTES;
+        ByteBuffer target = instanceStream.map(bytes, INSTANCE_SIZE_BYTES);
+        MemoryUtil.memCopy(MemoryUtil.memAddress(instances), MemoryUtil.memAddress(target), bytes);
+        instanceStream.unmap();
+
+        GL30.glBindVertexArray(vaos[mesh]);
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, instanceBuffer.getBufferId());
+        INSTANCE_FORMAT.rebase(INSTANCE_LOCATION, instanceStream.offset());
+        GL31.glDrawElementsInstanced(GL11.GL_TRIANGLES, indexCounts[mesh], GL11.GL_UNSIGNED_INT, 0L, count);
+    }
+
+    @Override
+    public void endFrame() {
+        instanceStream.endFrame();
+    }
+
+    @Override
+    public void dispose() {
+        for (int mesh = 0; mesh < meshCount; mesh++) {
+            GL15.glDeleteBuffers(vertexBuffers[mesh]);
+            GL15.glDeleteBuffers(indexBuffers[mesh]);
+            GL30.glDeleteVertexArrays(vaos[mesh]);
+        }
+        meshCount = 0;
+        instanceStream.dispose();
+    }
+}
@@ -0,0 +1,75 @@
+package anchora.engine.app.render;
+
+import java.nio.ByteBuffer;
+
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL21;
+import org.lwjgl.opengl.GL32;
+
+/**
+ * {@link ReadbackBackend} on {@code GL_PIXEL_PACK_BUFFER} objects, so
+ * {@code glReadPixels} returns at once and the copy finishes on the GPU.
+ */
+public class GLReadbackBackend implements ReadbackBackend {
+
+    @Override
+    public int createBuffer(int size) {
+        int buffer = GL15.glGenBuffers();
+        GL15.glBindBuffer(GL21.GL_PIXEL_PACK_BUFFER, buffer);
+        GL15.glBufferData(GL21.GL_PIXEL_PACK_BUFFER, size, GL15.GL_STREAM_READ);
+        GL15.glBindBuffer(GL21.GL_PIXEL_PACK_BUFFER, 0);
+        return buffer;
+    }
+
+    @Override
+    public void readPixels(int buffer, int width, int height) {
+        GL15.glBindBuffer(GL21.GL_PIXEL_PACK_BUFFER, buffer);
+        GL11.glPixelStorei(GL11.GL_PACK_ALIGNMENT, 1);
+        // With a pack buffer bound the last argument is an offset into it
+        GL11.glReadPixels(0, 0, width, height, GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, 0L);
+        GL15.glBindBuffer(GL21.GL_PIXEL_PACK_BUFFER, 0);
+    }
+
+    @Override
+    public ByteBuffer map(int buffer, int size) {
+        GL15.glBindBuffer(GL21.GL_PIXEL_PACK_BUFFER, buffer);
+        ByteBuffer mapping = GL15.glMapBuffer(GL21.GL_PIXEL_PACK_BUFFER, GL15.GL_READ_ONLY);
+        if (mapping == null) {
+            throw new RuntimeException("GLReadbackBackend: Failed to map pixel buffer.");
+        }
+        return mapping;
+    }
+
+    @Override
+    public void unmap(int buffer) {
+        GL15.glBindBuffer(GL21.GL_PIXEL_PACK_BUFFER, buffer);
+        GL15.glUnmapBuffer(GL21.GL_PIXEL_PACK_BUFFER);
+        GL15.glBindBuffer(GL21.GL_PIXEL_PACK_BUFFER, 0);
+    }
+
+    @Override
+    public long fence() {
+        return GL32.glFenceSync(GL32.GL_SYNC_GPU_COMMANDS_COMPLETE, 0);
+    }
+
+    @Override
+    public boolean waitFence(long fence, long timeoutNanos) {
+        int result = GL32.glClientWaitSync(fence, GL32.GL_SYNC_FLUSH_COMMANDS_BIT, timeoutNanos);
+        if (result == GL32.GL_WAIT_FAILED) {
+            throw new RuntimeException("GLReadbackBackend: glClientWaitSync failed.");
+        }
+
+        return result == GL32.GL_ALREADY_SIGNALED || result == GL32.GL_CONDITION_SATISFIED;
+    }
+
+    @Override
+    public void deleteFence(long fence) {
+        GL32.glDeleteSync(fence);
+    }
+
+    @Override
+    public void deleteBuffer(int buffer) {
+        GL15.glDeleteBuffers(buffer);
+    }
+}
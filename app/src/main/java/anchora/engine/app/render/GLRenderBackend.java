@@ -0,0 +1,33 @@
+package anchora.engine.app.render;
+
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL20;
+import org.lwjgl.opengl.GL30;
+
+/**
+ * {@link RenderBackend} that issues the calls straight to GL. Meant to sit
+ * behind a {@link RenderStateCache}.
+ */
+public class GLRenderBackend implements RenderBackend {
+
+    @Override
+    public void useProgram(int programId) {
+        GL20.glUseProgram(programId);
+    }
+
+    @Override
+    public void bindTexture(int textureId) {
+        GL11.glBindTexture(GL11.GL_TEXTURE_2D, textureId);
+    }
+
+    @Override
+    public void bindVertexArray(int meshId) {
+        GL30.glBindVertexArray(meshId);
+    }
+
+    @Override
+    public void drawElements(int firstIndex, int indexCount) {
+        GL11.glDrawElements(GL11.GL_TRIANGLES, indexCount, GL11.GL_UNSIGNED_INT,
+                (long) firstIndex * Integer.BYTES);
+    }
+}
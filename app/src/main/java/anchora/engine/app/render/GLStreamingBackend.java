@@ -0,0 +1,124 @@
+package anchora.engine.app.render;
+
+import java.nio.ByteBuffer;
+
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GLCapabilities;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL30;
+import org.lwjgl.opengl.GL32;
+import org.lwjgl.opengl.GL44;
+
+/**
+ * {@link StreamingBufferBackend} for one GL buffer object bound to a fixed
+ * target such as {@code GL_ARRAY_BUFFER} or {@code GL_ELEMENT_ARRAY_BUFFER}.
+ */
+public class GLStreamingBackend implements StreamingBufferBackend {
+
+    private static final int PERSISTENT_FLAGS = GL30.GL_MAP_WRITE_BIT
+            | GL44.GL_MAP_PERSISTENT_BIT | GL44.GL_MAP_COHERENT_BIT;
+    private static final int STREAMING_FLAGS = GL30.GL_MAP_WRITE_BIT
+            | GL30.GL_MAP_INVALIDATE_RANGE_BIT | GL30.GL_MAP_UNSYNCHRONIZED_BIT;
+
+    private final int target;
+    private final int bufferId;
+    private boolean persistentlyMapped;
+    private ByteBuffer mapping;
+
+    /**
+     * Creates the buffer object and binds it to {@code target}. For element
+     * buffers the VAO that should own the binding must already be bound.
+     *
+     * @param target The buffer target.
+     */
+    public GLStreamingBackend(int target) {
+        this.target = target;
+        this.bufferId = GL15.glGenBuffers();
+        GL15.glBindBuffer(target, bufferId);
+    }
+
+    /**
+     * @return The GL buffer object, for callers that need to bind it as an
+     *         attribute source.
+     */
+    public int getBufferId() {
+        return bufferId;
+    }
+
+    @Override
+    public boolean supportsPersistentMapping() {
+        GLCapabilities capabilities = GL.getCapabilities();
+        return capabilities.OpenGL44 || capabilities.GL_ARB_buffer_storage;
+    }
+
+    @Override
+    public ByteBuffer createPersistent(long size) {
+        GL15.glBindBuffer(target, bufferId);
+        GL44.glBufferStorage(target, size, PERSISTENT_FLAGS);
+        mapping = GL30.glMapBufferRange(target, 0, size, PERSISTENT_FLAGS);
+        if (mapping == null) {
+            throw new RuntimeException("GLStreamingBackend: Failed to map buffer persistently.");
+        }
+
+        persistentlyMapped = true;
+        return mapping;
+    }
+
+    @Override
+    public void createDynamic(long size) {
+        orphan(size);
+    }
+
+    @Override
+    public void orphan(long size) {
+        GL15.glBindBuffer(target, bufferId);
+        GL15.glBufferData(target, size, GL15.GL_STREAM_DRAW);
+    }
+
+    @Override
+    public ByteBuffer mapRange(long offset, int length) {
+        GL15.glBindBuffer(target, bufferId);
+        mapping = GL30.glMapBufferRange(target, offset, length, STREAMING_FLAGS, mapping);
+        if (mapping == null) {
+            throw new RuntimeException("GLStreamingBackend: Failed to map buffer range.");
+        }
+
+        return mapping;
+    }
+
+    @Override
+    public void unmap() {
+        GL15.glBindBuffer(target, bufferId);
+        GL15.glUnmapBuffer(target);
+    }
+
+    @Override
+    public long fence() {
+        return GL32.glFenceSync(GL32.GL_SYNC_GPU_COMMANDS_COMPLETE, 0);
+    }
+
+    @Override
+    public boolean waitFence(long fence, long timeoutNanos) {
+        int result = GL32.glClientWaitSync(fence, GL32.GL_SYNC_FLUSH_COMMANDS_BIT, timeoutNanos);
+        if (result == GL32.GL_WAIT_FAILED) {
+            throw new RuntimeException("GLStreamingBackend: glClientWaitSync failed.");
+        }
+
+        return result == GL32.GL_ALREADY_SIGNALED || result == GL32.GL_CONDITION_SATISFIED;
+    }
+
+    @Override
+    public void deleteFence(long fence) {
+        GL32.glDeleteSync(fence);
+    }
+
+    @Override
+    public void dispose() {
+        if (persistentlyMapped) {
+            GL15.glBindBuffer(target, bufferId);
+            GL15.glUnmapBuffer(target);
+            persistentlyMapped = false;
+        }
+        GL15.glDeleteBuffers(bufferId);
+    }
+}
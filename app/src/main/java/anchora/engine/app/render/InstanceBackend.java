@@ -0,0 +1,50 @@
+package anchora.engine.app.render;
+
+import java.nio.FloatBuffer;
+
+import anchora.engine.app.VerticesUtils;
+
+/**
+ * The GL side of an {@link InstanceBatch}. Meshes are uploaded once and then
+ * drawn many times, each instance reading its transform and tint from a
+ * stream of {@link InstanceBatch#INSTANCE_SIZE} floats.
+ */
+public interface InstanceBackend {
+
+    /**
+     * Uploads a mesh in model space.
+     *
+     * @param vertices The interleaved vertices in the {@link VerticesUtils}
+     *                 layout.
+     * @param indices  The triangle indices.
+     * @return A handle for {@link #drawInstanced}.
+     */
+    int createMesh(float[] vertices, int[] indices);
+
+    /**
+     * Makes the given shader program current for the following draws.
+     *
+     * @param programId The linked shader program ID.
+     */
+    void bindShader(int programId);
+
+    /**
+     * Draws the mesh once per instance.
+     *
+     * @param mesh      A handle returned by {@link #createMesh}.
+     * @param instances The packed instance data, flipped and ready to read.
+     * @param count     The number of instances in {@code instances}.
+     */
+    void drawInstanced(int mesh, FloatBuffer instances, int count);
+
+    /**
+     * Called once all of a frame's draws have been issued, so streamed
+     * buffers can fence what the GPU still has to read.
+     */
+    void endFrame();
+
+    /**
+     * Releases the meshes and any other GL objects owned by the backend.
+     */
+    void dispose();
+}
@@ -0,0 +1,290 @@
+package anchora.engine.app.render;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GLCapabilities;
+
+import anchora.engine.app.VerticesUtils;
+import anchora.engine.app.camera.Transform2D;
+import anchora.engine.app.geometry.GeometryUtils;
+import anchora.engine.app.particle.ParticleSystem;
+
+/**
+ * Draws many copies of a few meshes, sending only a transform and a tint per
+ * copy. A hexagon costs {@link #INSTANCE_SIZE} floats per instance instead of
+ * its full vertex data, and consecutive instances of the same mesh share one
+ * draw call.
+ *
+ * <p>Each instance is a 2x3 affine matrix, packed like
+ * {@link Transform2D#put(FloatBuffer)}, followed by an RGBA color that is
+ * multiplied with the mesh's vertex colors. Meshes are usually built white so
+ * the instance color shows as is.
+ *
+ * <pre>
+ * int hexagon = batch.createMesh(VerticesUtils.generateHexagon(1, 0, 0, ...), indices);
+ * batch.begin();
+ * batch.setShader(programId);
+ * batch.draw(hexagon, x, y, radius, 0f, color);
+ * batch.end();
+ * </pre>
+ */
+public class InstanceBatch {
+
+    /** Floats per instance: the matrix columns, then the color. */
+    public static final int INSTANCE_SIZE = Transform2D.FLOATS + 4;
+
+    public static final int DEFAULT_MAX_INSTANCES = 16384;
+
+    private static final int VERTEX_SIZE = VerticesUtils.SINGLE_VERTEX_ARRAY_LENGTH;
+    private static final int NONE = -1;
+    private static final float[] WHITE = { 1f, 1f, 1f, 1f };
+
+    private final InstanceBackend backend;
+    private final int maxInstances;
+    private final FloatBuffer instances;
+    private int meshCount;
+
+    private int instanceCount;
+    private int mesh = NONE;
+    private int shaderId, boundShaderId = NONE;
+    private boolean drawing;
+    private int drawCalls;
+    private int instancesDrawn;
+
+    public InstanceBatch(InstanceBackend backend) {
+        this(backend, DEFAULT_MAX_INSTANCES);
+    }
+
+    /**
+     * @param backend      The backend the batch flushes into, see
+     *                     {@link GLInstanceBackend#isSupported()} for choosing
+     *                     one.
+     * @param maxInstances The most instances held between flushes.
+     * @throws IllegalArgumentException If the backend is null or the capacity
+     *                                  is not positive.
+     */
+    public InstanceBatch(InstanceBackend backend, int maxInstances) {
+        if (backend == null || maxInstances < 1) {
+            throw new IllegalArgumentException("InstanceBatch: Invalid batch inputs.");
+        }
+
+        this.backend = backend;
+        this.maxInstances = maxInstances;
+        this.instances = BufferUtils.createFloatBuffer(maxInstances * INSTANCE_SIZE);
+    }
+
+    /**
+     * Creates a batch for the current GL context, drawing through
+     * {@link GLInstanceBackend} when instanced arrays are available and
+     * expanding every instance into {@code fallback} when they are not.
+     *
+     * @param fallback The shape batch used without instancing. Its frame must
+     *                 wrap this batch's {@link #begin()} and {@link #end()}.
+     */
+    public static InstanceBatch forCurrentContext(ShapeBatch fallback) {
+        GLCapabilities capabilities = GL.getCapabilities();
+        return new InstanceBatch(chooseBackend(capabilities.OpenGL33, fallback),
+                DEFAULT_MAX_INSTANCES);
+    }
+
+    static InstanceBackend chooseBackend(boolean openGL33, ShapeBatch fallback) {
+        return GLInstanceBackend.isSupported(openGL33)
+                ? new GLInstanceBackend(DEFAULT_MAX_INSTANCES)
+                : new ExpandingInstanceBackend(fallback);
+    }
+
+    /**
+     * Uploads a mesh in model space, centered on the origin.
+     *
+     * @param vertices The interleaved vertices in the {@link VerticesUtils}
+     *                 layout.
+     * @param indices  Triangle indices into {@code vertices}.
+     * @return The mesh handle.
+     * @throws IllegalArgumentException If the geometry is malformed.
+     */
+    public int createMesh(float[] vertices, int[] indices) {
+        if (vertices == null || indices == null || vertices.length == 0
+                || vertices.length % VERTEX_SIZE != 0 || indices.length % 3 != 0) {
+            throw new IllegalArgumentException("InstanceBatch: Invalid mesh input.");
+        }
+        int count = vertices.length / VERTEX_SIZE;
+        for (int index : indices) {
+            if (index < 0 || index >= count) {
+                throw new IllegalArgumentException("InstanceBatch: Index out of range: " + index);
+            }
+        }
+
+        meshCount++;
+        return backend.createMesh(vertices, indices);
+    }
+
+    /**
+     * Uploads a white regular polygon of radius 1, such as a unit circle for
+     * particles.
+     *
+     * @param sides The number of sides, at least 3.
+     * @return The mesh handle.
+     */
+    public int createRegularPolygon(int sides) {
+        if (sides < 3) {
+            throw new IllegalArgumentException("InstanceBatch: Invalid polygon input.");
+        }
+
+        float[] vertices = new float[GeometryUtils.fanVertexCount(sides) * VERTEX_SIZE];
+        int[] indices = new int[GeometryUtils.fanIndexCount(sides)];
+        GeometryUtils.writeFan(FloatBuffer.wrap(vertices), 0, IntBuffer.wrap(indices), 0, 0,
+                0f, 0f, 1f, sides, WHITE);
+        return createMesh(vertices, indices);
+    }
+
+    public void begin() {
+        if (drawing) {
+            throw new IllegalStateException("InstanceBatch: begin() called twice without end().");
+        }
+
+        drawing = true;
+        drawCalls = 0;
+        instancesDrawn = 0;
+        boundShaderId = NONE;
+    }
+
+    /**
+     * Flushes whatever is left and finishes the frame.
+     */
+    public void end() {
+        checkDrawing();
+        flush();
+        backend.endFrame();
+        drawing = false;
+    }
+
+    /**
+     * Sets the shader program used for the following instances. Switching to
+     * a different program flushes the current batch.
+     */
+    public void setShader(int programId) {
+        if (programId != shaderId) {
+            flush();
+            shaderId = programId;
+        }
+    }
+
+    /**
+     * Adds one instance of a mesh, uniformly scaled and rotated about its
+     * origin and then moved to {@code (x, y)}.
+     *
+     * @param rotation The rotation in radians, counter-clockwise.
+     * @param color    The RGBA tint.
+     */
+    public void draw(int mesh, float x, float y, float scale, float rotation, float[] color) {
+        float cos = rotation == 0f ? 1f : (float) Math.cos(rotation);
+        float sin = rotation == 0f ? 0f : (float) Math.sin(rotation);
+        reserve(mesh);
+        instances.put(cos * scale).put(sin * scale)
+                .put(-sin * scale).put(cos * scale)
+                .put(x).put(y)
+                .put(color, 0, 4);
+    }
+
+    /**
+     * Adds one instance of a mesh placed by a {@link Transform2D}.
+     *
+     * @param color The RGBA tint.
+     */
+    public void draw(int mesh, Transform2D transform, float[] color) {
+        reserve(mesh);
+        transform.put(instances);
+        instances.put(color, 0, 4);
+    }
+
+    /**
+     * Adds one instance of a mesh per live particle, written straight from
+     * the particle arrays into the instance stream.
+     */
+    public void draw(int mesh, ParticleSystem particles) {
+        if (particles == null) {
+            throw new IllegalArgumentException("InstanceBatch: Invalid particle input.");
+        }
+
+        int written = 0;
+        while (written < particles.size()) {
+            prepare(mesh);
+            int count = particles.writeInstances(instances, written, maxInstances - instanceCount);
+            instanceCount += count;
+            written += count;
+        }
+    }
+
+    /**
+     * Sends the pending instances to the backend as one draw call. Does
+     * nothing if the batch is empty.
+     */
+    public void flush() {
+        if (instanceCount == 0) {
+            return;
+        }
+
+        if (boundShaderId != shaderId) {
+            backend.bindShader(shaderId);
+            boundShaderId = shaderId;
+        }
+
+        instances.flip();
+        backend.drawInstanced(mesh, instances, instanceCount);
+        instances.clear();
+
+        instancesDrawn += instanceCount;
+        instanceCount = 0;
+        drawCalls++;
+    }
+
+    /**
+     * @return The number of draw calls issued since the last {@link #begin()}.
+     */
+    public int getDrawCalls() {
+        return drawCalls;
+    }
+
+    /**
+     * @return The number of instances flushed since the last {@link #begin()}.
+     */
+    public int getInstancesDrawn() {
+        return instancesDrawn;
+    }
+
+    public void dispose() {
+        backend.dispose();
+    }
+
+    /**
+     * Makes room for one instance of the mesh.
+     */
+    private void reserve(int mesh) {
+        prepare(mesh);
+        instanceCount++;
+    }
+
+    /**
+     * Flushes first if the mesh changes or the batch is full.
+     */
+    private void prepare(int mesh) {
+        checkDrawing();
+        if (mesh < 0 || mesh >= meshCount) {
+            throw new IllegalArgumentException("InstanceBatch: Unknown mesh: " + mesh);
+        }
+
+        if (mesh != this.mesh || instanceCount == maxInstances) {
+            flush();
+            this.mesh = mesh;
+        }
+    }
+
+    private void checkDrawing() {
+        if (!drawing) {
+            throw new IllegalStateException("InstanceBatch: begin() must be called before drawing.");
+        }
+    }
+}
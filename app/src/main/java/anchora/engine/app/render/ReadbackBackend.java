@@ -0,0 +1,49 @@
+package anchora.engine.app.render;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The GL calls behind a {@link FrameReadback}: pixel pack buffers, reads into
+ * them and fence syncs. Keeping them behind an interface lets the ring and
+ * fence bookkeeping run without a GPU.
+ */
+public interface ReadbackBackend {
+
+    /**
+     * Creates a buffer that pixels can be read into.
+     *
+     * @param size The size of the buffer, in bytes.
+     * @return The buffer handle.
+     */
+    int createBuffer(int size);
+
+    /**
+     * Starts copying the bound read framebuffer into a buffer as RGBA8, rows
+     * from the bottom up. Returns without waiting for the GPU.
+     */
+    void readPixels(int buffer, int width, int height);
+
+    /**
+     * Maps a buffer for reading. Only called once its fence has signaled.
+     *
+     * @return The buffer contents, valid until {@link #unmap(int)}.
+     */
+    ByteBuffer map(int buffer, int size);
+
+    void unmap(int buffer);
+
+    /**
+     * @return A fence that signals once every command issued so far is done.
+     */
+    long fence();
+
+    /**
+     * @param timeoutNanos How long to wait, or 0 to only poll.
+     * @return Whether the fence has signaled.
+     */
+    boolean waitFence(long fence, long timeoutNanos);
+
+    void deleteFence(long fence);
+
+    void deleteBuffer(int buffer);
+}
@@ -0,0 +1,29 @@
+package anchora.engine.app.render;
+
+/**
+ * The GL calls a {@link RenderQueue} is executed with. Each method maps to
+ * one driver call, so a {@link RenderStateCache} in front of it can skip the
+ * ones that would not change anything.
+ */
+public interface RenderBackend {
+
+    void useProgram(int programId);
+
+    /**
+     * @param textureId The texture ID, or 0 to unbind.
+     */
+    void bindTexture(int textureId);
+
+    /**
+     * @param meshId The vertex array holding the mesh's buffers and layout.
+     */
+    void bindVertexArray(int meshId);
+
+    /**
+     * Draws triangles from the bound vertex array's index buffer.
+     *
+     * @param firstIndex The first index to draw.
+     * @param indexCount The number of indices to draw.
+     */
+    void drawElements(int firstIndex, int indexCount);
+}
@@ -0,0 +1,214 @@
+package anchora.engine.app.render;
+
+import java.util.Arrays;
+
+/**
+ * A frame's worth of draw commands, each an indexed draw of a mesh with a
+ * {@link SortKey}. Commands are submitted in any order; {@link #execute}
+ * radix-sorts them by key and replays them through a {@link RenderBackend},
+ * normally a {@link RenderStateCache} so draws sharing a shader or texture
+ * bind it once.
+ *
+ * <p>A queue is not thread-safe, but building one does not touch GL, so
+ * worker threads can each fill their own queue and the render thread
+ * {@link #append}s them before executing. Storage grows as needed and is
+ * reused after {@link #clear()}, so a steady frame allocates nothing.
+ *
+ * <pre>
+ * queue.submit(SortKey.of(layer, programId, textureId, depth), vao, 0, indexCount);
+ * // ...
+ * queue.execute(stateCache);
+ * queue.clear();
+ * </pre>
+ */
+public class RenderQueue {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final int RADIX_BITS = 8;
+    private static final int BUCKETS = 1 << RADIX_BITS;
+    private static final int PASSES = Long.SIZE / RADIX_BITS;
+
+    // Commands in submission order
+    private long[] keys;
+    private int[] meshes, firstIndices, indexCounts;
+    private int size;
+
+    // Keys and command indices in sorted order, with scratch for the passes
+    private long[] sortedKeys, scratchKeys;
+    private int[] order, scratchOrder;
+    private final int[][] histograms = new int[PASSES][BUCKETS];
+    private boolean sorted = true;
+
+    public RenderQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity The number of commands to allocate room for up front.
+     */
+    public RenderQueue(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("RenderQueue: Invalid capacity.");
+        }
+        allocate(capacity);
+    }
+
+    /**
+     * Adds a draw command.
+     *
+     * @param key        The command's {@link SortKey}, which also carries the
+     *                   shader and texture to bind.
+     * @param mesh       The vertex array to draw from.
+     * @param firstIndex The first index to draw.
+     * @param indexCount The number of indices to draw.
+     */
+    public void submit(long key, int mesh, int firstIndex, int indexCount) {
+        if (firstIndex < 0 || indexCount < 0) {
+            throw new IllegalArgumentException("RenderQueue: Invalid index range.");
+        }
+
+        if (size == keys.length) {
+            allocate(size * 2);
+        }
+        keys[size] = key;
+        meshes[size] = mesh;
+        firstIndices[size] = firstIndex;
+        indexCounts[size] = indexCount;
+        size++;
+        sorted = false;
+    }
+
+    /**
+     * Adds every command of another queue, for example one built on a worker
+     * thread. The other queue is left unchanged.
+     */
+    public void append(RenderQueue other) {
+        if (other == this) {
+            throw new IllegalArgumentException("RenderQueue: Cannot append a queue to itself.");
+        }
+        if (other.size == 0) {
+            return;
+        }
+
+        int total = size + other.size;
+        if (total > keys.length) {
+            allocate(Math.max(total, keys.length * 2));
+        }
+        System.arraycopy(other.keys, 0, keys, size, other.size);
+        System.arraycopy(other.meshes, 0, meshes, size, other.size);
+        System.arraycopy(other.firstIndices, 0, firstIndices, size, other.size);
+        System.arraycopy(other.indexCounts, 0, indexCounts, size, other.size);
+        size = total;
+        sorted = false;
+    }
+
+    /**
+     * Sorts the commands by key, as unsigned numbers. The sort is stable, so
+     * commands with equal keys keep their submission order. Passes over key
+     * bytes that every command shares are skipped.
+     */
+    public void sort() {
+        if (sorted) {
+            return;
+        }
+
+        // Histogram every byte in one pass over the keys
+        for (int[] histogram : histograms) {
+            Arrays.fill(histogram, 0);
+        }
+        for (int i = 0; i < size; i++) {
+            long key = keys[i];
+            sortedKeys[i] = key;
+            order[i] = i;
+            for (int pass = 0; pass < PASSES; pass++) {
+                histograms[pass][(int) (key >>> (pass * RADIX_BITS)) & (BUCKETS - 1)]++;
+            }
+        }
+
+        for (int pass = 0; pass < PASSES; pass++) {
+            int[] histogram = histograms[pass];
+            int shift = pass * RADIX_BITS;
+            if (histogram[(int) (sortedKeys[0] >>> shift) & (BUCKETS - 1)] == size) {
+                continue;
+            }
+
+            // Turn counts into starting offsets
+            int offset = 0;
+            for (int b = 0; b < BUCKETS; b++) {
+                int count = histogram[b];
+                histogram[b] = offset;
+                offset += count;
+            }
+
+            for (int i = 0; i < size; i++) {
+                long key = sortedKeys[i];
+                int target = histogram[(int) (key >>> shift) & (BUCKETS - 1)]++;
+                scratchKeys[target] = key;
+                scratchOrder[target] = order[i];
+            }
+
+            long[] keysSwap = sortedKeys;
+            sortedKeys = scratchKeys;
+            scratchKeys = keysSwap;
+            int[] orderSwap = order;
+            order = scratchOrder;
+            scratchOrder = orderSwap;
+        }
+        sorted = true;
+    }
+
+    /**
+     * Sorts the commands if needed and issues them in key order. Every
+     * command binds its shader, texture and mesh, so pass a
+     * {@link RenderStateCache} to drop the redundant binds.
+     */
+    public void execute(RenderBackend backend) {
+        sort();
+        for (int i = 0; i < size; i++) {
+            long key = sortedKeys[i];
+            int command = order[i];
+            backend.useProgram(SortKey.shader(key));
+            backend.bindTexture(SortKey.texture(key));
+            backend.bindVertexArray(meshes[command]);
+            backend.drawElements(firstIndices[command], indexCounts[command]);
+        }
+    }
+
+    /**
+     * @return The key of the command at {@code position} in sorted order.
+     */
+    public long getSortedKey(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("RenderQueue: Invalid position " + position);
+        }
+        sort();
+        return sortedKeys[position];
+    }
+
+    /**
+     * Removes every command, keeping the storage.
+     */
+    public void clear() {
+        size = 0;
+        sorted = true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void allocate(int capacity) {
+        keys = keys == null ? new long[capacity] : Arrays.copyOf(keys, capacity);
+        meshes = meshes == null ? new int[capacity] : Arrays.copyOf(meshes, capacity);
+        firstIndices = firstIndices == null ? new int[capacity] : Arrays.copyOf(firstIndices, capacity);
+        indexCounts = indexCounts == null ? new int[capacity] : Arrays.copyOf(indexCounts, capacity);
+
+        // The sort arrays are rebuilt from scratch on every sort
+        sortedKeys = new long[capacity];
+        scratchKeys = new long[capacity];
+        order = new int[capacity];
+        scratchOrder = new int[capacity];
+        sorted = false;
+    }
+}
@@ -0,0 +1,101 @@
+package anchora.engine.app.render;
+
+/**
+ * Remembers the program, texture and vertex array last bound through it and
+ * only forwards binds that change one of them. The cache cannot see binds
+ * made around it, so code that touches GL directly, such as a
+ * {@link ShapeBatch}, must be followed by {@link #invalidate()}.
+ */
+public class RenderStateCache implements RenderBackend {
+
+    private static final int UNKNOWN = -1;
+
+    private final RenderBackend backend;
+    private int program = UNKNOWN, texture = UNKNOWN, vertexArray = UNKNOWN;
+    private int stateChanges;
+    private int skippedChanges;
+    private int drawCalls;
+
+    public RenderStateCache(RenderBackend backend) {
+        if (backend == null) {
+            throw new IllegalArgumentException("RenderStateCache: Invalid backend.");
+        }
+        this.backend = backend;
+    }
+
+    @Override
+    public void useProgram(int programId) {
+        if (programId == program) {
+            skippedChanges++;
+            return;
+        }
+        program = programId;
+        stateChanges++;
+        backend.useProgram(programId);
+    }
+
+    @Override
+    public void bindTexture(int textureId) {
+        if (textureId == texture) {
+            skippedChanges++;
+            return;
+        }
+        texture = textureId;
+        stateChanges++;
+        backend.bindTexture(textureId);
+    }
+
+    @Override
+    public void bindVertexArray(int meshId) {
+        if (meshId == vertexArray) {
+            skippedChanges++;
+            return;
+        }
+        vertexArray = meshId;
+        stateChanges++;
+        backend.bindVertexArray(meshId);
+    }
+
+    @Override
+    public void drawElements(int firstIndex, int indexCount) {
+        drawCalls++;
+        backend.drawElements(firstIndex, indexCount);
+    }
+
+    /**
+     * Forgets the bound state, so the next bind of each kind is always
+     * forwarded.
+     */
+    public void invalidate() {
+        program = UNKNOWN;
+        texture = UNKNOWN;
+        vertexArray = UNKNOWN;
+    }
+
+    /**
+     * Zeroes the counters, typically at the start of a frame.
+     */
+    public void resetStats() {
+        stateChanges = 0;
+        skippedChanges = 0;
+        drawCalls = 0;
+    }
+
+    /**
+     * @return The binds forwarded to the backend since the last reset.
+     */
+    public int getStateChanges() {
+        return stateChanges;
+    }
+
+    /**
+     * @return The binds skipped because the state was already current.
+     */
+    public int getSkippedChanges() {
+        return skippedChanges;
+    }
+
+    public int getDrawCalls() {
+        return drawCalls;
+    }
+}
@@ -0,0 +1,366 @@
+package anchora.engine.app.render;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+import org.lwjgl.BufferUtils;
+
+import anchora.engine.app.VerticesUtils;
+import anchora.engine.app.geometry.GeometryUtils;
+import anchora.engine.app.geometry.Tessellation;
+
+/**
+ * Collects the shapes produced by {@link VerticesUtils} into one large vertex
+ * stream and hands it to the {@link BatchBackend} in as few draw calls as
+ * possible. A batch is only broken when the shader or texture changes or when
+ * the stream is full.
+ *
+ * <p>Typical use per frame:
+ *
+ * <pre>
+ * batch.begin();
+ * batch.setShader(programId);
+ * batch.drawPolygon(VerticesUtils.generateHexagon(...));
+ * batch.end();
+ * </pre>
+ */
+public class ShapeBatch {
+
+    public static final int DEFAULT_MAX_VERTICES = 65536;
+
+    private static final int VERTEX_SIZE = VerticesUtils.SINGLE_VERTEX_ARRAY_LENGTH;
+    private static final int UNBOUND = -1;
+
+    private final BatchBackend backend;
+    private final int maxVertices;
+    private final FloatBuffer vertices;
+    private final IntBuffer indices;
+
+    private int vertexCount;
+    private int shaderId, textureId;
+    private int boundShaderId = UNBOUND, boundTextureId = UNBOUND;
+    private boolean drawing;
+    private int drawCalls;
+    private int verticesDrawn;
+
+    public ShapeBatch(BatchBackend backend) {
+        this(backend, DEFAULT_MAX_VERTICES);
+    }
+
+    /**
+     * Creates a batch able to hold the given number of vertices between flushes.
+     *
+     * @param backend     The backend the batch flushes into.
+     * @param maxVertices The capacity of the vertex stream, in vertices. The
+     *                    index stream is sized for the worst case of a
+     *                    triangle fan, {@code 3 * maxVertices}.
+     * @throws IllegalArgumentException If the backend is null or the capacity
+     *                                  cannot hold a single triangle.
+     */
+    public ShapeBatch(BatchBackend backend, int maxVertices) {
+        if (backend == null || maxVertices < 3) {
+            throw new IllegalArgumentException("ShapeBatch: Invalid batch inputs.");
+        }
+
+        this.backend = backend;
+        this.maxVertices = maxVertices;
+        this.vertices = BufferUtils.createFloatBuffer(maxVertices * VERTEX_SIZE);
+        this.indices = BufferUtils.createIntBuffer(maxVertices * 3);
+    }
+
+    /**
+     * Starts a new frame. The bound shader and texture are forgotten so the
+     * first flush of the frame always binds them again.
+     */
+    public void begin() {
+        if (drawing) {
+            throw new IllegalStateException("ShapeBatch: begin() called twice without end().");
+        }
+
+        drawing = true;
+        drawCalls = 0;
+        verticesDrawn = 0;
+        boundShaderId = UNBOUND;
+        boundTextureId = UNBOUND;
+    }
+
+    /**
+     * Flushes whatever is left and finishes the frame.
+     */
+    public void end() {
+        checkDrawing();
+        flush();
+        backend.endFrame();
+        drawing = false;
+    }
+
+    /**
+     * Sets the shader program used for the following shapes. Switching to a
+     * different program flushes the current batch.
+     *
+     * @param programId The linked shader program ID.
+     */
+    public void setShader(int programId) {
+        if (programId != shaderId) {
+            flush();
+            shaderId = programId;
+        }
+    }
+
+    /**
+     * Sets the texture used for the following shapes. Switching to a
+     * different texture flushes the current batch.
+     *
+     * @param textureId The texture ID, or 0 for untextured shapes.
+     */
+    public void setTexture(int textureId) {
+        if (textureId != this.textureId) {
+            flush();
+            this.textureId = textureId;
+        }
+    }
+
+    /**
+     * Adds a triangle such as the one returned by
+     * {@link VerticesUtils#generateTriangle}.
+     *
+     * @param shape The three interleaved vertices of the triangle.
+     */
+    public void drawTriangle(float[] shape) {
+        checkShape(shape, 3);
+        int base = reserve(3, 3);
+        vertices.put(shape);
+        indices.put(base).put(base + 1).put(base + 2);
+    }
+
+    /**
+     * Adds a quad such as the one returned by
+     * {@link VerticesUtils#generateRectangle}, split into two triangles.
+     *
+     * @param shape The four interleaved vertices of the quad, in winding order.
+     */
+    public void drawQuad(float[] shape) {
+        checkShape(shape, 4);
+        int base = reserve(4, 6);
+        vertices.put(shape);
+        indices.put(base).put(base + 1).put(base + 2);
+        indices.put(base + 2).put(base + 3).put(base);
+    }
+
+    /**
+     * Adds a convex polygon such as the ones returned by
+     * {@link VerticesUtils#generatePolygon} or
+     * {@link VerticesUtils#generateHexagon}, filled as a triangle fan around
+     * its first vertex.
+     *
+     * @param shape The interleaved perimeter vertices of the polygon.
+     */
+    public void drawPolygon(float[] shape) {
+        if (shape == null || shape.length % VERTEX_SIZE != 0 || shape.length < 3 * VERTEX_SIZE) {
+            throw new IllegalArgumentException("ShapeBatch: Invalid polygon input.");
+        }
+
+        int count = shape.length / VERTEX_SIZE;
+        int base = reserve(count, (count - 2) * 3);
+        vertices.put(shape);
+        putFan(base, count);
+    }
+
+    /**
+     * Adds a convex polygon that was written off-heap, for example into a
+     * {@link StagingArena}, without copying it through a heap array.
+     *
+     * @param shape  The buffer holding the interleaved perimeter vertices.
+     * @param offset The index of the first float of the polygon.
+     * @param length The number of floats in the polygon.
+     */
+    public void drawPolygon(FloatBuffer shape, int offset, int length) {
+        if (shape == null || offset < 0 || offset + length > shape.limit()
+                || length % VERTEX_SIZE != 0 || length < 3 * VERTEX_SIZE) {
+            throw new IllegalArgumentException("ShapeBatch: Invalid polygon input.");
+        }
+
+        int count = length / VERTEX_SIZE;
+        int base = reserve(count, (count - 2) * 3);
+        vertices.put(vertices.position(), shape, offset, length);
+        vertices.position(vertices.position() + length);
+        putFan(base, count);
+    }
+
+    /**
+     * Adds a filled circle whose segment count is chosen from its radius by
+     * {@link GeometryUtils#segmentsForRadius(float)}.
+     *
+     * @param centerX The x coordinate of the center.
+     * @param centerY The y coordinate of the center.
+     * @param radius  The on-screen radius, in pixels.
+     * @param color   An array of floats with RGBA values.
+     */
+    public void drawCircle(float centerX, float centerY, float radius, float[] color) {
+        drawRegularPolygon(centerX, centerY, radius,
+                GeometryUtils.segmentsForRadius(radius), color);
+    }
+
+    /**
+     * Adds a filled regular polygon, written straight into the batch as an
+     * indexed triangle fan.
+     *
+     * @param centerX The x coordinate of the center.
+     * @param centerY The y coordinate of the center.
+     * @param radius  The distance from the center to each corner.
+     * @param sides   The number of sides, at least 3.
+     * @param color   An array of floats with RGBA values.
+     */
+    public void drawRegularPolygon(float centerX, float centerY, float radius, int sides,
+            float[] color) {
+
+        if (sides < 3) {
+            throw new IllegalArgumentException("ShapeBatch: Invalid polygon input.");
+        }
+
+        int vertexTotal = GeometryUtils.fanVertexCount(sides);
+        int indexTotal = GeometryUtils.fanIndexCount(sides);
+        int base = reserve(vertexTotal, indexTotal);
+        GeometryUtils.writeFan(vertices, vertices.position(), indices, indices.position(),
+                base, centerX, centerY, radius, sides, color);
+        vertices.position(vertices.position() + vertexTotal * VERTEX_SIZE);
+        indices.position(indices.position() + indexTotal);
+    }
+
+    /**
+     * Adds arbitrary indexed geometry.
+     *
+     * @param shape        The interleaved vertices.
+     * @param shapeIndices Triangle indices relative to the first vertex of
+     *                     {@code shape}.
+     */
+    public void draw(float[] shape, int[] shapeIndices) {
+        if (shape == null || shapeIndices == null || shape.length % VERTEX_SIZE != 0
+                || shapeIndices.length % 3 != 0) {
+            throw new IllegalArgumentException("ShapeBatch: Invalid geometry input.");
+        }
+
+        // Checked before anything is written, so a bad index leaves the batch
+        // as it was
+        int count = shape.length / VERTEX_SIZE;
+        for (int index : shapeIndices) {
+            if (index < 0 || index >= count) {
+                throw new IllegalArgumentException("ShapeBatch: Index out of range: " + index);
+            }
+        }
+
+        int base = reserve(count, shapeIndices.length);
+        vertices.put(shape);
+        for (int index : shapeIndices) {
+            indices.put(base + index);
+        }
+    }
+
+    /**
+     * Adds the triangles of a tessellated polygon or polyline.
+     */
+    public void draw(Tessellation shape) {
+        if (shape == null) {
+            throw new IllegalArgumentException("ShapeBatch: Invalid geometry input.");
+        }
+
+        int count = shape.getVertexCount();
+        int indexCount = shape.getIndexCount();
+        if (indexCount == 0) {
+            return;
+        }
+        int base = reserve(count, indexCount);
+        vertices.put(shape.getVertices(), 0, count * VERTEX_SIZE);
+        int[] shapeIndices = shape.getIndices();
+        for (int i = 0; i < indexCount; i++) {
+            indices.put(base + shapeIndices[i]);
+        }
+    }
+
+    /**
+     * Sends the pending geometry to the backend as one draw call. Does
+     * nothing if the batch is empty.
+     */
+    public void flush() {
+        if (vertexCount == 0) {
+            return;
+        }
+
+        if (boundShaderId != shaderId) {
+            backend.bindShader(shaderId);
+            boundShaderId = shaderId;
+        }
+        if (boundTextureId != textureId) {
+            backend.bindTexture(textureId);
+            boundTextureId = textureId;
+        }
+
+        vertices.flip();
+        indices.flip();
+        backend.drawIndexed(vertices, indices);
+        vertices.clear();
+        indices.clear();
+
+        verticesDrawn += vertexCount;
+        vertexCount = 0;
+        drawCalls++;
+    }
+
+    /**
+     * @return The number of draw calls issued since the last {@link #begin()}.
+     */
+    public int getDrawCalls() {
+        return drawCalls;
+    }
+
+    /**
+     * @return The number of vertices flushed since the last {@link #begin()}.
+     */
+    public int getVerticesDrawn() {
+        return verticesDrawn;
+    }
+
+    public void dispose() {
+        backend.dispose();
+    }
+
+    /**
+     * Makes room for a shape, flushing first if it does not fit.
+     *
+     * @return The index of the first vertex of the shape within the batch.
+     */
+    private int reserve(int shapeVertices, int shapeIndices) {
+        checkDrawing();
+        if (shapeVertices > maxVertices || shapeIndices > indices.capacity()) {
+            throw new IllegalArgumentException("ShapeBatch: Shape does not fit in a single batch.");
+        }
+
+        if (vertexCount + shapeVertices > maxVertices
+                || indices.position() + shapeIndices > indices.capacity()) {
+            flush();
+        }
+
+        int base = vertexCount;
+        vertexCount += shapeVertices;
+        return base;
+    }
+
+    private void putFan(int base, int count) {
+        for (int i = 1; i < count - 1; i++) {
+            indices.put(base).put(base + i).put(base + i + 1);
+        }
+    }
+
+    private void checkDrawing() {
+        if (!drawing) {
+            throw new IllegalStateException("ShapeBatch: begin() must be called before drawing.");
+        }
+    }
+
+    private static void checkShape(float[] shape, int vertexCount) {
+        if (shape == null || shape.length != vertexCount * VERTEX_SIZE) {
+            throw new IllegalArgumentException("ShapeBatch: Expected "
+                    + vertexCount + " vertices.");
+        }
+    }
+}
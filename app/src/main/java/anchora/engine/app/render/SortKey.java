@@ -0,0 +1,77 @@
+package anchora.engine.app.render;
+
+/**
+ * Packs the state a draw depends on into one 64-bit key, so that sorting the
+ * keys as unsigned numbers groups draws by layer, then shader, then texture,
+ * then depth:
+ *
+ * <pre>
+ * | layer 8 | shader 12 | texture 16 | depth 28 |
+ *  63     56 55      44  43       28  27       0
+ * </pre>
+ *
+ * <p>Shader and texture are GL object names, which drivers hand out as small
+ * increasing integers, so they fit their fields in practice. Depth is a value
+ * in [0, 1] quantized to 28 bits; draws with a larger depth come later.
+ */
+public final class SortKey {
+
+    public static final int MAX_LAYER = (1 << 8) - 1;
+    public static final int MAX_SHADER = (1 << 12) - 1;
+    public static final int MAX_TEXTURE = (1 << 16) - 1;
+
+    private static final int DEPTH_BITS = 28;
+    private static final int DEPTH_MAX = (1 << DEPTH_BITS) - 1;
+    private static final int TEXTURE_SHIFT = DEPTH_BITS;
+    private static final int SHADER_SHIFT = TEXTURE_SHIFT + 16;
+    private static final int LAYER_SHIFT = SHADER_SHIFT + 12;
+
+    private SortKey() {
+    }
+
+    /**
+     * @param layer   The draw layer, drawn in increasing order.
+     * @param shader  The shader program ID.
+     * @param texture The texture ID, or 0 for none.
+     * @param depth   The depth within the state group, clamped to [0, 1].
+     * @return The packed key.
+     * @throws IllegalArgumentException If a field does not fit.
+     */
+    public static long of(int layer, int shader, int texture, float depth) {
+        if (layer < 0 || layer > MAX_LAYER || shader < 0 || shader > MAX_SHADER
+                || texture < 0 || texture > MAX_TEXTURE) {
+            throw new IllegalArgumentException("SortKey: Key field out of range.");
+        }
+
+        return (long) layer << LAYER_SHIFT
+                | (long) shader << SHADER_SHIFT
+                | (long) texture << TEXTURE_SHIFT
+                | quantizeDepth(depth);
+    }
+
+    public static int layer(long key) {
+        return (int) (key >>> LAYER_SHIFT);
+    }
+
+    public static int shader(long key) {
+        return (int) (key >>> SHADER_SHIFT) & MAX_SHADER;
+    }
+
+    public static int texture(long key) {
+        return (int) (key >>> TEXTURE_SHIFT) & MAX_TEXTURE;
+    }
+
+    /**
+     * @return The quantized depth, between 0 and {@code 2^28 - 1}.
+     */
+    public static int depth(long key) {
+        return (int) key & DEPTH_MAX;
+    }
+
+    private static int quantizeDepth(float depth) {
+        float clamped = Math.max(0f, Math.min(1f, depth));
+        // NaN compares false both ways and ends up as 0. The product is taken
+        // in double since DEPTH_MAX rounds up to 2^28 as a float
+        return clamped > 0f ? (int) (clamped * (double) DEPTH_MAX) : 0;
+    }
+}
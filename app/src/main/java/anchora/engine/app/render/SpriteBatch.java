@@ -0,0 +1,231 @@
+package anchora.engine.app.render;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+import org.lwjgl.BufferUtils;
+
+import anchora.engine.app.texture.AtlasRegion;
+import anchora.engine.app.texture.TextureAtlas;
+
+/**
+ * Batches textured quads. Sprites cut from the same {@link TextureAtlas} page
+ * share a texture, so they go out in one draw call; the batch only breaks when
+ * the page, the shader, or the capacity runs out.
+ *
+ * <p>Each vertex is a 3 float position, a 4 float tint and a 2 float texture
+ * coordinate, so a GL backend for this batch is created with
+ * {@code new GLBatchBackend(maxVertices, maxIndices, VertexFormat.POSITION_COLOR_UV)} and drawn with
+ * the {@code shaders/sprite_*.glsl} program.
+ *
+ * <pre>
+ * batch.begin();
+ * batch.setShader(spriteProgramId);
+ * batch.draw(atlas.getRegion("player"), x, y, width, height, white);
+ * batch.end();
+ * </pre>
+ */
+public class SpriteBatch {
+
+    public static final int VERTEX_SIZE = VertexFormat.POSITION_COLOR_UV.getFloatCount();
+    public static final int DEFAULT_MAX_SPRITES = 8192;
+
+    private static final int UNBOUND = -1;
+    private static final float[] WHITE = { 1f, 1f, 1f, 1f };
+
+    private final BatchBackend backend;
+    private final int maxSprites;
+    private final FloatBuffer vertices;
+    private final IntBuffer indices;
+
+    private int spriteCount;
+    private int shaderId, textureId;
+    private int boundShaderId = UNBOUND, boundTextureId = UNBOUND;
+    private boolean drawing;
+    private int drawCalls;
+    private int spritesDrawn;
+
+    public SpriteBatch(BatchBackend backend) {
+        this(backend, DEFAULT_MAX_SPRITES);
+    }
+
+    /**
+     * @param backend    The backend the batch flushes into.
+     * @param maxSprites The number of sprites held between flushes.
+     * @throws IllegalArgumentException If the backend is null or the capacity
+     *                                  is not positive.
+     */
+    public SpriteBatch(BatchBackend backend, int maxSprites) {
+        if (backend == null || maxSprites < 1) {
+            throw new IllegalArgumentException("SpriteBatch: Invalid batch inputs.");
+        }
+
+        this.backend = backend;
+        this.maxSprites = maxSprites;
+        this.vertices = BufferUtils.createFloatBuffer(maxSprites * 4 * VERTEX_SIZE);
+        this.indices = BufferUtils.createIntBuffer(maxSprites * 6);
+    }
+
+    /**
+     * Starts a new frame. The bound shader and texture are forgotten so the
+     * first flush of the frame always binds them again.
+     */
+    public void begin() {
+        if (drawing) {
+            throw new IllegalStateException("SpriteBatch: begin() called twice without end().");
+        }
+
+        drawing = true;
+        drawCalls = 0;
+        spritesDrawn = 0;
+        boundShaderId = UNBOUND;
+        boundTextureId = UNBOUND;
+    }
+
+    /**
+     * Flushes whatever is left and finishes the frame.
+     */
+    public void end() {
+        checkDrawing();
+        flush();
+        backend.endFrame();
+        drawing = false;
+    }
+
+    /**
+     * Sets the shader program used for the following sprites. Switching to a
+     * different program flushes the current batch.
+     *
+     * @param programId The linked shader program ID.
+     */
+    public void setShader(int programId) {
+        if (programId != shaderId) {
+            flush();
+            shaderId = programId;
+        }
+    }
+
+    /**
+     * Draws an atlas region untinted.
+     *
+     * @see #draw(AtlasRegion, float, float, float, float, float[])
+     */
+    public void draw(AtlasRegion region, float x, float y, float width, float height) {
+        draw(region, x, y, width, height, WHITE);
+    }
+
+    /**
+     * Draws an atlas region stretched over a rectangle. The page of the region
+     * must have been uploaded.
+     *
+     * @param region The region to draw.
+     * @param x      The x coordinate of the bottom-left corner.
+     * @param y      The y coordinate of the bottom-left corner.
+     * @param width  The width of the rectangle.
+     * @param height The height of the rectangle.
+     * @param color  An RGBA tint multiplied with the texture.
+     */
+    public void draw(AtlasRegion region, float x, float y, float width, float height,
+            float[] color) {
+
+        if (region == null) {
+            throw new IllegalArgumentException("SpriteBatch: Invalid sprite input.");
+        }
+
+        draw(region.getPage().getTextureId(), x, y, width, height,
+                region.getU0(), region.getV0(), region.getU1(), region.getV1(), color);
+    }
+
+    /**
+     * Draws part of a texture stretched over a rectangle. {@code v0} is the
+     * top row of the image, so it is mapped to the top edge of the rectangle.
+     *
+     * @param textureId The texture to sample. A change of texture flushes the
+     *                  batch.
+     * @param color     An RGBA tint multiplied with the texture.
+     */
+    public void draw(int textureId, float x, float y, float width, float height,
+            float u0, float v0, float u1, float v1, float[] color) {
+
+        if (color == null || color.length != 4) {
+            throw new IllegalArgumentException("SpriteBatch: Invalid sprite input.");
+        }
+
+        checkDrawing();
+        if (textureId != this.textureId) {
+            flush();
+            this.textureId = textureId;
+        }
+        if (spriteCount == maxSprites) {
+            flush();
+        }
+
+        int base = spriteCount * 4;
+        putVertex(x, y, u0, v1, color);
+        putVertex(x + width, y, u1, v1, color);
+        putVertex(x + width, y + height, u1, v0, color);
+        putVertex(x, y + height, u0, v0, color);
+        indices.put(base).put(base + 1).put(base + 2);
+        indices.put(base + 2).put(base + 3).put(base);
+        spriteCount++;
+    }
+
+    /**
+     * Sends the pending sprites to the backend as one draw call. Does nothing
+     * if the batch is empty.
+     */
+    public void flush() {
+        if (spriteCount == 0) {
+            return;
+        }
+
+        if (boundShaderId != shaderId) {
+            backend.bindShader(shaderId);
+            boundShaderId = shaderId;
+        }
+        if (boundTextureId != textureId) {
+            backend.bindTexture(textureId);
+            boundTextureId = textureId;
+        }
+
+        vertices.flip();
+        indices.flip();
+        backend.drawIndexed(vertices, indices);
+        vertices.clear();
+        indices.clear();
+
+        spritesDrawn += spriteCount;
+        spriteCount = 0;
+        drawCalls++;
+    }
+
+    /**
+     * @return The number of draw calls issued since the last {@link #begin()}.
+     */
+    public int getDrawCalls() {
+        return drawCalls;
+    }
+
+    /**
+     * @return The number of sprites flushed since the last {@link #begin()}.
+     */
+    public int getSpritesDrawn() {
+        return spritesDrawn;
+    }
+
+    public void dispose() {
+        backend.dispose();
+    }
+
+    private void putVertex(float x, float y, float u, float v, float[] color) {
+        vertices.put(x).put(y).put(0f)
+                .put(color[0]).put(color[1]).put(color[2]).put(color[3])
+                .put(u).put(v);
+    }
+
+    private void checkDrawing() {
+        if (!drawing) {
+            throw new IllegalStateException("SpriteBatch: begin() must be called before drawing.");
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package anchora.engine.app.render;
+
+import java.nio.FloatBuffer;
+
+import org.lwjgl.BufferUtils;
+
+/**
+ * A bump allocator over one direct {@link FloatBuffer}, used to stage a
+ * frame's geometry off-heap. Regions are handed out as offsets into
+ * {@link #buffer()} and are all released at once by {@link #reset()}, so once
+ * the arena has grown to fit a typical frame it never allocates again.
+ *
+ * <pre>
+ * arena.reset();
+ * int offset = arena.allocate(6 * VerticesUtils.SINGLE_VERTEX_ARRAY_LENGTH);
+ * VerticesUtils.generateHexagon(arena.buffer(), offset, 10, x, y, color);
+ * </pre>
+ */
+public class StagingArena {
+
+    private FloatBuffer buffer;
+    private int used;
+
+    /**
+     * @param initialCapacity The initial capacity of the arena, in floats.
+     */
+    public StagingArena(int initialCapacity) {
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("StagingArena: Invalid capacity.");
+        }
+
+        buffer = BufferUtils.createFloatBuffer(initialCapacity);
+    }
+
+    /**
+     * Reserves a region of the arena. If the arena is full it doubles in size
+     * and keeps everything written so far, so offsets handed out earlier in
+     * the frame stay valid, but {@link #buffer()} must be fetched again.
+     *
+     * @param floats The size of the region, in floats.
+     * @return The offset of the region within {@link #buffer()}.
+     */
+    public int allocate(int floats) {
+        if (floats < 0) {
+            throw new IllegalArgumentException("StagingArena: Invalid allocation size.");
+        }
+
+        if (used + floats > buffer.capacity()) {
+            grow(used + floats);
+        }
+        buffer.clear();
+
+        int offset = used;
+        used += floats;
+        return offset;
+    }
+
+    /**
+     * @return The backing buffer, with its limit at the end of the capacity.
+     *         Writes should use absolute puts at offsets returned by
+     *         {@link #allocate(int)}.
+     */
+    public FloatBuffer buffer() {
+        return buffer;
+    }
+
+    /**
+     * Prepares the buffer for reading everything allocated since the last
+     * reset, for example to upload it in one call.
+     *
+     * @return The backing buffer with position 0 and limit {@link #used()}.
+     */
+    public FloatBuffer contents() {
+        buffer.position(0);
+        buffer.limit(used);
+        return buffer;
+    }
+
+    /**
+     * Releases every region at once. The memory is kept for the next frame.
+     */
+    public void reset() {
+        used = 0;
+        buffer.clear();
+    }
+
+    public int used() {
+        return used;
+    }
+
+    public int capacity() {
+        return buffer.capacity();
+    }
+
+    private void grow(int minimumCapacity) {
+        int capacity = Math.max(minimumCapacity, buffer.capacity() * 2);
+        FloatBuffer grown = BufferUtils.createFloatBuffer(capacity);
+
+        buffer.position(0);
+        buffer.limit(used);
+        grown.put(buffer);
+        buffer = grown;
+    }
+}
@@ -0,0 +1,78 @@
+package anchora.engine.app.render;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The GL calls behind a {@link StreamingVertexBuffer}: buffer storage,
+ * mapping and fence syncs. Keeping them behind an interface lets the ring and
+ * fence bookkeeping run without a GPU.
+ */
+public interface StreamingBufferBackend {
+
+    /**
+     * @return Whether the buffer can be allocated with immutable storage and
+     *         mapped persistently, i.e. GL 4.4 or {@code GL_ARB_buffer_storage}.
+     */
+    boolean supportsPersistentMapping();
+
+    /**
+     * Allocates immutable storage and maps all of it persistently and
+     * coherently for writing.
+     *
+     * @param size The size of the buffer, in bytes.
+     * @return The mapping, valid until {@link #dispose()}.
+     */
+    ByteBuffer createPersistent(long size);
+
+    /**
+     * Allocates mutable storage for streaming.
+     *
+     * @param size The size of the buffer, in bytes.
+     */
+    void createDynamic(long size);
+
+    /**
+     * Re-specifies the storage of a dynamic buffer so the driver can hand out
+     * fresh memory while the GPU keeps reading the old one.
+     *
+     * @param size The size of the buffer, in bytes.
+     */
+    void orphan(long size);
+
+    /**
+     * Maps part of a dynamic buffer for writing without synchronizing.
+     *
+     * @param offset The offset of the range, in bytes.
+     * @param length The length of the range, in bytes.
+     * @return The mapping, with position 0 and limit {@code length}.
+     */
+    ByteBuffer mapRange(long offset, int length);
+
+    /**
+     * Unmaps the range returned by the last {@link #mapRange(long, int)}.
+     */
+    void unmap();
+
+    /**
+     * Inserts a fence after every command issued so far.
+     *
+     * @return The fence handle, never 0.
+     */
+    long fence();
+
+    /**
+     * Waits for a fence to be signaled by the GPU.
+     *
+     * @param fence        The fence handle.
+     * @param timeoutNanos How long to wait, 0 to only poll.
+     * @return Whether the fence was signaled before the timeout.
+     */
+    boolean waitFence(long fence, long timeoutNanos);
+
+    void deleteFence(long fence);
+
+    /**
+     * Releases the buffer, unmapping it first if needed.
+     */
+    void dispose();
+}
@@ -0,0 +1,220 @@
+package anchora.engine.app.render;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A GPU buffer the CPU can refill every frame without waiting for the GPU to
+ * finish reading the previous frame.
+ *
+ * <p>When persistent mapping is available the buffer is split into a ring of
+ * regions that stays mapped for its whole life. Every region gets a fence when
+ * the CPU moves past it, and a region is only written again once its fence has
+ * been signaled, so with the default three regions the CPU can fill frame N+1
+ * while the GPU still reads frame N. Without persistent mapping the buffer is
+ * orphaned instead, and the driver does the same juggling behind the scenes.
+ *
+ * <p>Per frame:
+ *
+ * <pre>
+ * ByteBuffer dst = stream.map(bytes, alignment);
+ * // write between dst.position() and dst.limit()
+ * stream.unmap();
+ * // draw from stream.offset()
+ * ...
+ * stream.endFrame();
+ * </pre>
+ */
+public class StreamingVertexBuffer {
+
+    public static final int DEFAULT_REGION_COUNT = 3;
+
+    private static final long WAIT_TIMEOUT_NANOS = 1_000_000L;
+
+    private final StreamingBufferBackend backend;
+    private final boolean persistent;
+    private final int regionSize;
+    private final int regionCount;
+    private final ByteBuffer persistentMapping;
+    private final long[] fences;
+
+    private int region;
+    private int cursor;
+    private long offset;
+    private boolean mapped;
+    private int stalls;
+
+    public StreamingVertexBuffer(StreamingBufferBackend backend, int regionSize) {
+        this(backend, regionSize, DEFAULT_REGION_COUNT);
+    }
+
+    /**
+     * Allocates the buffer, persistently mapped if the backend supports it.
+     *
+     * @param backend     The GL calls to use.
+     * @param regionSize  The size of one region, in bytes. No single
+     *                    {@link #map(int, int)} may exceed it.
+     * @param regionCount The number of regions in the ring when persistently
+     *                    mapped. Orphaning uses a single region.
+     * @throws IllegalArgumentException If the inputs are invalid.
+     */
+    public StreamingVertexBuffer(StreamingBufferBackend backend, int regionSize, int regionCount) {
+        if (backend == null || regionSize < 1 || regionCount < 2) {
+            throw new IllegalArgumentException("StreamingVertexBuffer: Invalid buffer inputs.");
+        }
+
+        this.backend = backend;
+        this.regionSize = regionSize;
+        this.persistent = backend.supportsPersistentMapping();
+
+        if (persistent) {
+            this.regionCount = regionCount;
+            this.persistentMapping = backend.createPersistent((long) regionSize * regionCount);
+        } else {
+            this.regionCount = 1;
+            this.persistentMapping = null;
+            backend.createDynamic(regionSize);
+        }
+        this.fences = new long[this.regionCount];
+    }
+
+    /**
+     * Reserves space for the next write. If the current region is full, the
+     * buffer moves to the next region, waiting for the GPU only if it is still
+     * reading it.
+     *
+     * @param bytes     The number of bytes to write.
+     * @param alignment The alignment of the returned offset, e.g. the vertex
+     *                  stride so the data can be drawn with a base vertex.
+     * @return A buffer to write into between its position and limit.
+     * @throws IllegalStateException    If the previous range is still mapped.
+     * @throws IllegalArgumentException If the write does not fit in a region.
+     */
+    public ByteBuffer map(int bytes, int alignment) {
+        if (mapped) {
+            throw new IllegalStateException("StreamingVertexBuffer: unmap() must be called before map().");
+        } else if (bytes < 0 || bytes > regionSize || alignment < 1) {
+            throw new IllegalArgumentException("StreamingVertexBuffer: Invalid map inputs.");
+        }
+
+        int start = alignedStart(alignment);
+        if (start + bytes > regionSize) {
+            nextRegion();
+            start = alignedStart(alignment);
+            if (start + bytes > regionSize) {
+                throw new IllegalArgumentException("StreamingVertexBuffer: "
+                        + bytes + " bytes do not fit in a region of " + regionSize + ".");
+            }
+        }
+
+        offset = regionBase() + start;
+        cursor = start + bytes;
+        mapped = true;
+
+        if (persistent) {
+            persistentMapping.clear();
+            persistentMapping.position((int) offset);
+            persistentMapping.limit((int) offset + bytes);
+            return persistentMapping;
+        }
+        return backend.mapRange(offset, bytes);
+    }
+
+    /**
+     * Finishes the write started by {@link #map(int, int)}. Must be called
+     * before drawing from the written range.
+     */
+    public void unmap() {
+        if (!mapped) {
+            throw new IllegalStateException("StreamingVertexBuffer: unmap() called without map().");
+        }
+
+        mapped = false;
+        if (!persistent) {
+            backend.unmap();
+        }
+    }
+
+    /**
+     * @return The byte offset within the GPU buffer of the last mapped range.
+     */
+    public long offset() {
+        return offset;
+    }
+
+    /**
+     * Marks the end of a frame. Everything drawn from the current region is
+     * fenced, and the next frame starts writing in a fresh region.
+     */
+    public void endFrame() {
+        if (mapped) {
+            throw new IllegalStateException("StreamingVertexBuffer: unmap() must be called before endFrame().");
+        }
+
+        if (cursor > 0) {
+            nextRegion();
+        }
+    }
+
+    public boolean isPersistent() {
+        return persistent;
+    }
+
+    /**
+     * @return The number of times the CPU had to wait for the GPU before it
+     *         could reuse a region.
+     */
+    public int getStalls() {
+        return stalls;
+    }
+
+    public void dispose() {
+        for (int i = 0; i < fences.length; i++) {
+            if (fences[i] != 0) {
+                backend.deleteFence(fences[i]);
+                fences[i] = 0;
+            }
+        }
+        backend.dispose();
+    }
+
+    private void nextRegion() {
+        if (persistent) {
+            fences[region] = backend.fence();
+            region = (region + 1) % regionCount;
+            waitForRegion(region);
+        } else {
+            backend.orphan(regionSize);
+        }
+        cursor = 0;
+    }
+
+    private void waitForRegion(int index) {
+        long fence = fences[index];
+        if (fence == 0) {
+            return;
+        }
+
+        if (!backend.waitFence(fence, 0)) {
+            stalls++;
+            while (!backend.waitFence(fence, WAIT_TIMEOUT_NANOS)) {
+                // Keep waiting, the GPU is still reading this region
+            }
+        }
+        backend.deleteFence(fence);
+        fences[index] = 0;
+    }
+
+    private long regionBase() {
+        return (long) region * regionSize;
+    }
+
+    /**
+     * @return The first position in the current region at or after the cursor
+     *         whose absolute offset is a multiple of {@code alignment}.
+     */
+    private int alignedStart(int alignment) {
+        long absolute = regionBase() + cursor;
+        long aligned = (absolute + alignment - 1) / alignment * alignment;
+        return (int) (aligned - regionBase());
+    }
+}
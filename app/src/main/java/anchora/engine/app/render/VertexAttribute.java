@@ -0,0 +1,118 @@
+package anchora.engine.app.render;
+
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL30;
+
+/**
+ * One attribute of a {@link VertexFormat}: a component type, how many
+ * components there are, and whether integer components are normalized to
+ * {@code 0..1} (or {@code -1..1} for signed types) when read as floats.
+ */
+public final class VertexAttribute {
+
+    /**
+     * The component types a vertex attribute can be stored as.
+     */
+    public enum Type {
+        FLOAT(GL11.GL_FLOAT, 4),
+        HALF_FLOAT(GL30.GL_HALF_FLOAT, 2),
+        SHORT(GL11.GL_SHORT, 2),
+        UNSIGNED_SHORT(GL11.GL_UNSIGNED_SHORT, 2),
+        BYTE(GL11.GL_BYTE, 1),
+        UNSIGNED_BYTE(GL11.GL_UNSIGNED_BYTE, 1);
+
+        private final int glType;
+        private final int bytes;
+
+        Type(int glType, int bytes) {
+            this.glType = glType;
+            this.bytes = bytes;
+        }
+
+        public int getGlType() {
+            return glType;
+        }
+
+        public int getBytes() {
+            return bytes;
+        }
+    }
+
+    private final Type type;
+    private final int components;
+    private final boolean normalized;
+
+    /**
+     * @param type       The component type.
+     * @param components The component count, 1 to 4.
+     * @param normalized Whether integer components are normalized. Ignored
+     *                   for float types.
+     * @throws IllegalArgumentException If the type is null or the component
+     *                                  count is out of range.
+     */
+    public VertexAttribute(Type type, int components, boolean normalized) {
+        if (type == null || components < 1 || components > 4) {
+            throw new IllegalArgumentException("VertexAttribute: Invalid attribute inputs.");
+        }
+
+        this.type = type;
+        this.components = components;
+        this.normalized = normalized && type != Type.FLOAT && type != Type.HALF_FLOAT;
+    }
+
+    public static VertexAttribute floats(int components) {
+        return new VertexAttribute(Type.FLOAT, components, false);
+    }
+
+    public static VertexAttribute halfFloats(int components) {
+        return new VertexAttribute(Type.HALF_FLOAT, components, false);
+    }
+
+    /**
+     * @return Signed 16-bit components read as whole numbers, such as pixel
+     *         positions within {@code -32768..32767}.
+     */
+    public static VertexAttribute shorts(int components) {
+        return new VertexAttribute(Type.SHORT, components, false);
+    }
+
+    /**
+     * @return Unsigned 16-bit components normalized to {@code 0..1}, such as
+     *         texture coordinates, see {@link VertexPacking#toUnorm16(float)}.
+     */
+    public static VertexAttribute normalizedShorts(int components) {
+        return new VertexAttribute(Type.UNSIGNED_SHORT, components, true);
+    }
+
+    /**
+     * @return An RGBA color in four normalized unsigned bytes, see
+     *         {@link VertexPacking#packColor(float[])}.
+     */
+    public static VertexAttribute packedColor() {
+        return new VertexAttribute(Type.UNSIGNED_BYTE, 4, true);
+    }
+
+    /**
+     * @return The size of the attribute's data, before any padding.
+     */
+    public int getSizeBytes() {
+        return type.getBytes() * components;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getComponents() {
+        return components;
+    }
+
+    public boolean isNormalized() {
+        return normalized;
+    }
+
+    @Override
+    public String toString() {
+        return type + "x" + components + (normalized ? " normalized" : "");
+    }
+}
@@ -0,0 +1,158 @@
+package anchora.engine.app.render;
+
+import java.util.Arrays;
+
+import org.lwjgl.opengl.GL20;
+import org.lwjgl.opengl.GL33;
+
+/**
+ * Describes an interleaved vertex layout once, so strides and offsets are
+ * computed instead of copied around as constants. Attributes are bound to
+ * consecutive shader locations, starting at 0 by default, and every offset
+ * and the stride are rounded up to 4 bytes as GL prefers.
+ *
+ * <p>Float layouts match the arrays built by {@code VerticesUtils}; the packed
+ * ones trade precision for bandwidth, down to 8 to 12 bytes per 2D vertex.
+ */
+public final class VertexFormat {
+
+    /** The {@code VerticesUtils} layout: 3 float position, 4 float color. 28 bytes. */
+    public static final VertexFormat POSITION_COLOR = new VertexFormat(
+            VertexAttribute.floats(3), VertexAttribute.floats(4));
+
+    /** The {@link SpriteBatch} layout: position, color and 2 float UV. 36 bytes. */
+    public static final VertexFormat POSITION_COLOR_UV = new VertexFormat(
+            VertexAttribute.floats(3), VertexAttribute.floats(4), VertexAttribute.floats(2));
+
+    /** The mesh container layout: 3 float position, 3 float normal and 2 float UV. 32 bytes. */
+    public static final VertexFormat POSITION_NORMAL_UV = new VertexFormat(
+            VertexAttribute.floats(3), VertexAttribute.floats(3), VertexAttribute.floats(2));
+
+    /** 2 float position and a packed color, for large static meshes. 12 bytes. */
+    public static final VertexFormat POSITION2_PACKED_COLOR = new VertexFormat(
+            VertexAttribute.floats(2), VertexAttribute.packedColor());
+
+    /** 16-bit pixel position and a packed color. 8 bytes. */
+    public static final VertexFormat SHORT_POSITION_PACKED_COLOR = new VertexFormat(
+            VertexAttribute.shorts(2), VertexAttribute.packedColor());
+
+    /** 16-bit pixel position, packed color and normalized 16-bit UV. 12 bytes. */
+    public static final VertexFormat SHORT_POSITION_PACKED_COLOR_UV = new VertexFormat(
+            VertexAttribute.shorts(2), VertexAttribute.packedColor(),
+            VertexAttribute.normalizedShorts(2));
+
+    private final VertexAttribute[] attributes;
+    private final int[] offsets;
+    private final int stride;
+
+    /**
+     * @param attributes The attributes in memory order.
+     * @throws IllegalArgumentException If no attributes are given or one is
+     *                                  null.
+     */
+    public VertexFormat(VertexAttribute... attributes) {
+        if (attributes == null || attributes.length == 0) {
+            throw new IllegalArgumentException("VertexFormat: Invalid vertex layout.");
+        }
+
+        this.attributes = attributes.clone();
+        this.offsets = new int[attributes.length];
+        int offset = 0;
+        for (int i = 0; i < attributes.length; i++) {
+            if (attributes[i] == null) {
+                throw new IllegalArgumentException("VertexFormat: Invalid vertex layout.");
+            }
+            offsets[i] = offset;
+            offset = align(offset + attributes[i].getSizeBytes());
+        }
+        this.stride = offset;
+    }
+
+    private static int align(int bytes) {
+        return (bytes + 3) & ~3;
+    }
+
+    /**
+     * @return The bytes from one vertex to the next.
+     */
+    public int getStride() {
+        return stride;
+    }
+
+    public int getAttributeCount() {
+        return attributes.length;
+    }
+
+    public VertexAttribute getAttribute(int i) {
+        return attributes[i];
+    }
+
+    /**
+     * @return The byte offset of attribute {@code i} within a vertex.
+     */
+    public int getOffset(int i) {
+        return offsets[i];
+    }
+
+    /**
+     * @return The stride in floats, for layouts made only of 4-byte floats.
+     * @throws IllegalStateException If any attribute is not a float.
+     */
+    public int getFloatCount() {
+        for (VertexAttribute attribute : attributes) {
+            if (attribute.getType() != VertexAttribute.Type.FLOAT) {
+                throw new IllegalStateException("VertexFormat: Not a float layout: " + this);
+            }
+        }
+        return stride / Float.BYTES;
+    }
+
+    /**
+     * Points locations 0, 1, ... at the buffer bound to
+     * {@code GL_ARRAY_BUFFER} and enables them, recording the layout in the
+     * bound VAO.
+     *
+     * @param baseOffset The byte offset of the first vertex in the buffer.
+     */
+    public void enable(long baseOffset) {
+        enable(0, baseOffset, 0);
+    }
+
+    /**
+     * Like {@link #enable(long)} but starting at {@code firstLocation}, for
+     * per-instance data read once every {@code divisor} instances, or per
+     * vertex if the divisor is 0.
+     */
+    public void enable(int firstLocation, long baseOffset, int divisor) {
+        for (int i = 0; i < attributes.length; i++) {
+            int location = firstLocation + i;
+            pointer(location, baseOffset, i);
+            GL20.glEnableVertexAttribArray(location);
+            if (divisor != 0) {
+                GL33.glVertexAttribDivisor(location, divisor);
+            }
+        }
+    }
+
+    /**
+     * Re-points already enabled attributes at a new base offset, for data
+     * streamed into a moving region of one buffer.
+     */
+    public void rebase(int firstLocation, long baseOffset) {
+        for (int i = 0; i < attributes.length; i++) {
+            pointer(firstLocation + i, baseOffset, i);
+        }
+    }
+
+    private void pointer(int location, long baseOffset, int i) {
+        VertexAttribute attribute = attributes[i];
+        GL20.glVertexAttribPointer(location, attribute.getComponents(),
+                attribute.getType().getGlType(), attribute.isNormalized(), stride,
+                baseOffset + offsets[i]);
+    }
+
+    @Override
+    public String toString() {
+        return "VertexFormat" + Arrays.toString(attributes) + " stride " + stride;
+    }
+}
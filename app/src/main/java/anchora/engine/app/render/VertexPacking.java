@@ -0,0 +1,89 @@
+package anchora.engine.app.render;
+
+/**
+ * Conversions from the float values the engine works in to the compact
+ * component types of packed {@link VertexFormat}s.
+ */
+public final class VertexPacking {
+
+    private VertexPacking() {
+    }
+
+    /**
+     * Packs an RGBA color into one int whose little-endian bytes are R, G, B,
+     * A, ready to be written with {@code ByteBuffer.putInt} in native order
+     * for a {@link VertexAttribute#packedColor()} attribute.
+     *
+     * @param color An array of floats with RGBA values from 0 to 1.
+     * @return The packed color.
+     */
+    public static int packColor(float[] color) {
+        return packColor(color[0], color[1], color[2], color[3]);
+    }
+
+    public static int packColor(float red, float green, float blue, float alpha) {
+        return toUnorm8(red) | toUnorm8(green) << 8 | toUnorm8(blue) << 16 | toUnorm8(alpha) << 24;
+    }
+
+    /**
+     * @return The value clamped to {@code 0..1} and scaled to {@code 0..255}.
+     */
+    public static int toUnorm8(float value) {
+        return Math.round(Math.max(0f, Math.min(1f, value)) * 255f);
+    }
+
+    /**
+     * @return The value clamped to {@code 0..1} and scaled to
+     *         {@code 0..65535}, as a short to store in the buffer.
+     */
+    public static short toUnorm16(float value) {
+        return (short) Math.round(Math.max(0f, Math.min(1f, value)) * 65535f);
+    }
+
+    /**
+     * Converts to an IEEE 754 half-precision float, rounding to nearest even.
+     * Values too large for a half become infinity and tiny ones become
+     * subnormals or zero.
+     *
+     * @return The half's bits, as a short to store in the buffer.
+     */
+    public static short toHalfFloat(float value) {
+        int bits = Float.floatToRawIntBits(value);
+        int sign = bits >>> 16 & 0x8000;
+        int exponent = bits >>> 23 & 0xFF;
+        int mantissa = bits & 0x7FFFFF;
+
+        if (exponent == 0xFF) {
+            // Infinity stays infinity; NaN keeps a quiet bit
+            return (short) (sign | 0x7C00 | (mantissa != 0 ? 0x200 : 0));
+        }
+
+        int halfExponent = exponent - 127 + 15;
+        if (halfExponent >= 0x1F) {
+            return (short) (sign | 0x7C00);
+        }
+        if (halfExponent <= 0) {
+            if (halfExponent < -10) {
+                return (short) sign;
+            }
+            // Subnormal: shift the mantissa, with its implicit bit, into place
+            mantissa |= 0x800000;
+            int shift = 14 - halfExponent;
+            int half = mantissa >> shift;
+            int remainder = mantissa & ((1 << shift) - 1);
+            int halfway = 1 << (shift - 1);
+            if (remainder > halfway || (remainder == halfway && (half & 1) != 0)) {
+                half++;
+            }
+            return (short) (sign | half);
+        }
+
+        int half = halfExponent << 10 | mantissa >> 13;
+        int remainder = mantissa & 0x1FFF;
+        if (remainder > 0x1000 || (remainder == 0x1000 && (half & 1) != 0)) {
+            // May carry into the exponent, which rounds up to the next power of two
+            half++;
+        }
+        return (short) (sign | half);
+    }
+}
@@ -0,0 +1,94 @@
+package anchora.engine.app.scene;
+
+import anchora.engine.app.render.InstanceBatch;
+import anchora.engine.app.render.ShapeBatch;
+import anchora.engine.ecs.FloatComponent;
+
+/**
+ * Draws every entity that has both a position and a shape as a filled circle
+ * through a {@link ShapeBatch}. This is the one system that needs GL, so it is
+ * not scheduled with the others; the render thread calls
+ * {@link #render(ShapeBatch)} between {@code begin()} and {@code end()}.
+ *
+ * <p>It reads the stores without synchronization, so it must not run while
+ * the systems that write them are updating.
+ */
+public class ShapeRenderSystem {
+
+    /** Fields of the shape store. */
+    public static final int RADIUS = 0, RED = 1, GREEN = 2, BLUE = 3, ALPHA = 4;
+    public static final int SHAPE_FIELDS = 5;
+
+    private final FloatComponent position, shape;
+    private final float[] color = new float[4];
+
+    /**
+     * @param position x in field 0 and y in field 1.
+     * @param shape    The radius and RGBA color, see {@link #SHAPE_FIELDS}.
+     */
+    public ShapeRenderSystem(FloatComponent position, FloatComponent shape) {
+        if (position == null || shape == null || position.getFieldCount() < 2
+                || shape.getFieldCount() < SHAPE_FIELDS) {
+            throw new IllegalArgumentException("ShapeRenderSystem: Invalid system inputs.");
+        }
+
+        this.position = position;
+        this.shape = shape;
+    }
+
+    public void render(ShapeBatch batch) {
+        float[] x = position.column(0);
+        float[] y = position.column(1);
+        float[] radius = shape.column(RADIUS);
+        float[] red = shape.column(RED);
+        float[] green = shape.column(GREEN);
+        float[] blue = shape.column(BLUE);
+        float[] alpha = shape.column(ALPHA);
+
+        for (int row = 0; row < shape.size(); row++) {
+            int target = position.isAlignedAt(shape, row) ? row
+                    : position.rowOf(shape.entityAt(row));
+            if (target < 0) {
+                continue;
+            }
+
+            color[0] = red[row];
+            color[1] = green[row];
+            color[2] = blue[row];
+            color[3] = alpha[row];
+            batch.drawCircle(x[target], y[target], radius[row], color);
+        }
+    }
+
+    /**
+     * Draws the same circles as {@link #render(ShapeBatch)} as instances of
+     * one unit mesh, so each entity costs a transform and a color instead of
+     * a full fan of vertices.
+     *
+     * @param circleMesh A white unit circle, see
+     *                   {@link InstanceBatch#createRegularPolygon(int)}.
+     */
+    public void render(InstanceBatch batch, int circleMesh) {
+        float[] x = position.column(0);
+        float[] y = position.column(1);
+        float[] radius = shape.column(RADIUS);
+        float[] red = shape.column(RED);
+        float[] green = shape.column(GREEN);
+        float[] blue = shape.column(BLUE);
+        float[] alpha = shape.column(ALPHA);
+
+        for (int row = 0; row < shape.size(); row++) {
+            int target = position.isAlignedAt(shape, row) ? row
+                    : position.rowOf(shape.entityAt(row));
+            if (target < 0) {
+                continue;
+            }
+
+            color[0] = red[row];
+            color[1] = green[row];
+            color[2] = blue[row];
+            color[3] = alpha[row];
+            batch.draw(circleMesh, x[target], y[target], radius[row], 0f, color);
+        }
+    }
+}
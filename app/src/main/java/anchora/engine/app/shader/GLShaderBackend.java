@@ -0,0 +1,143 @@
+package anchora.engine.app.shader;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Map;
+
+import org.lwjgl.BufferUtils;
+import org.lwjgl.opengl.GL;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL20;
+import org.lwjgl.opengl.GL41;
+import org.lwjgl.opengl.GLCapabilities;
+import org.lwjgl.system.MemoryStack;
+
+import anchora.engine.app.ShaderUtils;
+import anchora.engine.app.camera.CameraUniformBuffer;
+
+/**
+ * {@link ShaderBackend} for the current GL context.
+ */
+public class GLShaderBackend implements ShaderBackend {
+
+    private final boolean binariesSupported;
+
+    /**
+     * Must be called with a current GL context.
+     */
+    public GLShaderBackend() {
+        GLCapabilities capabilities = GL.getCapabilities();
+        this.binariesSupported = capabilities.OpenGL41 || capabilities.GL_ARB_get_program_binary;
+    }
+
+    @Override
+    public boolean supportsBinaries() {
+        return binariesSupported;
+    }
+
+    @Override
+    public String driverFingerprint() {
+        return GL11.glGetString(GL11.GL_VENDOR) + "|" + GL11.glGetString(GL11.GL_RENDERER)
+                + "|" + GL11.glGetString(GL11.GL_VERSION);
+    }
+
+    @Override
+    public int compile(String vertexSource, String fragmentSource, String name) {
+        int vertexShader = ShaderUtils.loadShader(GL20.GL_VERTEX_SHADER, vertexSource,
+                name + " vertex");
+        int fragmentShader = ShaderUtils.loadShader(GL20.GL_FRAGMENT_SHADER, fragmentSource,
+                name + " fragment");
+
+        int program = GL20.glCreateProgram();
+        if (binariesSupported) {
+            GL41.glProgramParameteri(program, GL41.GL_PROGRAM_BINARY_RETRIEVABLE_HINT, GL11.GL_TRUE);
+        }
+        GL20.glAttachShader(program, vertexShader);
+        GL20.glAttachShader(program, fragmentShader);
+        GL20.glLinkProgram(program);
+
+        // The linked program keeps what it needs from the stages
+        GL20.glDetachShader(program, vertexShader);
+        GL20.glDetachShader(program, fragmentShader);
+        GL20.glDeleteShader(vertexShader);
+        GL20.glDeleteShader(fragmentShader);
+
+        if (GL20.glGetProgrami(program, GL20.GL_LINK_STATUS) != GL11.GL_TRUE) {
+            String errorLog = GL20.glGetProgramInfoLog(program);
+            GL20.glDeleteProgram(program);
+            throw new RuntimeException("GLShaderBackend: Linking " + name + " failed:\n" + errorLog);
+        }
+        CameraUniformBuffer.bindBlock(program);
+        return program;
+    }
+
+    @Override
+    public int loadBinary(ProgramBinary binary) {
+        ByteBuffer data = BufferUtils.createByteBuffer(binary.getData().length);
+        data.put(binary.getData()).flip();
+
+        int program = GL20.glCreateProgram();
+        GL41.glProgramBinary(program, binary.getFormat(), data);
+
+        // A driver update can reject an old binary; clear the error it raises
+        if (GL20.glGetProgrami(program, GL20.GL_LINK_STATUS) != GL11.GL_TRUE) {
+            GL11.glGetError();
+            GL20.glDeleteProgram(program);
+            return 0;
+        }
+
+        // Block bindings are not part of the binary
+        CameraUniformBuffer.bindBlock(program);
+        return program;
+    }
+
+    @Override
+    public ProgramBinary getBinary(int programId) {
+        int length = GL20.glGetProgrami(programId, GL41.GL_PROGRAM_BINARY_LENGTH);
+        if (length <= 0) {
+            return null;
+        }
+
+        ByteBuffer data = BufferUtils.createByteBuffer(length);
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            IntBuffer written = stack.mallocInt(1);
+            IntBuffer format = stack.mallocInt(1);
+            GL41.glGetProgramBinary(programId, written, format, data);
+
+            byte[] bytes = new byte[written.get(0)];
+            data.get(0, bytes);
+            return new ProgramBinary(format.get(0), bytes);
+        }
+    }
+
+    @Override
+    public void queryLocations(int programId, Map<String, Integer> uniforms,
+            Map<String, Integer> attributes) {
+
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            IntBuffer size = stack.mallocInt(1);
+            IntBuffer type = stack.mallocInt(1);
+
+            int uniformCount = GL20.glGetProgrami(programId, GL20.GL_ACTIVE_UNIFORMS);
+            for (int i = 0; i < uniformCount; i++) {
+                String name = stripArraySuffix(GL20.glGetActiveUniform(programId, i, size, type));
+                uniforms.put(name, GL20.glGetUniformLocation(programId, name));
+            }
+
+            int attributeCount = GL20.glGetProgrami(programId, GL20.GL_ACTIVE_ATTRIBUTES);
+            for (int i = 0; i < attributeCount; i++) {
+                String name = GL20.glGetActiveAttrib(programId, i, size, type);
+                attributes.put(name, GL20.glGetAttribLocation(programId, name));
+            }
+        }
+    }
+
+    @Override
+    public void deleteProgram(int programId) {
+        GL20.glDeleteProgram(programId);
+    }
+
+    private static String stripArraySuffix(String name) {
+        return name.endsWith("[0]") ? name.substring(0, name.length() - 3) : name;
+    }
+}
@@ -0,0 +1,28 @@
+package anchora.engine.app.shader;
+
+/**
+ * A linked program as returned by {@code glGetProgramBinary}: a
+ * driver-specific format token and an opaque blob.
+ */
+public final class ProgramBinary {
+
+    private final int format;
+    private final byte[] data;
+
+    public ProgramBinary(int format, byte[] data) {
+        if (data == null) {
+            throw new IllegalArgumentException("ProgramBinary: Invalid binary inputs.");
+        }
+
+        this.format = format;
+        this.data = data;
+    }
+
+    public int getFormat() {
+        return format;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+}
@@ -0,0 +1,126 @@
+package anchora.engine.app.shader;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Stores linked program binaries on disk, one file per source hash, so a warm
+ * start can skip compiling and linking entirely.
+ *
+ * <p>Every file records the driver fingerprint it was written under. A file
+ * from another driver, or one that cannot be read back, is deleted and
+ * treated as a miss; the program is then compiled and the file rewritten.
+ * I/O errors never propagate, since the cache is only an optimization.
+ */
+public class ProgramBinaryCache {
+
+    private static final int MAGIC = 0x41535042; // "ASPB"
+    private static final int VERSION = 1;
+    private static final String EXTENSION = ".bin";
+
+    private final Path directory;
+    private final String fingerprint;
+
+    /**
+     * @param directory   Where the binaries are kept. Created on first write.
+     * @param fingerprint The current driver fingerprint, see
+     *                    {@link ShaderBackend#driverFingerprint()}.
+     */
+    public ProgramBinaryCache(Path directory, String fingerprint) {
+        if (directory == null || fingerprint == null) {
+            throw new IllegalArgumentException("ProgramBinaryCache: Invalid cache inputs.");
+        }
+
+        this.directory = directory;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * @param key The source hash of the program.
+     * @return The cached binary, or null on a miss.
+     */
+    public ProgramBinary read(String key) {
+        Path file = fileOf(key);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION
+                    || !fingerprint.equals(in.readUTF())) {
+                invalidate(key);
+                return null;
+            }
+
+            int format = in.readInt();
+            byte[] data = new byte[in.readInt()];
+            in.readFully(data);
+            return new ProgramBinary(format, data);
+        } catch (IOException | RuntimeException e) {
+            invalidate(key);
+            return null;
+        }
+    }
+
+    /**
+     * Saves a binary, replacing any previous file for the key in one move so
+     * a crash never leaves a half-written file behind. A failed write
+     * removes its temporary file.
+     */
+    public void write(String key, ProgramBinary binary) {
+        Path file = fileOf(key);
+        Path temp = null;
+        try {
+            Files.createDirectories(directory);
+            temp = Files.createTempFile(directory, key, ".tmp");
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(fingerprint);
+                out.writeInt(binary.getFormat());
+                out.writeInt(binary.getData().length);
+                out.write(binary.getData());
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("ProgramBinaryCache: Could not write " + file + ": " + e.getMessage());
+        } finally {
+            // Gone already after a successful move
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    System.err.println("ProgramBinaryCache: Could not delete " + temp + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes the cached binary for a key, if there is one.
+     */
+    public void invalidate(String key) {
+        try {
+            Files.deleteIfExists(fileOf(key));
+        } catch (IOException e) {
+            System.err.println("ProgramBinaryCache: Could not delete " + key + ": " + e.getMessage());
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    private Path fileOf(String key) {
+        return directory.resolve(key + EXTENSION);
+    }
+}
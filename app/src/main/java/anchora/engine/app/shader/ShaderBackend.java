@@ -0,0 +1,52 @@
+package anchora.engine.app.shader;
+
+import java.util.Map;
+
+/**
+ * The GL calls {@link ShaderManager} needs, kept behind an interface so
+ * caching and reload logic can be tested without a context.
+ */
+public interface ShaderBackend {
+
+    /**
+     * @return Whether linked programs can be saved and restored as binaries,
+     *         i.e. GL 4.1 or {@code GL_ARB_get_program_binary}.
+     */
+    boolean supportsBinaries();
+
+    /**
+     * @return A string that changes whenever the driver does, so binaries
+     *         saved by another driver are never handed to this one.
+     */
+    String driverFingerprint();
+
+    /**
+     * Compiles and links a program.
+     *
+     * @return The program ID.
+     * @throws RuntimeException If a stage fails to compile or link.
+     */
+    int compile(String vertexSource, String fragmentSource, String name);
+
+    /**
+     * Creates a program from a binary saved by {@link #getBinary(int)}.
+     *
+     * @return The program ID, or 0 if the driver rejected the binary.
+     */
+    int loadBinary(ProgramBinary binary);
+
+    /**
+     * @return The linked binary of a program, or null if the driver does not
+     *         provide one.
+     */
+    ProgramBinary getBinary(int programId);
+
+    /**
+     * Fills in the location of every active uniform and vertex attribute.
+     * Array uniforms are listed under their name without the {@code [0]}.
+     */
+    void queryLocations(int programId, Map<String, Integer> uniforms,
+            Map<String, Integer> attributes);
+
+    void deleteProgram(int programId);
+}
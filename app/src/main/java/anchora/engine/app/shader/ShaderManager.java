@@ -0,0 +1,365 @@
+package anchora.engine.app.shader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Builds and owns every shader program of the engine.
+ *
+ * <ul>
+ * <li>Programs are keyed by a hash of their sources, so loading the same
+ * pair twice returns the same program instead of compiling it again.</li>
+ * <li>With a {@link ProgramBinaryCache}, linked binaries are written to disk
+ * and restored on the next start, skipping compilation.</li>
+ * <li>Sources are read from the classpath as streams, which works from a jar
+ * as well as from loose files.</li>
+ * <li>After {@link #watch(Path)}, edits to the source files on disk are
+ * picked up by {@link #pollReloads()}, which the render thread calls once a
+ * frame.</li>
+ * </ul>
+ *
+ * <p>All methods that can reach the backend must be called on the thread that
+ * owns the GL context.
+ */
+public class ShaderManager {
+
+    private final ShaderBackend backend;
+    private final ProgramBinaryCache binaryCache;
+    private final Map<String, ShaderProgram> programsByKey = new HashMap<>();
+    private final List<ShaderProgram> programs = new ArrayList<>();
+
+    private WatchService watcher;
+    private Path sourceRoot;
+    private final Set<Path> watchedDirectories = new HashSet<>();
+
+    private int compileCount;
+    private int binaryHitCount;
+
+    /**
+     * @param backend     The backend that compiles and links.
+     * @param binaryCache Where linked binaries are kept, or null to always
+     *                    compile from source.
+     */
+    public ShaderManager(ShaderBackend backend, ProgramBinaryCache binaryCache) {
+        if (backend == null) {
+            throw new IllegalArgumentException("ShaderManager: Invalid manager inputs.");
+        }
+
+        this.backend = backend;
+        this.binaryCache = backend.supportsBinaries() ? binaryCache : null;
+    }
+
+    /**
+     * Loads a program from two classpath resources.
+     *
+     * @param vertexPath   The vertex shader, e.g. {@code "shaders/vertex.glsl"}.
+     * @param fragmentPath The fragment shader.
+     * @return The program, shared with any earlier load of the same sources.
+     * @throws RuntimeException If a resource is missing or the program fails
+     *                          to build.
+     */
+    public ShaderProgram load(String vertexPath, String fragmentPath) {
+        return load(vertexPath, fragmentPath, readResource(vertexPath), readResource(fragmentPath));
+    }
+
+    /**
+     * Loads a program from two classpath resources whose contents were
+     * already read, for example by an {@code AssetManager} worker. The
+     * program is hot-reloaded from the paths like one from
+     * {@link #load(String, String)}.
+     *
+     * @return The program, shared with any earlier load of the same sources.
+     * @throws RuntimeException If the program fails to build.
+     */
+    public ShaderProgram load(String vertexPath, String fragmentPath,
+            String vertexSource, String fragmentSource) {
+
+        if (vertexPath == null || fragmentPath == null
+                || vertexSource == null || fragmentSource == null) {
+            throw new IllegalArgumentException("ShaderManager: Invalid shader inputs.");
+        }
+
+        String name = vertexPath + " + " + fragmentPath;
+        return obtain(name, vertexSource, fragmentSource, vertexPath, fragmentPath);
+    }
+
+    /**
+     * Builds a program from sources held in memory. Such programs are not
+     * hot-reloaded.
+     *
+     * @return The program, shared with any earlier build of the same sources.
+     */
+    public ShaderProgram fromSource(String name, String vertexSource, String fragmentSource) {
+        if (name == null || vertexSource == null || fragmentSource == null) {
+            throw new IllegalArgumentException("ShaderManager: Invalid shader inputs.");
+        }
+        return obtain(name, vertexSource, fragmentSource, null, null);
+    }
+
+    /**
+     * Starts watching the source files of every file-backed program, current
+     * and future, under the given root. The root should be the source
+     * directory the classpath resources come from, such as
+     * {@code app/src/main/resources}, since the copies on the classpath are
+     * not updated by an edit.
+     *
+     * @throws IOException If the watch service cannot be created.
+     */
+    public void watch(Path sourceRoot) throws IOException {
+        if (watcher != null) {
+            throw new IllegalStateException("ShaderManager: Already watching " + this.sourceRoot);
+        }
+
+        this.sourceRoot = sourceRoot;
+        this.watcher = FileSystems.getDefault().newWatchService();
+        for (ShaderProgram program : programs) {
+            register(program);
+        }
+    }
+
+    /**
+     * Rebuilds every program whose source file changed since the last call.
+     * Never blocks; returns straight away if nothing changed or nothing is
+     * being watched.
+     *
+     * @return The number of programs rebuilt.
+     */
+    public int pollReloads() {
+        if (watcher == null) {
+            return 0;
+        }
+
+        Set<Path> changed = new HashSet<>();
+        WatchKey key;
+        while ((key = watcher.poll()) != null) {
+            Path directory = (Path) key.watchable();
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.context() instanceof Path) {
+                    changed.add(directory.resolve((Path) event.context()));
+                }
+            }
+            key.reset();
+        }
+
+        int reloaded = 0;
+        for (ShaderProgram program : programs) {
+            if (program.getVertexPath() != null
+                    && (changed.contains(sourceFile(program.getVertexPath()))
+                            || changed.contains(sourceFile(program.getFragmentPath())))
+                    && reload(program)) {
+                reloaded++;
+            }
+        }
+        return reloaded;
+    }
+
+    /**
+     * Rebuilds a file-backed program from the watched source root. A program
+     * that fails to build keeps its previous version, so a typo while editing
+     * does not bring the renderer down.
+     *
+     * @return Whether the program changed.
+     */
+    public boolean reload(ShaderProgram program) {
+        if (sourceRoot == null || program.getVertexPath() == null) {
+            return false;
+        }
+
+        String vertexSource, fragmentSource;
+        try {
+            vertexSource = Files.readString(sourceFile(program.getVertexPath()));
+            fragmentSource = Files.readString(sourceFile(program.getFragmentPath()));
+        } catch (IOException e) {
+            System.err.println("ShaderManager: Could not read " + program.getName() + ": "
+                    + e.getMessage());
+            return false;
+        }
+
+        String key = keyOf(vertexSource, fragmentSource);
+        if (key.equals(program.getKey())) {
+            return false;
+        }
+
+        int id;
+        try {
+            id = build(key, vertexSource, fragmentSource, program.getName());
+        } catch (RuntimeException e) {
+            System.err.println("ShaderManager: Keeping the previous " + program.getName()
+                    + ": " + e.getMessage());
+            return false;
+        }
+
+        if (programsByKey.get(program.getKey()) == program) {
+            programsByKey.remove(program.getKey());
+        }
+        backend.deleteProgram(program.getId());
+        program.link(key, id, backend);
+        programsByKey.putIfAbsent(key, program);
+        return true;
+    }
+
+    /**
+     * @return How many programs were compiled from source.
+     */
+    public int getCompileCount() {
+        return compileCount;
+    }
+
+    /**
+     * @return How many programs were restored from the binary cache.
+     */
+    public int getBinaryHitCount() {
+        return binaryHitCount;
+    }
+
+    /**
+     * Deletes every program and stops watching.
+     */
+    public void dispose() {
+        for (ShaderProgram program : programs) {
+            backend.deleteProgram(program.getId());
+        }
+        programs.clear();
+        programsByKey.clear();
+
+        if (watcher != null) {
+            try {
+                watcher.close();
+            } catch (IOException e) {
+                System.err.println("ShaderManager: Could not close watcher: " + e.getMessage());
+            }
+            watcher = null;
+        }
+    }
+
+    /**
+     * Hashes a pair of sources. The separator keeps {@code ("ab", "c")} and
+     * {@code ("a", "bc")} apart.
+     *
+     * @return The SHA-256 of the sources as lowercase hex.
+     */
+    static String keyOf(String vertexSource, String fragmentSource) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("ShaderManager: SHA-256 is not available.", e);
+        }
+
+        digest.update(vertexSource.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(fragmentSource.getBytes(StandardCharsets.UTF_8));
+
+        StringBuilder hex = new StringBuilder(64);
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16))
+                    .append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Reads a classpath resource as UTF-8 through a stream, so it also works
+     * when the resource is packed in a jar.
+     *
+     * @throws RuntimeException If the resource is missing or unreadable.
+     */
+    static String readResource(String path) {
+        try (InputStream in = ShaderManager.class.getClassLoader().getResourceAsStream(path)) {
+            if (in == null) {
+                throw new RuntimeException("ShaderManager: Resource not found: " + path);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("ShaderManager: Error reading " + path, e);
+        }
+    }
+
+    private ShaderProgram obtain(String name, String vertexSource, String fragmentSource,
+            String vertexPath, String fragmentPath) {
+
+        String key = keyOf(vertexSource, fragmentSource);
+        ShaderProgram program = programsByKey.get(key);
+        if (program != null) {
+            return program;
+        }
+
+        program = new ShaderProgram(name, vertexPath, fragmentPath);
+        program.link(key, build(key, vertexSource, fragmentSource, name), backend);
+        programsByKey.put(key, program);
+        programs.add(program);
+
+        if (watcher != null) {
+            register(program);
+        }
+        return program;
+    }
+
+    /**
+     * Restores a program from the binary cache, or compiles it and fills the
+     * cache. A binary the driver rejects is dropped from the cache.
+     */
+    private int build(String key, String vertexSource, String fragmentSource, String name) {
+        if (binaryCache != null) {
+            ProgramBinary binary = binaryCache.read(key);
+            if (binary != null) {
+                int id = backend.loadBinary(binary);
+                if (id != 0) {
+                    binaryHitCount++;
+                    return id;
+                }
+                binaryCache.invalidate(key);
+            }
+        }
+
+        int id = backend.compile(vertexSource, fragmentSource, name);
+        compileCount++;
+
+        if (binaryCache != null) {
+            ProgramBinary binary = backend.getBinary(id);
+            if (binary != null) {
+                binaryCache.write(key, binary);
+            }
+        }
+        return id;
+    }
+
+    private void register(ShaderProgram program) {
+        if (program.getVertexPath() == null) {
+            return;
+        }
+
+        for (String path : new String[] { program.getVertexPath(), program.getFragmentPath() }) {
+            Path directory = sourceFile(path).getParent();
+            if (directory == null || !watchedDirectories.add(directory)) {
+                continue;
+            }
+            try {
+                directory.register(watcher, StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_CREATE);
+            } catch (IOException e) {
+                System.err.println("ShaderManager: Cannot watch " + directory + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private Path sourceFile(String path) {
+        return sourceRoot.resolve(path).toAbsolutePath().normalize();
+    }
+}
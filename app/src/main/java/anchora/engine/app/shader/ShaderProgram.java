@@ -0,0 +1,80 @@
+package anchora.engine.app.shader;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A linked program owned by a {@link ShaderManager}, with the locations of
+ * its uniforms and attributes looked up once at link time. Lookups are plain
+ * map reads, so the render loop never has to ask the driver.
+ *
+ * <p>When the program is hot-reloaded the same object is kept and only its ID
+ * and locations change, so callers should read {@link #getId()} every frame
+ * instead of caching it.
+ */
+public final class ShaderProgram {
+
+    private final String name;
+    private final String vertexPath, fragmentPath;
+    private final Map<String, Integer> uniforms = new HashMap<>();
+    private final Map<String, Integer> attributes = new HashMap<>();
+    private String key;
+    private int id;
+
+    ShaderProgram(String name, String vertexPath, String fragmentPath) {
+        this.name = name;
+        this.vertexPath = vertexPath;
+        this.fragmentPath = fragmentPath;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * @return The uniform location, or -1 if the program has no active
+     *         uniform by that name.
+     */
+    public int getUniformLocation(String uniform) {
+        return uniforms.getOrDefault(uniform, -1);
+    }
+
+    /**
+     * @return The attribute location, or -1 if the program has no active
+     *         attribute by that name.
+     */
+    public int getAttributeLocation(String attribute) {
+        return attributes.getOrDefault(attribute, -1);
+    }
+
+    /**
+     * @return The source hash the program was built from.
+     */
+    String getKey() {
+        return key;
+    }
+
+    /**
+     * @return The classpath path of the vertex source, or null if the program
+     *         was built from strings.
+     */
+    String getVertexPath() {
+        return vertexPath;
+    }
+
+    String getFragmentPath() {
+        return fragmentPath;
+    }
+
+    void link(String key, int id, ShaderBackend backend) {
+        this.key = key;
+        this.id = id;
+        uniforms.clear();
+        attributes.clear();
+        backend.queryLocations(id, uniforms, attributes);
+    }
+}
@@ -0,0 +1,172 @@
+package anchora.engine.app.text;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import anchora.engine.app.render.SpriteBatch;
+
+/**
+ * Lays out and draws text with one {@link GlyphRasterizer} and a shared
+ * {@link GlyphAtlas}. Glyph quads go straight into a {@link SpriteBatch},
+ * so a screen of text in one font is one draw call.
+ *
+ * <p>Shaping turns characters into glyphs and pen positions, following
+ * kerning and {@code '\n'} line breaks. Runs for strings drawn through
+ * {@link #draw(SpriteBatch, String, float, float, float[])} are cached, so
+ * drawing the same labels every frame allocates nothing.
+ *
+ * <pre>
+ * font.nextFrame();
+ * batch.begin();
+ * batch.setShader(spriteProgramId);
+ * font.draw(batch, "Score: 100", 16f, 580f, white);
+ * batch.end();
+ * </pre>
+ */
+public class Font {
+
+    public static final int DEFAULT_RUN_CACHE_SIZE = 256;
+
+    private final GlyphRasterizer rasterizer;
+    private final GlyphAtlas atlas;
+    private final float lineHeight;
+    private final Map<String, TextRun> runs;
+
+    public Font(GlyphRasterizer rasterizer, GlyphAtlas atlas) {
+        this(rasterizer, atlas, DEFAULT_RUN_CACHE_SIZE);
+    }
+
+    /**
+     * @param rasterizer   The font at its pixel size.
+     * @param atlas        Where the glyphs are cached. May be shared with
+     *                     other fonts only if their glyph indices cannot
+     *                     collide, so normally one atlas per font.
+     * @param runCacheSize The number of shaped strings kept, least recently
+     *                     drawn dropped first.
+     */
+    public Font(GlyphRasterizer rasterizer, GlyphAtlas atlas, int runCacheSize) {
+        if (rasterizer == null || atlas == null || runCacheSize < 1) {
+            throw new IllegalArgumentException("Font: Invalid font inputs.");
+        }
+
+        this.rasterizer = rasterizer;
+        this.atlas = atlas;
+        this.lineHeight = rasterizer.getAscent() - rasterizer.getDescent() + rasterizer.getLineGap();
+        this.runs = new LinkedHashMap<String, TextRun>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TextRun> eldest) {
+                return size() > runCacheSize;
+            }
+        };
+    }
+
+    /**
+     * Shapes text into a new run, for text that changes too often to cache.
+     */
+    public TextRun shape(CharSequence text) {
+        int length = text.length();
+        int[] glyphs = new int[length];
+        float[] penX = new float[length];
+        float[] penY = new float[length];
+        int count = 0;
+
+        float x = 0f, y = 0f, width = 0f;
+        int lines = length == 0 ? 0 : 1;
+        int previous = -1;
+        for (int i = 0; i < length; ) {
+            int codepoint = Character.codePointAt(text, i);
+            i += Character.charCount(codepoint);
+
+            if (codepoint == '\n') {
+                width = Math.max(width, x);
+                x = 0f;
+                y -= lineHeight;
+                lines++;
+                previous = -1;
+                continue;
+            }
+
+            int glyph = rasterizer.glyphIndex(codepoint);
+            if (previous >= 0) {
+                x += rasterizer.kerning(previous, glyph);
+            }
+            glyphs[count] = glyph;
+            penX[count] = x;
+            penY[count] = y;
+            count++;
+            x += rasterizer.advance(glyph);
+            previous = glyph;
+        }
+        width = Math.max(width, x);
+
+        return new TextRun(Arrays.copyOf(glyphs, count), Arrays.copyOf(penX, count),
+                Arrays.copyOf(penY, count), width, lines * lineHeight);
+    }
+
+    /**
+     * @return The cached run for a string, shaping it on first use.
+     */
+    public TextRun getRun(String text) {
+        TextRun run = runs.get(text);
+        if (run == null) {
+            run = shape(text);
+            runs.put(text, run);
+        }
+        return run;
+    }
+
+    /**
+     * Draws a string through the run cache.
+     *
+     * @see #draw(SpriteBatch, TextRun, float, float, float[])
+     */
+    public void draw(SpriteBatch batch, String text, float x, float y, float[] color) {
+        draw(batch, getRun(text), x, y, color);
+    }
+
+    /**
+     * Draws a run as one quad per visible glyph. Pen positions are snapped to
+     * whole pixels so glyphs are sampled texel for texel.
+     *
+     * @param x     The pen position of the first glyph.
+     * @param y     The baseline of the first line.
+     * @param color The RGBA text color.
+     */
+    public void draw(SpriteBatch batch, TextRun run, float x, float y, float[] color) {
+        int textureId = atlas.getTextureId();
+        for (int i = 0; i < run.getGlyphCount(); i++) {
+            int slot = atlas.find(run.getGlyph(i), rasterizer);
+            int width = atlas.getWidth(slot);
+            int height = atlas.getHeight(slot);
+            if (width == 0 || height == 0) {
+                continue;
+            }
+
+            // Glyph boxes grow downwards from the baseline; the world grows up
+            float left = Math.round(x + run.getPenX(i)) + atlas.getOffsetX(slot);
+            float top = Math.round(y + run.getPenY(i)) - atlas.getOffsetY(slot);
+            batch.draw(textureId, left, top - height, width, height,
+                    atlas.getU0(slot), atlas.getV0(slot), atlas.getU1(slot), atlas.getV1(slot),
+                    color);
+        }
+    }
+
+    /**
+     * Starts a new frame in the atlas. Call once per frame before drawing.
+     */
+    public void nextFrame() {
+        atlas.nextFrame();
+    }
+
+    /**
+     * @return The distance between two baselines, in pixels.
+     */
+    public float getLineHeight() {
+        return lineHeight;
+    }
+
+    public GlyphAtlas getAtlas() {
+        return atlas;
+    }
+}
@@ -0,0 +1,25 @@
+package anchora.engine.app.text;
+
+import anchora.engine.app.texture.Image;
+import anchora.engine.app.texture.TextureUtils;
+
+/**
+ * {@link GlyphTextureBackend} on a plain RGBA8 texture.
+ */
+public class GLGlyphTextureBackend implements GlyphTextureBackend {
+
+    @Override
+    public int create(Image image) {
+        return TextureUtils.createTexture(image);
+    }
+
+    @Override
+    public void update(int textureId, Image image, int x, int y, int width, int height) {
+        TextureUtils.updateTexture(textureId, image, x, y, width, height);
+    }
+
+    @Override
+    public void delete(int textureId) {
+        TextureUtils.deleteTexture(textureId);
+    }
+}
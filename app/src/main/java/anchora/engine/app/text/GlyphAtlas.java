@@ -0,0 +1,310 @@
+package anchora.engine.app.text;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.lwjgl.BufferUtils;
+
+import anchora.engine.app.texture.Image;
+
+/**
+ * A texture of fixed-size cells that glyphs are rasterized into on first
+ * use. When every cell is taken, the least recently used glyph is evicted,
+ * so a long-running game with a large character set keeps a bounded texture
+ * holding the glyphs it actually shows.
+ *
+ * <p>Each rasterized glyph is copied to the texture straight away, so quads
+ * already sent to a batch never wait on an upload. A glyph used in the
+ * current frame is never evicted, because quads drawn earlier in the frame
+ * may still sample it; call {@link #nextFrame()} once per frame.
+ *
+ * <p>Glyphs are stored white with the coverage in alpha, so they draw with
+ * the sprite shader and take the sprite tint as their color.
+ */
+public class GlyphAtlas {
+
+    public static final int DEFAULT_SIZE = 512;
+
+    private static final int EMPTY = -1;
+    private static final int NONE = -1;
+
+    private final int size, cellSize, columns, slotCount;
+    private final Image image;
+    private final GlyphTextureBackend textures;
+    private final int textureId;
+    private final ByteBuffer coverage;
+    private final int[] box = new int[4];
+
+    // Per slot: the glyph held, its bitmap offset from the pen and size
+    private final int[] slotGlyph, offsetX, offsetY, width, height;
+    private final long[] lastUsed;
+
+    // Recency list through the slots, most recently used at the head
+    private final int[] newer, older;
+    private int head, tail;
+
+    // Glyph to slot, open addressing with linear probing
+    private final int[] tableGlyph, tableSlot;
+    private final int tableMask;
+
+    private long frame;
+    private int misses, evictions;
+
+    /**
+     * @param textures The texture calls to use.
+     * @param size     The width and height of the texture, in pixels.
+     * @param cellSize The side of each cell, in pixels. One pixel is kept
+     *                 free on the right and bottom of every cell so a glyph
+     *                 drawn scaled never rounds onto the next one.
+     */
+    public GlyphAtlas(GlyphTextureBackend textures, int size, int cellSize) {
+        if (textures == null || cellSize < 2 || size < cellSize) {
+            throw new IllegalArgumentException("GlyphAtlas: Invalid atlas inputs.");
+        }
+
+        this.size = size;
+        this.cellSize = cellSize;
+        this.columns = size / cellSize;
+        this.slotCount = columns * columns;
+        this.image = Image.allocate(size, size);
+        this.textures = textures;
+        this.textureId = textures.create(image);
+        this.coverage = BufferUtils.createByteBuffer(cellSize * cellSize);
+
+        slotGlyph = new int[slotCount];
+        offsetX = new int[slotCount];
+        offsetY = new int[slotCount];
+        width = new int[slotCount];
+        height = new int[slotCount];
+        lastUsed = new long[slotCount];
+        Arrays.fill(slotGlyph, EMPTY);
+        Arrays.fill(lastUsed, -1L);
+
+        // Empty slots start at the tail, in cell order, so they are filled
+        // before anything is evicted
+        newer = new int[slotCount];
+        older = new int[slotCount];
+        for (int s = 0; s < slotCount; s++) {
+            newer[s] = s == slotCount - 1 ? NONE : s + 1;
+            older[s] = s == 0 ? NONE : s - 1;
+        }
+        head = slotCount - 1;
+        tail = 0;
+
+        int tableSize = Integer.highestOneBit(slotCount * 2 - 1) << 1;
+        tableGlyph = new int[tableSize];
+        tableSlot = new int[tableSize];
+        tableMask = tableSize - 1;
+        Arrays.fill(tableGlyph, EMPTY);
+    }
+
+    /**
+     * Finds the cell holding a glyph, rasterizing it into the least recently
+     * used cell if it is not in the atlas.
+     *
+     * @return The slot, for the {@code get*} accessors.
+     * @throws IllegalStateException If every cell is in use this frame.
+     */
+    public int find(int glyph, GlyphRasterizer rasterizer) {
+        int slot = lookup(glyph);
+        if (slot == NONE) {
+            slot = tail;
+            if (lastUsed[slot] == frame) {
+                throw new IllegalStateException("GlyphAtlas: More glyphs in one frame than the "
+                        + slotCount + " cells of the atlas.");
+            }
+            if (slotGlyph[slot] != EMPTY) {
+                remove(slotGlyph[slot]);
+                evictions++;
+            }
+            rasterize(slot, glyph, rasterizer);
+            insert(glyph, slot);
+            misses++;
+        }
+
+        lastUsed[slot] = frame;
+        touch(slot);
+        return slot;
+    }
+
+    /**
+     * Starts a new frame, allowing glyphs used so far to be evicted.
+     */
+    public void nextFrame() {
+        frame++;
+    }
+
+    private void rasterize(int slot, int glyph, GlyphRasterizer rasterizer) {
+        int cellX = (slot % columns) * cellSize;
+        int cellY = (slot / columns) * cellSize;
+
+        rasterizer.getBox(glyph, box);
+        int w = Math.max(0, Math.min(box[2] - box[0], cellSize - 1));
+        int h = Math.max(0, Math.min(box[3] - box[1], cellSize - 1));
+        slotGlyph[slot] = glyph;
+        offsetX[slot] = box[0];
+        offsetY[slot] = box[1];
+        width[slot] = w;
+        height[slot] = h;
+
+        // Clear the whole cell, then expand the coverage to white and alpha
+        image.fill(cellX, cellY, cellSize, cellSize, 0);
+        if (w > 0 && h > 0) {
+            coverage.clear();
+            rasterizer.render(glyph, coverage, w, h, w);
+            ByteBuffer pixels = image.getPixels();
+            for (int y = 0; y < h; y++) {
+                int row = ((cellY + y) * size + cellX) * Image.BYTES_PER_PIXEL;
+                for (int x = 0; x < w; x++) {
+                    int index = row + x * Image.BYTES_PER_PIXEL;
+                    pixels.put(index, (byte) 0xFF);
+                    pixels.put(index + 1, (byte) 0xFF);
+                    pixels.put(index + 2, (byte) 0xFF);
+                    pixels.put(index + 3, coverage.get(y * w + x));
+                }
+            }
+        }
+        textures.update(textureId, image, cellX, cellY, cellSize, cellSize);
+    }
+
+    private void touch(int slot) {
+        if (slot == head) {
+            return;
+        }
+
+        // Unlink; anything but the head has a newer neighbour
+        int n = newer[slot];
+        int o = older[slot];
+        older[n] = o;
+        if (o == NONE) {
+            tail = n;
+        } else {
+            newer[o] = n;
+        }
+
+        // Push at the head
+        newer[slot] = NONE;
+        older[slot] = head;
+        newer[head] = slot;
+        head = slot;
+    }
+
+    private int lookup(int glyph) {
+        for (int i = hash(glyph); ; i = (i + 1) & tableMask) {
+            if (tableGlyph[i] == glyph) {
+                return tableSlot[i];
+            } else if (tableGlyph[i] == EMPTY) {
+                return NONE;
+            }
+        }
+    }
+
+    private void insert(int glyph, int slot) {
+        int i = hash(glyph);
+        while (tableGlyph[i] != EMPTY) {
+            i = (i + 1) & tableMask;
+        }
+        tableGlyph[i] = glyph;
+        tableSlot[i] = slot;
+    }
+
+    private void remove(int glyph) {
+        int i = hash(glyph);
+        while (tableGlyph[i] != glyph) {
+            i = (i + 1) & tableMask;
+        }
+
+        // Shift later entries of the probe run back so lookups never stop
+        // early at the hole
+        int hole = i;
+        for (int j = (hole + 1) & tableMask; tableGlyph[j] != EMPTY; j = (j + 1) & tableMask) {
+            int home = hash(tableGlyph[j]);
+            if (((j - home) & tableMask) >= ((j - hole) & tableMask)) {
+                tableGlyph[hole] = tableGlyph[j];
+                tableSlot[hole] = tableSlot[j];
+                hole = j;
+            }
+        }
+        tableGlyph[hole] = EMPTY;
+    }
+
+    private int hash(int glyph) {
+        int h = glyph * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & tableMask;
+    }
+
+    public int getTextureId() {
+        return textureId;
+    }
+
+    /**
+     * @return The glyph's bitmap offset from the pen, in pixels, y down.
+     */
+    public int getOffsetX(int slot) {
+        return offsetX[slot];
+    }
+
+    public int getOffsetY(int slot) {
+        return offsetY[slot];
+    }
+
+    /**
+     * @return The size of the glyph's bitmap, 0 for blank glyphs.
+     */
+    public int getWidth(int slot) {
+        return width[slot];
+    }
+
+    public int getHeight(int slot) {
+        return height[slot];
+    }
+
+    public float getU0(int slot) {
+        return (float) ((slot % columns) * cellSize) / size;
+    }
+
+    public float getV0(int slot) {
+        return (float) ((slot / columns) * cellSize) / size;
+    }
+
+    public float getU1(int slot) {
+        return (float) ((slot % columns) * cellSize + width[slot]) / size;
+    }
+
+    public float getV1(int slot) {
+        return (float) ((slot / columns) * cellSize + height[slot]) / size;
+    }
+
+    /**
+     * @return The number of cells.
+     */
+    public int getCapacity() {
+        return slotCount;
+    }
+
+    /**
+     * @return The CPU copy of the texture.
+     */
+    public Image getImage() {
+        return image;
+    }
+
+    /**
+     * @return The number of glyphs rasterized.
+     */
+    public int getMissCount() {
+        return misses;
+    }
+
+    /**
+     * @return The number of glyphs evicted to make room.
+     */
+    public int getEvictionCount() {
+        return evictions;
+    }
+
+    public void dispose() {
+        textures.delete(textureId);
+        image.free();
+    }
+}
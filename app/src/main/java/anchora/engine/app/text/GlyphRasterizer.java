@@ -0,0 +1,60 @@
+package anchora.engine.app.text;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Glyph metrics and coverage bitmaps for one font at one pixel size. All
+ * values are in pixels. Boxes follow font conventions, with y growing
+ * downwards from the baseline.
+ */
+public interface GlyphRasterizer {
+
+    /**
+     * @return The distance from the baseline to the top of the tallest glyph.
+     */
+    float getAscent();
+
+    /**
+     * @return The distance from the baseline to the bottom of the lowest
+     *         glyph, usually negative.
+     */
+    float getDescent();
+
+    /**
+     * @return The extra space between one line's descent and the next line's
+     *         ascent.
+     */
+    float getLineGap();
+
+    /**
+     * @return The glyph for a Unicode code point, or 0 for the font's missing
+     *         glyph.
+     */
+    int glyphIndex(int codepoint);
+
+    /**
+     * @return How far the pen moves after drawing the glyph.
+     */
+    float advance(int glyph);
+
+    /**
+     * @return The adjustment to the advance between two neighbouring glyphs.
+     */
+    float kerning(int glyph, int nextGlyph);
+
+    /**
+     * Gets the bounding box of a glyph's bitmap relative to the pen.
+     *
+     * @param box Receives {@code x0, y0, x1, y1}. Empty for glyphs such as
+     *            spaces.
+     */
+    void getBox(int glyph, int[] box);
+
+    /**
+     * Renders a glyph's 8-bit coverage, clipped to the given size.
+     *
+     * @param out    Receives the coverage, starting at its position.
+     * @param stride The bytes between the starts of two rows.
+     */
+    void render(int glyph, ByteBuffer out, int width, int height, int stride);
+}
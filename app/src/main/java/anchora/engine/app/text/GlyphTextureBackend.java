@@ -0,0 +1,22 @@
+package anchora.engine.app.text;
+
+import anchora.engine.app.texture.Image;
+
+/**
+ * The GL side of a {@link GlyphAtlas}: one texture that glyph cells are
+ * written into as they are rasterized.
+ */
+public interface GlyphTextureBackend {
+
+    /**
+     * @return The ID of a texture created from the image.
+     */
+    int create(Image image);
+
+    /**
+     * Copies a rectangle of the image into the same place in the texture.
+     */
+    void update(int textureId, Image image, int x, int y, int width, int height);
+
+    void delete(int textureId);
+}
@@ -0,0 +1,94 @@
+package anchora.engine.app.text;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+import org.lwjgl.BufferUtils;
+import org.lwjgl.stb.STBTTFontinfo;
+import org.lwjgl.stb.STBTruetype;
+
+/**
+ * {@link GlyphRasterizer} for TrueType fonts through stb_truetype. Not
+ * thread-safe: it reuses scratch buffers between calls.
+ */
+public class StbGlyphRasterizer implements GlyphRasterizer {
+
+    // stb_truetype reads the font file in place, so it must outlive the info
+    private final ByteBuffer fontData;
+    private final STBTTFontinfo info = STBTTFontinfo.create();
+    private final float scale;
+    private final float ascent, descent, lineGap;
+
+    private final IntBuffer a = BufferUtils.createIntBuffer(1);
+    private final IntBuffer b = BufferUtils.createIntBuffer(1);
+    private final IntBuffer c = BufferUtils.createIntBuffer(1);
+    private final IntBuffer d = BufferUtils.createIntBuffer(1);
+
+    /**
+     * @param fontData    The TTF file contents, in a direct buffer that is
+     *                    kept for the life of the rasterizer.
+     * @param pixelHeight The distance from the highest ascent to the lowest
+     *                    descent, in pixels.
+     * @throws RuntimeException If the data is not a font stb_truetype reads.
+     */
+    public StbGlyphRasterizer(ByteBuffer fontData, float pixelHeight) {
+        if (fontData == null || !fontData.isDirect() || !(pixelHeight > 0f)) {
+            throw new IllegalArgumentException("StbGlyphRasterizer: Invalid font inputs.");
+        }
+        if (!STBTruetype.stbtt_InitFont(info, fontData)) {
+            throw new RuntimeException("StbGlyphRasterizer: Failed to read font.");
+        }
+
+        this.fontData = fontData;
+        this.scale = STBTruetype.stbtt_ScaleForPixelHeight(info, pixelHeight);
+        STBTruetype.stbtt_GetFontVMetrics(info, a, b, c);
+        this.ascent = a.get(0) * scale;
+        this.descent = b.get(0) * scale;
+        this.lineGap = c.get(0) * scale;
+    }
+
+    @Override
+    public float getAscent() {
+        return ascent;
+    }
+
+    @Override
+    public float getDescent() {
+        return descent;
+    }
+
+    @Override
+    public float getLineGap() {
+        return lineGap;
+    }
+
+    @Override
+    public int glyphIndex(int codepoint) {
+        return STBTruetype.stbtt_FindGlyphIndex(info, codepoint);
+    }
+
+    @Override
+    public float advance(int glyph) {
+        STBTruetype.stbtt_GetGlyphHMetrics(info, glyph, a, b);
+        return a.get(0) * scale;
+    }
+
+    @Override
+    public float kerning(int glyph, int nextGlyph) {
+        return STBTruetype.stbtt_GetGlyphKernAdvance(info, glyph, nextGlyph) * scale;
+    }
+
+    @Override
+    public void getBox(int glyph, int[] box) {
+        STBTruetype.stbtt_GetGlyphBitmapBox(info, glyph, scale, scale, a, b, c, d);
+        box[0] = a.get(0);
+        box[1] = b.get(0);
+        box[2] = c.get(0);
+        box[3] = d.get(0);
+    }
+
+    @Override
+    public void render(int glyph, ByteBuffer out, int width, int height, int stride) {
+        STBTruetype.stbtt_MakeGlyphBitmap(info, out, width, height, stride, scale, scale, glyph);
+    }
+}
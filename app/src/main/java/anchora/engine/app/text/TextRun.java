@@ -0,0 +1,59 @@
+package anchora.engine.app.text;
+
+/**
+ * A shaped piece of text: the glyphs to draw and where the pen is for each,
+ * relative to the baseline of the first line. Runs do not depend on the
+ * atlas, so one shaped for a static label can be drawn every frame for free
+ * even as glyphs come and go from the atlas.
+ */
+public final class TextRun {
+
+    private final int[] glyphs;
+    private final float[] penX, penY;
+    private final float width, height;
+
+    TextRun(int[] glyphs, float[] penX, float[] penY, float width, float height) {
+        this.glyphs = glyphs;
+        this.penX = penX;
+        this.penY = penY;
+        this.width = width;
+        this.height = height;
+    }
+
+    public int getGlyphCount() {
+        return glyphs.length;
+    }
+
+    public int getGlyph(int index) {
+        return glyphs[index];
+    }
+
+    /**
+     * @return The pen position of a glyph, in pixels from the run's origin.
+     */
+    public float getPenX(int index) {
+        return penX[index];
+    }
+
+    /**
+     * @return The baseline of a glyph's line, 0 for the first line and
+     *         negative below it.
+     */
+    public float getPenY(int index) {
+        return penY[index];
+    }
+
+    /**
+     * @return The advance of the longest line.
+     */
+    public float getWidth() {
+        return width;
+    }
+
+    /**
+     * @return The line height times the number of lines.
+     */
+    public float getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,45 @@
+package anchora.engine.app.texture;
+
+/**
+ * One page of a {@link TextureAtlas}: the packed pixels on the CPU side and,
+ * once uploaded, the GL texture they live in.
+ */
+public final class AtlasPage {
+
+    private final int index;
+    private final Image image;
+    private final SkylinePacker packer;
+    private int textureId;
+
+    AtlasPage(int index, int size) {
+        this.index = index;
+        this.image = Image.allocate(size, size);
+        this.packer = new SkylinePacker(size, size);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return The packed pixels of the page.
+     */
+    public Image getImage() {
+        return image;
+    }
+
+    /**
+     * @return The GL texture ID, or 0 if the page has not been uploaded.
+     */
+    public int getTextureId() {
+        return textureId;
+    }
+
+    SkylinePacker getPacker() {
+        return packer;
+    }
+
+    void setTextureId(int textureId) {
+        this.textureId = textureId;
+    }
+}
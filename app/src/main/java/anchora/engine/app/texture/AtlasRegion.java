@@ -0,0 +1,76 @@
+package anchora.engine.app.texture;
+
+/**
+ * Where one image ended up in a {@link TextureAtlas}: its pixel rectangle on a
+ * page and the matching texture coordinates. UVs run from the top-left of the
+ * page, matching the row order the page is uploaded in.
+ */
+public final class AtlasRegion {
+
+    private final String name;
+    private final AtlasPage page;
+    private final int x, y, width, height;
+    private final float u0, v0, u1, v1;
+
+    AtlasRegion(String name, AtlasPage page, int x, int y, int width, int height) {
+        this.name = name;
+        this.page = page;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+
+        float pageWidth = page.getImage().getWidth();
+        float pageHeight = page.getImage().getHeight();
+        u0 = x / pageWidth;
+        v0 = y / pageHeight;
+        u1 = (x + width) / pageWidth;
+        v1 = (y + height) / pageHeight;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public AtlasPage getPage() {
+        return page;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public float getU0() {
+        return u0;
+    }
+
+    public float getV0() {
+        return v0;
+    }
+
+    public float getU1() {
+        return u1;
+    }
+
+    public float getV1() {
+        return v1;
+    }
+
+    @Override
+    public String toString() {
+        return name + " @ page " + page.getIndex() + " (" + x + ", " + y + ", "
+                + width + "x" + height + ")";
+    }
+}
@@ -0,0 +1,155 @@
+package anchora.engine.app.texture;
+
+import java.nio.ByteBuffer;
+
+import org.lwjgl.BufferUtils;
+import org.lwjgl.stb.STBImage;
+
+/**
+ * An RGBA8 image held off-heap, rows top to bottom with no padding, so it can
+ * be handed to {@code glTexImage2D} or copied into an atlas page as is.
+ *
+ * <p>Images decoded by {@link ImageUtils} live in memory owned by STB and
+ * must be released with {@link #free()}. Images made with
+ * {@link #allocate(int, int)} are left to the garbage collector, and
+ * {@code free()} does nothing for them.
+ */
+public final class Image {
+
+    public static final int BYTES_PER_PIXEL = 4;
+
+    private final int width, height;
+    private final ByteBuffer pixels;
+    private final boolean stbOwned;
+    private boolean freed;
+
+    Image(int width, int height, ByteBuffer pixels, boolean stbOwned) {
+        if (width <= 0 || height <= 0 || pixels == null
+                || pixels.capacity() < width * height * BYTES_PER_PIXEL) {
+            throw new IllegalArgumentException("Image: Invalid image inputs.");
+        }
+
+        this.width = width;
+        this.height = height;
+        this.pixels = pixels;
+        this.stbOwned = stbOwned;
+    }
+
+    /**
+     * Creates a transparent black image.
+     *
+     * @param width  The width in pixels.
+     * @param height The height in pixels.
+     * @return The new image.
+     * @throws IllegalArgumentException If either dimension is not positive.
+     */
+    public static Image allocate(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Image: Invalid image size.");
+        }
+
+        return new Image(width, height,
+                BufferUtils.createByteBuffer(width * height * BYTES_PER_PIXEL), false);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return The pixel data. Reads and writes should use absolute indices,
+     *         the position of the buffer is not meaningful.
+     */
+    public ByteBuffer getPixels() {
+        checkNotFreed();
+        return pixels;
+    }
+
+    /**
+     * @return The pixel at the given coordinates packed as {@code 0xRRGGBBAA}.
+     */
+    public int getPixel(int x, int y) {
+        int index = indexOf(x, y);
+        return (pixels.get(index) & 0xFF) << 24
+                | (pixels.get(index + 1) & 0xFF) << 16
+                | (pixels.get(index + 2) & 0xFF) << 8
+                | (pixels.get(index + 3) & 0xFF);
+    }
+
+    /**
+     * @param rgba The pixel packed as {@code 0xRRGGBBAA}.
+     */
+    public void setPixel(int x, int y, int rgba) {
+        int index = indexOf(x, y);
+        pixels.put(index, (byte) (rgba >>> 24));
+        pixels.put(index + 1, (byte) (rgba >>> 16));
+        pixels.put(index + 2, (byte) (rgba >>> 8));
+        pixels.put(index + 3, (byte) rgba);
+    }
+
+    /**
+     * Fills a rectangle of the image with one color.
+     *
+     * @param rgba The color packed as {@code 0xRRGGBBAA}.
+     */
+    public void fill(int x, int y, int w, int h, int rgba) {
+        for (int row = y; row < y + h; row++) {
+            for (int column = x; column < x + w; column++) {
+                setPixel(column, row, rgba);
+            }
+        }
+    }
+
+    /**
+     * Copies the whole of {@code source} into this image, one row at a time.
+     *
+     * @param source The image to copy.
+     * @param x      The column of this image that receives the left edge.
+     * @param y      The row of this image that receives the top edge.
+     * @throws IllegalArgumentException If the source does not fit.
+     */
+    public void blit(Image source, int x, int y) {
+        if (x < 0 || y < 0 || x + source.width > width || y + source.height > height) {
+            throw new IllegalArgumentException("Image: Source does not fit at " + x + ", " + y);
+        }
+
+        int rowBytes = source.width * BYTES_PER_PIXEL;
+        ByteBuffer src = source.getPixels();
+        for (int row = 0; row < source.height; row++) {
+            pixels.put(indexOf(x, y + row), src, row * rowBytes, rowBytes);
+        }
+    }
+
+    /**
+     * Releases the pixel memory if it was allocated by STB. The image must not
+     * be used afterwards.
+     */
+    public void free() {
+        if (freed) {
+            return;
+        }
+
+        freed = true;
+        if (stbOwned) {
+            STBImage.stbi_image_free(pixels);
+        }
+    }
+
+    private int indexOf(int x, int y) {
+        checkNotFreed();
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            throw new IndexOutOfBoundsException("Image: Pixel out of range: " + x + ", " + y);
+        }
+        return (y * width + x) * BYTES_PER_PIXEL;
+    }
+
+    private void checkNotFreed() {
+        if (freed) {
+            throw new IllegalStateException("Image: Image has been freed.");
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package anchora.engine.app.texture;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+import org.lwjgl.BufferUtils;
+import org.lwjgl.stb.STBImage;
+import org.lwjgl.stb.STBImageWrite;
+import org.lwjgl.system.MemoryStack;
+
+/**
+ * Decodes PNG (and the other formats STB understands) straight into off-heap
+ * RGBA8 {@link Image}s. Nothing here touches OpenGL, so decoding works without
+ * a window.
+ */
+public final class ImageUtils {
+
+    private static final int READ_CHUNK = 8192;
+
+    private ImageUtils() {
+    }
+
+    /**
+     * Decodes an encoded image held in memory. The result is always four
+     * channels, whatever the source format stores.
+     *
+     * @param encoded The encoded file contents, from position to limit. Must be
+     *                a direct buffer.
+     * @param name    A name for error messages.
+     * @return The decoded image, which must be released with
+     *         {@link Image#free()}.
+     * @throws IllegalArgumentException If the buffer is null or not direct.
+     * @throws RuntimeException         If STB cannot decode the data.
+     */
+    public static Image decode(ByteBuffer encoded, String name) {
+        if (encoded == null || !encoded.isDirect()) {
+            throw new IllegalArgumentException("ImageUtils: Encoded image must be a direct buffer.");
+        }
+
+        try (MemoryStack stack = MemoryStack.stackPush()) {
+            IntBuffer width = stack.mallocInt(1);
+            IntBuffer height = stack.mallocInt(1);
+            IntBuffer channels = stack.mallocInt(1);
+
+            ByteBuffer pixels = STBImage.stbi_load_from_memory(encoded, width, height, channels,
+                    Image.BYTES_PER_PIXEL);
+            if (pixels == null) {
+                throw new RuntimeException("ImageUtils: Failed to decode " + name + ": "
+                        + STBImage.stbi_failure_reason());
+            }
+
+            return new Image(width.get(0), height.get(0), pixels, true);
+        }
+    }
+
+    /**
+     * Reads and decodes an image from the classpath. Works the same whether
+     * the resource is a loose file or inside a jar.
+     *
+     * @param resourcePath The resource path, for example
+     *                     {@code "textures/player.png"}.
+     * @return The decoded image, which must be released with
+     *         {@link Image#free()}.
+     * @throws RuntimeException If the resource is missing or cannot be decoded.
+     */
+    public static Image load(String resourcePath) {
+        try (InputStream in = ImageUtils.class.getClassLoader().getResourceAsStream(resourcePath)) {
+            if (in == null) {
+                throw new RuntimeException("ImageUtils: Resource not found: " + resourcePath);
+            }
+            return decode(readFully(in), resourcePath);
+        } catch (IOException e) {
+            throw new RuntimeException("ImageUtils: Error reading " + resourcePath, e);
+        }
+    }
+
+    /**
+     * Encodes an image as a PNG file, for example a captured frame to compare
+     * against a golden image.
+     *
+     * @param image The image, stored top row first.
+     * @param path  The file to write.
+     * @throws RuntimeException If the file cannot be written.
+     */
+    public static void writePng(Image image, String path) {
+        if (image == null || path == null) {
+            throw new IllegalArgumentException("ImageUtils: Invalid PNG inputs.");
+        }
+
+        int stride = image.getWidth() * Image.BYTES_PER_PIXEL;
+        if (!STBImageWrite.stbi_write_png(path, image.getWidth(), image.getHeight(),
+                Image.BYTES_PER_PIXEL, image.getPixels(), stride)) {
+            throw new RuntimeException("ImageUtils: Failed to write " + path);
+        }
+    }
+
+    /**
+     * Reads a stream into a direct buffer, growing it as needed.
+     *
+     * @return The buffer, flipped so its contents are between position and
+     *         limit.
+     */
+    static ByteBuffer readFully(InputStream in) throws IOException {
+        ByteBuffer buffer = BufferUtils.createByteBuffer(Math.max(in.available(), READ_CHUNK));
+        byte[] chunk = new byte[READ_CHUNK];
+
+        int read;
+        while ((read = in.read(chunk)) != -1) {
+            if (buffer.remaining() < read) {
+                ByteBuffer grown = BufferUtils.createByteBuffer(
+                        Math.max(buffer.capacity() * 2, buffer.position() + read));
+                buffer.flip();
+                grown.put(buffer);
+                buffer = grown;
+            }
+            buffer.put(chunk, 0, read);
+        }
+
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,183 @@
+package anchora.engine.app.texture;
+
+import java.util.Arrays;
+
+/**
+ * Packs rectangles into a fixed-size page with the skyline bottom-left
+ * heuristic. The skyline is the upper outline of everything placed so far,
+ * kept as a list of horizontal segments; each rectangle goes where its top
+ * edge ends up lowest, which keeps the wasted space under the outline small.
+ *
+ * <p>The packer only deals in coordinates, so it can be tested and reused
+ * without any image data. Rectangles are never rotated.
+ */
+public class SkylinePacker {
+
+    private final int width, height;
+
+    // Segment i covers [x[i], x[i] + w[i]) at height y[i], ordered by x
+    private int[] segmentX, segmentY, segmentWidth;
+    private int segmentCount;
+    private long usedArea;
+
+    /**
+     * @param width  The page width in pixels.
+     * @param height The page height in pixels.
+     * @throws IllegalArgumentException If either dimension is not positive.
+     */
+    public SkylinePacker(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("SkylinePacker: Invalid page size.");
+        }
+
+        this.width = width;
+        this.height = height;
+        segmentX = new int[16];
+        segmentY = new int[16];
+        segmentWidth = new int[16];
+        reset();
+    }
+
+    /**
+     * Finds a place for a rectangle and marks it as used.
+     *
+     * @param rectWidth  The width of the rectangle.
+     * @param rectHeight The height of the rectangle.
+     * @param position   Receives the top-left corner as {@code {x, y}} when the
+     *                   rectangle fits. Left untouched otherwise.
+     * @return Whether the rectangle fit on the page.
+     * @throws IllegalArgumentException If a dimension is not positive or the
+     *                                  position array is too short.
+     */
+    public boolean insert(int rectWidth, int rectHeight, int[] position) {
+        if (rectWidth <= 0 || rectHeight <= 0 || position == null || position.length < 2) {
+            throw new IllegalArgumentException("SkylinePacker: Invalid rectangle inputs.");
+        }
+
+        int bestIndex = -1;
+        int bestTop = Integer.MAX_VALUE;
+        int bestY = 0;
+        for (int i = 0; i < segmentCount; i++) {
+            int y = fit(i, rectWidth, rectHeight);
+            if (y >= 0 && y + rectHeight < bestTop) {
+                bestIndex = i;
+                bestTop = y + rectHeight;
+                bestY = y;
+            }
+        }
+
+        if (bestIndex < 0) {
+            return false;
+        }
+
+        int x = segmentX[bestIndex];
+        addSegment(bestIndex, x, bestTop, rectWidth);
+        usedArea += (long) rectWidth * rectHeight;
+
+        position[0] = x;
+        position[1] = bestY;
+        return true;
+    }
+
+    /**
+     * Forgets every placed rectangle.
+     */
+    public void reset() {
+        segmentCount = 1;
+        segmentX[0] = 0;
+        segmentY[0] = 0;
+        segmentWidth[0] = width;
+        usedArea = 0;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return The fraction of the page covered by placed rectangles.
+     */
+    public float getOccupancy() {
+        return (float) ((double) usedArea / ((long) width * height));
+    }
+
+    /**
+     * @return The lowest y at which a rectangle starting at segment
+     *         {@code index} rests on the skyline, or -1 if it does not fit.
+     */
+    private int fit(int index, int rectWidth, int rectHeight) {
+        if (segmentX[index] + rectWidth > width) {
+            return -1;
+        }
+
+        int y = 0;
+        int remaining = rectWidth;
+        for (int i = index; remaining > 0; i++) {
+            y = Math.max(y, segmentY[i]);
+            if (y + rectHeight > height) {
+                return -1;
+            }
+            remaining -= segmentWidth[i];
+        }
+        return y;
+    }
+
+    /**
+     * Raises the skyline over {@code [x, x + w)} to {@code top}, trimming the
+     * segments it now covers and merging neighbours at the same height.
+     */
+    private void addSegment(int index, int x, int top, int w) {
+        insertAt(index, x, top, w);
+
+        int end = x + w;
+        int i = index + 1;
+        while (i < segmentCount && segmentX[i] < end) {
+            int shrink = end - segmentX[i];
+            if (shrink >= segmentWidth[i]) {
+                removeAt(i);
+            } else {
+                segmentX[i] += shrink;
+                segmentWidth[i] -= shrink;
+                break;
+            }
+        }
+
+        for (int j = 0; j < segmentCount - 1; j++) {
+            if (segmentY[j] == segmentY[j + 1]) {
+                segmentWidth[j] += segmentWidth[j + 1];
+                removeAt(j + 1);
+                j--;
+            }
+        }
+    }
+
+    private void insertAt(int index, int x, int y, int w) {
+        if (segmentCount == segmentX.length) {
+            int capacity = segmentCount * 2;
+            segmentX = Arrays.copyOf(segmentX, capacity);
+            segmentY = Arrays.copyOf(segmentY, capacity);
+            segmentWidth = Arrays.copyOf(segmentWidth, capacity);
+        }
+
+        int moved = segmentCount - index;
+        System.arraycopy(segmentX, index, segmentX, index + 1, moved);
+        System.arraycopy(segmentY, index, segmentY, index + 1, moved);
+        System.arraycopy(segmentWidth, index, segmentWidth, index + 1, moved);
+        segmentX[index] = x;
+        segmentY[index] = y;
+        segmentWidth[index] = w;
+        segmentCount++;
+    }
+
+    private void removeAt(int index) {
+        int moved = segmentCount - index - 1;
+        System.arraycopy(segmentX, index + 1, segmentX, index, moved);
+        System.arraycopy(segmentY, index + 1, segmentY, index, moved);
+        System.arraycopy(segmentWidth, index + 1, segmentWidth, index, moved);
+        segmentCount--;
+    }
+}
@@ -0,0 +1,206 @@
+package anchora.engine.app.texture;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Packs many small images into a few large pages so sprites that share a page
+ * can be drawn without a texture bind between them, which is what keeps the
+ * batch from breaking.
+ *
+ * <p>Images are queued with {@link #add}, laid out by {@link #pack()} and
+ * copied into the page images, then sent to the GPU with {@link #upload()}.
+ * Packing is deterministic: the same images in any order produce the same
+ * pages.
+ *
+ * <pre>
+ * TextureAtlas atlas = new TextureAtlas();
+ * atlas.add("player", ImageUtils.load("textures/player.png"));
+ * atlas.pack();
+ * atlas.upload();
+ * AtlasRegion player = atlas.getRegion("player");
+ * </pre>
+ */
+public class TextureAtlas {
+
+    public static final int DEFAULT_PAGE_SIZE = 2048;
+
+    /**
+     * Transparent pixels left between neighbouring images. Pages are sampled
+     * with nearest filtering, but a sprite drawn scaled or at a fractional
+     * position can still round onto the texel just past its edge, which
+     * then reads transparent instead of the next sprite.
+     */
+    public static final int DEFAULT_PADDING = 1;
+
+    private static final Comparator<Pending> PACK_ORDER = Comparator
+            .comparingInt((Pending p) -> -p.image.getHeight())
+            .thenComparingInt(p -> -p.image.getWidth())
+            .thenComparing(p -> p.name);
+
+    private final int pageSize;
+    private final int padding;
+    private final List<Pending> pending = new ArrayList<>();
+    private final List<AtlasPage> pages = new ArrayList<>();
+    private final Map<String, AtlasRegion> regions = new HashMap<>();
+    private boolean packed;
+
+    public TextureAtlas() {
+        this(DEFAULT_PAGE_SIZE, DEFAULT_PADDING);
+    }
+
+    /**
+     * @param pageSize The width and height of every page, in pixels.
+     * @param padding  The gap left to the right of and below every image.
+     * @throws IllegalArgumentException If the page size is not positive or
+     *                                  the padding is negative.
+     */
+    public TextureAtlas(int pageSize, int padding) {
+        if (pageSize <= 0 || padding < 0 || padding >= pageSize) {
+            throw new IllegalArgumentException("TextureAtlas: Invalid atlas inputs.");
+        }
+
+        this.pageSize = pageSize;
+        this.padding = padding;
+    }
+
+    /**
+     * Queues an image for packing. The pixels are copied during
+     * {@link #pack()}, so the caller still owns the image and may free it
+     * afterwards.
+     *
+     * @param name  The name the region will be looked up by.
+     * @param image The image to pack.
+     * @throws IllegalArgumentException If the name is taken or the image is
+     *                                  larger than a page.
+     * @throws IllegalStateException    If the atlas has already been packed.
+     */
+    public void add(String name, Image image) {
+        if (packed) {
+            throw new IllegalStateException("TextureAtlas: Cannot add images after pack().");
+        }
+        if (name == null || image == null) {
+            throw new IllegalArgumentException("TextureAtlas: Invalid image inputs.");
+        }
+        if (image.getWidth() + padding > pageSize || image.getHeight() + padding > pageSize) {
+            throw new IllegalArgumentException("TextureAtlas: " + name + " is larger than a page.");
+        }
+        for (Pending p : pending) {
+            if (p.name.equals(name)) {
+                throw new IllegalArgumentException("TextureAtlas: Duplicate image name: " + name);
+            }
+        }
+
+        pending.add(new Pending(name, image));
+    }
+
+    /**
+     * Lays out every queued image, tallest first, opening a new page whenever
+     * none of the existing ones has room, and copies the pixels in.
+     *
+     * @throws IllegalStateException If the atlas has already been packed.
+     */
+    public void pack() {
+        if (packed) {
+            throw new IllegalStateException("TextureAtlas: pack() called twice.");
+        }
+
+        Collections.sort(pending, PACK_ORDER);
+
+        int[] position = new int[2];
+        for (Pending p : pending) {
+            int width = p.image.getWidth();
+            int height = p.image.getHeight();
+
+            AtlasPage page = null;
+            for (AtlasPage candidate : pages) {
+                if (candidate.getPacker().insert(width + padding, height + padding, position)) {
+                    page = candidate;
+                    break;
+                }
+            }
+            if (page == null) {
+                page = new AtlasPage(pages.size(), pageSize);
+                pages.add(page);
+                page.getPacker().insert(width + padding, height + padding, position);
+            }
+
+            page.getImage().blit(p.image, position[0], position[1]);
+            regions.put(p.name, new AtlasRegion(p.name, page, position[0], position[1],
+                    width, height));
+        }
+
+        pending.clear();
+        packed = true;
+    }
+
+    /**
+     * Uploads every page as a GL texture. Needs a current GL context.
+     *
+     * @throws IllegalStateException If the atlas has not been packed.
+     */
+    public void upload() {
+        if (!packed) {
+            throw new IllegalStateException("TextureAtlas: pack() must be called before upload().");
+        }
+
+        for (AtlasPage page : pages) {
+            if (page.getTextureId() == 0) {
+                page.setTextureId(TextureUtils.createTexture(page.getImage()));
+            }
+        }
+    }
+
+    /**
+     * @param name The name given to {@link #add}.
+     * @return The packed region.
+     * @throws IllegalArgumentException If there is no region by that name.
+     */
+    public AtlasRegion getRegion(String name) {
+        AtlasRegion region = regions.get(name);
+        if (region == null) {
+            throw new IllegalArgumentException("TextureAtlas: No region named " + name);
+        }
+        return region;
+    }
+
+    /**
+     * @return The packed pages, in the order they were opened.
+     */
+    public List<AtlasPage> getPages() {
+        return Collections.unmodifiableList(pages);
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Deletes the GL textures of every uploaded page and frees the page
+     * images. Regions keep their coordinates, but the pages can no longer be
+     * read or uploaded.
+     */
+    public void dispose() {
+        for (AtlasPage page : pages) {
+            if (page.getTextureId() != 0) {
+                TextureUtils.deleteTexture(page.getTextureId());
+                page.setTextureId(0);
+            }
+            page.getImage().free();
+        }
+    }
+
+    private static final class Pending {
+        final String name;
+        final Image image;
+
+        Pending(String name, Image image) {
+            this.name = name;
+            this.image = image;
+        }
+    }
+}
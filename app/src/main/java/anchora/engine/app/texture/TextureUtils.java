@@ -0,0 +1,74 @@
+package anchora.engine.app.texture;
+
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL12;
+
+/**
+ * Creates and deletes GL textures from {@link Image}s.
+ */
+public final class TextureUtils {
+
+    private TextureUtils() {
+    }
+
+    /**
+     * Uploads an image as an RGBA8 texture with nearest filtering and clamped
+     * edges, which suits pixel-art sprites packed in an atlas. Needs a current
+     * GL context.
+     *
+     * @param image The image to upload.
+     * @return The texture ID.
+     */
+    public static int createTexture(Image image) {
+        int textureId = GL11.glGenTextures();
+        GL11.glBindTexture(GL11.GL_TEXTURE_2D, textureId);
+
+        GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MIN_FILTER, GL11.GL_NEAREST);
+        GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_MAG_FILTER, GL11.GL_NEAREST);
+        GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_S, GL12.GL_CLAMP_TO_EDGE);
+        GL11.glTexParameteri(GL11.GL_TEXTURE_2D, GL11.GL_TEXTURE_WRAP_T, GL12.GL_CLAMP_TO_EDGE);
+
+        // Rows are tightly packed, which matters for widths not divisible by 4;
+        // the previous alignment is put back for later uploads
+        int alignment = GL11.glGetInteger(GL11.GL_UNPACK_ALIGNMENT);
+        GL11.glPixelStorei(GL11.GL_UNPACK_ALIGNMENT, 1);
+        GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0, GL11.GL_RGBA8, image.getWidth(), image.getHeight(),
+                0, GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, image.getPixels().clear());
+        GL11.glPixelStorei(GL11.GL_UNPACK_ALIGNMENT, alignment);
+
+        GL11.glBindTexture(GL11.GL_TEXTURE_2D, 0);
+        return textureId;
+    }
+
+    /**
+     * Copies a rectangle of an image into the same place in a texture created
+     * from an image of the same size. Needs a current GL context.
+     */
+    public static void updateTexture(int textureId, Image image, int x, int y, int width, int height) {
+        if (x < 0 || y < 0 || width <= 0 || height <= 0
+                || x + width > image.getWidth() || y + height > image.getHeight()) {
+            throw new IllegalArgumentException("TextureUtils: Invalid update region.");
+        }
+
+        GL11.glBindTexture(GL11.GL_TEXTURE_2D, textureId);
+
+        // Read the rectangle straight out of the full image
+        int alignment = GL11.glGetInteger(GL11.GL_UNPACK_ALIGNMENT);
+        GL11.glPixelStorei(GL11.GL_UNPACK_ALIGNMENT, 1);
+        GL11.glPixelStorei(GL11.GL_UNPACK_ROW_LENGTH, image.getWidth());
+        GL11.glPixelStorei(GL11.GL_UNPACK_SKIP_PIXELS, x);
+        GL11.glPixelStorei(GL11.GL_UNPACK_SKIP_ROWS, y);
+        GL11.glTexSubImage2D(GL11.GL_TEXTURE_2D, 0, x, y, width, height,
+                GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, image.getPixels().clear());
+        GL11.glPixelStorei(GL11.GL_UNPACK_ROW_LENGTH, 0);
+        GL11.glPixelStorei(GL11.GL_UNPACK_SKIP_PIXELS, 0);
+        GL11.glPixelStorei(GL11.GL_UNPACK_SKIP_ROWS, 0);
+        GL11.glPixelStorei(GL11.GL_UNPACK_ALIGNMENT, alignment);
+
+        GL11.glBindTexture(GL11.GL_TEXTURE_2D, 0);
+    }
+
+    public static void deleteTexture(int textureId) {
+        GL11.glDeleteTextures(textureId);
+    }
+}
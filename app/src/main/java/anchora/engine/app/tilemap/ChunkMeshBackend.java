@@ -0,0 +1,42 @@
+package anchora.engine.app.tilemap;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * The GL side of a {@link TilemapRenderer}: one static mesh per chunk,
+ * uploaded when the chunk is built and drawn as is until it changes.
+ */
+public interface ChunkMeshBackend {
+
+    /**
+     * @return A handle for a new, empty mesh. Handles of deleted meshes may
+     *         be handed out again.
+     */
+    int create();
+
+    /**
+     * Replaces the mesh's geometry.
+     *
+     * @param mesh     A handle returned by {@link #create()}.
+     * @param vertices The vertex data in {@link ChunkMeshBuilder#FORMAT},
+     *                 flipped and ready to read.
+     * @param indices  The triangle indices, flipped and ready to read.
+     */
+    void upload(int mesh, ByteBuffer vertices, IntBuffer indices);
+
+    /**
+     * Makes the given shader program current for the following draws.
+     */
+    void bindShader(int programId);
+
+    /**
+     * Draws the first {@code indexCount} indices of the mesh.
+     */
+    void draw(int mesh, int indexCount);
+
+    /**
+     * Releases the mesh's GL objects. The handle must not be used afterwards.
+     */
+    void delete(int mesh);
+}
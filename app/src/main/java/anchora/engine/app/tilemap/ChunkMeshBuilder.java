@@ -0,0 +1,120 @@
+package anchora.engine.app.tilemap;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+
+import anchora.engine.app.render.VertexFormat;
+import anchora.engine.app.render.VertexPacking;
+
+/**
+ * Builds the static mesh of one chunk on the CPU, in {@link #FORMAT}: a 2
+ * float position and a packed color, 12 bytes where the float layout takes
+ * 28. Corner offsets come from {@link TileShape}, so a tile costs a few
+ * multiply-adds per vertex and no trig. Empty tiles are skipped, and indices
+ * start at 0 for each chunk.
+ */
+public class ChunkMeshBuilder {
+
+    public static final VertexFormat FORMAT = VertexFormat.POSITION2_PACKED_COLOR;
+
+    private final int[] palette;
+
+    /**
+     * @param palette The RGBA color of each tile ID. Entry {@link TileMap#EMPTY}
+     *                is never read and may be null.
+     * @throws IllegalArgumentException If the palette is null or a color does
+     *                                  not have four components.
+     */
+    public ChunkMeshBuilder(float[][] palette) {
+        if (palette == null) {
+            throw new IllegalArgumentException("ChunkMeshBuilder: Invalid palette.");
+        }
+        for (int id = 0; id < palette.length; id++) {
+            if (id != TileMap.EMPTY && (palette[id] == null || palette[id].length != 4)) {
+                throw new IllegalArgumentException("ChunkMeshBuilder: Invalid color for tile " + id);
+            }
+        }
+
+        // Packed once here instead of per vertex
+        this.palette = new int[palette.length];
+        for (int id = 0; id < palette.length; id++) {
+            if (id != TileMap.EMPTY) {
+                this.palette[id] = VertexPacking.packColor(palette[id]);
+            }
+        }
+    }
+
+    /**
+     * @return The number of vertex bytes a full chunk of the map can need.
+     */
+    public static int maxVertexBytes(TileMap map) {
+        return map.getChunkSize() * map.getChunkSize()
+                * map.getShape().getCornerCount() * FORMAT.getStride();
+    }
+
+    /**
+     * @return The number of indices a full chunk of the map can need.
+     */
+    public static int maxIndices(TileMap map) {
+        return map.getChunkSize() * map.getChunkSize() * map.getShape().getIndexCount();
+    }
+
+    /**
+     * Appends the chunk's geometry at the buffers' positions.
+     *
+     * @param vertices Receives the vertices in native byte order, with room
+     *                 for {@link #maxVertexBytes(TileMap)} bytes.
+     * @param indices  Receives the indices, with room for
+     *                 {@link #maxIndices(TileMap)} ints.
+     * @return The number of indices written.
+     * @throws IllegalArgumentException If a buffer is too small or a tile has
+     *                                  no palette entry.
+     */
+    public int build(TileMap map, int chunkX, int chunkY, ByteBuffer vertices, IntBuffer indices) {
+        map.chunkIndex(chunkX, chunkY);
+        if (vertices.remaining() < maxVertexBytes(map) || indices.remaining() < maxIndices(map)) {
+            throw new IllegalArgumentException("ChunkMeshBuilder: Buffers too small for a chunk.");
+        }
+
+        TileShape shape = map.getShape();
+        float size = map.getTileSize();
+        int corners = shape.getCornerCount();
+        int indexCount = shape.getIndexCount();
+
+        int x0 = chunkX * map.getChunkSize();
+        int y0 = chunkY * map.getChunkSize();
+        int x1 = Math.min(map.getWidth(), x0 + map.getChunkSize());
+        int y1 = Math.min(map.getHeight(), y0 + map.getChunkSize());
+
+        int vertexCount = 0;
+        int written = 0;
+        for (int y = y0; y < y1; y++) {
+            float centerY = map.tileCenterY(y);
+            for (int x = x0; x < x1; x++) {
+                int tile = map.get(x, y);
+                if (tile == TileMap.EMPTY) {
+                    continue;
+                }
+                if (tile >= palette.length) {
+                    throw new IllegalArgumentException("ChunkMeshBuilder: No color for tile " + tile);
+                }
+
+                int color = palette[tile];
+                float centerX = map.tileCenterX(x, y);
+                for (int c = 0; c < corners; c++) {
+                    vertices.putFloat(centerX + shape.cornerX(c) * size)
+                            .putFloat(centerY + shape.cornerY(c) * size)
+                            .putInt(color);
+                }
+                for (int i = 0; i < indexCount; i++) {
+                    indices.put(vertexCount + shape.index(i));
+                }
+
+                vertexCount += corners;
+                written += indexCount;
+            }
+        }
+
+        return written;
+    }
+}
@@ -0,0 +1,96 @@
+package anchora.engine.app.tilemap;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL15;
+import org.lwjgl.opengl.GL20;
+import org.lwjgl.opengl.GL30;
+
+import anchora.engine.list.IntList;
+
+/**
+ * {@link ChunkMeshBackend} that gives every chunk its own VAO with a
+ * {@code GL_STATIC_DRAW} vertex and element buffer, so an unchanged chunk
+ * costs one bind and one draw call per frame and no uploads. Handles of
+ * deleted meshes are reused by later creates.
+ */
+public class GLChunkMeshBackend implements ChunkMeshBackend {
+
+    // Per handle: the VAO and its two buffers
+    private int[] vaos = new int[64];
+    private int[] vertexBuffers = new int[64];
+    private int[] indexBuffers = new int[64];
+    private int count;
+
+    // Deleted handles, handed out again before the arrays grow
+    private final IntList freeHandles = new IntList();
+
+    @Override
+    public int create() {
+        int handle;
+        if (!freeHandles.isEmpty()) {
+            handle = freeHandles.removeAt(freeHandles.size() - 1);
+        } else {
+            if (count == vaos.length) {
+                vaos = Arrays.copyOf(vaos, count * 2);
+                vertexBuffers = Arrays.copyOf(vertexBuffers, count * 2);
+                indexBuffers = Arrays.copyOf(indexBuffers, count * 2);
+            }
+            handle = count++;
+        }
+
+        int vao = GL30.glGenVertexArrays();
+        GL30.glBindVertexArray(vao);
+        int vertexBuffer = GL15.glGenBuffers();
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, vertexBuffer);
+        int indexBuffer = GL15.glGenBuffers();
+        GL15.glBindBuffer(GL15.GL_ELEMENT_ARRAY_BUFFER, indexBuffer);
+
+        ChunkMeshBuilder.FORMAT.enable(0L);
+        GL30.glBindVertexArray(0);
+
+        vaos[handle] = vao;
+        vertexBuffers[handle] = vertexBuffer;
+        indexBuffers[handle] = indexBuffer;
+        return handle;
+    }
+
+    @Override
+    public void upload(int mesh, ByteBuffer vertices, IntBuffer indices) {
+        // The element buffer binding is VAO state, so bind the VAO first
+        GL30.glBindVertexArray(vaos[mesh]);
+        GL15.glBindBuffer(GL15.GL_ARRAY_BUFFER, vertexBuffers[mesh]);
+        GL15.glBufferData(GL15.GL_ARRAY_BUFFER, vertices, GL15.GL_STATIC_DRAW);
+        GL15.glBindBuffer(GL15.GL_ELEMENT_ARRAY_BUFFER, indexBuffers[mesh]);
+        GL15.glBufferData(GL15.GL_ELEMENT_ARRAY_BUFFER, indices, GL15.GL_STATIC_DRAW);
+    }
+
+    @Override
+    public void bindShader(int programId) {
+        GL20.glUseProgram(programId);
+    }
+
+    @Override
+    public void draw(int mesh, int indexCount) {
+        GL30.glBindVertexArray(vaos[mesh]);
+        GL11.glDrawElements(GL11.GL_TRIANGLES, indexCount, GL11.GL_UNSIGNED_INT, 0L);
+    }
+
+    @Override
+    public void delete(int mesh) {
+        if (vaos[mesh] == 0) {
+            return;
+        }
+
+        GL15.glDeleteBuffers(vertexBuffers[mesh]);
+        GL15.glDeleteBuffers(indexBuffers[mesh]);
+        GL30.glDeleteVertexArrays(vaos[mesh]);
+        vaos[mesh] = 0;
+        vertexBuffers[mesh] = 0;
+        indexBuffers[mesh] = 0;
+        freeHandles.add(mesh);
+    }
+}
@@ -0,0 +1,205 @@
+package anchora.engine.app.tilemap;
+
+import java.util.Arrays;
+
+/**
+ * A rectangular grid of tile IDs split into square chunks of
+ * {@code chunkSize x chunkSize} tiles. Tile {@code (0, 0)} sits at the world
+ * origin and rows grow upwards.
+ *
+ * <p>Every chunk carries a version that is bumped whenever one of its tiles
+ * changes, so renderers can tell which cached meshes are stale without the map
+ * knowing about them.
+ */
+public class TileMap {
+
+    /** The tile ID that is never drawn. */
+    public static final int EMPTY = 0;
+
+    public static final int DEFAULT_CHUNK_SIZE = 32;
+
+    private final TileShape shape;
+    private final int width, height;
+    private final float tileSize;
+    private final int chunkSize;
+    private final int chunksX, chunksY;
+
+    private final int[] tiles;
+    private final int[] chunkVersions;
+
+    public TileMap(TileShape shape, int width, int height, float tileSize) {
+        this(shape, width, height, tileSize, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a map with every tile {@link #EMPTY}.
+     *
+     * @param shape     The tile shape and row layout.
+     * @param width     The number of tiles per row.
+     * @param height    The number of rows.
+     * @param tileSize  The world size of one tile, see {@link TileShape}.
+     * @param chunkSize The number of tiles along each side of a chunk.
+     * @throws IllegalArgumentException If the shape is null or any size is
+     *                                  not positive.
+     */
+    public TileMap(TileShape shape, int width, int height, float tileSize, int chunkSize) {
+        if (shape == null || width <= 0 || height <= 0 || !(tileSize > 0f) || chunkSize <= 0) {
+            throw new IllegalArgumentException("TileMap: Invalid map inputs.");
+        }
+
+        this.shape = shape;
+        this.width = width;
+        this.height = height;
+        this.tileSize = tileSize;
+        this.chunkSize = chunkSize;
+        this.chunksX = (width + chunkSize - 1) / chunkSize;
+        this.chunksY = (height + chunkSize - 1) / chunkSize;
+        this.tiles = new int[Math.multiplyExact(width, height)];
+        this.chunkVersions = new int[chunksX * chunksY];
+    }
+
+    public int get(int x, int y) {
+        checkTile(x, y);
+        return tiles[y * width + x];
+    }
+
+    /**
+     * Sets a tile, marking its chunk dirty if the ID changed.
+     *
+     * @throws IllegalArgumentException If the tile is outside the map or the
+     *                                  ID is negative.
+     */
+    public void set(int x, int y, int tile) {
+        checkTile(x, y);
+        if (tile < 0) {
+            throw new IllegalArgumentException("TileMap: Invalid tile ID: " + tile);
+        }
+
+        int i = y * width + x;
+        if (tiles[i] != tile) {
+            tiles[i] = tile;
+            chunkVersions[(y / chunkSize) * chunksX + x / chunkSize]++;
+        }
+    }
+
+    /**
+     * Sets every tile in a rectangle, clipped to the map, bumping each
+     * touched chunk's version once.
+     */
+    public void fill(int x, int y, int w, int h, int tile) {
+        if (tile < 0) {
+            throw new IllegalArgumentException("TileMap: Invalid tile ID: " + tile);
+        }
+
+        int x0 = Math.max(0, x), y0 = Math.max(0, y);
+        int x1 = Math.min(width, x + w), y1 = Math.min(height, y + h);
+        if (x0 >= x1 || y0 >= y1) {
+            return;
+        }
+
+        for (int row = y0; row < y1; row++) {
+            Arrays.fill(tiles, row * width + x0, row * width + x1, tile);
+        }
+        for (int cy = y0 / chunkSize; cy <= (y1 - 1) / chunkSize; cy++) {
+            for (int cx = x0 / chunkSize; cx <= (x1 - 1) / chunkSize; cx++) {
+                chunkVersions[cy * chunksX + cx]++;
+            }
+        }
+    }
+
+    /**
+     * @return The version of the chunk, which changes whenever one of its
+     *         tiles does.
+     */
+    public int getChunkVersion(int chunkX, int chunkY) {
+        return chunkVersions[chunkIndex(chunkX, chunkY)];
+    }
+
+    /**
+     * @return The chunk's position in row-major order, which renderers can use
+     *         to index their per-chunk state.
+     */
+    public int chunkIndex(int chunkX, int chunkY) {
+        if (chunkX < 0 || chunkY < 0 || chunkX >= chunksX || chunkY >= chunksY) {
+            throw new IllegalArgumentException("TileMap: Chunk out of bounds: " + chunkX + ", " + chunkY);
+        }
+        return chunkY * chunksX + chunkX;
+    }
+
+    public float tileCenterX(int x, int y) {
+        return (x * shape.getColumnSpacing() + ((y & 1) == 1 ? shape.getOddRowShift() : 0f)
+                + shape.getHalfWidth()) * tileSize;
+    }
+
+    public float tileCenterY(int y) {
+        return (y * shape.getRowSpacing() + shape.getHalfHeight()) * tileSize;
+    }
+
+    /**
+     * Finds the chunks that may overlap a world-space rectangle, such as the
+     * camera's view. The range is conservative by at most one chunk on each
+     * side and costs the same whatever the map size.
+     *
+     * @param range Receives the first and last chunk columns and rows, as
+     *              {@code {minX, minY, maxX, maxY}}, inclusive.
+     * @return False if no chunk can be visible, in which case {@code range}
+     *         is left untouched.
+     */
+    public boolean chunkRange(float minX, float minY, float maxX, float maxY, int[] range) {
+        float chunkWidth = chunkSize * shape.getColumnSpacing() * tileSize;
+        float chunkHeight = chunkSize * shape.getRowSpacing() * tileSize;
+
+        // How far the last column or row of a chunk pokes into its neighbour
+        float overhangX = (shape.getOddRowShift() + 2f * shape.getHalfWidth()
+                - shape.getColumnSpacing()) * tileSize;
+        float overhangY = (2f * shape.getHalfHeight() - shape.getRowSpacing()) * tileSize;
+
+        int cxMin = Math.max(0, (int) Math.floor((minX - overhangX) / chunkWidth));
+        int cyMin = Math.max(0, (int) Math.floor((minY - overhangY) / chunkHeight));
+        int cxMax = (int) Math.min(chunksX - 1, Math.floor(maxX / chunkWidth));
+        int cyMax = (int) Math.min(chunksY - 1, Math.floor(maxY / chunkHeight));
+        if (cxMin > cxMax || cyMin > cyMax) {
+            return false;
+        }
+
+        range[0] = cxMin;
+        range[1] = cyMin;
+        range[2] = cxMax;
+        range[3] = cyMax;
+        return true;
+    }
+
+    private void checkTile(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            throw new IllegalArgumentException("TileMap: Tile out of bounds: " + x + ", " + y);
+        }
+    }
+
+    public TileShape getShape() {
+        return shape;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public float getTileSize() {
+        return tileSize;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public int getChunksX() {
+        return chunksX;
+    }
+
+    public int getChunksY() {
+        return chunksY;
+    }
+}
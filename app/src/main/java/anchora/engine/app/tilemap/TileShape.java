@@ -0,0 +1,118 @@
+package anchora.engine.app.tilemap;
+
+import anchora.engine.app.geometry.UnitCircle;
+
+/**
+ * The shape of a single tile and how tiles are laid out in rows. All
+ * measurements are for a tile size of 1 and are scaled by
+ * {@link TileMap#getTileSize()}.
+ */
+public enum TileShape {
+
+    /**
+     * Pointy-top hexagons whose tile size is the center-to-corner radius.
+     * Odd rows are shifted right by half a column, and rows overlap by a
+     * quarter of a hexagon's height.
+     */
+    HEX(hexCorners(), new int[] { 0, 1, 2, 0, 2, 3, 0, 3, 4, 0, 4, 5 },
+            (float) Math.sqrt(3.0), 1.5f, (float) Math.sqrt(3.0) * 0.5f,
+            (float) Math.sqrt(3.0) * 0.5f, 1.0f),
+
+    /**
+     * Axis-aligned squares whose tile size is the side length.
+     */
+    RECT(new float[] { -0.5f, -0.5f, 0.5f, -0.5f, 0.5f, 0.5f, -0.5f, 0.5f },
+            new int[] { 0, 1, 2, 2, 3, 0 },
+            1.0f, 1.0f, 0.0f, 0.5f, 0.5f);
+
+    private final float[] corners;
+    private final int[] indices;
+    private final float columnSpacing, rowSpacing, oddRowShift;
+    private final float halfWidth, halfHeight;
+
+    TileShape(float[] corners, int[] indices, float columnSpacing, float rowSpacing,
+            float oddRowShift, float halfWidth, float halfHeight) {
+        this.corners = corners;
+        this.indices = indices;
+        this.columnSpacing = columnSpacing;
+        this.rowSpacing = rowSpacing;
+        this.oddRowShift = oddRowShift;
+        this.halfWidth = halfWidth;
+        this.halfHeight = halfHeight;
+    }
+
+    /**
+     * The six corners counter-clockwise from the top, taken from the shared
+     * circle table rotated a quarter turn so the hexagon points up.
+     */
+    private static float[] hexCorners() {
+        UnitCircle circle = UnitCircle.of(6);
+        float[] corners = new float[12];
+        for (int i = 0; i < 6; i++) {
+            corners[2 * i] = -circle.sin(i);
+            corners[2 * i + 1] = circle.cos(i);
+        }
+        return corners;
+    }
+
+    public int getCornerCount() {
+        return corners.length / 2;
+    }
+
+    public int getIndexCount() {
+        return indices.length;
+    }
+
+    /**
+     * @param i The corner, from 0 to {@code getCornerCount() - 1}.
+     * @return The corner's x offset from the tile center.
+     */
+    public float cornerX(int i) {
+        return corners[2 * i];
+    }
+
+    /**
+     * @param i The corner, from 0 to {@code getCornerCount() - 1}.
+     * @return The corner's y offset from the tile center.
+     */
+    public float cornerY(int i) {
+        return corners[2 * i + 1];
+    }
+
+    /**
+     * @param i The index, from 0 to {@code getIndexCount() - 1}.
+     * @return The corner used by the {@code i}th triangle index.
+     */
+    public int index(int i) {
+        return indices[i];
+    }
+
+    /**
+     * @return The horizontal distance between neighbouring tile centers.
+     */
+    public float getColumnSpacing() {
+        return columnSpacing;
+    }
+
+    /**
+     * @return The vertical distance between neighbouring rows.
+     */
+    public float getRowSpacing() {
+        return rowSpacing;
+    }
+
+    /**
+     * @return How far odd rows are shifted right.
+     */
+    public float getOddRowShift() {
+        return oddRowShift;
+    }
+
+    public float getHalfWidth() {
+        return halfWidth;
+    }
+
+    public float getHalfHeight() {
+        return halfHeight;
+    }
+}
@@ -0,0 +1,143 @@
+package anchora.engine.app.tilemap;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+import org.lwjgl.BufferUtils;
+
+/**
+ * Draws a {@link TileMap} from per-chunk meshes cached on the GPU. Each frame
+ * only the chunks overlapping the view are visited; a visible chunk is
+ * rebuilt when its version has moved on since it was last uploaded, and is
+ * otherwise drawn as is. Chunks that are never seen are never built, so the
+ * cost of a frame follows the size of the view rather than the map.
+ *
+ * <p>Mesh positions are in world units, so the bound shader is expected to
+ * apply the camera transform.
+ */
+public class TilemapRenderer {
+
+    private static final int NONE = -1;
+
+    private final TileMap map;
+    private final ChunkMeshBackend backend;
+    private final ChunkMeshBuilder builder;
+
+    // Per chunk, in TileMap.chunkIndex order
+    private final int[] meshes;
+    private final int[] builtVersions;
+    private final int[] indexCounts;
+    private final boolean[] built;
+
+    private final ByteBuffer vertices;
+    private final IntBuffer indices;
+    private final int[] range = new int[4];
+
+    private int chunksDrawn, chunksBuilt;
+
+    /**
+     * @throws IllegalArgumentException If any argument is null.
+     */
+    public TilemapRenderer(TileMap map, ChunkMeshBuilder builder, ChunkMeshBackend backend) {
+        if (map == null || builder == null || backend == null) {
+            throw new IllegalArgumentException("TilemapRenderer: Invalid renderer inputs.");
+        }
+
+        this.map = map;
+        this.builder = builder;
+        this.backend = backend;
+
+        int chunks = map.getChunksX() * map.getChunksY();
+        meshes = new int[chunks];
+        Arrays.fill(meshes, NONE);
+        builtVersions = new int[chunks];
+        indexCounts = new int[chunks];
+        built = new boolean[chunks];
+
+        // One chunk's worth of scratch, reused for every rebuild
+        vertices = BufferUtils.createByteBuffer(ChunkMeshBuilder.maxVertexBytes(map));
+        indices = BufferUtils.createIntBuffer(ChunkMeshBuilder.maxIndices(map));
+    }
+
+    /**
+     * Draws every non-empty chunk that may overlap the given world-space
+     * rectangle, rebuilding the stale ones first.
+     *
+     * @param programId The shader program to draw with.
+     * @return The number of chunks drawn.
+     */
+    public int render(int programId, float minX, float minY, float maxX, float maxY) {
+        chunksDrawn = 0;
+        chunksBuilt = 0;
+        if (!map.chunkRange(minX, minY, maxX, maxY, range)) {
+            return 0;
+        }
+
+        backend.bindShader(programId);
+        for (int cy = range[1]; cy <= range[3]; cy++) {
+            for (int cx = range[0]; cx <= range[2]; cx++) {
+                int chunk = map.chunkIndex(cx, cy);
+                int version = map.getChunkVersion(cx, cy);
+                if (!built[chunk] || builtVersions[chunk] != version) {
+                    rebuild(chunk, cx, cy);
+                    builtVersions[chunk] = version;
+                    built[chunk] = true;
+                }
+
+                if (indexCounts[chunk] > 0) {
+                    backend.draw(meshes[chunk], indexCounts[chunk]);
+                    chunksDrawn++;
+                }
+            }
+        }
+
+        return chunksDrawn;
+    }
+
+    private void rebuild(int chunk, int chunkX, int chunkY) {
+        vertices.clear();
+        indices.clear();
+        int count = builder.build(map, chunkX, chunkY, vertices, indices);
+        indexCounts[chunk] = count;
+        chunksBuilt++;
+
+        // Chunks that turned empty keep their mesh in case they fill up again
+        if (count == 0) {
+            return;
+        }
+        if (meshes[chunk] == NONE) {
+            meshes[chunk] = backend.create();
+        }
+        vertices.flip();
+        indices.flip();
+        backend.upload(meshes[chunk], vertices, indices);
+    }
+
+    /**
+     * @return The number of chunks drawn by the last {@link #render} call.
+     */
+    public int getChunksDrawn() {
+        return chunksDrawn;
+    }
+
+    /**
+     * @return The number of chunks rebuilt by the last {@link #render} call.
+     */
+    public int getChunksBuilt() {
+        return chunksBuilt;
+    }
+
+    /**
+     * Deletes every cached mesh.
+     */
+    public void dispose() {
+        for (int chunk = 0; chunk < meshes.length; chunk++) {
+            if (meshes[chunk] != NONE) {
+                backend.delete(meshes[chunk]);
+                meshes[chunk] = NONE;
+            }
+            built[chunk] = false;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+#version 330 core
+layout (location = 0) in vec3 aPos;
+layout (location = 1) in vec4 aColor;
+
+// Per instance: a 2x3 affine transform as three columns, then a tint
+layout (location = 2) in vec2 iAxisX;
+layout (location = 3) in vec2 iAxisY;
+layout (location = 4) in vec2 iOffset;
+layout (location = 5) in vec4 iColor;
+
+layout (std140) uniform Camera {
+    mat4 uViewProjection;
+};
+
+out vec4 vertexColor;
+
+void main() {
+    vec2 world = iAxisX * aPos.x + iAxisY * aPos.y + iOffset;
+    gl_Position = uViewProjection * vec4(world, aPos.z, 1.0);
+    vertexColor = aColor * iColor;
+}
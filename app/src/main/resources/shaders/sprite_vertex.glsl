@@ -0,0 +1,17 @@
+#version 330 core
+layout (location = 0) in vec3 aPos;
+layout (location = 1) in vec4 aColor;
+layout (location = 2) in vec2 aTexCoord;
+
+layout (std140) uniform Camera {
+    mat4 uViewProjection;
+};
+
+out vec4 vertexColor;
+out vec2 texCoord;
+
+void main() {
+    gl_Position = uViewProjection * vec4(aPos, 1.0);
+    vertexColor = aColor;
+    texCoord = aTexCoord;
+}
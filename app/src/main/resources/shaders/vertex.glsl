@@ -2,9 +2,13 @@
 layout (location = 0) in vec3 aPos;
 layout (location = 1) in vec4 aColor;
 
+layout (std140) uniform Camera {
+    mat4 uViewProjection;
+};
+
 out vec4 vertexColor;
 
 void main() {
-    gl_Position = vec4(aPos, 1.0);
+    gl_Position = uViewProjection * vec4(aPos, 1.0);
     vertexColor = aColor;
 }
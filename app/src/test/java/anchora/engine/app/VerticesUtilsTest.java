@@ -0,0 +1,130 @@
+package anchora.engine.app;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.FloatBuffer;
+
+import org.junit.jupiter.api.Test;
+import org.lwjgl.BufferUtils;
+
+import anchora.engine.app.render.StagingArena;
+import anchora.engine.utilities.AllocationProbe;
+
+class VerticesUtilsTest {
+
+    private static final int STRIDE = VerticesUtils.SINGLE_VERTEX_ARRAY_LENGTH;
+    private static final float[] COLOR = { 0.25f, 0.5f, 0.75f, 1.0f };
+
+    @Test void testBufferFormMatchesArrayForm() {
+        FloatBuffer dst = BufferUtils.createFloatBuffer(2000 * STRIDE);
+
+        assertPositionsMatch(VerticesUtils.generateHexagon(12, 40, 50, STRIDE), dst,
+                VerticesUtils.generateHexagon(dst, 3, 12, 40, 50, COLOR));
+        assertPositionsMatch(VerticesUtils.generateRectangle(1, 2, 30, 40, STRIDE), dst,
+                VerticesUtils.generateRectangle(dst, 3, 1, 2, 30, 40, COLOR));
+        assertPositionsMatch(VerticesUtils.generateTriangle(1, 2, 3, 4, 5, 6, STRIDE), dst,
+                VerticesUtils.generateTriangle(dst, 3, 1, 2, 3, 4, 5, 6, COLOR));
+        assertPositionsMatch(VerticesUtils.generateCircle(100, 100, 30, STRIDE), dst,
+                VerticesUtils.generateCircle(dst, 3, 100, 100, 30, COLOR));
+        assertPositionsMatch(VerticesUtils.generatePolygon(100, 100, 30, 7, STRIDE), dst,
+                VerticesUtils.generatePolygon(dst, 3, 100, 100, 30, 7, COLOR));
+        assertPositionsMatch(VerticesUtils.generateLine(1, 2, 3, 4, 2, COLOR), dst,
+                VerticesUtils.generateLine(dst, 3, 1, 2, 3, 4, 2, COLOR));
+        assertPositionsMatch(VerticesUtils.generateVerticies(COLOR, 5), dst,
+                VerticesUtils.generateVerticies(dst, 3, COLOR, 5));
+    }
+
+    @Test void testLineFollowsItsDirection() {
+        // A diagonal line: corners lineWidth to either side, at right angles
+        float[] line = VerticesUtils.generateLine(0, 0, 3, 4, 2, COLOR);
+        float[] expected = {
+                1.6f, -1.2f,
+                4.6f, 2.8f,
+                1.4f, 5.2f,
+                -1.6f, 1.2f
+        };
+        for (int v = 0; v < 4; v++) {
+            assertEquals(expected[v * 2], line[v * STRIDE], 1e-5f, "x of vertex " + v);
+            assertEquals(expected[v * 2 + 1], line[v * STRIDE + 1], 1e-5f, "y of vertex " + v);
+            assertEquals(COLOR[3], line[v * STRIDE + 6]);
+        }
+
+        // The quad is twice lineWidth across, as it always was
+        float acrossX = line[3 * STRIDE] - line[0];
+        float acrossY = line[3 * STRIDE + 1] - line[1];
+        assertEquals(4f, (float) Math.sqrt(acrossX * acrossX + acrossY * acrossY), 1e-5f);
+
+        // A point still has a width
+        float[] point = VerticesUtils.generateLine(5, 5, 5, 5, 2, COLOR);
+        assertEquals(3f, point[1]);
+        assertEquals(7f, point[3 * STRIDE + 1]);
+    }
+
+    @Test void testBufferFormWritesColorAndLeavesBufferState() {
+        FloatBuffer dst = BufferUtils.createFloatBuffer(10 * STRIDE);
+        dst.position(2);
+
+        int written = VerticesUtils.generateTriangle(dst, STRIDE, 1, 2, 3, 4, 5, 6, COLOR);
+
+        assertEquals(3 * STRIDE, written);
+        assertEquals(2, dst.position());
+        assertEquals(dst.capacity(), dst.limit());
+        assertEquals(0.0f, dst.get(0));
+        for (int v = 1; v <= 3; v++) {
+            assertEquals(0.0f, dst.get(v * STRIDE + 2));
+            for (int c = 0; c < 4; c++) {
+                assertEquals(COLOR[c], dst.get(v * STRIDE + 3 + c));
+            }
+        }
+    }
+
+    @Test void testBufferFormRejectsSmallDestination() {
+        FloatBuffer dst = BufferUtils.createFloatBuffer(6 * STRIDE);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> VerticesUtils.generateHexagon(dst, 1, 10, 0, 0, COLOR));
+        assertThrows(IllegalArgumentException.class,
+                () -> VerticesUtils.generateHexagon(dst, 0, 10, 0, 0, new float[3]));
+    }
+
+    @Test void testFrameGenerationDoesNotAllocate() {
+        StagingArena arena = new StagingArena(1);
+
+        // The first frames grow the arena to its steady-state size
+        for (int frame = 0; frame < 20; frame++) {
+            buildFrame(arena);
+        }
+
+        long before = AllocationProbe.allocatedBytes();
+        for (int frame = 0; frame < 200; frame++) {
+            buildFrame(arena);
+        }
+        long allocated = AllocationProbe.allocatedBytes() - before;
+
+        // Leave room for the allocation probe itself
+        assertTrue(allocated < 1024, "Frame generation allocated " + allocated + " bytes");
+    }
+
+    private static void buildFrame(StagingArena arena) {
+        arena.reset();
+        for (int i = 0; i < 100; i++) {
+            int offset = arena.allocate(6 * STRIDE);
+            VerticesUtils.generateHexagon(arena.buffer(), offset, 10, i, i, COLOR);
+            offset = arena.allocate(4 * STRIDE);
+            VerticesUtils.generateRectangle(arena.buffer(), offset, i, i, 5, 5, COLOR);
+            offset = arena.allocate(16 * STRIDE);
+            VerticesUtils.generatePolygon(arena.buffer(), offset, i, i, 8, 16, COLOR);
+        }
+    }
+
+    private static void assertPositionsMatch(float[] expected, FloatBuffer dst, int written) {
+        assertEquals(expected.length, written);
+        for (int i = 0; i < expected.length; i += STRIDE) {
+            assertArrayEquals(new float[] { expected[i], expected[i + 1] },
+                    new float[] { dst.get(3 + i), dst.get(3 + i + 1) });
+        }
+    }
+}
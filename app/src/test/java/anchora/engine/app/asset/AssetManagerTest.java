@@ -0,0 +1,309 @@
+package anchora.engine.app.asset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import anchora.engine.app.loop.Clock;
+import anchora.engine.app.shader.ProgramBinary;
+import anchora.engine.app.shader.ProgramBinaryCache;
+import anchora.engine.app.shader.ShaderBackend;
+import anchora.engine.app.shader.ShaderManager;
+import anchora.engine.app.shader.ShaderProgram;
+import anchora.engine.app.texture.Image;
+
+class AssetManagerTest {
+
+    /**
+     * A clock that only moves when told to, so upload budgets are exact.
+     */
+    static class ManualClock implements Clock {
+        long now;
+
+        @Override
+        public long nanoTime() {
+            return now;
+        }
+
+        @Override
+        public void sleepUntil(long deadline) {
+            now = Math.max(now, deadline);
+        }
+    }
+
+    /**
+     * Decodes text and "uploads" it on the render thread, recording the order
+     * and advancing the clock by a fixed cost per upload.
+     */
+    static class RecordingLoader implements AssetLoader<String, String> {
+        final List<String> uploaded = new ArrayList<>();
+        final AtomicInteger decodes = new AtomicInteger();
+        ManualClock clock;
+        long uploadCost;
+
+        @Override
+        public String decode(String path, ByteBuffer data) {
+            decodes.incrementAndGet();
+            return StandardCharsets.UTF_8.decode(data).toString();
+        }
+
+        @Override
+        public String upload(String decoded) {
+            uploaded.add(decoded);
+            if (clock != null) {
+                clock.now += uploadCost;
+            }
+            return decoded.toUpperCase();
+        }
+    }
+
+    /**
+     * Compiles every program to a new ID and never keeps binaries.
+     */
+    static class CountingShaderBackend implements ShaderBackend {
+        int compiled;
+
+        @Override
+        public boolean supportsBinaries() {
+            return false;
+        }
+
+        @Override
+        public String driverFingerprint() {
+            return "counting driver";
+        }
+
+        @Override
+        public int compile(String vertexSource, String fragmentSource, String name) {
+            return ++compiled;
+        }
+
+        @Override
+        public int loadBinary(ProgramBinary binary) {
+            return 0;
+        }
+
+        @Override
+        public ProgramBinary getBinary(int programId) {
+            return null;
+        }
+
+        @Override
+        public void queryLocations(int programId, Map<String, Integer> uniforms,
+                Map<String, Integer> attributes) {
+        }
+
+        @Override
+        public void deleteProgram(int programId) {
+        }
+    }
+
+    private static AssetManager directManager(Path root, Clock clock) {
+        // Runs the worker steps inline, so tests see them finish immediately
+        return new AssetManager(AssetSource.directory(root), Runnable::run, clock);
+    }
+
+    private static void write(Path root, String name, String text) throws IOException {
+        Files.write(root.resolve(name), text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test void testDirectorySourceMapsFiles(@TempDir Path root) throws IOException {
+        write(root, "hello.txt", "hello");
+
+        ByteBuffer data = AssetSource.directory(root).open("hello.txt");
+        assertTrue(data instanceof MappedByteBuffer);
+        assertTrue(data.isDirect());
+        assertEquals(5, data.remaining());
+        assertThrows(IOException.class, () -> AssetSource.directory(root).open("missing.txt"));
+    }
+
+    @Test void testWorkerOnlyLoadsCompleteWithoutUploads(@TempDir Path root) throws IOException {
+        write(root, "a.glsl", "void main() { }");
+        AssetManager assets = directManager(root, new ManualClock());
+
+        CompletableFuture<String> text = assets.load("a.glsl", new TextLoader());
+        assertTrue(text.isDone());
+        assertEquals("void main() { }", text.join());
+        assertEquals(0, assets.processUploads(0L));
+    }
+
+    @Test void testRenderThreadStepWaitsForProcessUploads(@TempDir Path root) throws IOException {
+        write(root, "a.txt", "a");
+        AssetManager assets = directManager(root, new ManualClock());
+        RecordingLoader loader = new RecordingLoader();
+
+        CompletableFuture<String> asset = assets.load("a.txt", loader);
+        assertEquals(1, loader.decodes.get());
+        assertFalse(asset.isDone());
+        assertFalse(assets.isIdle());
+        assertEquals(0f, assets.getProgress());
+
+        assertEquals(1, assets.processUploads(1_000_000L));
+        assertEquals("A", asset.join());
+        assertTrue(assets.isIdle());
+        assertEquals(1f, assets.getProgress());
+    }
+
+    @Test void testUploadBudget(@TempDir Path root) throws IOException {
+        ManualClock clock = new ManualClock();
+        AssetManager assets = directManager(root, clock);
+        RecordingLoader loader = new RecordingLoader();
+        loader.clock = clock;
+        loader.uploadCost = 1_000_000L;
+
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            write(root, i + ".txt", "asset " + i);
+            futures.add(assets.load(i + ".txt", loader));
+        }
+
+        // Two 1 ms uploads fit a 2 ms budget, and uploads keep their order
+        assertEquals(2, assets.processUploads(2_000_000L));
+        assertEquals(List.of("asset 0", "asset 1"), loader.uploaded);
+        assertEquals(0.4f, assets.getProgress(), 1e-6f);
+
+        // A budget smaller than one upload still makes progress
+        assertEquals(1, assets.processUploads(0L));
+        assertEquals(2, assets.processUploads(10_000_000L));
+        assertEquals(5, assets.getFinishedCount());
+        assertTrue(futures.get(4).isDone());
+    }
+
+    @Test void testSameAssetLoadsOnce(@TempDir Path root) throws IOException {
+        write(root, "a.txt", "a");
+        AssetManager assets = directManager(root, new ManualClock());
+        RecordingLoader loader = new RecordingLoader();
+
+        CompletableFuture<String> first = assets.load("a.txt", loader);
+        CompletableFuture<String> second = assets.load("a.txt", new RecordingLoader());
+        assertSame(first, second);
+        assertEquals(1, loader.decodes.get());
+        assertEquals(1, assets.getRequestedCount());
+
+        // A different loader type is a different asset
+        assertEquals("a", assets.load("a.txt", new TextLoader()).join());
+        assertEquals(2, assets.getRequestedCount());
+    }
+
+    @Test void testFailuresCompleteExceptionally(@TempDir Path root) throws IOException {
+        write(root, "bad.txt", "bad");
+        AssetManager assets = directManager(root, new ManualClock());
+        AssetLoader<String, String> failing = new TextLoader() {
+            @Override
+            public String decode(String path, ByteBuffer data) {
+                throw new IllegalArgumentException("cannot decode " + path);
+            }
+        };
+
+        CompletableFuture<String> missing = assets.load("missing.txt", new TextLoader());
+        CompletableFuture<String> bad = assets.load("bad.txt", failing);
+        assertTrue(missing.isCompletedExceptionally());
+        assertTrue(bad.isCompletedExceptionally());
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> missing.get());
+        assertTrue(e.getCause() instanceof IOException);
+        assertThrows(RuntimeException.class, () -> assets.await(bad));
+
+        // Failed loads still count towards progress
+        assertTrue(assets.isIdle());
+        assertEquals(1f, assets.getProgress());
+    }
+
+    @Test void testFailedLoadsCanBeRetried(@TempDir Path root) throws IOException {
+        AssetManager assets = directManager(root, new ManualClock());
+
+        CompletableFuture<String> missing = assets.load("late.txt", new TextLoader());
+        assertTrue(missing.isCompletedExceptionally());
+
+        // Once the file exists, loading it again starts a new load
+        write(root, "late.txt", "here now");
+        CompletableFuture<String> retried = assets.load("late.txt", new TextLoader());
+        assertNotSame(missing, retried);
+        assertEquals("here now", retried.join());
+        assertSame(retried, assets.load("late.txt", new TextLoader()));
+        assertEquals(2, assets.getRequestedCount());
+        assertTrue(assets.isIdle());
+    }
+
+    @Test void testSameShaderLoadsOnce(@TempDir Path root) throws IOException {
+        write(root, "a.vert", "void main() { }");
+        write(root, "a.frag", "void main() { }");
+        AssetManager assets = directManager(root, new ManualClock());
+        CountingShaderBackend backend = new CountingShaderBackend();
+        ShaderManager shaders = new ShaderManager(backend,
+                new ProgramBinaryCache(root.resolve("cache"), backend.driverFingerprint()));
+
+        CompletableFuture<ShaderProgram> first = assets.loadShader(shaders, "a.vert", "a.frag");
+        CompletableFuture<ShaderProgram> second = assets.loadShader(shaders, "a.vert", "a.frag");
+        assertSame(first, second);
+
+        // Two sources and one program, each counted once
+        assertEquals(3, assets.getRequestedCount());
+        assertEquals(1, assets.processUploads(1_000_000L));
+        assertEquals(1, assets.await(first).getId());
+        assertEquals(1, backend.compiled);
+        assertTrue(assets.isIdle());
+    }
+
+    @Test void testAwaitDrainsUploadsFromWorkers(@TempDir Path root) throws IOException {
+        ExecutorService workers = Executors.newFixedThreadPool(4);
+        try {
+            AssetManager assets = new AssetManager(AssetSource.directory(root), workers, Clock.SYSTEM);
+            List<CompletableFuture<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                write(root, i + ".txt", "asset " + i);
+                futures.add(assets.load(i + ".txt", new RecordingLoader()));
+            }
+
+            for (int i = 0; i < 32; i++) {
+                assertEquals("ASSET " + i, assets.await(futures.get(i)));
+            }
+            assertTrue(assets.isIdle());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    @Test void testImageLoaderFromClasspath() throws Exception {
+        AssetManager assets = new AssetManager(AssetSource.classpath());
+        try {
+            Image image = assets.load("textures/atlas_golden.png", new ImageLoader())
+                    .get(10, TimeUnit.SECONDS);
+            assertEquals(64, image.getWidth());
+            assertEquals(64, image.getHeight());
+            image.free();
+        } finally {
+            assets.dispose();
+        }
+    }
+
+    @Test void testInvalidInputs() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new AssetManager(null, Runnable::run, Clock.SYSTEM));
+        AssetManager assets = new AssetManager(AssetSource.classpath(), Runnable::run, Clock.SYSTEM);
+        assertThrows(IllegalArgumentException.class, () -> assets.load(null, new TextLoader()));
+        assertThrows(IllegalArgumentException.class, () -> assets.load("a.txt", null));
+    }
+}
@@ -0,0 +1,133 @@
+package anchora.engine.app.camera;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.FloatBuffer;
+
+import org.joml.Matrix4f;
+import org.joml.Vector2f;
+import org.joml.Vector3f;
+import org.junit.jupiter.api.Test;
+
+class Camera2DTest {
+
+    private static final float EPSILON = 1e-4f;
+
+    private static Vector3f toClip(Camera2D camera, float x, float y) {
+        return camera.getViewProjection().transformPosition(new Vector3f(x, y, 0f));
+    }
+
+    @Test void testWorldMapsToClipSpace() {
+        Camera2D camera = new Camera2D(800f, 600f);
+        camera.setPosition(400f, 300f);
+
+        // Pixel coordinates fill the viewport, with y up
+        Vector3f corner = toClip(camera, 800f, 600f);
+        assertEquals(1f, corner.x, EPSILON);
+        assertEquals(1f, corner.y, EPSILON);
+        Vector3f origin = toClip(camera, 0f, 0f);
+        assertEquals(-1f, origin.x, EPSILON);
+        assertEquals(-1f, origin.y, EPSILON);
+
+        // Zooming in halves what fits on screen, around the camera position
+        camera.setZoom(2f);
+        Vector3f zoomed = toClip(camera, 600f, 300f);
+        assertEquals(1f, zoomed.x, EPSILON);
+        assertEquals(0f, zoomed.y, EPSILON);
+
+        // A camera turned a quarter left sees the world turned a quarter right
+        camera.setZoom(1f);
+        camera.setRotation((float) (Math.PI / 2));
+        Vector3f rotated = toClip(camera, 400f, 600f);
+        assertEquals(300f / 400f, rotated.x, EPSILON);
+        assertEquals(0f, rotated.y, EPSILON);
+    }
+
+    @Test void testScreenToWorldAndVisibleBounds() {
+        Camera2D camera = new Camera2D(800f, 600f);
+        camera.setPosition(100f, 50f);
+        camera.setZoom(2f);
+
+        Vector2f world = camera.screenToWorld(0f, 0f, new Vector2f());
+        assertEquals(100f - 200f, world.x, EPSILON);
+        assertEquals(50f + 150f, world.y, EPSILON);
+        camera.screenToWorld(400f, 300f, world);
+        assertEquals(100f, world.x, EPSILON);
+        assertEquals(50f, world.y, EPSILON);
+
+        float[] bounds = new float[4];
+        camera.getVisibleBounds(bounds);
+        assertArrayEquals(new float[] { -100f, -100f, 300f, 200f }, bounds, EPSILON);
+
+        // Rotating widens the box to hold the turned view
+        camera.setRotation((float) (Math.PI / 4));
+        camera.getVisibleBounds(bounds);
+        float half = (200f + 150f) / (float) Math.sqrt(2.0);
+        assertArrayEquals(new float[] { 100f - half, 50f - half, 100f + half, 50f + half }, bounds, 0.01f);
+    }
+
+    @Test void testMatricesRebuildOnlyWhenTheirInputsChange() {
+        Camera2D camera = new Camera2D(800f, 600f);
+        Matrix4f viewProjection = camera.getViewProjection();
+        assertFalse(camera.isViewDirty());
+        assertFalse(camera.isProjectionDirty());
+        int version = camera.getVersion();
+
+        // Setting the same values is not a change
+        camera.setPosition(0f, 0f);
+        camera.setZoom(1f);
+        camera.setViewport(800f, 600f);
+        assertEquals(version, camera.getVersion());
+
+        camera.translate(5f, 0f);
+        assertTrue(camera.isViewDirty());
+        assertFalse(camera.isProjectionDirty());
+        assertEquals(version + 1, camera.getVersion());
+        assertSame(viewProjection, camera.getViewProjection());
+        assertFalse(camera.isViewDirty());
+
+        camera.setViewport(1024f, 768f);
+        assertFalse(camera.isViewDirty());
+        assertTrue(camera.isProjectionDirty());
+        assertEquals(version + 2, camera.getVersion());
+        assertEquals(2f / 1024f, camera.getViewProjection().m00(), EPSILON);
+    }
+
+    @Test void testTransformPacksAffineColumns() {
+        Transform2D transform = new Transform2D();
+        int version = transform.getVersion();
+        transform.setPosition(10f, 20f);
+        transform.setRotation((float) (Math.PI / 2));
+        transform.setScale(2f, 3f);
+        assertEquals(version + 3, transform.getVersion());
+        assertTrue(transform.isDirty());
+
+        FloatBuffer packed = FloatBuffer.allocate(2 * Transform2D.FLOATS);
+        transform.put(packed);
+        transform.put(packed);
+        assertEquals(2 * Transform2D.FLOATS, packed.position());
+        assertFalse(transform.isDirty());
+
+        // Scale, then rotate, then translate: (1, 1) -> (2, 3) -> (-3, 2) -> (7, 22)
+        assertArrayEquals(new float[] { 0f, 2f, -3f, 0f, 10f, 20f,
+                0f, 2f, -3f, 0f, 10f, 20f }, packed.array(), EPSILON);
+        Vector2f point = transform.getMatrix().transformPosition(new Vector2f(1f, 1f));
+        assertEquals(7f, point.x, EPSILON);
+        assertEquals(22f, point.y, EPSILON);
+
+        transform.setScale(2f, 3f);
+        assertFalse(transform.isDirty());
+    }
+
+    @Test void testInvalidInputs() {
+        assertThrows(IllegalArgumentException.class, () -> new Camera2D(0f, 600f));
+        Camera2D camera = new Camera2D(1f, 1f);
+        assertThrows(IllegalArgumentException.class, () -> camera.setZoom(0f));
+        assertThrows(IllegalArgumentException.class, () -> camera.setZoom(Float.NaN));
+    }
+}
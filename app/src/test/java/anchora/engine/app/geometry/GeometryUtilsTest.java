@@ -0,0 +1,88 @@
+package anchora.engine.app.geometry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+import org.junit.jupiter.api.Test;
+import org.lwjgl.BufferUtils;
+
+import anchora.engine.app.VerticesUtils;
+
+class GeometryUtilsTest {
+
+    private static final int STRIDE = VerticesUtils.SINGLE_VERTEX_ARRAY_LENGTH;
+    private static final float[] COLOR = { 1.0f, 0.5f, 0.25f, 1.0f };
+
+    @Test void testTablesAreCachedPerSegmentCount() {
+        assertSame(UnitCircle.of(32), UnitCircle.of(32));
+        assertEquals(32, UnitCircle.of(32).segments());
+        assertEquals(1.0f, UnitCircle.of(4).cos(0), 1e-6f);
+        assertEquals(1.0f, UnitCircle.of(4).sin(1), 1e-6f);
+        assertEquals(-1.0f, UnitCircle.of(4).cos(2), 1e-6f);
+        assertThrows(IllegalArgumentException.class, () -> UnitCircle.of(0));
+    }
+
+    @Test void testSegmentCountFollowsRadius() {
+        assertEquals(GeometryUtils.MIN_CIRCLE_SEGMENTS, GeometryUtils.segmentsForRadius(0.1f));
+        assertEquals(GeometryUtils.MIN_CIRCLE_SEGMENTS, GeometryUtils.segmentsForRadius(2));
+        assertEquals(GeometryUtils.MAX_CIRCLE_SEGMENTS, GeometryUtils.segmentsForRadius(1e7f));
+
+        int previous = 0;
+        for (float radius = 1; radius < 5000; radius *= 2) {
+            int segments = GeometryUtils.segmentsForRadius(radius);
+            assertTrue(segments >= previous);
+            previous = segments;
+
+            // The chord error of the chosen count is within tolerance
+            if (segments < GeometryUtils.MAX_CIRCLE_SEGMENTS) {
+                double error = radius * (1 - Math.cos(Math.PI / segments));
+                assertTrue(error <= GeometryUtils.DEFAULT_TOLERANCE + 1e-6);
+            }
+        }
+    }
+
+    @Test void testFanKeepsFloatPrecision() {
+        FloatBuffer vertices = BufferUtils.createFloatBuffer(10 * STRIDE);
+        IntBuffer indices = BufferUtils.createIntBuffer(20);
+
+        GeometryUtils.writeFan(vertices, STRIDE, indices, 2, 5, 10.5f, 20.25f, 2.5f, 4, COLOR);
+
+        assertEquals(10.5f, vertices.get(STRIDE), 1e-6f);
+        assertEquals(20.25f, vertices.get(STRIDE + 1), 1e-6f);
+        assertEquals(13.0f, vertices.get(2 * STRIDE), 1e-5f);
+        assertEquals(20.25f, vertices.get(2 * STRIDE + 1), 1e-5f);
+        assertEquals(10.5f, vertices.get(3 * STRIDE), 1e-5f);
+        assertEquals(22.75f, vertices.get(3 * STRIDE + 1), 1e-5f);
+        for (int c = 0; c < 4; c++) {
+            assertEquals(COLOR[c], vertices.get(5 * STRIDE + 3 + c));
+        }
+
+        int[] expected = { 5, 6, 7, 5, 7, 8, 5, 8, 9, 5, 9, 6 };
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], indices.get(2 + i));
+        }
+    }
+
+    @Test void testFanRejectsSmallBuffers() {
+        FloatBuffer vertices = BufferUtils.createFloatBuffer(4 * STRIDE);
+        IntBuffer indices = BufferUtils.createIntBuffer(12);
+
+        assertThrows(IllegalArgumentException.class, () -> GeometryUtils.writeFan(
+                vertices, 0, indices, 0, 0, 0, 0, 1, 4, COLOR));
+        assertThrows(IllegalArgumentException.class, () -> GeometryUtils.writeFan(
+                vertices, 0, indices, 0, 0, 0, 0, 1, 2, COLOR));
+    }
+
+    @Test void testOutlinesNoLongerTruncate() {
+        float[] hexagon = VerticesUtils.generateHexagon(10, 0.5f, 0.5f, STRIDE);
+
+        assertEquals(10.5f, hexagon[0], 1e-5f);
+        assertEquals(5.5f, hexagon[STRIDE], 1e-5f);
+        assertEquals(0.5f + 10 * (float) Math.sin(Math.PI / 3), hexagon[STRIDE + 1], 1e-5f);
+    }
+}
@@ -0,0 +1,242 @@
+package anchora.engine.app.geometry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import anchora.engine.utilities.AllocationProbe;
+
+class TessellatorTest {
+
+    private static final float[] COLOR = { 1.0f, 0.5f, 0.25f, 1.0f };
+
+    // An L with a notch cut into its long side, counter-clockwise
+    private static final float[] CONCAVE = {
+            0, 0, 6, 0, 6, 2, 4, 2, 3, 1, 2, 2, 2, 6, 0, 6
+    };
+
+    @Test void testFillCoversConcavePolygons() {
+        Tessellator tessellator = new Tessellator();
+        float area = polygonArea(CONCAVE, 8);
+
+        Tessellation out = new Tessellation();
+        assertEquals(6, tessellator.fill(CONCAVE, 8, COLOR, out));
+        assertEquals(8, out.getVertexCount());
+        assertEquals(area, triangleArea(out), 1e-4f);
+        assertCounterClockwise(out);
+
+        // The same outline wound the other way fills the same area
+        float[] reversed = new float[CONCAVE.length];
+        for (int i = 0; i < 8; i++) {
+            reversed[i * 2] = CONCAVE[(7 - i) * 2];
+            reversed[i * 2 + 1] = CONCAVE[(7 - i) * 2 + 1];
+        }
+        out.clear();
+        tessellator.fill(reversed, 8, COLOR, out);
+        assertEquals(area, triangleArea(out), 1e-4f);
+        assertCounterClockwise(out);
+    }
+
+    @Test void testFillCoversAManyPointedStar() {
+        int points = 200;
+        float[] star = new float[points * 2];
+        for (int i = 0; i < points; i++) {
+            double angle = Math.PI * 2 * i / points;
+            float radius = i % 2 == 0 ? 100f : 40f;
+            star[i * 2] = (float) (Math.cos(angle) * radius);
+            star[i * 2 + 1] = (float) (Math.sin(angle) * radius);
+        }
+
+        Tessellation out = new Tessellation();
+        assertEquals(points - 2, new Tessellator().fill(star, points, COLOR, out));
+        assertEquals(polygonArea(star, points), triangleArea(out), 0.5f);
+        assertCounterClockwise(out);
+    }
+
+    @Test void testFillSkipsRepeatsAndEmptyOutlines() {
+        Tessellator tessellator = new Tessellator();
+        Tessellation out = new Tessellation();
+
+        // A square given with a repeated corner and a closing point
+        float[] square = { 0, 0, 1, 0, 1, 0, 1, 1, 0, 1, 0, 0 };
+        assertEquals(2, tessellator.fill(square, 6, COLOR, out));
+        assertEquals(4, out.getVertexCount());
+        assertEquals(1f, triangleArea(out), 1e-6f);
+
+        out.clear();
+        assertEquals(0, tessellator.fill(new float[] { 0, 0, 1, 1, 2, 2 }, 3, COLOR, out));
+        assertEquals(0, out.getVertexCount());
+    }
+
+    @Test void testStrokeMitersJoins() {
+        Tessellation out = new Tessellation();
+        // A right angle: along x, then up
+        float[] corner = { 0, 0, 10, 0, 10, 10 };
+        assertEquals(4, new Tessellator().stroke(corner, 3, false, 2f, LineJoin.MITER, COLOR, out));
+
+        // Two flat ends and one shared miter pair, which meets at the corners
+        // of the outline
+        assertEquals(6, out.getVertexCount());
+        assertVertex(out, 2, 9f, 1f);
+        assertVertex(out, 3, 11f, -1f);
+        assertEquals(2f * 10f + 2f * 10f, triangleArea(out), 1e-4f);
+        assertCounterClockwise(out);
+    }
+
+    @Test void testStrokeBevelsJoins() {
+        Tessellation out = new Tessellation();
+        float[] corner = { 0, 0, 10, 0, 10, 10 };
+        assertEquals(5, new Tessellator().stroke(corner, 3, false, 2f, LineJoin.BEVEL, COLOR, out));
+
+        // The inner corner is shared and the outer one cut off
+        assertEquals(7, out.getVertexCount());
+        assertVertex(out, 2, 9f, 1f);
+        assertVertex(out, 3, 10f, -1f);
+        assertVertex(out, 4, 11f, 0f);
+        assertEquals(2f * 10f + 2f * 10f - 0.5f, triangleArea(out), 1e-4f);
+        assertCounterClockwise(out);
+    }
+
+    @Test void testSharpMitersFallBackToBevels() {
+        Tessellation out = new Tessellation();
+        // A hairpin whose miter would reach far past the corner
+        float[] hairpin = { 0, 0, 100, 0, 0, 5 };
+        new Tessellator().stroke(hairpin, 3, false, 2f, LineJoin.MITER, COLOR, out);
+
+        float limit = 100f + Tessellator.MITER_LIMIT;
+        for (int v = 0; v < out.getVertexCount(); v++) {
+            assertTrue(out.getX(v) <= limit, "Vertex " + v + " at " + out.getX(v));
+        }
+        assertCounterClockwise(out);
+    }
+
+    @Test void testClosedStrokesJoinEveryCorner() {
+        Tessellation out = new Tessellation();
+        float[] square = { 0, 0, 10, 0, 10, 10, 0, 10 };
+        assertEquals(8, new Tessellator().stroke(square, 4, true, 2f, LineJoin.MITER, COLOR, out));
+
+        // A frame from 11 by 11 outside to 9 by 9 inside
+        assertEquals(8, out.getVertexCount());
+        assertEquals(12f * 12f - 8f * 8f, triangleArea(out), 1e-3f);
+        assertCounterClockwise(out);
+
+        // Lines that double back still get both segments
+        out.clear();
+        new Tessellator().stroke(new float[] { 0, 0, 10, 0, 0, 0 }, 3, false, 2f,
+                LineJoin.MITER, COLOR, out);
+        assertEquals(2f * 10f * 2f, triangleArea(out), 1e-4f);
+    }
+
+    @Test void testCacheReusesStaticShapes() {
+        TessellationCache cache = new TessellationCache(2);
+        float[] path = { 0, 0, 10, 0, 10, 10 };
+
+        Tessellation first = cache.stroke(path, 3, false, 2f, LineJoin.MITER, COLOR);
+        assertSame(first, cache.stroke(path.clone(), 3, false, 2f, LineJoin.MITER, COLOR));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        // Any parameter that changes the shape is a different entry
+        assertNotSame(first, cache.stroke(path, 3, false, 3f, LineJoin.MITER, COLOR));
+        assertNotSame(first, cache.stroke(path, 3, false, 2f, LineJoin.BEVEL, COLOR));
+        assertEquals(2, cache.size());
+        assertNotSame(first, cache.stroke(path, 3, false, 2f, LineJoin.MITER, COLOR));
+
+        Tessellation filled = cache.fill(CONCAVE, 8, COLOR);
+        assertSame(filled, cache.fill(CONCAVE, 8, COLOR));
+        assertNotSame(filled, cache.fill(CONCAVE, 8, new float[] { 0, 0, 0, 1 }));
+        assertEquals(2, cache.getHitCount());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test void testRestrokingLongPathsDoesNotAllocate() {
+        // A debug graph with a thousand segments
+        float[] graph = new float[1001 * 2];
+        for (int i = 0; i <= 1000; i++) {
+            graph[i * 2] = i;
+            graph[i * 2 + 1] = (float) Math.sin(i * 0.1) * 50f;
+        }
+        Tessellator tessellator = new Tessellator();
+        Tessellation out = new Tessellation();
+        TessellationCache cache = new TessellationCache();
+
+        // The first frames grow the scratch arrays and fill the cache
+        for (int frame = 0; frame < 20; frame++) {
+            out.clear();
+            tessellator.stroke(graph, 1001, false, 1.5f, LineJoin.MITER, COLOR, out);
+            cache.fill(CONCAVE, 8, COLOR);
+        }
+
+        long before = AllocationProbe.allocatedBytes();
+        for (int frame = 0; frame < 200; frame++) {
+            out.clear();
+            tessellator.stroke(graph, 1001, false, 1.5f, LineJoin.MITER, COLOR, out);
+            cache.fill(CONCAVE, 8, COLOR);
+        }
+        long allocated = AllocationProbe.allocatedBytes() - before;
+
+        // Leave room for the allocation probe itself
+        assertTrue(allocated < 1024, "Stroking allocated " + allocated + " bytes");
+        assertEquals(2000 * 3, out.getIndexCount());
+    }
+
+    @Test void testInvalidInputs() {
+        Tessellator tessellator = new Tessellator();
+        Tessellation out = new Tessellation();
+        float[] line = { 0, 0, 1, 1 };
+
+        assertThrows(IllegalArgumentException.class, () -> tessellator.fill(line, 2, COLOR, out));
+        assertThrows(IllegalArgumentException.class, () -> tessellator.fill(line, 3, COLOR, out));
+        assertThrows(IllegalArgumentException.class,
+                () -> tessellator.stroke(line, 2, false, 0f, LineJoin.MITER, COLOR, out));
+        assertThrows(IllegalArgumentException.class,
+                () -> tessellator.stroke(line, 2, false, 1f, null, COLOR, out));
+        assertThrows(IllegalArgumentException.class,
+                () -> tessellator.stroke(line, 2, false, 1f, LineJoin.MITER, new float[3], out));
+        assertThrows(IllegalArgumentException.class,
+                () -> tessellator.stroke(line, 2, false, 1f, LineJoin.MITER, COLOR, null));
+        assertThrows(IllegalArgumentException.class, () -> new Tessellation(0));
+        assertThrows(IllegalArgumentException.class, () -> new TessellationCache(0));
+    }
+
+    private static void assertVertex(Tessellation out, int vertex, float x, float y) {
+        assertEquals(x, out.getX(vertex), 1e-5f, "x of vertex " + vertex);
+        assertEquals(y, out.getY(vertex), 1e-5f, "y of vertex " + vertex);
+    }
+
+    private static void assertCounterClockwise(Tessellation out) {
+        int[] indices = out.getIndices();
+        for (int i = 0; i < out.getIndexCount(); i += 3) {
+            assertTrue(signedArea(out, indices[i], indices[i + 1], indices[i + 2]) >= 0f,
+                    "Triangle " + i / 3 + " is clockwise");
+        }
+    }
+
+    private static float triangleArea(Tessellation out) {
+        int[] indices = out.getIndices();
+        float area = 0f;
+        for (int i = 0; i < out.getIndexCount(); i += 3) {
+            area += signedArea(out, indices[i], indices[i + 1], indices[i + 2]);
+        }
+        return area;
+    }
+
+    private static float signedArea(Tessellation out, int a, int b, int c) {
+        float ax = out.getX(a), ay = out.getY(a);
+        return ((out.getX(b) - ax) * (out.getY(c) - ay) - (out.getY(b) - ay) * (out.getX(c) - ax)) / 2f;
+    }
+
+    private static float polygonArea(float[] points, int count) {
+        float area = 0f;
+        for (int i = 0, j = count - 1; i < count; j = i++) {
+            area += points[j * 2] * points[i * 2 + 1] - points[i * 2] * points[j * 2 + 1];
+        }
+        return Math.abs(area) / 2f;
+    }
+}
@@ -0,0 +1,183 @@
+package anchora.engine.app.loop;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class FixedStepLoopTest {
+
+    private static final long TICK = 1_000_000_000L / 60;
+
+    static class ManualClock implements Clock {
+        long now;
+
+        @Override
+        public long nanoTime() {
+            return now;
+        }
+
+        @Override
+        public void sleepUntil(long deadlineNanos) {
+            now = Math.max(now, deadlineNanos);
+        }
+    }
+
+    /** A point moving at a constant speed, plus the number of updates seen. */
+    static class MovingPoint implements Simulation<double[]> {
+        double x;
+        int updates;
+
+        @Override
+        public double[] createState() {
+            return new double[2];
+        }
+
+        @Override
+        public void update(double tickSeconds) {
+            x += 60 * tickSeconds;
+            updates++;
+        }
+
+        @Override
+        public void writeState(double[] target) {
+            target[0] = x;
+            target[1] = updates;
+        }
+    }
+
+    @Test void testTicksFollowTheClockDeterministically() {
+        for (int run = 0; run < 2; run++) {
+            ManualClock clock = new ManualClock();
+            MovingPoint point = new MovingPoint();
+            FixedStepLoop<double[]> loop = new FixedStepLoop<>(point, clock, 60);
+
+            assertEquals(0, loop.advanceTo(TICK - 1));
+            assertNull(loop.latest());
+
+            assertEquals(1, loop.advanceTo(TICK));
+            assertEquals(0, loop.advanceTo(TICK + TICK / 2));
+            assertEquals(2, loop.advanceTo(3 * TICK + 5));
+
+            Snapshot<double[]> snapshot = loop.latest();
+            assertEquals(3, snapshot.tick());
+            assertEquals(3 * TICK, snapshot.timeNanos());
+            assertEquals(2.0, snapshot.previous()[0], 1e-3);
+            assertEquals(3.0, snapshot.current()[0], 1e-3);
+            assertEquals(3.0, snapshot.current()[1], 0.0);
+        }
+    }
+
+    @Test void testCatchUpIsBounded() {
+        ManualClock clock = new ManualClock();
+        MovingPoint point = new MovingPoint();
+        FixedStepLoop<double[]> loop = new FixedStepLoop<>(point, clock, 60, 4);
+
+        assertEquals(4, loop.advanceTo(100 * TICK));
+        assertEquals(96, loop.getDroppedTicks());
+        assertEquals(4, point.updates);
+
+        // The schedule restarts from now instead of replaying the hitch
+        assertEquals(0, loop.advanceTo(100 * TICK + TICK / 2));
+        assertEquals(1, loop.advanceTo(101 * TICK));
+    }
+
+    @Test void testAlphaInterpolatesOneTickBehind() {
+        ManualClock clock = new ManualClock();
+        FixedStepLoop<double[]> loop = new FixedStepLoop<>(new MovingPoint(), clock, 60);
+        loop.advanceTo(TICK);
+        Snapshot<double[]> snapshot = loop.latest();
+
+        assertEquals(0.0f, loop.alpha(snapshot, TICK), 1e-6f);
+        assertEquals(0.5f, loop.alpha(snapshot, TICK + TICK / 2), 1e-3f);
+        assertEquals(1.0f, loop.alpha(snapshot, 5 * TICK), 1e-6f);
+        assertEquals(0.0f, loop.alpha(snapshot, 0), 1e-6f);
+
+        clock.now = TICK + TICK / 4;
+        float[] seen = new float[3];
+        assertTrue(loop.render(null, (batch, previous, current, alpha) -> {
+            seen[0] = (float) previous[0];
+            seen[1] = (float) current[0];
+            seen[2] = alpha;
+        }));
+        assertEquals(0.0f, seen[0], 1e-6f);
+        assertEquals(1.0f, seen[1], 1e-3f);
+        assertEquals(0.25f, seen[2], 1e-3f);
+    }
+
+    @Test void testTripleBufferKeepsAcquiredSlotStable() {
+        TripleBuffer<int[]> buffer = new TripleBuffer<>(() -> new int[1]);
+        assertNull(buffer.acquire());
+
+        buffer.back()[0] = 1;
+        buffer.publish();
+        int[] front = buffer.acquire();
+        assertEquals(1, front[0]);
+
+        // Writing twice more never touches the slot the reader holds
+        buffer.back()[0] = 2;
+        buffer.publish();
+        buffer.back()[0] = 3;
+        buffer.publish();
+        assertEquals(1, front[0]);
+
+        assertEquals(3, buffer.acquire()[0]);
+        assertSame(buffer.acquire(), buffer.acquire());
+    }
+
+    @Test void testTripleBufferUnderContention() throws InterruptedException {
+        TripleBuffer<long[]> buffer = new TripleBuffer<>(() -> new long[2]);
+        long writes = 2_000_000;
+
+        Thread writer = new Thread(() -> {
+            for (long i = 1; i <= writes; i++) {
+                long[] slot = buffer.back();
+                slot[0] = i;
+                slot[1] = -i;
+                buffer.publish();
+            }
+        });
+        writer.start();
+
+        long last = 0;
+        boolean torn = false;
+        boolean backwards = false;
+        while (last < writes) {
+            long[] slot = buffer.acquire();
+            if (slot == null) {
+                continue;
+            }
+            torn |= slot[0] != -slot[1];
+            backwards |= slot[0] < last;
+            last = slot[0];
+        }
+        writer.join();
+
+        assertFalse(torn, "Reader saw a half-written slot");
+        assertFalse(backwards, "Reader saw an older slot after a newer one");
+    }
+
+    @Test void testUpdateThreadDeliversTicks() throws InterruptedException {
+        MovingPoint point = new MovingPoint();
+        FixedStepLoop<double[]> loop = new FixedStepLoop<>(point, Clock.SYSTEM, 1000);
+
+        loop.start();
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        Snapshot<double[]> snapshot = null;
+        while (System.nanoTime() < deadline) {
+            snapshot = loop.latest();
+            if (snapshot != null && snapshot.tick() >= 20) {
+                break;
+            }
+            Thread.sleep(1);
+        }
+        loop.stop();
+
+        assertFalse(loop.isRunning());
+        assertTrue(snapshot != null && snapshot.tick() >= 20);
+        assertEquals(snapshot.tick(), (long) snapshot.current()[1]);
+    }
+}
@@ -0,0 +1,277 @@
+package anchora.engine.app.mesh;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MeshFileTest {
+
+    private static final int FLOATS = MeshFile.FORMAT.getFloatCount();
+    private static final float[] IDENTITY = {
+            1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1
+    };
+
+    /**
+     * Records uploads and draws, keeping the buffers it was handed so the
+     * tests can check they are the file's own bytes.
+     */
+    static class RecordingMeshBackend implements MeshBackend {
+        final List<ByteBuffer> vertexUploads = new ArrayList<>();
+        final List<ByteBuffer> indexUploads = new ArrayList<>();
+        final List<String> calls = new ArrayList<>();
+
+        @Override
+        public int upload(ByteBuffer vertices, ByteBuffer indices, int indexSize) {
+            vertexUploads.add(vertices);
+            indexUploads.add(indices);
+            calls.add("upload " + vertices.remaining() + " " + indices.remaining() + " " + indexSize);
+            return vertexUploads.size() - 1;
+        }
+
+        @Override
+        public void bindShader(int programId) {
+            calls.add("shader " + programId);
+        }
+
+        @Override
+        public void draw(int mesh, int indexCount) {
+            calls.add("draw " + mesh + " " + indexCount);
+        }
+
+        @Override
+        public void delete(int mesh) {
+            calls.add("delete " + mesh);
+        }
+    }
+
+    @Test void testRoundTripThroughAFile(@TempDir Path root) {
+        MeshData quad = quad("quad", 0f);
+        MeshData large = grid("large", 300);
+        float[] moved = IDENTITY.clone();
+        moved[12] = 5f;
+        List<MeshNode> nodes = List.of(
+                new MeshNode("root", MeshNode.NO_PARENT, IDENTITY, new int[0]),
+                new MeshNode("k\u00f6rper", 0, moved, new int[] { 0, 1 }),
+                new MeshNode("", 1, IDENTITY, new int[] { 0 }));
+
+        Path file = root.resolve("scenes/test" + MeshConverter.EXTENSION);
+        MeshFileWriter.write(file, List.of(quad, large), nodes);
+        MeshFile read = MeshFile.open(file);
+
+        assertEquals(2, read.getMeshCount());
+        assertMeshEquals(quad, read.getMesh(0));
+        assertMeshEquals(large, read.getMesh(1));
+        assertEquals(2, read.getMesh(0).getIndexSize());
+        assertEquals(4, read.getMesh(1).getIndexSize());
+        assertArrayEquals(new float[] { 0, 0, 0, 1, 1, 0 }, read.getMesh(0).getBounds());
+
+        List<MeshNode> readNodes = read.getNodes();
+        assertEquals(3, readNodes.size());
+        assertEquals("k\u00f6rper", readNodes.get(1).getName());
+        assertEquals(0, readNodes.get(1).getParent());
+        assertArrayEquals(moved, readNodes.get(1).getTransform());
+        assertArrayEquals(new int[] { 0, 1 }, readNodes.get(1).getMeshes());
+        assertEquals("", readNodes.get(2).getName());
+        assertArrayEquals(new int[] { 0 }, readNodes.get(2).getMeshes());
+        assertSame(readNodes, read.getNodes());
+
+        assertSame(read.getMesh(1), read.findMesh("large"));
+        assertNull(read.findMesh("missing"));
+    }
+
+    @Test void testFailedWriteLeavesNoTempFile(@TempDir Path root) throws IOException {
+        // A non-empty directory where the file should go makes the move fail
+        Path blocked = root.resolve("blocked" + MeshConverter.EXTENSION);
+        Files.createDirectories(blocked.resolve("child"));
+
+        assertThrows(RuntimeException.class,
+                () -> MeshFileWriter.write(blocked, List.of(quad("a", 0f)), List.of()));
+        try (Stream<Path> files = Files.list(root)) {
+            assertEquals(List.of(blocked), files.collect(Collectors.toList()));
+        }
+    }
+
+    @Test void testSectionsAreAlignedAndLoadedLazily(@TempDir Path root) {
+        Path file = root.resolve("three" + MeshConverter.EXTENSION);
+        MeshFileWriter.write(file, List.of(quad("a", 0f), quad("b", 1f), quad("c", 2f)), List.of());
+        MeshFile read = MeshFile.open(file);
+
+        assertEquals(0, read.getLoadedCount());
+        MappedMesh b = read.getMesh(1);
+        assertEquals(1, read.getLoadedCount());
+        assertSame(b, read.getMesh(1));
+        assertEquals(1, read.getLoadedCount());
+        assertTrue(read.getNodes().isEmpty());
+
+        ByteBuffer vertices = b.getVertices();
+        assertTrue(vertices.isDirect());
+        assertTrue(vertices.isReadOnly());
+        assertEquals(ByteOrder.LITTLE_ENDIAN, vertices.order());
+        assertEquals(4 * MeshFile.FORMAT.getStride(), vertices.remaining());
+        assertEquals(1f, vertices.getFloat(0));
+    }
+
+    @Test void testUploadsReadTheMappingInPlace(@TempDir Path root) {
+        Path file = root.resolve("one" + MeshConverter.EXTENSION);
+        MeshFileWriter.write(file, List.of(quad("a", 0f), quad("b", 1f)), List.of());
+        RecordingMeshBackend backend = new RecordingMeshBackend();
+        MeshCache meshes = new MeshCache(MeshFile.open(file), backend);
+
+        meshes.bindShader(4);
+        meshes.draw(1);
+        meshes.draw(1);
+        assertEquals(1, meshes.getUploadedCount());
+        assertEquals(List.of("shader 4", "upload 128 12 2", "draw 0 6", "draw 0 6"), backend.calls);
+
+        // The backend got views of the mapped file, not copies
+        assertTrue(backend.vertexUploads.get(0) instanceof MappedByteBuffer);
+        assertTrue(backend.indexUploads.get(0) instanceof MappedByteBuffer);
+
+        meshes.dispose();
+        assertEquals("delete 0", backend.calls.get(backend.calls.size() - 1));
+        assertEquals(0, meshes.getUploadedCount());
+    }
+
+    @Test void testMeshesShareTheFileBytes() {
+        ByteBuffer encoded = MeshFileWriter.encode(List.of(quad("a", 0f)), List.of());
+        ByteBuffer direct = ByteBuffer.allocateDirect(encoded.remaining());
+        direct.put(encoded).flip();
+        MeshFile read = MeshFile.wrap(direct);
+        MappedMesh mesh = read.getMesh(0);
+
+        // Changing the underlying bytes shows through, so nothing was copied
+        int firstVertex = direct.capacity() - alignedIndexBytes(6) - 4 * MeshFile.FORMAT.getStride();
+        direct.order(ByteOrder.LITTLE_ENDIAN).putFloat(firstVertex, 42f);
+        assertEquals(42f, mesh.getVertices().getFloat(0));
+        assertTrue(mesh.getVertices().isDirect());
+    }
+
+    @Test void testRejectsInvalidFiles(@TempDir Path root) throws IOException {
+        ByteBuffer encoded = MeshFileWriter.encode(List.of(quad("a", 0f)), List.of());
+
+        ByteBuffer badMagic = copy(encoded);
+        badMagic.putInt(0, 0);
+        assertThrows(IllegalArgumentException.class, () -> MeshFile.wrap(badMagic));
+
+        ByteBuffer newer = copy(encoded).order(ByteOrder.LITTLE_ENDIAN);
+        newer.putInt(4, MeshFile.VERSION + 1);
+        assertThrows(IllegalArgumentException.class, () -> MeshFile.wrap(newer));
+
+        ByteBuffer truncated = copy(encoded);
+        truncated.limit(truncated.limit() - 32);
+        assertThrows(IllegalArgumentException.class, () -> MeshFile.wrap(truncated));
+
+        // A mesh record pointing at the wrong section fails when it is read
+        ByteBuffer swapped = copy(encoded).order(ByteOrder.LITTLE_ENDIAN);
+        int meshRecord = (int) swapped.getLong(MeshFile.HEADER_SIZE + 8);
+        swapped.putInt(meshRecord + 8, 5);
+        MeshFile broken = MeshFile.wrap(swapped);
+        assertThrows(IllegalArgumentException.class, () -> broken.getMesh(0));
+        assertThrows(IllegalArgumentException.class, () -> broken.getMesh(1));
+
+        Path text = root.resolve("not-a-mesh" + MeshConverter.EXTENSION);
+        Files.writeString(text, "hello");
+        assertThrows(IllegalArgumentException.class, () -> MeshFile.open(text));
+        assertThrows(RuntimeException.class, () -> MeshFile.open(root.resolve("missing")));
+    }
+
+    @Test void testInvalidInputs() {
+        assertThrows(IllegalArgumentException.class, () -> new MeshData("a", new float[FLOATS + 1], new int[0]));
+        assertThrows(IllegalArgumentException.class, () -> new MeshData("a", new float[FLOATS], new int[] { 0, 0, 1 }));
+        assertThrows(IllegalArgumentException.class, () -> new MeshNode("a", -2, IDENTITY, new int[0]));
+        assertThrows(IllegalArgumentException.class, () -> new MeshNode("a", 0, new float[9], new int[0]));
+
+        List<MeshData> meshes = List.of(quad("a", 0f));
+        assertThrows(IllegalArgumentException.class, () -> MeshFileWriter.encode(meshes,
+                List.of(new MeshNode("child first", 0, IDENTITY, new int[0]))));
+        assertThrows(IllegalArgumentException.class, () -> MeshFileWriter.encode(meshes,
+                List.of(new MeshNode("root", MeshNode.NO_PARENT, IDENTITY, new int[] { 1 }))));
+        assertThrows(IllegalArgumentException.class, () -> MeshFile.wrap(null));
+    }
+
+    /**
+     * @return A unit quad in the xy plane, shifted along x.
+     */
+    private static MeshData quad(String name, float x) {
+        float[] vertices = new float[4 * FLOATS];
+        float[][] corners = { { 0, 0 }, { 1, 0 }, { 1, 1 }, { 0, 1 } };
+        for (int v = 0; v < 4; v++) {
+            int offset = v * FLOATS;
+            vertices[offset] = corners[v][0] + x;
+            vertices[offset + 1] = corners[v][1];
+            vertices[offset + 5] = 1f;
+            vertices[offset + 6] = corners[v][0];
+            vertices[offset + 7] = corners[v][1];
+        }
+        return new MeshData(name, vertices, new int[] { 0, 1, 2, 2, 3, 0 });
+    }
+
+    /**
+     * @return A grid of more than 65536 vertices, so it needs 32-bit indices.
+     */
+    private static MeshData grid(String name, int size) {
+        float[] vertices = new float[size * size * FLOATS];
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                int offset = (y * size + x) * FLOATS;
+                vertices[offset] = x;
+                vertices[offset + 1] = y;
+            }
+        }
+        int[] indices = new int[(size - 1) * (size - 1) * 6];
+        int i = 0;
+        for (int y = 0; y < size - 1; y++) {
+            for (int x = 0; x < size - 1; x++) {
+                int corner = y * size + x;
+                indices[i++] = corner;
+                indices[i++] = corner + 1;
+                indices[i++] = corner + size + 1;
+                indices[i++] = corner + size + 1;
+                indices[i++] = corner + size;
+                indices[i++] = corner;
+            }
+        }
+        return new MeshData(name, vertices, indices);
+    }
+
+    private static void assertMeshEquals(MeshData expected, MappedMesh actual) {
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getVertexCount(), actual.getVertexCount());
+        assertEquals(expected.getIndices().length, actual.getIndexCount());
+
+        float[] vertices = new float[expected.getVertices().length];
+        actual.getVertices().asFloatBuffer().get(vertices);
+        assertArrayEquals(expected.getVertices(), vertices);
+        for (int i = 0; i < actual.getIndexCount(); i++) {
+            assertEquals(expected.getIndices()[i], actual.getIndex(i), "Index " + i);
+        }
+    }
+
+    private static int alignedIndexBytes(int count) {
+        int bytes = count * Short.BYTES;
+        return (bytes + MeshFile.ALIGNMENT - 1) / MeshFile.ALIGNMENT * MeshFile.ALIGNMENT;
+    }
+
+    private static ByteBuffer copy(ByteBuffer buffer) {
+        ByteBuffer copy = ByteBuffer.allocate(buffer.remaining());
+        copy.put(buffer.duplicate()).flip();
+        return copy;
+    }
+}
@@ -0,0 +1,87 @@
+package anchora.engine.app.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import org.junit.jupiter.api.Test;
+
+class MetricsRegistryTest {
+
+    @Test void testBucketsCoverEveryValue() {
+        long previousIndex = -1;
+        for (long value = 0; value < 100_000; value++) {
+            int index = Histogram.indexOf(value);
+            assertTrue(index == previousIndex || index == previousIndex + 1);
+            assertTrue(Histogram.highestValueAt(index) >= value);
+            previousIndex = index;
+        }
+
+        int last = Histogram.indexOf(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, Histogram.highestValueAt(last));
+    }
+
+    @Test void testPercentilesWithinPrecision() {
+        Histogram histogram = new Histogram("test");
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value * 1000);
+        }
+
+        assertEquals(10_000, histogram.count());
+        assertEquals(10_000_000, histogram.max());
+        assertEquals(5_000_000, histogram.percentile(50), 5_000_000 / 64.0);
+        assertEquals(9_900_000, histogram.percentile(99), 9_900_000 / 64.0);
+        assertEquals(10_000_000, histogram.percentile(100));
+        assertEquals(5_000_500, histogram.mean(), 1e-6);
+
+        histogram.reset();
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.percentile(99));
+    }
+
+    @Test void testConcurrentRecording() throws InterruptedException {
+        Histogram histogram = new Histogram("test");
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    histogram.record(i % 100);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(400_000, histogram.count());
+        assertEquals(99, histogram.max());
+        assertEquals(49, histogram.percentile(50));
+    }
+
+    @Test void testReportAndPeriodicDump() {
+        MetricsRegistry registry = new MetricsRegistry(1000);
+        assertSame(registry.histogram(MetricsRegistry.CPU_TIME),
+                registry.histogram(MetricsRegistry.CPU_TIME));
+
+        registry.histogram(MetricsRegistry.CPU_TIME).record(2_000_000);
+        registry.histogram(MetricsRegistry.DRAW_CALLS).record(3);
+        registry.histogram(MetricsRegistry.GPU_TIME);
+
+        assertEquals("frame.cpu n=1 p50=2.000ms p99=2.000ms max=2.000ms\n"
+                + "frame.drawCalls n=1 p50=3 p99=3 max=3\n", registry.report());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrintStream print = new PrintStream(out, true);
+        assertFalse(registry.dumpIfDue(0, print));
+        assertFalse(registry.dumpIfDue(999, print));
+        assertTrue(registry.dumpIfDue(1000, print));
+        assertTrue(out.toString().contains("frame.drawCalls n=1"));
+        assertEquals(0, registry.histogram(MetricsRegistry.DRAW_CALLS).count());
+        assertFalse(registry.dumpIfDue(1500, print));
+    }
+}
@@ -0,0 +1,208 @@
+package anchora.engine.app.particle;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import anchora.engine.app.render.InstanceBackend;
+import anchora.engine.app.render.InstanceBatch;
+import anchora.engine.utilities.AllocationProbe;
+
+class ParticleSystemTest {
+
+    private static final float[] ORANGE = { 1f, 0.5f, 0f, 1f };
+
+    static class RecordingInstanceBackend implements InstanceBackend {
+        final List<String> calls = new ArrayList<>();
+        final List<float[]> drawnInstances = new ArrayList<>();
+        int meshes;
+
+        @Override
+        public int createMesh(float[] vertices, int[] indices) {
+            return meshes++;
+        }
+
+        @Override
+        public void bindShader(int programId) {
+        }
+
+        @Override
+        public void drawInstanced(int mesh, FloatBuffer instances, int count) {
+            calls.add("draw " + mesh + " x" + count);
+            float[] copy = new float[instances.remaining()];
+            instances.duplicate().get(copy);
+            drawnInstances.add(copy);
+        }
+
+        @Override
+        public void endFrame() {
+        }
+
+        @Override
+        public void dispose() {
+        }
+    }
+
+    @Test void testVectorKernelIsPickedWhenAvailable() {
+        // The build adds the incubator module to every JVM it starts
+        assertTrue(ParticleKernel.best().getName().startsWith("vector"));
+        assertEquals("scalar", new ScalarParticleKernel().getName());
+    }
+
+    @Test void testKernelsAgree() {
+        // Not a multiple of any vector width, so the scalar tail runs too
+        int count = 1003;
+        Random random = new Random(3);
+        float[][] scalar = new float[5][count];
+        for (float[] field : scalar) {
+            for (int i = 0; i < count; i++) {
+                field[i] = random.nextFloat() * 200f - 100f;
+            }
+        }
+        float[][] vector = new float[5][];
+        for (int f = 0; f < scalar.length; f++) {
+            vector[f] = scalar[f].clone();
+        }
+
+        ParticleKernel simd = ParticleKernel.best();
+        ParticleKernel plain = new ScalarParticleKernel();
+        for (int step = 0; step < 10; step++) {
+            plain.integrate(scalar[0], scalar[1], scalar[2], scalar[3], scalar[4], count,
+                    1.5f, -9.8f, 0.99f, 1f / 60f);
+            simd.integrate(vector[0], vector[1], vector[2], vector[3], vector[4], count,
+                    1.5f, -9.8f, 0.99f, 1f / 60f);
+        }
+        for (int f = 0; f < scalar.length; f++) {
+            assertArrayEquals(scalar[f], vector[f], "Field " + f);
+        }
+    }
+
+    @Test void testParticlesFallAndSlowDown() {
+        ParticleSystem particles = new ParticleSystem(4);
+        particles.setGravity(0f, -10f);
+        particles.setDrag(0.5f);
+        particles.emit(0f, 0f, 4f, 0f, 2f, 1f, ORANGE);
+
+        particles.update(0.5f);
+        // Drag keeps 75% of the velocity, then gravity adds half a second of fall
+        assertEquals(3f, particles.getVelocityX(0));
+        assertEquals(-5f, particles.getVelocityY(0));
+        assertEquals(1.5f, particles.getX(0));
+        assertEquals(-2.5f, particles.getY(0));
+        assertEquals(1.5f, particles.getLife(0));
+    }
+
+    @Test void testDeadParticlesAreCompacted() {
+        ParticleSystem particles = new ParticleSystem(16, new ScalarParticleKernel());
+        for (int i = 0; i < 10; i++) {
+            // Every other particle lives past the step
+            particles.emit(i, 0f, 0f, 0f, i % 2 == 0 ? 0.5f : 2f, 1f, ORANGE);
+        }
+        particles.update(1f);
+
+        assertEquals(5, particles.size());
+        float[] survivors = new float[particles.size()];
+        for (int i = 0; i < survivors.length; i++) {
+            assertEquals(1f, particles.getLife(i));
+            survivors[i] = particles.getX(i);
+        }
+        Arrays.sort(survivors);
+        assertArrayEquals(new float[] { 1f, 3f, 5f, 7f, 9f }, survivors);
+
+        particles.update(1f);
+        assertEquals(0, particles.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> particles.getX(0));
+    }
+
+    @Test void testFullSystemDropsParticles() {
+        ParticleSystem particles = new ParticleSystem(2);
+        assertTrue(particles.emit(0f, 0f, 0f, 0f, 1f, 1f, ORANGE));
+        assertTrue(particles.emit(0f, 0f, 0f, 0f, 1f, 1f, ORANGE));
+        assertFalse(particles.emit(0f, 0f, 0f, 0f, 1f, 1f, ORANGE));
+        assertEquals(2, particles.size());
+
+        particles.clear();
+        assertTrue(particles.emit(0f, 0f, 0f, 0f, 1f, 1f, ORANGE));
+    }
+
+    @Test void testParticlesAreWrittenAsInstances() {
+        RecordingInstanceBackend backend = new RecordingInstanceBackend();
+        InstanceBatch batch = new InstanceBatch(backend, 4);
+        int circle = batch.createRegularPolygon(8);
+        ParticleSystem particles = new ParticleSystem(16);
+        for (int i = 0; i < 10; i++) {
+            particles.emit(i, 2f * i, 0f, 0f, 2f, 3f, ORANGE);
+        }
+        particles.update(1f);
+
+        batch.begin();
+        batch.setShader(1);
+        batch.draw(circle, particles);
+        batch.end();
+
+        assertEquals(List.of("draw 0 x4", "draw 0 x4", "draw 0 x2"), backend.calls);
+        assertEquals(10, batch.getInstancesDrawn());
+
+        // Scaled by the size, at the position, and half faded
+        assertArrayEquals(new float[] { 3f, 0f, 0f, 3f, 0f, 0f, 1f, 0.5f, 0f, 0.5f },
+                Arrays.copyOf(backend.drawnInstances.get(0), InstanceBatch.INSTANCE_SIZE));
+        float[] last = backend.drawnInstances.get(2);
+        assertEquals(9f, last[InstanceBatch.INSTANCE_SIZE + 4]);
+        assertEquals(18f, last[InstanceBatch.INSTANCE_SIZE + 5]);
+    }
+
+    @Test void testSteadyFramesDoNotAllocate() {
+        InstanceBatch batch = new InstanceBatch(new RecordingInstanceBackend() {
+            @Override
+            public void drawInstanced(int mesh, FloatBuffer instances, int count) {
+            }
+        }, 1024);
+        int circle = batch.createRegularPolygon(8);
+        // Vector kernels box their registers until C2 compiles them, which a
+        // short test cannot wait for, so this checks the system on its own
+        ParticleSystem particles = new ParticleSystem(10_000, new ScalarParticleKernel());
+        particles.setGravity(0f, -100f);
+        Random random = new Random(8);
+
+        long before = 0;
+        for (int frame = 0; frame < 60; frame++) {
+            if (frame == 30) {
+                before = AllocationProbe.allocatedBytes();
+            }
+            for (int i = 0; i < 200; i++) {
+                particles.emit(400f, 300f, random.nextFloat() * 100f - 50f,
+                        random.nextFloat() * 100f, 0.1f + random.nextFloat(), 2f, ORANGE);
+            }
+            particles.update(1f / 60f);
+            batch.begin();
+            batch.setShader(1);
+            batch.draw(circle, particles);
+            batch.end();
+        }
+        long allocated = AllocationProbe.allocatedBytes() - before;
+
+        assertTrue(allocated < 1024, "Frames allocated " + allocated + " bytes");
+    }
+
+    @Test void testInvalidInputs() {
+        assertThrows(IllegalArgumentException.class, () -> new ParticleSystem(0));
+        assertThrows(IllegalArgumentException.class, () -> new ParticleSystem(8, null));
+        ParticleSystem particles = new ParticleSystem(8);
+        assertThrows(IllegalArgumentException.class, () -> particles.setDrag(-1f));
+        assertThrows(IllegalArgumentException.class, () -> particles.update(-1f));
+        assertThrows(IllegalArgumentException.class,
+                () -> particles.emit(0f, 0f, 0f, 0f, 0f, 1f, ORANGE));
+        assertThrows(IllegalArgumentException.class,
+                () -> particles.emit(0f, 0f, 0f, 0f, 1f, 1f, new float[3]));
+    }
+}
@@ -0,0 +1,188 @@
+package anchora.engine.app.render;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import anchora.engine.app.texture.Image;
+
+class FrameReadbackTest {
+
+    /**
+     * Pretends to be the GPU: each read fills the buffer with the number of
+     * reads so far, and fences stay unsignaled until the test retires them or
+     * the CPU blocks on them.
+     */
+    static class FakeReadbackBackend implements ReadbackBackend {
+        final Map<Integer, ByteBuffer> buffers = new HashMap<>();
+        final Set<Long> signaled = new HashSet<>();
+        final Set<Long> live = new HashSet<>();
+        final List<Integer> deleted = new ArrayList<>();
+        int reads;
+        int mapped;
+        int blockingWaits;
+        long nextFence = 1;
+
+        @Override
+        public int createBuffer(int size) {
+            int id = buffers.size() + 1;
+            buffers.put(id, ByteBuffer.allocate(size));
+            return id;
+        }
+
+        @Override
+        public void readPixels(int buffer, int width, int height) {
+            ByteBuffer pixels = buffers.get(buffer);
+            for (int i = 0; i < pixels.capacity(); i++) {
+                pixels.put(i, (byte) reads);
+            }
+            reads++;
+        }
+
+        @Override
+        public ByteBuffer map(int buffer, int size) {
+            assertTrue(mapped == 0, "Buffer mapped twice");
+            mapped = buffer;
+            return buffers.get(buffer);
+        }
+
+        @Override
+        public void unmap(int buffer) {
+            assertEquals(mapped, buffer);
+            mapped = 0;
+        }
+
+        @Override
+        public long fence() {
+            long fence = nextFence++;
+            live.add(fence);
+            return fence;
+        }
+
+        @Override
+        public boolean waitFence(long fence, long timeoutNanos) {
+            if (!signaled.contains(fence) && timeoutNanos > 0) {
+                blockingWaits++;
+                signaled.add(fence);
+            }
+            return signaled.contains(fence);
+        }
+
+        @Override
+        public void deleteFence(long fence) {
+            assertTrue(live.remove(fence), "Fence deleted twice: " + fence);
+        }
+
+        @Override
+        public void deleteBuffer(int buffer) {
+            deleted.add(buffer);
+        }
+    }
+
+    /**
+     * Records the frame numbers and the value each frame was filled with.
+     */
+    static class Recorder implements FrameConsumer {
+        final List<Long> frames = new ArrayList<>();
+        final List<Integer> values = new ArrayList<>();
+
+        @Override
+        public void accept(long frame, ByteBuffer pixels, int width, int height) {
+            assertEquals(2 * 2 * Image.BYTES_PER_PIXEL, pixels.remaining());
+            frames.add(frame);
+            values.add((int) pixels.get(0));
+        }
+    }
+
+    @Test void testFramesArriveInOrderWithoutWaiting() {
+        FakeReadbackBackend backend = new FakeReadbackBackend();
+        FrameReadback readback = new FrameReadback(backend, 2, 2, 3);
+        Recorder recorder = new Recorder();
+
+        readback.capture(recorder);
+        readback.capture(recorder);
+        assertEquals(0, recorder.frames.size());
+
+        // The GPU finishes the first copy; the next capture picks it up
+        backend.signaled.add(1L);
+        readback.capture(recorder);
+        assertEquals(List.of(0L), recorder.frames);
+        assertEquals(List.of(0), recorder.values);
+
+        // Later frames finishing does not skip an earlier one
+        backend.signaled.add(3L);
+        assertEquals(0, readback.poll(recorder));
+        backend.signaled.add(2L);
+        assertEquals(2, readback.poll(recorder));
+        assertEquals(List.of(0L, 1L, 2L), recorder.frames);
+        assertEquals(List.of(0, 1, 2), recorder.values);
+
+        assertEquals(0, backend.blockingWaits);
+        assertEquals(0, readback.getStallCount());
+    }
+
+    @Test void testFullRingWaitsForTheOldestFrame() {
+        FakeReadbackBackend backend = new FakeReadbackBackend();
+        FrameReadback readback = new FrameReadback(backend, 2, 2, 2);
+        Recorder recorder = new Recorder();
+
+        for (int i = 0; i < 5; i++) {
+            readback.capture(recorder);
+        }
+
+        // Each capture beyond the ring's depth had to wait for one frame
+        assertEquals(3, readback.getStallCount());
+        assertEquals(3, backend.blockingWaits);
+        assertEquals(List.of(0L, 1L, 2L), recorder.frames);
+
+        readback.finish(recorder);
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L), recorder.frames);
+        assertEquals(List.of(0, 1, 2, 3, 4), recorder.values);
+        assertEquals(5, readback.getCapturedCount());
+        assertEquals(5, readback.getDeliveredCount());
+        assertTrue(backend.live.isEmpty());
+    }
+
+    @Test void testDisposeReleasesPendingFences() {
+        FakeReadbackBackend backend = new FakeReadbackBackend();
+        FrameReadback readback = new FrameReadback(backend, 2, 2, 3);
+        readback.capture(new Recorder());
+        readback.capture(new Recorder());
+
+        readback.dispose();
+        assertTrue(backend.live.isEmpty());
+        assertEquals(List.of(1, 2, 3), backend.deleted);
+    }
+
+    @Test void testCopyToImageFlipsRows() {
+        // Two rows, bottom row first as glReadPixels returns them
+        ByteBuffer pixels = ByteBuffer.allocate(2 * Image.BYTES_PER_PIXEL);
+        pixels.putInt(0, 0x11223344);
+        pixels.putInt(Image.BYTES_PER_PIXEL, 0x55667788);
+
+        Image image = Image.allocate(1, 2);
+        FrameReadback.copyToImage(pixels, 1, 2, image);
+        assertEquals(0x55667788, image.getPixel(0, 0));
+        assertEquals(0x11223344, image.getPixel(0, 1));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> FrameReadback.copyToImage(pixels, 2, 1, image));
+    }
+
+    @Test void testInvalidInputs() {
+        FakeReadbackBackend backend = new FakeReadbackBackend();
+        assertThrows(IllegalArgumentException.class, () -> new FrameReadback(null, 2, 2));
+        assertThrows(IllegalArgumentException.class, () -> new FrameReadback(backend, 0, 2));
+        assertThrows(IllegalArgumentException.class, () -> new FrameReadback(backend, 2, 2, 0));
+    }
+}
@@ -0,0 +1,170 @@
+package anchora.engine.app.render;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import anchora.engine.app.camera.Transform2D;
+
+class InstanceBatchTest {
+
+    private static final float[] RED = { 1.0f, 0.0f, 0.0f, 1.0f };
+    private static final float[] HALF_GREEN = { 0.0f, 0.5f, 0.0f, 0.5f };
+
+    // A white triangle in model space
+    private static final float[] TRIANGLE = {
+            0f, 0f, 0f, 1f, 1f, 1f, 1f,
+            1f, 0f, 0f, 1f, 1f, 1f, 1f,
+            0f, 1f, 0f, 1f, 1f, 1f, 1f,
+    };
+    private static final int[] TRIANGLE_INDICES = { 0, 1, 2 };
+
+    static class RecordingInstanceBackend implements InstanceBackend {
+        final List<String> calls = new ArrayList<>();
+        final List<float[]> drawnInstances = new ArrayList<>();
+        int meshes;
+
+        @Override
+        public int createMesh(float[] vertices, int[] indices) {
+            calls.add("mesh " + vertices.length / 7);
+            return meshes++;
+        }
+
+        @Override
+        public void bindShader(int programId) {
+            calls.add("shader " + programId);
+        }
+
+        @Override
+        public void drawInstanced(int mesh, FloatBuffer instances, int count) {
+            calls.add("draw " + mesh + " x" + count);
+            float[] copy = new float[instances.remaining()];
+            instances.duplicate().get(copy);
+            drawnInstances.add(copy);
+        }
+
+        @Override
+        public void endFrame() {
+            calls.add("end frame");
+        }
+
+        @Override
+        public void dispose() {
+            calls.add("dispose");
+        }
+    }
+
+    @Test void testInstancesOfOneMeshShareADrawCall() {
+        RecordingInstanceBackend backend = new RecordingInstanceBackend();
+        InstanceBatch batch = new InstanceBatch(backend, 4);
+        int triangle = batch.createMesh(TRIANGLE, TRIANGLE_INDICES);
+        int circle = batch.createRegularPolygon(8);
+
+        batch.begin();
+        batch.setShader(5);
+        for (int i = 0; i < 6; i++) {
+            batch.draw(triangle, i, 0f, 1f, 0f, RED);
+        }
+        batch.draw(circle, 0f, 0f, 2f, 0f, RED);
+        batch.draw(triangle, 0f, 0f, 1f, 0f, RED);
+        batch.end();
+
+        // Full at four, then a mesh change, then another
+        assertEquals(List.of("mesh 3", "mesh 9", "shader 5", "draw 0 x4", "draw 0 x2",
+                "draw 1 x1", "draw 0 x1", "end frame"), backend.calls);
+        assertEquals(4, batch.getDrawCalls());
+        assertEquals(8, batch.getInstancesDrawn());
+    }
+
+    @Test void testInstanceLayoutMatchesTransform() {
+        RecordingInstanceBackend backend = new RecordingInstanceBackend();
+        InstanceBatch batch = new InstanceBatch(backend);
+        int triangle = batch.createMesh(TRIANGLE, TRIANGLE_INDICES);
+
+        Transform2D transform = new Transform2D();
+        transform.setPosition(3f, 4f);
+        transform.setRotation((float) (Math.PI / 2));
+        transform.setScale(2f, 2f);
+
+        batch.begin();
+        batch.draw(triangle, 3f, 4f, 2f, (float) (Math.PI / 2), HALF_GREEN);
+        batch.draw(triangle, transform, HALF_GREEN);
+        batch.end();
+
+        float[] drawn = backend.drawnInstances.get(0);
+        assertEquals(2 * InstanceBatch.INSTANCE_SIZE, drawn.length);
+        float[] expected = { 0f, 2f, -2f, 0f, 3f, 4f, 0f, 0.5f, 0f, 0.5f };
+        for (int i = 0; i < 2; i++) {
+            float[] instance = new float[InstanceBatch.INSTANCE_SIZE];
+            System.arraycopy(drawn, i * InstanceBatch.INSTANCE_SIZE, instance, 0, instance.length);
+            assertArrayEquals(expected, instance, 1e-5f);
+        }
+    }
+
+    @Test void testBackendFollowsContextCapabilities() {
+        // Only a GL 3.3 context loads the divisor entry point
+        assertTrue(GLInstanceBackend.isSupported(true));
+        assertFalse(GLInstanceBackend.isSupported(false));
+
+        ShapeBatch fallback = new ShapeBatch(new ShapeBatchTest.RecordingBatchBackend());
+        assertTrue(InstanceBatch.chooseBackend(false, fallback) instanceof ExpandingInstanceBackend);
+    }
+
+    @Test void testFallbackExpandsIntoShapeBatch() {
+        List<float[]> drawnVertices = new ArrayList<>();
+        ShapeBatchTest.RecordingBatchBackend shapes = new ShapeBatchTest.RecordingBatchBackend() {
+            @Override
+            public void drawIndexed(FloatBuffer vertices, IntBuffer indices) {
+                float[] copy = new float[vertices.remaining()];
+                vertices.duplicate().get(copy);
+                drawnVertices.add(copy);
+                super.drawIndexed(vertices, indices);
+            }
+        };
+        ShapeBatch shapeBatch = new ShapeBatch(shapes);
+        InstanceBatch batch = new InstanceBatch(new ExpandingInstanceBackend(shapeBatch));
+        int triangle = batch.createMesh(TRIANGLE, TRIANGLE_INDICES);
+
+        shapeBatch.begin();
+        shapeBatch.setShader(2);
+        batch.begin();
+        batch.setShader(9);
+        batch.draw(triangle, 10f, 20f, 2f, 0f, HALF_GREEN);
+        batch.draw(triangle, 0f, 0f, 1f, (float) (Math.PI / 2), RED);
+        batch.end();
+        shapeBatch.end();
+
+        // Both instances land in one shape batch flush, with its own shader
+        assertEquals(List.of("shader 2", "texture 0", "draw 6", "end frame"), shapes.calls);
+        assertArrayEquals(new float[] {
+                10f, 20f, 0f, 0f, 0.5f, 0f, 0.5f,
+                12f, 20f, 0f, 0f, 0.5f, 0f, 0.5f,
+                10f, 22f, 0f, 0f, 0.5f, 0f, 0.5f,
+                0f, 0f, 0f, 1f, 0f, 0f, 1f,
+                0f, 1f, 0f, 1f, 0f, 0f, 1f,
+                -1f, 0f, 0f, 1f, 0f, 0f, 1f,
+        }, drawnVertices.get(0), 1e-5f);
+        assertArrayEquals(new int[] { 0, 1, 2, 3, 4, 5 }, shapes.drawnIndices.get(0));
+        assertEquals(1, batch.getDrawCalls());
+    }
+
+    @Test void testInvalidInputs() {
+        InstanceBatch batch = new InstanceBatch(new RecordingInstanceBackend());
+        assertThrows(IllegalArgumentException.class, () -> batch.createMesh(new float[6], new int[0]));
+        assertThrows(IllegalArgumentException.class, () -> batch.createMesh(TRIANGLE, new int[] { 0, 1, 3 }));
+        assertThrows(IllegalStateException.class, () -> batch.draw(0, 0f, 0f, 1f, 0f, RED));
+
+        batch.begin();
+        assertThrows(IllegalArgumentException.class, () -> batch.draw(0, 0f, 0f, 1f, 0f, RED));
+        assertThrows(IllegalArgumentException.class, () -> new InstanceBatch(null));
+    }
+}
@@ -0,0 +1,216 @@
+package anchora.engine.app.render;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import anchora.engine.utilities.AllocationProbe;
+
+class RenderQueueTest {
+
+    /**
+     * Records every call it receives, as the driver would see them.
+     */
+    static class RecordingRenderBackend implements RenderBackend {
+        final List<String> calls = new ArrayList<>();
+        final List<Integer> firstIndices = new ArrayList<>();
+
+        @Override
+        public void useProgram(int programId) {
+            calls.add("program " + programId);
+        }
+
+        @Override
+        public void bindTexture(int textureId) {
+            calls.add("texture " + textureId);
+        }
+
+        @Override
+        public void bindVertexArray(int meshId) {
+            calls.add("vao " + meshId);
+        }
+
+        @Override
+        public void drawElements(int firstIndex, int indexCount) {
+            calls.add("draw " + firstIndex + " " + indexCount);
+            firstIndices.add(firstIndex);
+        }
+    }
+
+    @Test void testSortKeyFields() {
+        long key = SortKey.of(200, 4095, 65535, 0.5f);
+        assertEquals(200, SortKey.layer(key));
+        assertEquals(4095, SortKey.shader(key));
+        assertEquals(65535, SortKey.texture(key));
+        assertEquals((1 << 27) - 1, SortKey.depth(key), 1);
+
+        assertEquals(0, SortKey.depth(SortKey.of(0, 0, 0, -1f)));
+        assertEquals(0, SortKey.depth(SortKey.of(0, 0, 0, Float.NaN)));
+        assertEquals((1 << 28) - 1, SortKey.depth(SortKey.of(0, 0, 0, 2f)));
+
+        // Layer beats shader beats texture beats depth
+        assertTrue(Long.compareUnsigned(SortKey.of(1, 0, 0, 0f), SortKey.of(0, 4095, 65535, 1f)) > 0);
+        assertTrue(Long.compareUnsigned(SortKey.of(0, 2, 0, 0f), SortKey.of(0, 1, 65535, 1f)) > 0);
+        assertTrue(Long.compareUnsigned(SortKey.of(0, 1, 2, 0f), SortKey.of(0, 1, 1, 1f)) > 0);
+
+        assertThrows(IllegalArgumentException.class, () -> SortKey.of(256, 0, 0, 0f));
+        assertThrows(IllegalArgumentException.class, () -> SortKey.of(0, 4096, 0, 0f));
+        assertThrows(IllegalArgumentException.class, () -> SortKey.of(0, 0, -1, 0f));
+    }
+
+    @Test void testRadixSortMatchesUnsignedOrder() {
+        Random random = new Random(11);
+        RenderQueue queue = new RenderQueue(16);
+        long[] expected = new long[5000];
+        for (int i = 0; i < expected.length; i++) {
+            // Layers above 127 set the sign bit, which must still sort last
+            long key = SortKey.of(random.nextInt(256), random.nextInt(8), random.nextInt(32),
+                    random.nextFloat());
+            expected[i] = key;
+            queue.submit(key, 1, i, 3);
+        }
+
+        // Sorting signed values with the sign flipped orders them as unsigned
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] ^= Long.MIN_VALUE;
+        }
+        Arrays.sort(expected);
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] ^= Long.MIN_VALUE;
+        }
+
+        long[] actual = new long[expected.length];
+        for (int i = 0; i < actual.length; i++) {
+            actual[i] = queue.getSortedKey(i);
+        }
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test void testEqualKeysKeepSubmissionOrder() {
+        RenderQueue queue = new RenderQueue();
+        long late = SortKey.of(1, 1, 1, 0f);
+        long early = SortKey.of(0, 1, 1, 0f);
+        queue.submit(late, 1, 0, 3);
+        queue.submit(early, 1, 3, 3);
+        queue.submit(late, 1, 6, 3);
+        queue.submit(early, 1, 9, 3);
+
+        RecordingRenderBackend backend = new RecordingRenderBackend();
+        queue.execute(backend);
+        assertEquals(List.of(3, 9, 0, 6), backend.firstIndices);
+    }
+
+    @Test void testStateCacheSkipsRedundantBinds() {
+        RenderQueue queue = new RenderQueue();
+        // Interleaved on submission, grouped once sorted
+        for (int i = 0; i < 4; i++) {
+            queue.submit(SortKey.of(0, 2, 7, i * 0.1f), 5, i * 6, 6);
+            queue.submit(SortKey.of(0, 1, 7, i * 0.1f), 5, 100 + i * 6, 6);
+        }
+
+        RecordingRenderBackend backend = new RecordingRenderBackend();
+        RenderStateCache cache = new RenderStateCache(backend);
+        queue.execute(cache);
+
+        assertEquals(List.of(
+                "program 1", "texture 7", "vao 5",
+                "draw 100 6", "draw 106 6", "draw 112 6", "draw 118 6",
+                "program 2",
+                "draw 0 6", "draw 6 6", "draw 12 6", "draw 18 6"), backend.calls);
+        assertEquals(4, cache.getStateChanges());
+        assertEquals(20, cache.getSkippedChanges());
+        assertEquals(8, cache.getDrawCalls());
+
+        // State survives into the next frame until invalidated, so only the
+        // two program switches are forwarded
+        backend.calls.clear();
+        cache.resetStats();
+        queue.execute(cache);
+        assertEquals(List.of("program 1"), backend.calls.subList(0, 1));
+        assertEquals(2, cache.getStateChanges());
+        cache.resetStats();
+        cache.invalidate();
+        queue.execute(cache);
+        assertEquals(4, cache.getStateChanges());
+    }
+
+    @Test void testAppendQueuesBuiltOnWorkers() throws InterruptedException {
+        RenderQueue[] workers = new RenderQueue[4];
+        Thread[] threads = new Thread[workers.length];
+        for (int w = 0; w < workers.length; w++) {
+            RenderQueue local = new RenderQueue(8);
+            int layer = workers.length - w;
+            workers[w] = local;
+            threads[w] = new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    local.submit(SortKey.of(layer, 1, 1, i / 100f), layer, i, 3);
+                }
+            });
+            threads[w].start();
+        }
+
+        RenderQueue frame = new RenderQueue(8);
+        for (int w = 0; w < workers.length; w++) {
+            threads[w].join();
+            frame.append(workers[w]);
+        }
+        assertEquals(400, frame.size());
+
+        RecordingRenderBackend backend = new RecordingRenderBackend();
+        RenderStateCache cache = new RenderStateCache(backend);
+        frame.execute(cache);
+        assertEquals(List.of("program 1", "texture 1", "vao 1"), backend.calls.subList(0, 3));
+        assertEquals(400, cache.getDrawCalls());
+        assertEquals(6, cache.getStateChanges());
+
+        assertThrows(IllegalArgumentException.class, () -> frame.append(frame));
+    }
+
+    @Test void testSteadyFramesDoNotAllocate() {
+        RenderQueue queue = new RenderQueue(16);
+        RenderStateCache cache = new RenderStateCache(new RenderBackend() {
+            @Override public void useProgram(int programId) { }
+            @Override public void bindTexture(int textureId) { }
+            @Override public void bindVertexArray(int meshId) { }
+            @Override public void drawElements(int firstIndex, int indexCount) { }
+        });
+        Random random = new Random(5);
+        long[] keys = new long[2000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = SortKey.of(random.nextInt(4), random.nextInt(16), random.nextInt(64),
+                    random.nextFloat());
+        }
+
+        // The first frame grows the storage to its steady-state size
+        long before = 0;
+        for (int frame = 0; frame < 2; frame++) {
+            if (frame == 1) {
+                before = AllocationProbe.allocatedBytes();
+            }
+            for (int i = 0; i < keys.length; i++) {
+                queue.submit(keys[i], i & 7, i * 3, 3);
+            }
+            queue.execute(cache);
+            queue.clear();
+        }
+        long allocated = AllocationProbe.allocatedBytes() - before;
+
+        assertTrue(allocated < 1024, "Frame allocated " + allocated + " bytes");
+    }
+
+    @Test void testInvalidInputs() {
+        assertThrows(IllegalArgumentException.class, () -> new RenderQueue(0));
+        assertThrows(IllegalArgumentException.class, () -> new RenderStateCache(null));
+        RenderQueue queue = new RenderQueue();
+        assertThrows(IllegalArgumentException.class, () -> queue.submit(0L, 1, -1, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> queue.getSortedKey(0));
+    }
+}
@@ -0,0 +1,218 @@
+package anchora.engine.app.render;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import anchora.engine.app.VerticesUtils;
+import anchora.engine.app.geometry.Tessellation;
+import anchora.engine.app.geometry.Tessellator;
+
+class ShapeBatchTest {
+
+    private static final float[] RED = { 1.0f, 0.0f, 0.0f, 1.0f };
+
+    /**
+     * Records every call the batch makes so the tests can assert on the
+     * exact GL command stream.
+     */
+    static class RecordingBatchBackend implements BatchBackend {
+        final List<String> calls = new ArrayList<>();
+        final List<int[]> drawnIndices = new ArrayList<>();
+        final List<Integer> drawnVertexCounts = new ArrayList<>();
+
+        @Override
+        public void bindShader(int programId) {
+            calls.add("shader " + programId);
+        }
+
+        @Override
+        public void bindTexture(int textureId) {
+            calls.add("texture " + textureId);
+        }
+
+        @Override
+        public void drawIndexed(FloatBuffer vertices, IntBuffer indices) {
+            calls.add("draw " + indices.remaining());
+            int[] copy = new int[indices.remaining()];
+            indices.duplicate().get(copy);
+            drawnIndices.add(copy);
+            drawnVertexCounts.add(vertices.remaining() / VerticesUtils.SINGLE_VERTEX_ARRAY_LENGTH);
+        }
+
+        @Override
+        public void endFrame() {
+            calls.add("end frame");
+        }
+
+        @Override
+        public void dispose() {
+            calls.add("dispose");
+        }
+    }
+
+    @Test void testShapesShareOneDrawCall() {
+        RecordingBatchBackend backend = new RecordingBatchBackend();
+        ShapeBatch batch = new ShapeBatch(backend);
+
+        batch.begin();
+        batch.setShader(3);
+        batch.drawQuad(VerticesUtils.generateVerticies(RED, 4));
+        batch.drawTriangle(VerticesUtils.generateVerticies(RED, 3));
+        batch.drawPolygon(VerticesUtils.generateHexagon(10, 0, 0,
+                VerticesUtils.SINGLE_VERTEX_ARRAY_LENGTH));
+        batch.end();
+
+        assertEquals(List.of("shader 3", "texture 0", "draw 21", "end frame"), backend.calls);
+        assertEquals(1, batch.getDrawCalls());
+        assertEquals(13, backend.drawnVertexCounts.get(0));
+        assertArrayEquals(new int[] {
+                0, 1, 2, 2, 3, 0,
+                4, 5, 6,
+                7, 8, 9, 7, 9, 10, 7, 10, 11, 7, 11, 12
+        }, backend.drawnIndices.get(0));
+    }
+
+    @Test void testStateChangesBreakBatches() {
+        RecordingBatchBackend backend = new RecordingBatchBackend();
+        ShapeBatch batch = new ShapeBatch(backend);
+        float[] quad = VerticesUtils.generateVerticies(RED, 4);
+
+        batch.begin();
+        batch.setShader(1);
+        batch.drawQuad(quad);
+        batch.setShader(1);
+        batch.drawQuad(quad);
+        batch.setTexture(7);
+        batch.drawQuad(quad);
+        batch.setShader(2);
+        batch.drawQuad(quad);
+        batch.end();
+
+        assertEquals(List.of(
+                "shader 1", "texture 0", "draw 12",
+                "texture 7", "draw 6",
+                "shader 2", "draw 6",
+                "end frame"), backend.calls);
+        assertEquals(3, batch.getDrawCalls());
+    }
+
+    @Test void testFullBatchFlushesAutomatically() {
+        RecordingBatchBackend backend = new RecordingBatchBackend();
+        ShapeBatch batch = new ShapeBatch(backend, 8);
+        float[] quad = VerticesUtils.generateVerticies(RED, 4);
+
+        batch.begin();
+        batch.drawQuad(quad);
+        batch.drawQuad(quad);
+        batch.drawQuad(quad);
+        batch.end();
+
+        assertEquals(List.of(8, 4), backend.drawnVertexCounts);
+        assertArrayEquals(new int[] { 0, 1, 2, 2, 3, 0 }, backend.drawnIndices.get(1));
+    }
+
+    @Test void testCirclesAreIndexedFans() {
+        RecordingBatchBackend backend = new RecordingBatchBackend();
+        ShapeBatch batch = new ShapeBatch(backend);
+
+        batch.begin();
+        batch.drawRegularPolygon(0, 0, 10, 5, RED);
+        batch.drawCircle(0, 0, 1, RED);
+        batch.end();
+
+        assertEquals(6 + 9, backend.drawnVertexCounts.get(0));
+        int[] indices = backend.drawnIndices.get(0);
+        assertEquals(15 + 24, indices.length);
+        assertArrayEquals(new int[] { 6, 7, 8 }, Arrays.copyOfRange(indices, 15, 18));
+    }
+
+    @Test void testTessellationsAreOffsetIntoTheBatch() {
+        RecordingBatchBackend backend = new RecordingBatchBackend();
+        ShapeBatch batch = new ShapeBatch(backend);
+        Tessellation square = new Tessellation();
+        new Tessellator().fill(new float[] { 0, 0, 1, 0, 1, 1, 0, 1 }, 4, RED, square);
+
+        batch.begin();
+        batch.drawTriangle(VerticesUtils.generateVerticies(RED, 3));
+        batch.draw(square);
+        batch.draw(new Tessellation());
+        batch.end();
+
+        assertEquals(3 + 4, backend.drawnVertexCounts.get(0));
+        int[] indices = backend.drawnIndices.get(0);
+        assertEquals(3 + 6, indices.length);
+        for (int i = 3; i < indices.length; i++) {
+            assertEquals(3 + square.getIndices()[i - 3], indices[i]);
+        }
+    }
+
+    @Test void testEmptyFrameIssuesNoCalls() {
+        RecordingBatchBackend backend = new RecordingBatchBackend();
+        ShapeBatch batch = new ShapeBatch(backend);
+
+        batch.begin();
+        batch.setShader(1);
+        batch.setTexture(2);
+        batch.end();
+
+        assertEquals(List.of("end frame"), backend.calls);
+    }
+
+    @Test void testInvalidUsage() {
+        ShapeBatch batch = new ShapeBatch(new RecordingBatchBackend(), 8);
+        float[] quad = VerticesUtils.generateVerticies(RED, 4);
+
+        assertThrows(IllegalStateException.class, () -> batch.drawQuad(quad));
+
+        batch.begin();
+        assertThrows(IllegalArgumentException.class, () -> batch.drawTriangle(quad));
+        assertThrows(IllegalArgumentException.class,
+                () -> batch.drawPolygon(VerticesUtils.generateVerticies(RED, 9)));
+        assertThrows(IllegalArgumentException.class,
+                () -> batch.draw(quad, new int[] { 0, 1, 4 }));
+    }
+
+    @Test void testBadIndicesLeaveTheBatchUntouched() {
+        RecordingBatchBackend backend = new RecordingBatchBackend();
+        ShapeBatch batch = new ShapeBatch(backend);
+        float[] quad = VerticesUtils.generateVerticies(RED, 4);
+
+        batch.begin();
+        batch.drawTriangle(VerticesUtils.generateVerticies(RED, 3));
+        assertThrows(IllegalArgumentException.class,
+                () -> batch.draw(quad, new int[] { 0, 1, 2, 2, 3, 4 }));
+        batch.end();
+
+        assertEquals(List.of(3), backend.drawnVertexCounts);
+        assertArrayEquals(new int[] { 0, 1, 2 }, backend.drawnIndices.get(0));
+    }
+
+    @Test void testSpritesBreakOnlyOnTextureChange() {
+        RecordingBatchBackend backend = new RecordingBatchBackend();
+        SpriteBatch batch = new SpriteBatch(backend, 2);
+
+        batch.begin();
+        batch.setShader(1);
+        batch.draw(7, 0f, 0f, 1f, 1f, 0f, 0f, 0.5f, 0.5f, RED);
+        batch.draw(7, 1f, 0f, 1f, 1f, 0.5f, 0f, 1f, 0.5f, RED);
+        // Full at two sprites, then a different page
+        batch.draw(7, 2f, 0f, 1f, 1f, 0f, 0.5f, 0.5f, 1f, RED);
+        batch.draw(8, 3f, 0f, 1f, 1f, 0f, 0f, 1f, 1f, RED);
+        batch.end();
+
+        assertEquals(List.of("shader 1", "texture 7", "draw 12", "draw 6",
+                "texture 8", "draw 6", "end frame"), backend.calls);
+        assertEquals(4, batch.getSpritesDrawn());
+        assertArrayEquals(new int[] { 0, 1, 2, 2, 3, 0, 4, 5, 6, 6, 7, 4 },
+                backend.drawnIndices.get(0));
+    }
+}
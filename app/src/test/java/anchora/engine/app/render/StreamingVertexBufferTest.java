@@ -0,0 +1,194 @@
+package anchora.engine.app.render;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class StreamingVertexBufferTest {
+
+    /**
+     * Pretends to be the GPU: fences stay unsignaled until the test retires
+     * them, or until a number of waits have timed out.
+     */
+    static class FakeStreamingBackend implements StreamingBufferBackend {
+        final boolean persistent;
+        final List<String> calls = new ArrayList<>();
+        final Set<Long> signaled = new HashSet<>();
+        final Set<Long> live = new HashSet<>();
+        int timeoutsBeforeSignal;
+        long nextFence = 1;
+
+        FakeStreamingBackend(boolean persistent) {
+            this.persistent = persistent;
+        }
+
+        @Override
+        public boolean supportsPersistentMapping() {
+            return persistent;
+        }
+
+        @Override
+        public ByteBuffer createPersistent(long size) {
+            calls.add("storage " + size);
+            return ByteBuffer.allocate((int) size);
+        }
+
+        @Override
+        public void createDynamic(long size) {
+            calls.add("data " + size);
+        }
+
+        @Override
+        public void orphan(long size) {
+            calls.add("orphan " + size);
+        }
+
+        @Override
+        public ByteBuffer mapRange(long offset, int length) {
+            calls.add("map " + offset + " " + length);
+            return ByteBuffer.allocate(length);
+        }
+
+        @Override
+        public void unmap() {
+            calls.add("unmap");
+        }
+
+        @Override
+        public long fence() {
+            long fence = nextFence++;
+            live.add(fence);
+            calls.add("fence " + fence);
+            return fence;
+        }
+
+        @Override
+        public boolean waitFence(long fence, long timeoutNanos) {
+            if (signaled.contains(fence)) {
+                return true;
+            } else if (timeoutNanos > 0 && timeoutsBeforeSignal-- <= 0) {
+                signaled.add(fence);
+                return true;
+            }
+            calls.add("timeout " + fence);
+            return false;
+        }
+
+        @Override
+        public void deleteFence(long fence) {
+            live.remove(fence);
+            calls.add("delete " + fence);
+        }
+
+        @Override
+        public void dispose() {
+            calls.add("dispose");
+        }
+
+        void retireAll() {
+            signaled.addAll(live);
+        }
+    }
+
+    @Test void testRegionsRotateWithFences() {
+        FakeStreamingBackend backend = new FakeStreamingBackend(true);
+        StreamingVertexBuffer stream = new StreamingVertexBuffer(backend, 100);
+
+        assertTrue(stream.isPersistent());
+        long[] offsets = new long[4];
+        for (int frame = 0; frame < 4; frame++) {
+            backend.retireAll();
+            ByteBuffer dst = stream.map(40, 4);
+            assertEquals(40, dst.remaining());
+            stream.unmap();
+            offsets[frame] = stream.offset();
+            stream.endFrame();
+        }
+
+        assertEquals(0, offsets[0]);
+        assertEquals(100, offsets[1]);
+        assertEquals(200, offsets[2]);
+        assertEquals(0, offsets[3]);
+        assertEquals(0, stream.getStalls());
+        assertEquals(List.of("storage 300", "fence 1", "fence 2", "fence 3",
+                "delete 1", "fence 4", "delete 2"), backend.calls);
+    }
+
+    @Test void testBusyRegionStallsUntilSignaled() {
+        FakeStreamingBackend backend = new FakeStreamingBackend(true);
+        StreamingVertexBuffer stream = new StreamingVertexBuffer(backend, 100);
+        backend.timeoutsBeforeSignal = 2;
+
+        for (int frame = 0; frame < 3; frame++) {
+            stream.map(10, 1);
+            stream.unmap();
+            stream.endFrame();
+        }
+
+        assertEquals(1, stream.getStalls());
+        assertTrue(backend.calls.containsAll(List.of("timeout 1", "delete 1")));
+        assertFalse(backend.live.contains(1L));
+    }
+
+    @Test void testWritesShareARegionUntilItIsFull() {
+        FakeStreamingBackend backend = new FakeStreamingBackend(true);
+        StreamingVertexBuffer stream = new StreamingVertexBuffer(backend, 100);
+
+        ByteBuffer first = stream.map(30, 1);
+        stream.unmap();
+        assertEquals(0, stream.offset());
+
+        // Aligned up from 30 to 35
+        ByteBuffer second = stream.map(28, 7);
+        assertSame(first, second);
+        assertEquals(35, second.position());
+        assertEquals(63, second.limit());
+        stream.unmap();
+
+        // 63 + 40 does not fit, so the write moves to the next region
+        stream.map(40, 1);
+        stream.unmap();
+        assertEquals(100, stream.offset());
+        assertEquals(List.of("storage 300", "fence 1"), backend.calls);
+    }
+
+    @Test void testOrphaningWithoutBufferStorage() {
+        FakeStreamingBackend backend = new FakeStreamingBackend(false);
+        StreamingVertexBuffer stream = new StreamingVertexBuffer(backend, 64);
+
+        assertFalse(stream.isPersistent());
+        stream.map(16, 4);
+        stream.unmap();
+        stream.map(16, 4);
+        stream.unmap();
+        stream.endFrame();
+        stream.map(60, 4);
+        stream.unmap();
+        stream.map(8, 4);
+        stream.unmap();
+
+        assertEquals(List.of("data 64",
+                "map 0 16", "unmap", "map 16 16", "unmap", "orphan 64",
+                "map 0 60", "unmap", "orphan 64", "map 0 8", "unmap"), backend.calls);
+    }
+
+    @Test void testInvalidUsage() {
+        StreamingVertexBuffer stream = new StreamingVertexBuffer(new FakeStreamingBackend(true), 64);
+
+        assertThrows(IllegalStateException.class, stream::unmap);
+        assertThrows(IllegalArgumentException.class, () -> stream.map(65, 1));
+        stream.map(8, 4);
+        assertThrows(IllegalStateException.class, () -> stream.map(8, 4));
+        assertThrows(IllegalStateException.class, stream::endFrame);
+    }
+}
@@ -0,0 +1,85 @@
+package anchora.engine.app.render;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.junit.jupiter.api.Test;
+
+import anchora.engine.app.VerticesUtils;
+
+class VertexFormatTest {
+
+    @Test void testStridesAndOffsets() {
+        VertexFormat legacy = VertexFormat.POSITION_COLOR;
+        assertEquals(28, legacy.getStride());
+        assertEquals(12, legacy.getOffset(1));
+        assertEquals(VerticesUtils.SINGLE_VERTEX_ARRAY_LENGTH, legacy.getFloatCount());
+        assertEquals(SpriteBatch.VERTEX_SIZE, VertexFormat.POSITION_COLOR_UV.getFloatCount());
+
+        assertEquals(32, VertexFormat.POSITION_NORMAL_UV.getStride());
+        assertEquals(12, VertexFormat.POSITION2_PACKED_COLOR.getStride());
+        assertEquals(8, VertexFormat.SHORT_POSITION_PACKED_COLOR.getStride());
+        VertexFormat sprite = VertexFormat.SHORT_POSITION_PACKED_COLOR_UV;
+        assertEquals(12, sprite.getStride());
+        assertEquals(4, sprite.getOffset(1));
+        assertEquals(8, sprite.getOffset(2));
+        assertTrue(sprite.getAttribute(1).isNormalized());
+        assertTrue(sprite.getAttribute(2).isNormalized());
+        assertFalse(sprite.getAttribute(0).isNormalized());
+
+        // Odd-sized attributes are padded so the next one starts on 4 bytes
+        VertexFormat padded = new VertexFormat(VertexAttribute.shorts(3),
+                new VertexAttribute(VertexAttribute.Type.UNSIGNED_BYTE, 1, true));
+        assertEquals(8, padded.getOffset(1));
+        assertEquals(12, padded.getStride());
+        assertThrows(IllegalStateException.class, padded::getFloatCount);
+    }
+
+    @Test void testPackedColorByteOrder() {
+        ByteBuffer buffer = ByteBuffer.allocate(4).order(ByteOrder.nativeOrder());
+        buffer.putInt(0, VertexPacking.packColor(1f, 0.5f, 0f, 2f));
+
+        // R, G, B, A in memory whatever the platform's byte order
+        int expected = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN ? 0 : 3;
+        assertEquals((byte) 255, buffer.get(Math.abs(expected - 0)));
+        assertEquals((byte) 128, buffer.get(Math.abs(expected - 1)));
+        assertEquals((byte) 0, buffer.get(Math.abs(expected - 2)));
+        assertEquals((byte) 255, buffer.get(Math.abs(expected - 3)));
+
+        assertEquals((short) 0, VertexPacking.toUnorm16(-1f));
+        assertEquals((short) 0xFFFF, VertexPacking.toUnorm16(1f));
+        assertEquals((short) 32768, VertexPacking.toUnorm16(0.5f));
+    }
+
+    @Test void testHalfFloatConversion() {
+        assertEquals((short) 0x3C00, VertexPacking.toHalfFloat(1f));
+        assertEquals((short) 0xC000, VertexPacking.toHalfFloat(-2f));
+        assertEquals((short) 0x8000, VertexPacking.toHalfFloat(-0f));
+        assertEquals((short) 0x2E66, VertexPacking.toHalfFloat(0.1f));
+        assertEquals((short) 0x7BFF, VertexPacking.toHalfFloat(65504f));
+        assertEquals((short) 0x7C00, VertexPacking.toHalfFloat(65520f));
+        assertEquals((short) 0x7C00, VertexPacking.toHalfFloat(Float.POSITIVE_INFINITY));
+        assertEquals((short) 0x7E00, VertexPacking.toHalfFloat(Float.NaN));
+
+        // Subnormals down to 2^-24, then zero
+        assertEquals((short) 0x0001, VertexPacking.toHalfFloat((float) Math.pow(2, -24)));
+        assertEquals((short) 0x0200, VertexPacking.toHalfFloat((float) Math.pow(2, -15)));
+        assertEquals((short) 0x0000, VertexPacking.toHalfFloat(1e-8f));
+
+        // Ties round to even: 2049 sits halfway between 2048 and 2050
+        assertEquals((short) 0x6800, VertexPacking.toHalfFloat(2049f));
+        assertEquals((short) 0x6802, VertexPacking.toHalfFloat(2051f));
+    }
+
+    @Test void testInvalidInputs() {
+        assertThrows(IllegalArgumentException.class, () -> new VertexFormat());
+        assertThrows(IllegalArgumentException.class, () -> new VertexFormat((VertexAttribute) null));
+        assertThrows(IllegalArgumentException.class, () -> VertexAttribute.floats(5));
+        assertFalse(new VertexAttribute(VertexAttribute.Type.HALF_FLOAT, 2, true).isNormalized());
+    }
+}
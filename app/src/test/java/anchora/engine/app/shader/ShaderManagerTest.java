@@ -0,0 +1,227 @@
+package anchora.engine.app.shader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ShaderManagerTest {
+
+    private static final String VERTEX = "void main() { gl_Position = vec4(0.0); }";
+    private static final String FRAGMENT = "uniform vec4 uTint; void main() { }";
+
+    /**
+     * Hands out increasing program IDs and fakes binaries as the source text,
+     * so tests can follow what was compiled and what came from the cache.
+     */
+    static class FakeShaderBackend implements ShaderBackend {
+        final List<String> compiled = new ArrayList<>();
+        final List<Integer> deleted = new ArrayList<>();
+        boolean binaries = true;
+        boolean rejectBinaries;
+        String fingerprint = "fake driver 1";
+        int nextId = 1;
+
+        @Override
+        public boolean supportsBinaries() {
+            return binaries;
+        }
+
+        @Override
+        public String driverFingerprint() {
+            return fingerprint;
+        }
+
+        @Override
+        public int compile(String vertexSource, String fragmentSource, String name) {
+            if (fragmentSource.contains("syntax error")) {
+                throw new RuntimeException("FakeShaderBackend: Could not compile " + name);
+            }
+            compiled.add(name);
+            return nextId++;
+        }
+
+        @Override
+        public int loadBinary(ProgramBinary binary) {
+            return rejectBinaries ? 0 : nextId++;
+        }
+
+        @Override
+        public ProgramBinary getBinary(int programId) {
+            return new ProgramBinary(0x1234, ("program " + programId).getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void queryLocations(int programId, Map<String, Integer> uniforms,
+                Map<String, Integer> attributes) {
+            uniforms.put("uTint", programId * 10);
+            attributes.put("aPos", 0);
+        }
+
+        @Override
+        public void deleteProgram(int programId) {
+            deleted.add(programId);
+        }
+    }
+
+    @Test void testKeysDependOnBothSources() {
+        String key = ShaderManager.keyOf("ab", "c");
+        assertEquals(64, key.length());
+        assertEquals(key, ShaderManager.keyOf("ab", "c"));
+        assertNotEquals(key, ShaderManager.keyOf("a", "bc"));
+        assertNotEquals(key, ShaderManager.keyOf("c", "ab"));
+    }
+
+    @Test void testSameSourcesShareOneProgram() {
+        FakeShaderBackend backend = new FakeShaderBackend();
+        ShaderManager manager = new ShaderManager(backend, null);
+
+        ShaderProgram first = manager.fromSource("first", VERTEX, FRAGMENT);
+        ShaderProgram second = manager.fromSource("second", VERTEX, FRAGMENT);
+        ShaderProgram other = manager.fromSource("other", VERTEX, FRAGMENT + " ");
+
+        assertSame(first, second);
+        assertNotEquals(first.getId(), other.getId());
+        assertEquals(List.of("first", "other"), backend.compiled);
+    }
+
+    @Test void testLocationsAreCachedAtLink() {
+        ShaderManager manager = new ShaderManager(new FakeShaderBackend(), null);
+        ShaderProgram program = manager.fromSource("tint", VERTEX, FRAGMENT);
+
+        assertEquals(program.getId() * 10, program.getUniformLocation("uTint"));
+        assertEquals(0, program.getAttributeLocation("aPos"));
+        assertEquals(-1, program.getUniformLocation("uMissing"));
+    }
+
+    @Test void testClasspathLoading() {
+        ShaderManager manager = new ShaderManager(new FakeShaderBackend(), null);
+        ShaderProgram program = manager.load("shaders/vertex.glsl", "shaders/fragment.glsl");
+
+        assertEquals("shaders/vertex.glsl", program.getVertexPath());
+        assertTrue(ShaderManager.readResource("shaders/vertex.glsl").contains("aPos"));
+        assertThrows(RuntimeException.class, () -> manager.load("shaders/missing.glsl",
+                "shaders/fragment.glsl"));
+    }
+
+    @Test void testWarmStartSkipsCompilation(@TempDir Path cacheDir) {
+        FakeShaderBackend cold = new FakeShaderBackend();
+        ShaderManager coldManager = new ShaderManager(cold,
+                new ProgramBinaryCache(cacheDir, cold.fingerprint));
+        coldManager.fromSource("tint", VERTEX, FRAGMENT);
+        assertEquals(1, coldManager.getCompileCount());
+        assertEquals(0, coldManager.getBinaryHitCount());
+
+        FakeShaderBackend warm = new FakeShaderBackend();
+        ShaderManager warmManager = new ShaderManager(warm,
+                new ProgramBinaryCache(cacheDir, warm.fingerprint));
+        warmManager.fromSource("tint", VERTEX, FRAGMENT);
+        assertEquals(0, warmManager.getCompileCount());
+        assertEquals(1, warmManager.getBinaryHitCount());
+    }
+
+    @Test void testCacheInvalidation(@TempDir Path cacheDir) throws IOException {
+        String key = ShaderManager.keyOf(VERTEX, FRAGMENT);
+        ProgramBinaryCache cache = new ProgramBinaryCache(cacheDir, "fake driver 1");
+        cache.write(key, new ProgramBinary(7, new byte[] { 1, 2, 3 }));
+
+        ProgramBinary read = cache.read(key);
+        assertEquals(7, read.getFormat());
+        assertEquals(3, read.getData().length);
+
+        // Another driver must not see, and drops, the old binary
+        assertNull(new ProgramBinaryCache(cacheDir, "fake driver 2").read(key));
+        assertNull(cache.read(key));
+
+        // A truncated file is a miss, not an error
+        cache.write(key, new ProgramBinary(7, new byte[] { 1, 2, 3 }));
+        Path file = cacheDir.resolve(key + ".bin");
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 2));
+        assertNull(cache.read(key));
+        assertFalse(Files.exists(file));
+
+        // A binary the driver rejects is recompiled and replaced
+        FakeShaderBackend backend = new FakeShaderBackend();
+        backend.rejectBinaries = true;
+        cache.write(key, new ProgramBinary(7, new byte[] { 1 }));
+        ShaderManager manager = new ShaderManager(backend, cache);
+        manager.fromSource("tint", VERTEX, FRAGMENT);
+        assertEquals(1, manager.getCompileCount());
+        assertEquals("program 1",
+                new String(cache.read(key).getData(), StandardCharsets.UTF_8));
+    }
+
+    @Test void testFailedWriteLeavesNoTempFile(@TempDir Path cacheDir) throws IOException {
+        // A non-empty directory where the binary should go makes the move fail
+        String key = ShaderManager.keyOf(VERTEX, FRAGMENT);
+        Path blocked = cacheDir.resolve(key + ".bin");
+        Files.createDirectories(blocked.resolve("child"));
+
+        new ProgramBinaryCache(cacheDir, "fake driver 1").write(key, new ProgramBinary(7, new byte[] { 1 }));
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            assertEquals(List.of(blocked), files.collect(Collectors.toList()));
+        }
+    }
+
+    @Test void testBinariesUnusedWithoutDriverSupport(@TempDir Path cacheDir) {
+        FakeShaderBackend backend = new FakeShaderBackend();
+        backend.binaries = false;
+        ShaderManager manager = new ShaderManager(backend,
+                new ProgramBinaryCache(cacheDir, backend.fingerprint));
+        manager.fromSource("tint", VERTEX, FRAGMENT);
+
+        assertEquals(1, manager.getCompileCount());
+        assertFalse(Files.exists(cacheDir.resolve(ShaderManager.keyOf(VERTEX, FRAGMENT) + ".bin")));
+    }
+
+    @Test void testReloadFromSourceRoot(@TempDir Path sourceRoot) throws IOException {
+        // Start from the copies on the classpath, then edit the ones on disk
+        Path shaders = Files.createDirectories(sourceRoot.resolve("shaders"));
+        Files.writeString(shaders.resolve("vertex.glsl"),
+                ShaderManager.readResource("shaders/vertex.glsl"));
+        Files.writeString(shaders.resolve("fragment.glsl"),
+                ShaderManager.readResource("shaders/fragment.glsl"));
+
+        FakeShaderBackend backend = new FakeShaderBackend();
+        ShaderManager manager = new ShaderManager(backend, null);
+        ShaderProgram program = manager.load("shaders/vertex.glsl", "shaders/fragment.glsl");
+        manager.watch(sourceRoot);
+        int firstId = program.getId();
+
+        // Unchanged sources are not rebuilt
+        assertFalse(manager.reload(program));
+
+        Files.writeString(shaders.resolve("fragment.glsl"), FRAGMENT);
+        assertTrue(manager.reload(program));
+        assertNotEquals(firstId, program.getId());
+        assertEquals(List.of(firstId), backend.deleted);
+        assertEquals(program.getId() * 10, program.getUniformLocation("uTint"));
+
+        // A broken edit keeps the last good program
+        int goodId = program.getId();
+        Files.writeString(shaders.resolve("fragment.glsl"), "syntax error");
+        assertFalse(manager.reload(program));
+        assertEquals(goodId, program.getId());
+
+        manager.dispose();
+        assertEquals(0, manager.pollReloads());
+    }
+}
@@ -0,0 +1,311 @@
+package anchora.engine.app.text;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import anchora.engine.app.render.BatchBackend;
+import anchora.engine.app.render.SpriteBatch;
+import anchora.engine.utilities.AllocationProbe;
+
+class FontTest {
+
+    private static final float[] WHITE = { 1f, 1f, 1f, 1f };
+
+    /**
+     * A monospaced font: every glyph is its code point, advances 6 pixels and
+     * is a 5x8 box reaching 7 pixels above the baseline, filled with its own
+     * code point as coverage. Spaces are blank, and "AV" kerns by -1.
+     */
+    static class FakeRasterizer implements GlyphRasterizer {
+        int renders;
+
+        @Override
+        public float getAscent() {
+            return 8f;
+        }
+
+        @Override
+        public float getDescent() {
+            return -2f;
+        }
+
+        @Override
+        public float getLineGap() {
+            return 1f;
+        }
+
+        @Override
+        public int glyphIndex(int codepoint) {
+            return codepoint;
+        }
+
+        @Override
+        public float advance(int glyph) {
+            return 6f;
+        }
+
+        @Override
+        public float kerning(int glyph, int nextGlyph) {
+            return glyph == 'A' && nextGlyph == 'V' ? -1f : 0f;
+        }
+
+        @Override
+        public void getBox(int glyph, int[] box) {
+            if (glyph == ' ') {
+                box[0] = box[1] = box[2] = box[3] = 0;
+            } else {
+                box[0] = 0;
+                box[1] = -7;
+                box[2] = 5;
+                box[3] = 1;
+            }
+        }
+
+        @Override
+        public void render(int glyph, ByteBuffer out, int width, int height, int stride) {
+            renders++;
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    out.put(out.position() + y * stride + x, (byte) glyph);
+                }
+            }
+        }
+    }
+
+    static class FakeTextures implements GlyphTextureBackend {
+        final List<String> updates = new ArrayList<>();
+
+        @Override
+        public int create(anchora.engine.app.texture.Image image) {
+            return 42;
+        }
+
+        @Override
+        public void update(int textureId, anchora.engine.app.texture.Image image,
+                int x, int y, int width, int height) {
+            updates.add(x + "," + y + " " + width + "x" + height);
+        }
+
+        @Override
+        public void delete(int textureId) {
+        }
+    }
+
+    /**
+     * Keeps a copy of the last flushed vertices and counts draws.
+     */
+    static class CapturingBackend implements BatchBackend {
+        int draws;
+        int boundTexture;
+        float[] vertices = new float[0];
+
+        @Override
+        public void bindShader(int programId) {
+        }
+
+        @Override
+        public void bindTexture(int textureId) {
+            boundTexture = textureId;
+        }
+
+        @Override
+        public void drawIndexed(FloatBuffer vertices, IntBuffer indices) {
+            draws++;
+            if (this.vertices.length < vertices.remaining()) {
+                this.vertices = new float[vertices.remaining()];
+            }
+            vertices.get(vertices.position(), this.vertices, 0, vertices.remaining());
+        }
+
+        @Override
+        public void endFrame() {
+        }
+
+        @Override
+        public void dispose() {
+        }
+    }
+
+    @Test void testShapingFollowsKerningAndLineBreaks() {
+        Font font = new Font(new FakeRasterizer(), new GlyphAtlas(new FakeTextures(), 64, 8));
+        assertEquals(11f, font.getLineHeight());
+
+        TextRun run = font.shape("AVA\nA A");
+        assertEquals(6, run.getGlyphCount());
+        assertEquals('V', run.getGlyph(1));
+        assertEquals(0f, run.getPenX(0));
+        assertEquals(5f, run.getPenX(1));
+        assertEquals(11f, run.getPenX(2));
+        assertEquals(0f, run.getPenY(2));
+
+        // The second line starts over, one line height down
+        assertEquals(0f, run.getPenX(3));
+        assertEquals(-11f, run.getPenY(3));
+        assertEquals(12f, run.getPenX(5));
+        assertEquals(18f, run.getWidth());
+        assertEquals(22f, run.getHeight());
+
+        assertEquals(0, font.shape("").getGlyphCount());
+        assertEquals(0f, font.shape("").getHeight());
+    }
+
+    @Test void testGlyphsAreRasterizedOnce() {
+        FakeRasterizer rasterizer = new FakeRasterizer();
+        FakeTextures textures = new FakeTextures();
+        GlyphAtlas atlas = new GlyphAtlas(textures, 32, 16);
+
+        int slot = atlas.find('A', rasterizer);
+        assertEquals(slot, atlas.find('A', rasterizer));
+        assertEquals(1, rasterizer.renders);
+        assertEquals(1, atlas.getMissCount());
+        assertEquals(List.of("0,0 16x16"), textures.updates);
+
+        // White with the coverage in alpha, and the cell padding left clear
+        assertEquals(0xFFFFFF00 | 'A', atlas.getImage().getPixel(0, 0));
+        assertEquals(0xFFFFFF00 | 'A', atlas.getImage().getPixel(4, 7));
+        assertEquals(0, atlas.getImage().getPixel(5, 0));
+        assertEquals(5, atlas.getWidth(slot));
+        assertEquals(8, atlas.getHeight(slot));
+        assertEquals(-7, atlas.getOffsetY(slot));
+        assertEquals(5f / 32f, atlas.getU1(slot));
+
+        // Blank glyphs take a cell but have no size
+        int space = atlas.find(' ', rasterizer);
+        assertEquals(0, atlas.getWidth(space));
+        assertEquals(1, rasterizer.renders);
+    }
+
+    @Test void testLeastRecentlyUsedGlyphIsEvicted() {
+        FakeRasterizer rasterizer = new FakeRasterizer();
+        GlyphAtlas atlas = new GlyphAtlas(new FakeTextures(), 16, 8);
+        assertEquals(4, atlas.getCapacity());
+
+        for (char c = 'A'; c <= 'D'; c++) {
+            atlas.find(c, rasterizer);
+        }
+        atlas.nextFrame();
+        int slotA = atlas.find('A', rasterizer);
+
+        // B is now the oldest, and E takes its cell
+        atlas.find('E', rasterizer);
+        assertEquals(1, atlas.getEvictionCount());
+        assertEquals(slotA, atlas.find('A', rasterizer));
+        assertEquals(5, atlas.getMissCount());
+        atlas.find('B', rasterizer);
+        assertEquals(6, atlas.getMissCount());
+        assertEquals(2, atlas.getEvictionCount());
+    }
+
+    @Test void testEvictionMatchesReferenceLru() {
+        FakeRasterizer rasterizer = new FakeRasterizer();
+        GlyphAtlas atlas = new GlyphAtlas(new FakeTextures(), 32, 8);
+        int capacity = atlas.getCapacity();
+        Map<Integer, Boolean> reference = new LinkedHashMap<>(16, 0.75f, true);
+
+        Random random = new Random(9);
+        int expectedMisses = 0;
+        for (int i = 0; i < 5000; i++) {
+            atlas.nextFrame();
+            // Skewed towards a few common glyphs, like real text
+            int glyph = random.nextInt(4) == 0 ? 33 + random.nextInt(200) : 33 + random.nextInt(20);
+            if (reference.get(glyph) == null) {
+                expectedMisses++;
+                reference.put(glyph, true);
+                if (reference.size() > capacity) {
+                    reference.remove(reference.keySet().iterator().next());
+                }
+            }
+            atlas.find(glyph, rasterizer);
+            assertEquals(expectedMisses, atlas.getMissCount(), "Step " + i);
+        }
+    }
+
+    @Test void testTooManyGlyphsInOneFrame() {
+        FakeRasterizer rasterizer = new FakeRasterizer();
+        GlyphAtlas atlas = new GlyphAtlas(new FakeTextures(), 16, 8);
+        for (char c = 'A'; c <= 'D'; c++) {
+            atlas.find(c, rasterizer);
+        }
+        assertThrows(IllegalStateException.class, () -> atlas.find('E', rasterizer));
+
+        atlas.nextFrame();
+        atlas.find('E', rasterizer);
+    }
+
+    @Test void testTextIsOneDrawCall() {
+        CapturingBackend backend = new CapturingBackend();
+        SpriteBatch batch = new SpriteBatch(backend);
+        Font font = new Font(new FakeRasterizer(), new GlyphAtlas(new FakeTextures(), 128, 16));
+
+        batch.begin();
+        batch.setShader(1);
+        font.draw(batch, "HELLO WORLD\nSECOND LINE", 100.4f, 50f, WHITE);
+        batch.end();
+
+        assertEquals(1, backend.draws);
+        assertEquals(42, backend.boundTexture);
+        assertEquals(20, batch.getSpritesDrawn());
+
+        // The first quad's bottom-left corner: the pen snapped to 100, the
+        // box top 7 above the baseline and 8 tall
+        assertEquals(100f, backend.vertices[0]);
+        assertEquals(49f, backend.vertices[1]);
+        assertEquals(105f, backend.vertices[SpriteBatch.VERTEX_SIZE]);
+    }
+
+    @Test void testRunsAreCached() {
+        Font font = new Font(new FakeRasterizer(), new GlyphAtlas(new FakeTextures(), 64, 8), 2);
+        TextRun first = font.getRun("one");
+        assertSame(first, font.getRun("one"));
+        font.getRun("two");
+        font.getRun("three");
+        assertNotSame(first, font.getRun("one"));
+    }
+
+    @Test void testDrawingCachedTextDoesNotAllocate() {
+        SpriteBatch batch = new SpriteBatch(new CapturingBackend());
+        Font font = new Font(new FakeRasterizer(), new GlyphAtlas(new FakeTextures(), 256, 16));
+        String[] labels = { "FPS: 60", "Score: 12345", "Lives: 3", "Press SPACE to start" };
+
+        long before = 0;
+        for (int frame = 0; frame < 3; frame++) {
+            if (frame == 2) {
+                before = AllocationProbe.allocatedBytes();
+            }
+            font.nextFrame();
+            batch.begin();
+            batch.setShader(1);
+            for (int i = 0; i < labels.length; i++) {
+                font.draw(batch, labels[i], 10f, 500f - i * font.getLineHeight(), WHITE);
+            }
+            batch.end();
+        }
+        long allocated = AllocationProbe.allocatedBytes() - before;
+
+        assertTrue(allocated < 1024, "Frame allocated " + allocated + " bytes");
+    }
+
+    @Test void testInvalidInputs() {
+        FakeTextures textures = new FakeTextures();
+        assertThrows(IllegalArgumentException.class, () -> new GlyphAtlas(null, 64, 8));
+        assertThrows(IllegalArgumentException.class, () -> new GlyphAtlas(textures, 4, 8));
+        assertThrows(IllegalArgumentException.class,
+                () -> new Font(null, new GlyphAtlas(textures, 64, 8)));
+        assertThrows(IllegalArgumentException.class,
+                () -> new Font(new FakeRasterizer(), new GlyphAtlas(textures, 64, 8), 0));
+    }
+}
@@ -0,0 +1,197 @@
+package anchora.engine.app.texture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.lwjgl.BufferUtils;
+
+class TextureAtlasTest {
+
+    private static final int WHITE = 0xFFFFFFFF;
+
+    /**
+     * A solid image with a white top-left pixel, so a flipped or shifted
+     * copy shows up in the golden comparison.
+     */
+    private static Image marked(int width, int height, int rgba) {
+        Image image = Image.allocate(width, height);
+        image.fill(0, 0, width, height, rgba);
+        image.setPixel(0, 0, WHITE);
+        return image;
+    }
+
+    /**
+     * The fixed set of sprites the golden page was packed from.
+     */
+    private static TextureAtlas goldenAtlas() {
+        TextureAtlas atlas = new TextureAtlas(64, 1);
+        atlas.add("wide", marked(30, 8, 0x0000FFFF));
+        atlas.add("red", marked(20, 12, 0xFF0000FF));
+        atlas.add("tall", marked(12, 20, 0x00FF00FF));
+        atlas.add("small", marked(8, 8, 0xFFFF00FF));
+        atlas.add("square", marked(16, 16, 0xFF00FFFF));
+        atlas.add("strip", marked(40, 4, 0x00FFFFFF));
+        return atlas;
+    }
+
+    @Test void testPackerPlacesWithoutOverlap() {
+        int size = 256;
+        SkylinePacker packer = new SkylinePacker(size, size);
+        boolean[] used = new boolean[size * size];
+        Random random = new Random(42);
+        int[] position = new int[2];
+
+        int placed = 0;
+        for (int i = 0; i < 300; i++) {
+            int w = 1 + random.nextInt(24);
+            int h = 1 + random.nextInt(24);
+            if (!packer.insert(w, h, position)) {
+                continue;
+            }
+            placed++;
+
+            assertTrue(position[0] >= 0 && position[0] + w <= size);
+            assertTrue(position[1] >= 0 && position[1] + h <= size);
+            for (int y = position[1]; y < position[1] + h; y++) {
+                for (int x = position[0]; x < position[0] + w; x++) {
+                    assertFalse(used[y * size + x], "Overlap at " + x + ", " + y);
+                    used[y * size + x] = true;
+                }
+            }
+        }
+
+        assertTrue(placed > 100);
+        assertTrue(packer.getOccupancy() > 0.5f);
+    }
+
+    @Test void testPackerFillsRowsBottomLeft() {
+        SkylinePacker packer = new SkylinePacker(10, 10);
+        int[] position = new int[2];
+
+        assertTrue(packer.insert(6, 4, position));
+        assertEquals(0, position[0]);
+        assertEquals(0, position[1]);
+        assertTrue(packer.insert(4, 2, position));
+        assertEquals(6, position[0]);
+        assertEquals(0, position[1]);
+        // Lowest spot is now above the 4-wide one
+        assertTrue(packer.insert(4, 2, position));
+        assertEquals(6, position[0]);
+        assertEquals(2, position[1]);
+        // Spans both columns, rests on the taller one
+        assertTrue(packer.insert(10, 6, position));
+        assertEquals(0, position[0]);
+        assertEquals(4, position[1]);
+        assertFalse(packer.insert(1, 1, position));
+        assertEquals(1.0f, packer.getOccupancy(), 1e-6f);
+
+        packer.reset();
+        assertTrue(packer.insert(10, 10, position));
+        assertThrows(IllegalArgumentException.class, () -> packer.insert(0, 1, new int[2]));
+    }
+
+    @Test void testRegionsAndUvs() {
+        TextureAtlas atlas = goldenAtlas();
+        atlas.pack();
+
+        assertEquals(1, atlas.getPages().size());
+        AtlasRegion red = atlas.getRegion("red");
+        assertEquals(20, red.getWidth());
+        assertEquals(12, red.getHeight());
+        assertEquals(red.getX() / 64f, red.getU0(), 1e-6f);
+        assertEquals(red.getY() / 64f, red.getV0(), 1e-6f);
+        assertEquals((red.getX() + 20) / 64f, red.getU1(), 1e-6f);
+        assertEquals((red.getY() + 12) / 64f, red.getV1(), 1e-6f);
+        assertEquals(WHITE, red.getPage().getImage().getPixel(red.getX(), red.getY()));
+        assertEquals(0xFF0000FF, red.getPage().getImage().getPixel(red.getX() + 1, red.getY()));
+
+        assertThrows(IllegalArgumentException.class, () -> atlas.getRegion("missing"));
+        assertThrows(IllegalStateException.class, () -> atlas.add("late", marked(2, 2, WHITE)));
+    }
+
+    @Test void testPackingIgnoresInsertionOrder() {
+        TextureAtlas forward = new TextureAtlas(32, 0);
+        TextureAtlas backward = new TextureAtlas(32, 0);
+        String[] names = { "a", "b", "c", "d" };
+        for (int i = 0; i < names.length; i++) {
+            forward.add(names[i], marked(8, 8, 0x10203040 * (i + 1)));
+            int j = names.length - 1 - i;
+            backward.add(names[j], marked(8, 8, 0x10203040 * (j + 1)));
+        }
+        forward.pack();
+        backward.pack();
+
+        for (String name : names) {
+            assertEquals(forward.getRegion(name).getX(), backward.getRegion(name).getX());
+            assertEquals(forward.getRegion(name).getY(), backward.getRegion(name).getY());
+        }
+    }
+
+    @Test void testOverflowOpensNewPages() {
+        TextureAtlas atlas = new TextureAtlas(16, 0);
+        for (int i = 0; i < 5; i++) {
+            atlas.add("tile" + i, marked(8, 8, WHITE));
+        }
+        atlas.pack();
+
+        assertEquals(2, atlas.getPages().size());
+        assertEquals(1, atlas.getRegion("tile4").getPage().getIndex());
+        assertThrows(IllegalArgumentException.class,
+                () -> new TextureAtlas(16, 0).add("huge", marked(17, 1, WHITE)));
+    }
+
+    @Test void testDisposeFreesPageImages() {
+        TextureAtlas atlas = goldenAtlas();
+        atlas.pack();
+        AtlasRegion red = atlas.getRegion("red");
+
+        atlas.dispose();
+        assertThrows(IllegalStateException.class, () -> red.getPage().getImage().getPixel(0, 0));
+        assertEquals(20, red.getWidth());
+
+        // Disposing twice is harmless
+        atlas.dispose();
+    }
+
+    @Test void testPackedPageMatchesGolden() {
+        TextureAtlas atlas = goldenAtlas();
+        atlas.pack();
+        Image page = atlas.getPages().get(0).getImage();
+
+        Image golden = ImageUtils.load("textures/atlas_golden.png");
+        try {
+            assertEquals(page.getWidth(), golden.getWidth());
+            assertEquals(page.getHeight(), golden.getHeight());
+            for (int y = 0; y < page.getHeight(); y++) {
+                for (int x = 0; x < page.getWidth(); x++) {
+                    int expected = golden.getPixel(x, y);
+                    int actual = page.getPixel(x, y);
+                    if (expected != actual) {
+                        assertEquals(Integer.toHexString(expected), Integer.toHexString(actual),
+                                "Pixel " + x + ", " + y);
+                    }
+                }
+            }
+        } finally {
+            golden.free();
+        }
+    }
+
+    @Test void testDecodeRejectsGarbage() {
+        ByteBuffer garbage = BufferUtils.createByteBuffer(16);
+        for (int i = 0; i < 16; i++) {
+            garbage.put(i, (byte) i);
+        }
+
+        assertThrows(RuntimeException.class, () -> ImageUtils.decode(garbage, "garbage"));
+        assertThrows(IllegalArgumentException.class,
+                () -> ImageUtils.decode(ByteBuffer.allocate(16), "heap"));
+        assertThrows(RuntimeException.class, () -> ImageUtils.load("textures/missing.png"));
+    }
+}
@@ -0,0 +1,232 @@
+package anchora.engine.app.tilemap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import anchora.engine.app.render.VertexPacking;
+import anchora.engine.list.IntList;
+
+class TileMapTest {
+
+    private static final float[][] PALETTE = {
+            null,
+            { 1.0f, 0.0f, 0.0f, 1.0f },
+            { 0.0f, 1.0f, 0.0f, 1.0f },
+    };
+
+    /**
+     * Records uploads and draws instead of talking to GL, recycling deleted
+     * handles like {@link GLChunkMeshBackend}.
+     */
+    static class RecordingChunkMeshBackend implements ChunkMeshBackend {
+        final List<String> calls = new ArrayList<>();
+        final IntList freeHandles = new IntList();
+        int meshes;
+
+        @Override
+        public int create() {
+            if (!freeHandles.isEmpty()) {
+                return freeHandles.removeAt(freeHandles.size() - 1);
+            }
+            return meshes++;
+        }
+
+        @Override
+        public void upload(int mesh, ByteBuffer vertices, IntBuffer indices) {
+            calls.add("upload " + mesh + " " + indices.remaining());
+        }
+
+        @Override
+        public void bindShader(int programId) {
+            calls.add("shader " + programId);
+        }
+
+        @Override
+        public void draw(int mesh, int indexCount) {
+            calls.add("draw " + mesh + " " + indexCount);
+        }
+
+        @Override
+        public void delete(int mesh) {
+            calls.add("delete " + mesh);
+            freeHandles.add(mesh);
+        }
+    }
+
+    /**
+     * Builds a chunk and unpacks its vertices into x, y pairs, with the packed
+     * colors in {@code colorOut}.
+     */
+    private static float[] build(TileMap map, int chunkX, int chunkY, int[] indexOut,
+            int[] colorOut) {
+
+        ByteBuffer vertices = ByteBuffer.allocate(ChunkMeshBuilder.maxVertexBytes(map))
+                .order(ByteOrder.nativeOrder());
+        IntBuffer indices = IntBuffer.allocate(ChunkMeshBuilder.maxIndices(map));
+        int count = new ChunkMeshBuilder(PALETTE).build(map, chunkX, chunkY, vertices, indices);
+        assertEquals(indices.position(), count);
+
+        indices.flip();
+        indices.get(indexOut, 0, count);
+        vertices.flip();
+        int vertexCount = vertices.remaining() / ChunkMeshBuilder.FORMAT.getStride();
+        float[] positions = new float[vertexCount * 2];
+        for (int v = 0; v < vertexCount; v++) {
+            positions[2 * v] = vertices.getFloat();
+            positions[2 * v + 1] = vertices.getFloat();
+            colorOut[v] = vertices.getInt();
+        }
+        return positions;
+    }
+
+    @Test void testRectChunkMesh() {
+        TileMap map = new TileMap(TileShape.RECT, 4, 4, 10f, 2);
+        map.set(1, 0, 1);
+        map.set(1, 1, 2);
+        map.set(2, 0, 1); // In the next chunk
+
+        int[] indices = new int[12];
+        int[] colors = new int[8];
+        float[] vertices = build(map, 0, 0, indices, colors);
+
+        assertArrayEquals(new float[] {
+                10f, 0f, 20f, 0f, 20f, 10f, 10f, 10f,
+                10f, 10f, 20f, 10f, 20f, 20f, 10f, 20f,
+        }, vertices, 1e-5f);
+        assertArrayEquals(new int[] { 0, 1, 2, 2, 3, 0, 4, 5, 6, 6, 7, 4 }, indices);
+
+        int red = VertexPacking.packColor(PALETTE[1]);
+        int green = VertexPacking.packColor(PALETTE[2]);
+        assertArrayEquals(new int[] { red, red, red, red, green, green, green, green }, colors);
+    }
+
+    @Test void testHexLayoutMatchesTrig() {
+        TileMap map = new TileMap(TileShape.HEX, 3, 3, 2f, 4);
+        map.set(1, 1, 1);
+
+        int[] indices = new int[12];
+        float[] vertices = build(map, 0, 0, indices, new int[6]);
+        assertEquals(6 * 2, vertices.length);
+        assertArrayEquals(new int[] { 0, 1, 2, 0, 2, 3, 0, 3, 4, 0, 4, 5 }, indices);
+
+        // Odd rows shift right by half a column; rows are 1.5 radii apart
+        float column = (float) Math.sqrt(3.0) * 2f;
+        float centerX = column * 1.5f + column * 0.5f;
+        float centerY = 1.5f * 2f + 2f;
+        assertEquals(centerX, map.tileCenterX(1, 1), 1e-5f);
+        assertEquals(centerY, map.tileCenterY(1), 1e-5f);
+
+        for (int c = 0; c < 6; c++) {
+            double angle = Math.PI / 2 + Math.PI / 3 * c;
+            assertEquals(centerX + 2f * (float) Math.cos(angle), vertices[c * 2], 1e-5f);
+            assertEquals(centerY + 2f * (float) Math.sin(angle), vertices[c * 2 + 1], 1e-5f);
+        }
+    }
+
+    @Test void testOnlyDirtyChunksAreRebuilt() {
+        TileMap map = new TileMap(TileShape.HEX, 8, 8, 1f, 4);
+        map.fill(0, 0, 8, 8, 1);
+        RecordingChunkMeshBackend backend = new RecordingChunkMeshBackend();
+        TilemapRenderer renderer = new TilemapRenderer(map, new ChunkMeshBuilder(PALETTE), backend);
+
+        assertEquals(4, renderer.render(7, -100f, -100f, 100f, 100f));
+        assertEquals(4, renderer.getChunksBuilt());
+
+        // Unchanged tiles and no-op writes cost no uploads
+        int version = map.getChunkVersion(1, 0);
+        map.set(5, 1, 1);
+        assertEquals(version, map.getChunkVersion(1, 0));
+        backend.calls.clear();
+        renderer.render(7, -100f, -100f, 100f, 100f);
+        assertEquals(0, renderer.getChunksBuilt());
+        assertEquals(List.of("shader 7", "draw 0 192", "draw 1 192", "draw 2 192", "draw 3 192"),
+                backend.calls);
+
+        map.set(5, 1, TileMap.EMPTY);
+        assertNotEquals(version, map.getChunkVersion(1, 0));
+        backend.calls.clear();
+        renderer.render(7, -100f, -100f, 100f, 100f);
+        assertEquals(1, renderer.getChunksBuilt());
+        assertEquals(List.of("shader 7", "draw 0 192", "upload 1 180", "draw 1 180",
+                "draw 2 192", "draw 3 192"), backend.calls);
+
+        renderer.dispose();
+        assertEquals(4, backend.calls.stream().filter(call -> call.startsWith("delete")).count());
+    }
+
+    @Test void testRebuiltChunksReuseMeshHandles() {
+        TileMap map = new TileMap(TileShape.RECT, 8, 8, 1f, 4);
+        map.fill(0, 0, 8, 8, 1);
+        RecordingChunkMeshBackend backend = new RecordingChunkMeshBackend();
+        TilemapRenderer renderer = new TilemapRenderer(map, new ChunkMeshBuilder(PALETTE), backend);
+
+        // Every dispose and rebuild cycle hands the same four handles back out
+        for (int cycle = 0; cycle < 3; cycle++) {
+            backend.calls.clear();
+            assertEquals(4, renderer.render(7, -100f, -100f, 100f, 100f));
+            assertEquals(4, renderer.getChunksBuilt());
+            for (int mesh = 0; mesh < 4; mesh++) {
+                assertTrue(backend.calls.contains("upload " + mesh + " 96"), backend.calls.toString());
+            }
+            renderer.dispose();
+        }
+        assertEquals(4, backend.meshes);
+    }
+
+    @Test void testLargeMapOnlyTouchesVisibleChunks() {
+        TileMap map = new TileMap(TileShape.RECT, 1000, 1000, 1f);
+        map.fill(0, 0, 1000, 1000, 2);
+        RecordingChunkMeshBackend backend = new RecordingChunkMeshBackend();
+        TilemapRenderer renderer = new TilemapRenderer(map, new ChunkMeshBuilder(PALETTE), backend);
+
+        // A 64x64 view inside the map spans at most 3x3 chunks of 32
+        renderer.render(1, 500f, 500f, 564f, 564f);
+        assertTrue(renderer.getChunksDrawn() <= 9, "Drew " + renderer.getChunksDrawn());
+        assertEquals(renderer.getChunksDrawn(), backend.meshes);
+
+        int[] range = new int[4];
+        assertTrue(map.chunkRange(500f, 500f, 564f, 564f, range));
+        assertArrayEquals(new int[] { 15, 15, 17, 17 }, range);
+
+        // Edges clamp to the map, and views beside it see nothing
+        assertTrue(map.chunkRange(-50f, 990f, 10f, 2000f, range));
+        assertArrayEquals(new int[] { 0, 30, 0, 31 }, range);
+        assertFalse(map.chunkRange(-50f, -50f, -10f, -10f, range));
+        assertEquals(0, renderer.render(1, 2000f, 2000f, 2100f, 2100f));
+    }
+
+    @Test void testHexChunkRangeCoversOverhang() {
+        TileMap map = new TileMap(TileShape.HEX, 64, 64, 1f, 32);
+        int[] range = new int[4];
+
+        // Odd rows of chunk 0 poke half a column past its nominal width
+        float chunkWidth = 32 * (float) Math.sqrt(3.0);
+        assertTrue(map.chunkRange(chunkWidth + 0.1f, 0f, chunkWidth + 0.2f, 1f, range));
+        assertEquals(0, range[0]);
+        assertEquals(1, range[2]);
+    }
+
+    @Test void testInvalidInputs() {
+        assertThrows(IllegalArgumentException.class, () -> new TileMap(TileShape.RECT, 0, 4, 1f));
+        assertThrows(IllegalArgumentException.class, () -> new TileMap(null, 4, 4, 1f));
+        TileMap map = new TileMap(TileShape.RECT, 4, 4, 1f);
+        assertThrows(IllegalArgumentException.class, () -> map.set(4, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> map.set(0, 0, -1));
+        assertThrows(IllegalArgumentException.class, () -> new ChunkMeshBuilder(new float[][] { null, { 1f } }));
+
+        map.set(0, 0, 9);
+        assertThrows(IllegalArgumentException.class, () -> build(map, 0, 0, new int[6], new int[4]));
+    }
+}
@@ -0,0 +1,75 @@
+package anchora.engine.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import anchora.engine.list.LinkedList;
+
+/**
+ * The three operations of {@link LinkedList} on their own: appending
+ * {@code size} strings to an empty list, reading {@code size} random indices
+ * of a full one, and asking a full list for its size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinkedListBenchmark {
+
+    @Param({ "100", "10000", "1000000" })
+    int size;
+
+    private String[] values;
+    private int[] indices;
+    private LinkedList full;
+
+    @Setup
+    public void setUp() {
+        values = new String[size];
+        indices = new int[size];
+        full = new LinkedList();
+        Random random = new Random(1);
+        for (int i = 0; i < size; i++) {
+            values[i] = "token" + i;
+            indices[i] = random.nextInt(size);
+            full.add(values[i]);
+        }
+    }
+
+    @Benchmark
+    public LinkedList add() {
+        LinkedList list = new LinkedList();
+        for (String value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+
+    @Benchmark
+    public void get(Blackhole blackhole) {
+        for (int index : indices) {
+            blackhole.consume(full.get(index));
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public int size() {
+        return full.size();
+    }
+}
@@ -0,0 +1,94 @@
+package anchora.engine.benchmarks;
+
+import java.nio.FloatBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.lwjgl.BufferUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import anchora.engine.app.particle.ParticleKernel;
+import anchora.engine.app.particle.ParticleSystem;
+import anchora.engine.app.particle.ScalarParticleKernel;
+import anchora.engine.app.render.InstanceBatch;
+
+/**
+ * One frame of a {@link ParticleSystem} holding {@code particles} particles,
+ * with the scalar and the SIMD kernel. The target is a million particles
+ * updated in a few milliseconds on one core.
+ *
+ * <p>Lifetimes are long enough that nothing dies during a run, so every
+ * invocation updates the full count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParticleBenchmark {
+
+    private static final float[] COLOR = { 1f, 0.6f, 0.2f, 1f };
+
+    @Param({ "1000000" })
+    int particles;
+
+    @Param({ "scalar", "vector" })
+    String kernel;
+
+    private ParticleSystem system;
+    private FloatBuffer instances;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ParticleKernel chosen = kernel.equals("scalar") ? new ScalarParticleKernel() : ParticleKernel.best();
+        if (kernel.equals("vector") && chosen.getName().equals("scalar")) {
+            throw new IllegalStateException("ParticleBenchmark: jdk.incubator.vector is not available.");
+        }
+
+        system = new ParticleSystem(particles, chosen);
+        system.setGravity(0f, -9.8f);
+        system.setDrag(0.1f);
+        Random random = new Random(2);
+        for (int i = 0; i < particles; i++) {
+            system.emit(random.nextFloat() * 800f, random.nextFloat() * 600f,
+                    random.nextFloat() * 20f - 10f, random.nextFloat() * 20f,
+                    1e6f, 2f, COLOR);
+        }
+        instances = BufferUtils.createFloatBuffer(InstanceBatch.DEFAULT_MAX_INSTANCES
+                * InstanceBatch.INSTANCE_SIZE);
+    }
+
+    @Benchmark
+    public int update() {
+        system.update(1f / 60f);
+        return system.size();
+    }
+
+    /**
+     * The update followed by writing every particle into an instance stream,
+     * one batch at a time, as {@link InstanceBatch} does.
+     */
+    @Benchmark
+    public float updateAndWrite() {
+        system.update(1f / 60f);
+        float sink = 0f;
+        for (int first = 0; first < system.size(); ) {
+            instances.clear();
+            first += system.writeInstances(instances, first, InstanceBatch.DEFAULT_MAX_INSTANCES);
+            sink += instances.get(instances.position() - 1);
+        }
+        return sink;
+    }
+}
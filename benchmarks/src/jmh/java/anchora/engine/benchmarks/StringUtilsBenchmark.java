@@ -0,0 +1,80 @@
+package anchora.engine.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import anchora.engine.list.LinkedList;
+import anchora.engine.utilities.StringUtils;
+import anchora.engine.utilities.Tokenizer;
+
+/**
+ * Splits and joins a text of {@code tokens} words separated by runs of one to
+ * three spaces, large enough that anything quadratic in the input shows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringUtilsBenchmark {
+
+    @Param({ "1000", "100000" })
+    int tokens;
+
+    private String text;
+    private LinkedList words;
+    private List<String> wordList;
+
+    @Setup
+    public void setUp() {
+        StringBuilder builder = new StringBuilder();
+        wordList = new ArrayList<>(tokens);
+        for (int i = 0; i < tokens; i++) {
+            String word = "word" + i;
+            builder.append(word).append("   ", 0, 1 + i % 3);
+            wordList.add(word);
+        }
+        text = builder.toString();
+        words = StringUtils.split(text);
+    }
+
+    @Benchmark
+    public LinkedList split() {
+        return StringUtils.split(text);
+    }
+
+    @Benchmark
+    public int tokenize() {
+        // The non-copying alternative to split, for comparison
+        int length = 0;
+        Tokenizer.Cursor cursor = StringUtils.tokenize(text, " ").cursor();
+        while (cursor.next()) {
+            length += cursor.end() - cursor.start();
+        }
+        return length;
+    }
+
+    @Benchmark
+    public String join() {
+        return StringUtils.join(words);
+    }
+
+    @Benchmark
+    public String joinIterable() {
+        return StringUtils.join(wordList, " ");
+    }
+}
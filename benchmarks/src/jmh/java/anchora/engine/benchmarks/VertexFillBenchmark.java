@@ -0,0 +1,119 @@
+package anchora.engine.benchmarks;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import anchora.engine.app.VerticesUtils;
+import anchora.engine.app.render.BatchBackend;
+import anchora.engine.app.render.ShapeBatch;
+
+/**
+ * The CPU side of a frame: filling a {@link ShapeBatch} with {@code shapes}
+ * quads or circles and flushing it. The backend only reads the buffers, so
+ * this measures vertex generation and batching without a GL context.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VertexFillBenchmark {
+
+    private static final float[] COLOR = { 0.2f, 0.4f, 0.6f, 1f };
+
+    @Param({ "1000", "10000" })
+    int shapes;
+
+    private final SinkBackend backend = new SinkBackend();
+    private ShapeBatch batch;
+    private float[][] quads;
+    private float[] centerX, centerY, radius;
+
+    /**
+     * Stands in for the GL upload by touching the last float and index, so
+     * the flushed data cannot be optimized away.
+     */
+    static class SinkBackend implements BatchBackend {
+        float floatSink;
+        int indexSink;
+
+        @Override
+        public void bindShader(int programId) {
+        }
+
+        @Override
+        public void bindTexture(int textureId) {
+        }
+
+        @Override
+        public void drawIndexed(FloatBuffer vertices, IntBuffer indices) {
+            floatSink += vertices.get(vertices.limit() - 1);
+            indexSink += indices.get(indices.limit() - 1);
+        }
+
+        @Override
+        public void endFrame() {
+        }
+
+        @Override
+        public void dispose() {
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        batch = new ShapeBatch(backend);
+
+        Random random = new Random(1);
+        quads = new float[shapes][];
+        centerX = new float[shapes];
+        centerY = new float[shapes];
+        radius = new float[shapes];
+        for (int i = 0; i < shapes; i++) {
+            int x = random.nextInt(800);
+            int y = random.nextInt(600);
+            quads[i] = VerticesUtils.generateRectangle(x, y, 16, 16,
+                    VerticesUtils.SINGLE_VERTEX_ARRAY_LENGTH);
+            centerX[i] = x;
+            centerY[i] = y;
+            radius[i] = 2f + random.nextFloat() * 30f;
+        }
+    }
+
+    @Benchmark
+    public int quads() {
+        batch.begin();
+        batch.setShader(1);
+        for (float[] quad : quads) {
+            batch.drawQuad(quad);
+        }
+        batch.end();
+        return batch.getVerticesDrawn();
+    }
+
+    @Benchmark
+    public int circles() {
+        batch.begin();
+        batch.setShader(1);
+        for (int i = 0; i < shapes; i++) {
+            batch.drawCircle(centerX[i], centerY[i], radius[i], COLOR);
+        }
+        batch.end();
+        return batch.getVerticesDrawn();
+    }
+}
@@ -0,0 +1,115 @@
+package anchora.engine.benchmarks;
+
+import java.nio.FloatBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.lwjgl.BufferUtils;
+
+import anchora.engine.app.VerticesUtils;
+
+/**
+ * Every {@code VerticesUtils.generate*} method, in both forms: the array form
+ * that allocates per call and the buffer form that writes into a reused
+ * direct buffer. The difference between the two is the allocation cost the
+ * buffer forms were added to avoid.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VerticesUtilsBenchmark {
+
+    private static final int STRIDE = VerticesUtils.SINGLE_VERTEX_ARRAY_LENGTH;
+    private static final float[] COLOR = { 0.2f, 0.4f, 0.6f, 1f };
+
+    private FloatBuffer buffer;
+
+    @Setup
+    public void setUp() {
+        // Large enough for the 360 vertex circle
+        buffer = BufferUtils.createFloatBuffer(360 * STRIDE);
+    }
+
+    @Benchmark
+    public float[] hexagonArray() {
+        return VerticesUtils.generateHexagon(50f, 400f, 300f, STRIDE);
+    }
+
+    @Benchmark
+    public int hexagonBuffer() {
+        return VerticesUtils.generateHexagon(buffer, 0, 50f, 400f, 300f, COLOR);
+    }
+
+    @Benchmark
+    public float[] lineArray() {
+        return VerticesUtils.generateLine(10, 20, 300, 400, 4f, COLOR);
+    }
+
+    @Benchmark
+    public int lineBuffer() {
+        return VerticesUtils.generateLine(buffer, 0, 10, 20, 300, 400, 4f, COLOR);
+    }
+
+    @Benchmark
+    public float[] rectangleArray() {
+        return VerticesUtils.generateRectangle(10, 20, 300, 400, STRIDE);
+    }
+
+    @Benchmark
+    public int rectangleBuffer() {
+        return VerticesUtils.generateRectangle(buffer, 0, 10, 20, 300, 400, COLOR);
+    }
+
+    @Benchmark
+    public float[] triangleArray() {
+        return VerticesUtils.generateTriangle(10, 20, 300, 20, 150, 400, STRIDE);
+    }
+
+    @Benchmark
+    public int triangleBuffer() {
+        return VerticesUtils.generateTriangle(buffer, 0, 10, 20, 300, 20, 150, 400, COLOR);
+    }
+
+    @Benchmark
+    public float[] circleArray() {
+        return VerticesUtils.generateCircle(400, 300, 100, STRIDE);
+    }
+
+    @Benchmark
+    public int circleBuffer() {
+        return VerticesUtils.generateCircle(buffer, 0, 400, 300, 100, COLOR);
+    }
+
+    @Benchmark
+    public float[] polygonArray() {
+        return VerticesUtils.generatePolygon(400, 300, 100, 12, STRIDE);
+    }
+
+    @Benchmark
+    public int polygonBuffer() {
+        return VerticesUtils.generatePolygon(buffer, 0, 400, 300, 100, 12, COLOR);
+    }
+
+    @Benchmark
+    public float[] verticiesArray() {
+        return VerticesUtils.generateVerticies(COLOR, 64);
+    }
+
+    @Benchmark
+    public int verticiesBuffer() {
+        return VerticesUtils.generateVerticies(buffer, 0, COLOR, 64);
+    }
+}
@@ -0,0 +1,192 @@
+package anchora.engine.ecs;
+
+import java.util.Arrays;
+
+/**
+ * A sparse set mapping entities to rows of densely packed component data.
+ *
+ * <p>The dense side lists the entities that have the component, with no
+ * holes, and subclasses keep one primitive array per field indexed by the
+ * same row; systems walk those arrays front to back. The sparse side maps an
+ * entity slot to its row, so membership and lookup are a single array read.
+ * Removing swaps the last row into the hole, so row order is not stable
+ * across removals.
+ */
+public abstract class ComponentStore {
+
+    private static final int ABSENT = -1;
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private final String name;
+    private int[] sparse = new int[DEFAULT_CAPACITY];
+    private int[] dense;
+    private int size;
+    private int layoutVersion;
+
+    protected ComponentStore(String name, int initialCapacity) {
+        if (name == null || initialCapacity < 1) {
+            throw new IllegalArgumentException("ComponentStore: Invalid store inputs.");
+        }
+
+        this.name = name;
+        this.dense = new int[initialCapacity];
+        Arrays.fill(sparse, ABSENT);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The number of entities with this component.
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean has(int entity) {
+        return rowOf(entity) != ABSENT;
+    }
+
+    /**
+     * @return The row holding the entity's data, or -1 if it has none.
+     */
+    public int rowOf(int entity) {
+        int index = World.indexOf(entity);
+        if (index >= sparse.length) {
+            return ABSENT;
+        }
+
+        int row = sparse[index];
+        return row != ABSENT && dense[row] == entity ? row : ABSENT;
+    }
+
+    /**
+     * @return A counter bumped whenever a row is added, removed or moved, so
+     *         a system can tell the row order has not changed since it last
+     *         looked.
+     */
+    public int getLayoutVersion() {
+        return layoutVersion;
+    }
+
+    /**
+     * @return The entity whose data is in the given row.
+     */
+    public int entityAt(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("ComponentStore: Row out of range: " + row);
+        }
+        return dense[row];
+    }
+
+    /**
+     * Removes an entity's data, moving the last row into its place.
+     *
+     * @return Whether the entity had the component.
+     */
+    public boolean remove(int entity) {
+        int row = rowOf(entity);
+        if (row == ABSENT) {
+            return false;
+        }
+
+        int last = size - 1;
+        if (row != last) {
+            swap(row, last);
+        }
+        sparse[World.indexOf(entity)] = ABSENT;
+        size--;
+        layoutVersion++;
+        return true;
+    }
+
+    /**
+     * Reorders the rows so the entities shared with {@code other} come first,
+     * in the same order as in {@code other}. After this, a system walking
+     * both stores finds matching entities at matching rows and can read both
+     * sets of arrays sequentially; see {@link #isAlignedAt(ComponentStore, int)}.
+     */
+    public void sortLike(ComponentStore other) {
+        int next = 0;
+        for (int otherRow = 0; otherRow < other.size; otherRow++) {
+            int row = rowOf(other.dense[otherRow]);
+            if (row != ABSENT) {
+                if (row != next) {
+                    swap(row, next);
+                }
+                next++;
+            }
+        }
+    }
+
+    /**
+     * @return Whether row {@code row} of this store and of {@code other} hold
+     *         the same entity.
+     */
+    public boolean isAlignedAt(ComponentStore other, int row) {
+        return row < size && row < other.size && dense[row] == other.dense[row];
+    }
+
+    /**
+     * Adds a row for the entity, or returns its existing row.
+     *
+     * @return The row to write the component fields into.
+     */
+    protected int insert(int entity) {
+        if (entity == ABSENT) {
+            throw new IllegalArgumentException("ComponentStore: Invalid entity.");
+        }
+
+        int existing = rowOf(entity);
+        if (existing != ABSENT) {
+            return existing;
+        }
+
+        int index = World.indexOf(entity);
+        if (index >= sparse.length) {
+            int oldLength = sparse.length;
+            sparse = Arrays.copyOf(sparse, Math.max(oldLength * 2, index + 1));
+            Arrays.fill(sparse, oldLength, sparse.length, ABSENT);
+        }
+        if (size == dense.length) {
+            int capacity = dense.length * 2;
+            dense = Arrays.copyOf(dense, capacity);
+            growColumns(capacity);
+        }
+
+        int row = size++;
+        dense[row] = entity;
+        sparse[index] = row;
+        clearColumns(row);
+        layoutVersion++;
+        return row;
+    }
+
+    /**
+     * Grows every field array to the new row capacity.
+     */
+    protected abstract void growColumns(int capacity);
+
+    /**
+     * Resets one row of every field array, which may still hold the data of
+     * a removed entity.
+     */
+    protected abstract void clearColumns(int row);
+
+    /**
+     * Swaps two rows of every field array.
+     */
+    protected abstract void swapColumns(int a, int b);
+
+    private void swap(int a, int b) {
+        int entityA = dense[a];
+        int entityB = dense[b];
+        dense[a] = entityB;
+        dense[b] = entityA;
+        sparse[World.indexOf(entityA)] = b;
+        sparse[World.indexOf(entityB)] = a;
+        swapColumns(a, b);
+        layoutVersion++;
+    }
+}
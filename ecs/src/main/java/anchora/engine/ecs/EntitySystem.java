@@ -0,0 +1,42 @@
+package anchora.engine.ecs;
+
+/**
+ * Logic that runs over component data once per update.
+ *
+ * <p>A system declares the stores it reads and writes so the
+ * {@link SystemScheduler} can run systems that do not conflict at the same
+ * time. A system must not touch stores it has not declared, and only an
+ * {@link #isExclusive() exclusive} system may create or destroy entities.
+ */
+public interface EntitySystem {
+
+    ComponentStore[] NONE = new ComponentStore[0];
+
+    /**
+     * @param dt The update step, in seconds.
+     */
+    void update(double dt);
+
+    /**
+     * @return The stores this system only reads.
+     */
+    default ComponentStore[] reads() {
+        return NONE;
+    }
+
+    /**
+     * @return The stores this system writes, including adding or removing
+     *         components.
+     */
+    default ComponentStore[] writes() {
+        return NONE;
+    }
+
+    /**
+     * @return Whether the system must run alone, for example because it
+     *         creates or destroys entities.
+     */
+    default boolean isExclusive() {
+        return false;
+    }
+}
@@ -0,0 +1,105 @@
+package anchora.engine.ecs;
+
+import java.util.Arrays;
+
+/**
+ * A component made of a fixed number of {@code float} fields, stored as one
+ * float array per field. A position is {@code new FloatComponent("position", 2)}
+ * with x in field 0 and y in field 1.
+ *
+ * <p>The arrays returned by {@link #column(int)} are replaced when the store
+ * grows, so systems should fetch them at the start of each update rather
+ * than keep them.
+ */
+public class FloatComponent extends ComponentStore {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private final float[][] columns;
+
+    public FloatComponent(String name, int fieldCount) {
+        this(name, fieldCount, DEFAULT_CAPACITY);
+    }
+
+    public FloatComponent(String name, int fieldCount, int initialCapacity) {
+        super(name, initialCapacity);
+        if (fieldCount < 1) {
+            throw new IllegalArgumentException("FloatComponent: Invalid field count.");
+        }
+
+        columns = new float[fieldCount][initialCapacity];
+    }
+
+    /**
+     * Adds the component to an entity with every field zero, or leaves the
+     * existing fields as they are.
+     *
+     * @return The entity's row.
+     */
+    public int add(int entity) {
+        return insert(entity);
+    }
+
+    /**
+     * Adds the component to an entity and sets its first two fields.
+     *
+     * @return The entity's row.
+     */
+    public int add(int entity, float first, float second) {
+        int row = insert(entity);
+        columns[0][row] = first;
+        columns[1][row] = second;
+        return row;
+    }
+
+    /**
+     * @return The dense array of one field, valid for rows below
+     *         {@link #size()}.
+     */
+    public float[] column(int field) {
+        return columns[field];
+    }
+
+    public float get(int row, int field) {
+        checkRow(row);
+        return columns[field][row];
+    }
+
+    public void set(int row, int field, float value) {
+        checkRow(row);
+        columns[field][row] = value;
+    }
+
+    public int getFieldCount() {
+        return columns.length;
+    }
+
+    @Override
+    protected void growColumns(int capacity) {
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = Arrays.copyOf(columns[i], capacity);
+        }
+    }
+
+    @Override
+    protected void clearColumns(int row) {
+        for (float[] column : columns) {
+            column[row] = 0f;
+        }
+    }
+
+    @Override
+    protected void swapColumns(int a, int b) {
+        for (float[] column : columns) {
+            float value = column[a];
+            column[a] = column[b];
+            column[b] = value;
+        }
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size()) {
+            throw new IndexOutOfBoundsException("FloatComponent: Row out of range: " + row);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package anchora.engine.ecs;
+
+import java.util.Arrays;
+
+/**
+ * A component made of a fixed number of {@code int} fields, stored as one
+ * int array per field. A grid cell is {@code new IntComponent("cell", 2)}
+ * with the column in field 0 and the row in field 1.
+ *
+ * <p>The arrays returned by {@link #column(int)} are replaced when the store
+ * grows, so systems should fetch them at the start of each update rather
+ * than keep them.
+ */
+public class IntComponent extends ComponentStore {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private final int[][] columns;
+
+    public IntComponent(String name, int fieldCount) {
+        this(name, fieldCount, DEFAULT_CAPACITY);
+    }
+
+    public IntComponent(String name, int fieldCount, int initialCapacity) {
+        super(name, initialCapacity);
+        if (fieldCount < 1) {
+            throw new IllegalArgumentException("IntComponent: Invalid field count.");
+        }
+
+        columns = new int[fieldCount][initialCapacity];
+    }
+
+    /**
+     * Adds the component to an entity with every field zero, or leaves the
+     * existing fields as they are.
+     *
+     * @return The entity's row.
+     */
+    public int add(int entity) {
+        return insert(entity);
+    }
+
+    /**
+     * Adds the component to an entity and sets its first two fields.
+     *
+     * @return The entity's row.
+     */
+    public int add(int entity, int first, int second) {
+        int row = insert(entity);
+        columns[0][row] = first;
+        columns[1][row] = second;
+        return row;
+    }
+
+    /**
+     * @return The dense array of one field, valid for rows below
+     *         {@link #size()}.
+     */
+    public int[] column(int field) {
+        return columns[field];
+    }
+
+    public int get(int row, int field) {
+        checkRow(row);
+        return columns[field][row];
+    }
+
+    public void set(int row, int field, int value) {
+        checkRow(row);
+        columns[field][row] = value;
+    }
+
+    public int getFieldCount() {
+        return columns.length;
+    }
+
+    @Override
+    protected void growColumns(int capacity) {
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = Arrays.copyOf(columns[i], capacity);
+        }
+    }
+
+    @Override
+    protected void clearColumns(int row) {
+        for (int[] column : columns) {
+            column[row] = 0;
+        }
+    }
+
+    @Override
+    protected void swapColumns(int a, int b) {
+        for (int[] column : columns) {
+            int value = column[a];
+            column[a] = column[b];
+            column[b] = value;
+        }
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size()) {
+            throw new IndexOutOfBoundsException("IntComponent: Row out of range: " + row);
+        }
+    }
+}
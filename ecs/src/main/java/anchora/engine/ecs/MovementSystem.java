@@ -0,0 +1,99 @@
+package anchora.engine.ecs;
+
+import java.util.concurrent.ForkJoinPool;
+
+import anchora.engine.utilities.ParallelRange;
+
+/**
+ * Moves every entity that has a velocity by {@code velocity * dt}. Both
+ * stores hold x in field 0 and y in field 1.
+ *
+ * <p>The position store is sorted like the velocity store whenever their rows
+ * have drifted apart, so the hot loop reads both stores at the same row with
+ * no lookups. Stores whose layout has not changed since the last check are
+ * not looked at again, so rows that can never match, such as a velocity
+ * without a position, do not cause a sort every frame.
+ */
+public class MovementSystem implements EntitySystem {
+
+    /**
+     * Rows per fork-join task; two adds per row make anything smaller not
+     * worth the task overhead.
+     */
+    private static final int GRAIN = 16384;
+
+    private final FloatComponent position, velocity;
+    private final ForkJoinPool pool;
+    private final ComponentStore[] reads, writes;
+
+    // Both stores' layout versions when their alignment was last checked
+    private int checkedPositionLayout, checkedVelocityLayout;
+    private boolean checked;
+
+    /**
+     * @param position The store that is moved.
+     * @param velocity The store that is read.
+     * @param pool     The pool to spread large stores across.
+     */
+    public MovementSystem(FloatComponent position, FloatComponent velocity, ForkJoinPool pool) {
+        if (position == null || velocity == null || pool == null
+                || position.getFieldCount() < 2 || velocity.getFieldCount() < 2) {
+            throw new IllegalArgumentException("MovementSystem: Invalid system inputs.");
+        }
+
+        this.position = position;
+        this.velocity = velocity;
+        this.pool = pool;
+        this.reads = new ComponentStore[] { velocity };
+        this.writes = new ComponentStore[] { position };
+    }
+
+    @Override
+    public void update(double dt) {
+        int count = velocity.size();
+        if (count == 0) {
+            return;
+        }
+        if (!checked || position.getLayoutVersion() != checkedPositionLayout
+                || velocity.getLayoutVersion() != checkedVelocityLayout) {
+            if (!position.isAlignedAt(velocity, 0) || !position.isAlignedAt(velocity, count - 1)) {
+                position.sortLike(velocity);
+            }
+            checkedPositionLayout = position.getLayoutVersion();
+            checkedVelocityLayout = velocity.getLayoutVersion();
+            checked = true;
+        }
+
+        float step = (float) dt;
+        float[] x = position.column(0);
+        float[] y = position.column(1);
+        float[] vx = velocity.column(0);
+        float[] vy = velocity.column(1);
+
+        ParallelRange.forEach(pool, count, GRAIN, (start, end) -> {
+            for (int row = start; row < end; row++) {
+                if (position.isAlignedAt(velocity, row)) {
+                    x[row] += vx[row] * step;
+                    y[row] += vy[row] * step;
+                } else {
+                    // Rows drift apart after a velocity without a position
+                    int target = position.rowOf(velocity.entityAt(row));
+                    if (target >= 0) {
+                        x[target] += vx[row] * step;
+                        y[target] += vy[row] * step;
+                    }
+                }
+            }
+        });
+    }
+
+    @Override
+    public ComponentStore[] reads() {
+        return reads;
+    }
+
+    @Override
+    public ComponentStore[] writes() {
+        return writes;
+    }
+}
@@ -0,0 +1,145 @@
+package anchora.engine.ecs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs systems in the order they were added, but runs systems that do not
+ * conflict at the same time on a {@link ForkJoinPool}.
+ *
+ * <p>Systems are grouped into stages. Each system goes into the first stage
+ * after every earlier system it conflicts with, so the result is the same as
+ * running them one by one in order. Two systems conflict when one writes a
+ * store the other reads or writes, or when either is exclusive. Stages run
+ * one after the other; the systems of a stage run in parallel.
+ */
+public class SystemScheduler {
+
+    private final ForkJoinPool pool;
+    private final List<EntitySystem> systems = new ArrayList<>();
+    private final List<List<EntitySystem>> stages = new ArrayList<>();
+    private boolean stagesValid;
+
+    public SystemScheduler() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public SystemScheduler(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("SystemScheduler: Invalid pool.");
+        }
+        this.pool = pool;
+    }
+
+    public void add(EntitySystem system) {
+        if (system == null) {
+            throw new IllegalArgumentException("SystemScheduler: Invalid system.");
+        }
+
+        systems.add(system);
+        stagesValid = false;
+    }
+
+    /**
+     * Runs every system once. Returns when all of them have finished; an
+     * exception thrown by a system is rethrown here after its stage ends.
+     *
+     * @param dt The update step, in seconds.
+     */
+    public void update(double dt) {
+        for (List<EntitySystem> stage : getStages()) {
+            if (stage.size() == 1) {
+                stage.get(0).update(dt);
+            } else {
+                pool.invoke(new StageTask(stage, dt));
+            }
+        }
+    }
+
+    /**
+     * @return The systems grouped into the stages they run in.
+     */
+    public List<List<EntitySystem>> getStages() {
+        if (!stagesValid) {
+            buildStages();
+        }
+        return stages;
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    static boolean conflicts(EntitySystem a, EntitySystem b) {
+        if (a.isExclusive() || b.isExclusive()) {
+            return true;
+        }
+        return intersects(a.writes(), b.writes())
+                || intersects(a.writes(), b.reads())
+                || intersects(a.reads(), b.writes());
+    }
+
+    private void buildStages() {
+        stages.clear();
+        int[] stageOf = new int[systems.size()];
+
+        for (int i = 0; i < systems.size(); i++) {
+            int stage = 0;
+            for (int j = 0; j < i; j++) {
+                if (stageOf[j] >= stage && conflicts(systems.get(i), systems.get(j))) {
+                    stage = stageOf[j] + 1;
+                }
+            }
+
+            stageOf[i] = stage;
+            if (stage == stages.size()) {
+                stages.add(new ArrayList<>());
+            }
+            stages.get(stage).add(systems.get(i));
+        }
+
+        stagesValid = true;
+    }
+
+    private static boolean intersects(ComponentStore[] a, ComponentStore[] b) {
+        for (ComponentStore x : a) {
+            for (ComponentStore y : b) {
+                if (x == y) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static final class StageTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final List<EntitySystem> stage;
+        private final double dt;
+
+        StageTask(List<EntitySystem> stage, double dt) {
+            this.stage = stage;
+            this.dt = dt;
+        }
+
+        @Override
+        protected void compute() {
+            List<RecursiveAction> tasks = new ArrayList<>(stage.size());
+            for (EntitySystem system : stage) {
+                tasks.add(new RecursiveAction() {
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    protected void compute() {
+                        system.update(dt);
+                    }
+                });
+            }
+            ForkJoinTask.invokeAll(tasks);
+        }
+    }
+}
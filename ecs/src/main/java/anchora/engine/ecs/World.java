@@ -0,0 +1,124 @@
+package anchora.engine.ecs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hands out entity IDs and keeps the component stores that hold their data.
+ *
+ * <p>An entity is just an {@code int}: the low {@value #INDEX_BITS} bits are
+ * a slot index that is recycled when the entity is destroyed, the high bits
+ * a generation that is bumped on every recycle. A stale ID therefore never
+ * aliases the entity that reused its slot. No entity is ever -1, which the
+ * stores use for "no entity".
+ *
+ * <p>Creating and destroying entities is not thread-safe and must not happen
+ * while systems run in parallel; see {@link SystemScheduler}.
+ */
+public class World {
+
+    public static final int INDEX_BITS = 22;
+    public static final int MAX_ENTITIES = 1 << INDEX_BITS;
+
+    private static final int INDEX_MASK = MAX_ENTITIES - 1;
+    private static final int GENERATION_MASK = (1 << (Integer.SIZE - INDEX_BITS)) - 1;
+
+    private final List<ComponentStore> stores = new ArrayList<>();
+    private int[] generations = new int[64];
+    private boolean[] alive = new boolean[64];
+    private int[] freeIndices = new int[64];
+    private int freeCount;
+    private int nextIndex;
+    private int aliveCount;
+
+    /**
+     * Creates an entity with no components.
+     *
+     * @return The new entity ID.
+     * @throws IllegalStateException If {@link #MAX_ENTITIES} are alive.
+     */
+    public int create() {
+        int index;
+        if (freeCount > 0) {
+            index = freeIndices[--freeCount];
+        } else {
+            if (nextIndex == MAX_ENTITIES) {
+                throw new IllegalStateException("World: Entity limit reached.");
+            }
+            index = nextIndex++;
+            if (index == generations.length) {
+                generations = Arrays.copyOf(generations, generations.length * 2);
+                alive = Arrays.copyOf(alive, alive.length * 2);
+            }
+        }
+
+        alive[index] = true;
+        aliveCount++;
+        return generations[index] << INDEX_BITS | index;
+    }
+
+    /**
+     * Removes an entity from every store and frees its slot.
+     *
+     * @throws IllegalArgumentException If the entity is not alive.
+     */
+    public void destroy(int entity) {
+        if (!isAlive(entity)) {
+            throw new IllegalArgumentException("World: Entity is not alive: " + entity);
+        }
+
+        for (int i = 0; i < stores.size(); i++) {
+            stores.get(i).remove(entity);
+        }
+
+        int index = indexOf(entity);
+        int generation = (generations[index] + 1) & GENERATION_MASK;
+        // The last slot at the last generation would have every bit set
+        if (index == INDEX_MASK && generation == GENERATION_MASK) {
+            generation = 0;
+        }
+        generations[index] = generation;
+        alive[index] = false;
+        if (freeCount == freeIndices.length) {
+            freeIndices = Arrays.copyOf(freeIndices, freeIndices.length * 2);
+        }
+        freeIndices[freeCount++] = index;
+        aliveCount--;
+    }
+
+    public boolean isAlive(int entity) {
+        int index = indexOf(entity);
+        return index < nextIndex && alive[index]
+                && generations[index] == (entity >>> INDEX_BITS);
+    }
+
+    /**
+     * Adds a store to the world so destroyed entities are removed from it.
+     *
+     * @return The same store, for chaining.
+     */
+    public <T extends ComponentStore> T register(T store) {
+        if (store == null || stores.contains(store)) {
+            throw new IllegalArgumentException("World: Invalid or duplicate store.");
+        }
+
+        stores.add(store);
+        return store;
+    }
+
+    /**
+     * @return The number of entities alive.
+     */
+    public int size() {
+        return aliveCount;
+    }
+
+    /**
+     * @return The slot index of an entity, used by stores to index their
+     *         sparse arrays.
+     */
+    public static int indexOf(int entity) {
+        return entity & INDEX_MASK;
+    }
+}
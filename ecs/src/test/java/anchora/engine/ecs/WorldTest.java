@@ -0,0 +1,251 @@
+package anchora.engine.ecs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class WorldTest {
+
+    // One pool per test, shut down after it so no workers outlive the test
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    /**
+     * A system that only declares its access, for checking stage layout.
+     */
+    static class DeclaredSystem implements EntitySystem {
+        final ComponentStore[] reads, writes;
+        final AtomicInteger runs = new AtomicInteger();
+
+        DeclaredSystem(ComponentStore[] reads, ComponentStore[] writes) {
+            this.reads = reads;
+            this.writes = writes;
+        }
+
+        @Override
+        public void update(double dt) {
+            runs.incrementAndGet();
+        }
+
+        @Override
+        public ComponentStore[] reads() {
+            return reads;
+        }
+
+        @Override
+        public ComponentStore[] writes() {
+            return writes;
+        }
+    }
+
+    @AfterEach void shutDownPool() {
+        pool.shutdown();
+    }
+
+    @Test void testEntityIdsAreRecycledWithNewGeneration() {
+        World world = new World();
+        int first = world.create();
+        int second = world.create();
+        assertEquals(2, world.size());
+
+        world.destroy(first);
+        assertFalse(world.isAlive(first));
+        assertTrue(world.isAlive(second));
+        assertThrows(IllegalArgumentException.class, () -> world.destroy(first));
+
+        int reused = world.create();
+        assertEquals(World.indexOf(first), World.indexOf(reused));
+        assertNotEquals(first, reused);
+        assertTrue(world.isAlive(reused));
+        assertFalse(world.isAlive(first));
+    }
+
+    @Test void testEntityIdsAreNeverAbsent() {
+        World world = new World();
+        int last = 0;
+        for (int i = 0; i < World.MAX_ENTITIES; i++) {
+            last = world.create();
+        }
+        assertEquals(World.MAX_ENTITIES - 1, World.indexOf(last));
+        assertThrows(IllegalStateException.class, world::create);
+
+        // Cycle the last slot through every generation
+        for (int i = 0; i < 1 << (Integer.SIZE - World.INDEX_BITS); i++) {
+            world.destroy(last);
+            last = world.create();
+            assertNotEquals(-1, last);
+            assertTrue(world.isAlive(last));
+        }
+    }
+
+    @Test void testStoresStayDense() {
+        World world = new World();
+        FloatComponent position = world.register(new FloatComponent("position", 2, 2));
+        int[] entities = new int[5];
+        for (int i = 0; i < entities.length; i++) {
+            entities[i] = world.create();
+            position.add(entities[i], i, -i);
+        }
+        assertEquals(5, position.size());
+
+        // Removing from the middle pulls the last row in
+        world.destroy(entities[1]);
+        assertEquals(4, position.size());
+        assertFalse(position.has(entities[1]));
+        assertEquals(entities[4], position.entityAt(1));
+        assertEquals(4f, position.get(position.rowOf(entities[4]), 0));
+        assertEquals(-3f, position.get(position.rowOf(entities[3]), 1));
+
+        // A recycled slot starts with cleared fields, not the old row's data
+        int fresh = world.create();
+        int row = position.add(fresh);
+        assertEquals(0f, position.get(row, 0));
+        assertEquals(-1, position.rowOf(entities[1]));
+    }
+
+    @Test void testSortLikeAlignsRows() {
+        World world = new World();
+        FloatComponent position = world.register(new FloatComponent("position", 2));
+        FloatComponent velocity = world.register(new FloatComponent("velocity", 2));
+        int[] entities = new int[6];
+        for (int i = 0; i < entities.length; i++) {
+            entities[i] = world.create();
+            position.add(entities[i], i, 0f);
+        }
+        for (int i = entities.length - 1; i >= 0; i -= 2) {
+            velocity.add(entities[i], 1f, 0f);
+        }
+
+        assertFalse(position.isAlignedAt(velocity, 0));
+        position.sortLike(velocity);
+        for (int row = 0; row < velocity.size(); row++) {
+            assertTrue(position.isAlignedAt(velocity, row));
+            assertEquals(World.indexOf(position.entityAt(row)),
+                    (int) position.get(row, 0));
+        }
+    }
+
+    @Test void testMovementMatchesSequentialIntegration() {
+        World world = new World();
+        FloatComponent position = world.register(new FloatComponent("position", 2));
+        FloatComponent velocity = world.register(new FloatComponent("velocity", 2));
+        int count = 100_000;
+        for (int i = 0; i < count; i++) {
+            int entity = world.create();
+            position.add(entity, i, 0f);
+            // Every tenth entity is static
+            if (i % 10 != 0) {
+                velocity.add(entity, 2f, -1f);
+            }
+        }
+        // A velocity without a position must be skipped, not crash
+        velocity.add(world.create(), 5f, 5f);
+
+        MovementSystem movement = new MovementSystem(position, velocity, pool);
+        movement.update(0.5);
+        movement.update(0.5);
+
+        for (int row = 0; row < position.size(); row++) {
+            int index = World.indexOf(position.entityAt(row));
+            boolean moving = index % 10 != 0;
+            assertEquals(moving ? index + 2f : index, position.get(row, 0), 1e-3f);
+            assertEquals(moving ? -1f : 0f, position.get(row, 1), 1e-6f);
+        }
+    }
+
+    @Test void testMovementSortsOnlyAfterLayoutChanges() {
+        World world = new World();
+        AtomicInteger sorts = new AtomicInteger();
+        FloatComponent position = world.register(new FloatComponent("position", 2) {
+            @Override
+            public void sortLike(ComponentStore other) {
+                sorts.incrementAndGet();
+                super.sortLike(other);
+            }
+        });
+        FloatComponent velocity = world.register(new FloatComponent("velocity", 2));
+        for (int i = 0; i < 10; i++) {
+            int entity = world.create();
+            position.add(entity, i, 0f);
+            velocity.add(entity, 1f, 0f);
+        }
+        // The last velocity row can never line up with a position
+        velocity.add(world.create(), 5f, 5f);
+
+        MovementSystem movement = new MovementSystem(position, velocity, pool);
+        movement.update(1.0);
+        movement.update(1.0);
+        movement.update(1.0);
+        assertEquals(1, sorts.get());
+
+        int added = world.create();
+        position.add(added, 0f, 0f);
+        velocity.add(added, 1f, 0f);
+        movement.update(1.0);
+        movement.update(1.0);
+        assertEquals(2, sorts.get());
+        assertEquals(2f, position.get(position.rowOf(added), 0), 1e-6f);
+    }
+
+    @Test void testSchedulerStagesFollowConflicts() {
+        FloatComponent a = new FloatComponent("a", 1);
+        FloatComponent b = new FloatComponent("b", 1);
+        FloatComponent c = new FloatComponent("c", 1);
+        ComponentStore[] none = EntitySystem.NONE;
+
+        DeclaredSystem writeA = new DeclaredSystem(none, new ComponentStore[] { a });
+        DeclaredSystem writeB = new DeclaredSystem(none, new ComponentStore[] { b });
+        DeclaredSystem readAWriteC = new DeclaredSystem(new ComponentStore[] { a },
+                new ComponentStore[] { c });
+        DeclaredSystem readB = new DeclaredSystem(new ComponentStore[] { b }, none);
+        DeclaredSystem readC = new DeclaredSystem(new ComponentStore[] { c }, none);
+
+        SystemScheduler scheduler = new SystemScheduler(pool);
+        scheduler.add(writeA);
+        scheduler.add(writeB);
+        scheduler.add(readAWriteC);
+        scheduler.add(readB);
+        scheduler.add(readC);
+
+        List<List<EntitySystem>> stages = scheduler.getStages();
+        assertEquals(3, stages.size());
+        assertEquals(List.of(writeA, writeB), stages.get(0));
+        assertEquals(List.of(readAWriteC, readB), stages.get(1));
+        assertEquals(List.of(readC), stages.get(2));
+
+        scheduler.update(1.0);
+        assertEquals(1, writeA.runs.get());
+        assertEquals(1, readC.runs.get());
+
+        // Exclusive systems get a stage of their own
+        scheduler.add(new DeclaredSystem(none, none) {
+            @Override
+            public boolean isExclusive() {
+                return true;
+            }
+        });
+        scheduler.add(new DeclaredSystem(none, none));
+        assertEquals(5, scheduler.getStages().size());
+    }
+
+    @Test void testSchedulerRethrowsSystemFailures() {
+        SystemScheduler scheduler = new SystemScheduler(pool);
+        scheduler.add(new DeclaredSystem(EntitySystem.NONE, EntitySystem.NONE));
+        scheduler.add(new DeclaredSystem(EntitySystem.NONE, EntitySystem.NONE) {
+            @Override
+            public void update(double dt) {
+                throw new IllegalStateException("boom");
+            }
+        });
+
+        assertThrows(IllegalStateException.class, () -> scheduler.update(1.0));
+    }
+}
@@ -0,0 +1,119 @@
+package anchora.engine.jobs;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The scheduling cost of the job system with empty jobs: one job submitted
+ * and awaited, a fan-out of independent jobs, a chain where every job waits
+ * on the one before, and a frame graph re-run as a whole. The fan-out and
+ * chain report the time per job. A parallel loop over light work is
+ * compared with the same loop run inline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JobBenchmark {
+
+    private static final int FAN_OUT = 1000;
+    private static final int CHAIN = 100;
+    private static final int LOOP = 1 << 20;
+    private static final Runnable EMPTY = () -> { };
+
+    @Param({ "1", "3", "7" })
+    int workers;
+
+    private JobSystem jobs;
+    private JobGraph graph;
+    private final Job[] fanOut = new Job[FAN_OUT];
+    private final float[] values = new float[LOOP];
+
+    @Setup
+    public void setUp() {
+        jobs = new JobSystem(workers);
+
+        // Two rounds of eight independent nodes joined by a barrier, then a
+        // main-thread node, like cull, build and upload
+        graph = new JobGraph(jobs);
+        int[] first = new int[8];
+        for (int i = 0; i < first.length; i++) {
+            first[i] = graph.add(EMPTY);
+        }
+        int barrier = graph.add(EMPTY, first);
+        int[] second = new int[8];
+        for (int i = 0; i < second.length; i++) {
+            second[i] = graph.add(EMPTY, barrier);
+        }
+        graph.addMainThread(EMPTY, second);
+    }
+
+    @TearDown
+    public void tearDown() {
+        jobs.close();
+    }
+
+    @Benchmark
+    public void submitAndAwait() {
+        jobs.submit(EMPTY).await();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FAN_OUT)
+    public void fanOut() {
+        for (int i = 0; i < FAN_OUT; i++) {
+            fanOut[i] = jobs.submit(EMPTY);
+        }
+        for (Job job : fanOut) {
+            job.await();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHAIN)
+    public void chain() {
+        Job last = jobs.submit(EMPTY);
+        for (int i = 1; i < CHAIN; i++) {
+            last = jobs.submit(EMPTY, last);
+        }
+        last.await();
+    }
+
+    @Benchmark
+    public void graph() {
+        graph.run();
+    }
+
+    @Benchmark
+    public float parallelFor() {
+        jobs.parallelFor(LOOP, 16_384, (start, end) -> {
+            for (int i = start; i < end; i++) {
+                values[i] = values[i] * 0.99f + 1f;
+            }
+        });
+        return values[LOOP - 1];
+    }
+
+    @Benchmark
+    public float inlineFor() {
+        for (int i = 0; i < LOOP; i++) {
+            values[i] = values[i] * 0.99f + 1f;
+        }
+        return values[LOOP - 1];
+    }
+}
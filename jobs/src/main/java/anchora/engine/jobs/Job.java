@@ -0,0 +1,168 @@
+package anchora.engine.jobs;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A handle to one piece of work run by a {@link JobSystem}. A job starts
+ * once every job it depends on has finished, and jobs waiting on it are
+ * started as soon as it finishes, from whichever thread finished it.
+ *
+ * <p>If a job throws, the jobs depending on it are skipped and finish with
+ * the same failure, which {@link #await()} rethrows.
+ */
+public final class Job {
+
+    private static final Job[] NO_JOBS = new Job[0];
+
+    private final JobSystem system;
+    private final Runnable work;
+    private final boolean mainThread;
+
+    // A fresh task per run: a finished task is still completing on its worker
+    // when the job reports done, so it cannot be reinitialized safely
+    volatile ForkJoinTask<Void> task;
+
+    // Unfinished dependencies, plus one held until every dependency is linked
+    private final AtomicInteger pending = new AtomicInteger();
+
+    // Jobs to start when this one finishes. Guarded by this; closed stops
+    // new links once the job has run
+    private Job[] dependents = NO_JOBS;
+    private int dependentCount;
+    private boolean closed;
+
+    private volatile boolean done;
+    private volatile Throwable failure;
+
+    Job(JobSystem system, Runnable work, boolean mainThread) {
+        this.system = system;
+        this.work = work;
+        this.mainThread = mainThread;
+    }
+
+    /**
+     * Prepares the job to run again, once its dependencies are linked and
+     * {@link #release()} is called.
+     */
+    void reset(int dependencies) {
+        task = new Task();
+        synchronized (this) {
+            closed = false;
+        }
+        failure = null;
+        done = false;
+        pending.set(dependencies + 1);
+    }
+
+    void dependOn(Job dependency) {
+        synchronized (dependency) {
+            if (!dependency.closed) {
+                if (dependency.dependentCount == dependency.dependents.length) {
+                    dependency.dependents = Arrays.copyOf(dependency.dependents,
+                            Math.max(4, dependency.dependentCount * 2));
+                }
+                dependency.dependents[dependency.dependentCount++] = this;
+                return;
+            }
+        }
+        dependencyFinished(dependency.failure);
+    }
+
+    /**
+     * Drops the hold taken by {@link #reset(int)}, scheduling the job if its
+     * dependencies have already finished.
+     */
+    void release() {
+        dependencyFinished(null);
+    }
+
+    private void dependencyFinished(Throwable cause) {
+        if (cause != null && failure == null) {
+            failure = cause;
+        }
+        if (pending.decrementAndGet() == 0) {
+            system.schedule(this);
+        }
+    }
+
+    private void run() {
+        if (failure == null) {
+            try {
+                work.run();
+            } catch (Throwable e) {
+                failure = e;
+            }
+        }
+
+        Job[] waiting;
+        int count;
+        synchronized (this) {
+            closed = true;
+            waiting = dependents;
+            count = dependentCount;
+            dependentCount = 0;
+        }
+
+        // Nothing links to a closed job, so the array is ours until reset
+        Throwable cause = failure;
+        for (int i = 0; i < count; i++) {
+            Job dependent = waiting[i];
+            waiting[i] = null;
+            dependent.dependencyFinished(cause);
+        }
+
+        done = true;
+        system.finished(this);
+    }
+
+    boolean isMainThread() {
+        return mainThread;
+    }
+
+    Throwable getFailure() {
+        return failure;
+    }
+
+    /**
+     * @return True once the job has run, or been skipped because a
+     *         dependency failed, and its dependents have been started.
+     */
+    public boolean isDone() {
+        return done;
+    }
+
+    /**
+     * @return True if the job or one of its dependencies threw.
+     */
+    public boolean isFailed() {
+        return done && failure != null;
+    }
+
+    /**
+     * Waits for the job to finish, see {@link JobSystem#await(Job)}.
+     */
+    public void await() {
+        system.await(this);
+    }
+
+    private final class Task extends ForkJoinTask<Void> {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Void getRawResult() {
+            return null;
+        }
+
+        @Override
+        protected void setRawResult(Void value) {
+        }
+
+        @Override
+        protected boolean exec() {
+            run();
+            return true;
+        }
+    }
+}
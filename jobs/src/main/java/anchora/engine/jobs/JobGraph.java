@@ -0,0 +1,156 @@
+package anchora.engine.jobs;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import anchora.engine.utilities.RangeBody;
+
+/**
+ * A fixed set of jobs and their dependencies, built once and run every
+ * frame. Each node may only depend on nodes added before it, so the graph
+ * can never have a cycle. Running it again reuses the same job handles and
+ * dependency lists, so a frame's scheduling allocates only one small task
+ * per node.
+ *
+ * <pre>
+ * JobGraph frame = new JobGraph(jobs);
+ * int animate = frame.add(this::animate);
+ * int cull = frame.add(this::cull);
+ * int build = frame.addParallelFor(chunks, 1, this::buildChunks, animate, cull);
+ * frame.addMainThread(this::upload, build);
+ * // every frame
+ * frame.run();
+ * </pre>
+ */
+public class JobGraph {
+
+    private final JobSystem system;
+    private final List<Job> jobs = new ArrayList<>();
+    private final List<Job[]> dependencies = new ArrayList<>();
+    private boolean running;
+
+    public JobGraph(JobSystem system) {
+        if (system == null) {
+            throw new IllegalArgumentException("JobGraph: Invalid job system.");
+        }
+        this.system = system;
+    }
+
+    /**
+     * Adds a node run on the workers.
+     *
+     * @param dependencies Nodes, returned by earlier adds, that must finish
+     *                     first.
+     * @return The node.
+     */
+    public int add(Runnable work, int... dependencies) {
+        return add(work, false, dependencies);
+    }
+
+    /**
+     * Adds a node run by the main thread.
+     *
+     * @param dependencies Nodes, returned by earlier adds, that must finish
+     *                     first.
+     * @return The node.
+     */
+    public int addMainThread(Runnable work, int... dependencies) {
+        return add(work, true, dependencies);
+    }
+
+    /**
+     * Adds a node that runs {@link JobSystem#parallelFor} over
+     * {@code [0, count)}.
+     *
+     * @return The node.
+     */
+    public int addParallelFor(int count, int grain, RangeBody body, int... dependencies) {
+        if (count < 0 || grain < 1 || body == null) {
+            throw new IllegalArgumentException("JobGraph: Invalid range inputs.");
+        }
+        return add(() -> system.parallelFor(count, grain, body), false, dependencies);
+    }
+
+    private int add(Runnable work, boolean mainThread, int[] nodes) {
+        if (running) {
+            throw new IllegalStateException("JobGraph: Cannot add nodes while the graph runs.");
+        }
+        if (nodes == null) {
+            throw new IllegalArgumentException("JobGraph: Invalid dependencies.");
+        }
+
+        Job[] resolved = new Job[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            if (nodes[i] < 0 || nodes[i] >= jobs.size()) {
+                throw new IllegalArgumentException("JobGraph: Unknown node: " + nodes[i]);
+            }
+            resolved[i] = jobs.get(nodes[i]);
+        }
+
+        jobs.add(system.create(work, mainThread));
+        dependencies.add(resolved);
+        return jobs.size() - 1;
+    }
+
+    /**
+     * Starts every node. Nodes with no dependencies start right away and the
+     * rest follow as their dependencies finish.
+     *
+     * @throws IllegalStateException If the previous run was not awaited.
+     */
+    public void start() {
+        if (running) {
+            throw new IllegalStateException("JobGraph: start() called twice without await().");
+        }
+
+        running = true;
+        // Dependencies come earlier, so each is reset before anything links to it
+        for (int i = 0; i < jobs.size(); i++) {
+            system.start(jobs.get(i), dependencies.get(i));
+        }
+    }
+
+    /**
+     * Waits for every node to finish, see {@link JobSystem#await(Job)}.
+     *
+     * @throws RuntimeException If a node threw, with the exception of the
+     *                          first failed node as the cause.
+     */
+    public void await() {
+        if (!running) {
+            throw new IllegalStateException("JobGraph: await() called without start().");
+        }
+
+        for (Job job : jobs) {
+            system.waitFor(job);
+        }
+        running = false;
+
+        for (int i = 0; i < jobs.size(); i++) {
+            Throwable failure = jobs.get(i).getFailure();
+            if (failure != null) {
+                throw new RuntimeException("JobGraph: Node " + i + " failed.", failure);
+            }
+        }
+    }
+
+    /**
+     * Starts the graph and waits for it.
+     */
+    public void run() {
+        start();
+        await();
+    }
+
+    /**
+     * @return The handle of a node, for example to depend on it from a job
+     *         submitted outside the graph during the same frame.
+     */
+    public Job getJob(int node) {
+        return jobs.get(node);
+    }
+
+    public int size() {
+        return jobs.size();
+    }
+}
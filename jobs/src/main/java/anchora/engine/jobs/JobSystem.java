@@ -0,0 +1,274 @@
+package anchora.engine.jobs;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import anchora.engine.utilities.ParallelRange;
+import anchora.engine.utilities.RangeBody;
+
+/**
+ * Runs jobs on a fixed set of worker threads, plus a queue of jobs that only
+ * the main thread runs, for work that must touch the GL context.
+ *
+ * <p>Workers are a {@link ForkJoinPool}, so each has its own deque: jobs
+ * started from a worker go on that worker's deque and idle workers steal
+ * from the others. A worker waiting on a job helps run other jobs instead of
+ * blocking.
+ *
+ * <p>The main thread is the one that created the system. It runs its queue
+ * in {@link #runMainThreadJobs()}, once per frame, and while it waits in
+ * {@link #await(Job)}.
+ *
+ * <pre>
+ * JobSystem jobs = new JobSystem();
+ * Job cull = jobs.submit(() -> cull(visible));
+ * Job build = jobs.submit(() -> buildGeometry(visible), cull);
+ * Job upload = jobs.submitMainThread(() -> upload(mesh), build);
+ * jobs.await(upload);
+ * </pre>
+ */
+public class JobSystem implements Executor, AutoCloseable {
+
+    private static final Job[] NO_JOBS = new Job[0];
+
+    private final ForkJoinPool pool;
+    private final Thread mainThread;
+    private final LinkedBlockingQueue<Job> mainQueue = new LinkedBlockingQueue<>();
+    private final LongAdder completed = new LongAdder();
+
+    // Woken through the main queue when it finishes
+    private final Job wake = new Job(this, () -> { }, true);
+    private volatile Job mainWaitingFor;
+
+    /**
+     * Creates a system with one worker per core beyond the main thread's.
+     */
+    public JobSystem() {
+        this(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    /**
+     * @param workers The number of worker threads, at least 1.
+     */
+    public JobSystem(int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("JobSystem: Invalid worker count.");
+        }
+
+        this.mainThread = Thread.currentThread();
+        ForkJoinPool.ForkJoinWorkerThreadFactory factory = pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("job-worker-" + thread.getPoolIndex());
+            return thread;
+        };
+        this.pool = new ForkJoinPool(workers, factory, null, false);
+    }
+
+    /**
+     * Starts a job on the workers once every dependency has finished.
+     *
+     * @param dependencies Jobs of this system that must finish first.
+     * @return The job's handle.
+     */
+    public Job submit(Runnable work, Job... dependencies) {
+        return start(create(work, false), dependencies);
+    }
+
+    /**
+     * Queues a job for the main thread once every dependency has finished.
+     *
+     * @param dependencies Jobs of this system that must finish first.
+     * @return The job's handle.
+     */
+    public Job submitMainThread(Runnable work, Job... dependencies) {
+        return start(create(work, true), dependencies);
+    }
+
+    /**
+     * Starts a job that runs {@link #parallelFor} once every dependency has
+     * finished.
+     *
+     * @return The job's handle, finished when every index has been run.
+     */
+    public Job submitParallelFor(int count, int grain, RangeBody body, Job... dependencies) {
+        checkRange(count, grain, body);
+        return submit(() -> parallelFor(count, grain, body), dependencies);
+    }
+
+    /**
+     * Runs a job on the workers, so the system can stand in wherever an
+     * {@link Executor} is taken.
+     */
+    @Override
+    public void execute(Runnable work) {
+        submit(work, NO_JOBS);
+    }
+
+    Job create(Runnable work, boolean mainThread) {
+        if (work == null) {
+            throw new IllegalArgumentException("JobSystem: Invalid job.");
+        }
+        return new Job(this, work, mainThread);
+    }
+
+    Job start(Job job, Job[] dependencies) {
+        if (dependencies == null) {
+            throw new IllegalArgumentException("JobSystem: Invalid dependencies.");
+        }
+
+        job.reset(dependencies.length);
+        for (Job dependency : dependencies) {
+            if (dependency == null) {
+                throw new IllegalArgumentException("JobSystem: Invalid dependencies.");
+            }
+            job.dependOn(dependency);
+        }
+        job.release();
+        return job;
+    }
+
+    /**
+     * Hands a job whose dependencies have finished to a thread. From a
+     * worker the job goes on that worker's own deque.
+     */
+    void schedule(Job job) {
+        if (job.isMainThread()) {
+            mainQueue.add(job);
+        } else if (ForkJoinTask.getPool() == pool) {
+            job.task.fork();
+        } else {
+            pool.execute(job.task);
+        }
+    }
+
+    void finished(Job job) {
+        completed.increment();
+        if (mainWaitingFor == job) {
+            mainQueue.add(wake);
+        }
+    }
+
+    /**
+     * Runs {@code body} over {@code [0, count)} in chunks across the workers
+     * and returns once every chunk has run, see {@link ParallelRange}.
+     *
+     * @throws RuntimeException If a chunk threw.
+     */
+    public void parallelFor(int count, int grain, RangeBody body) {
+        checkRange(count, grain, body);
+        ParallelRange.forEach(pool, count, grain, body);
+    }
+
+    private static void checkRange(int count, int grain, RangeBody body) {
+        if (count < 0 || grain < 1 || body == null) {
+            throw new IllegalArgumentException("JobSystem: Invalid range inputs.");
+        }
+    }
+
+    /**
+     * Waits for a job to finish. The main thread runs queued main-thread
+     * jobs while it waits, and a worker runs other jobs.
+     *
+     * @throws RuntimeException      If the job or one of its dependencies
+     *                               threw, with that exception as the cause.
+     * @throws IllegalStateException If the main thread is interrupted.
+     */
+    public void await(Job job) {
+        waitFor(job);
+        if (job.getFailure() != null) {
+            throw new RuntimeException("JobSystem: Job failed.", job.getFailure());
+        }
+    }
+
+    /**
+     * Waits for a job to finish without rethrowing its failure.
+     */
+    void waitFor(Job job) {
+        if (job == null) {
+            throw new IllegalArgumentException("JobSystem: Invalid job.");
+        }
+        if (Thread.currentThread() != mainThread) {
+            job.task.join();
+            return;
+        }
+
+        try {
+            while (!job.isDone()) {
+                // Published before the check so the job cannot finish unseen
+                mainWaitingFor = job;
+                if (job.isDone()) {
+                    break;
+                }
+                Job next = mainQueue.take();
+                if (next != wake) {
+                    next.task.invoke();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("JobSystem: Interrupted while waiting for a job.", e);
+        } finally {
+            mainWaitingFor = null;
+        }
+    }
+
+    /**
+     * Runs every queued main-thread job, including ones queued by the jobs
+     * it runs. Call once per frame from the main thread.
+     *
+     * @return The number of jobs run.
+     * @throws IllegalStateException If called from another thread.
+     */
+    public int runMainThreadJobs() {
+        if (Thread.currentThread() != mainThread) {
+            throw new IllegalStateException("JobSystem: Main-thread jobs must run on the main thread.");
+        }
+
+        int ran = 0;
+        Job next;
+        while ((next = mainQueue.poll()) != null) {
+            if (next != wake) {
+                next.task.invoke();
+                ran++;
+            }
+        }
+        return ran;
+    }
+
+    /**
+     * @return True if the calling thread runs main-thread jobs.
+     */
+    public boolean isMainThread() {
+        return Thread.currentThread() == mainThread;
+    }
+
+    public int getWorkerCount() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * @return The number of jobs finished, counting skipped ones.
+     */
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    /**
+     * @return An estimate of the jobs one worker took from another's deque.
+     */
+    public long getStealCount() {
+        return pool.getStealCount();
+    }
+
+    /**
+     * Stops the workers once the jobs already started have run.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+}
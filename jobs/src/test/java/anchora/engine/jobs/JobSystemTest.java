@@ -0,0 +1,257 @@
+package anchora.engine.jobs;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class JobSystemTest {
+
+    @Test void testJobsRunOnWorkers() {
+        try (JobSystem jobs = new JobSystem(2)) {
+            assertEquals(2, jobs.getWorkerCount());
+            String[] thread = new String[1];
+            Job job = jobs.submit(() -> thread[0] = Thread.currentThread().getName());
+            job.await();
+
+            assertTrue(job.isDone());
+            assertFalse(job.isFailed());
+            assertTrue(thread[0].startsWith("job-worker-"), thread[0]);
+            assertEquals(1, jobs.getCompletedCount());
+        }
+    }
+
+    @Test void testManySubmittersUnderContention() throws InterruptedException {
+        try (JobSystem jobs = new JobSystem(4)) {
+            AtomicLong sum = new AtomicLong();
+            Thread[] submitters = new Thread[4];
+            Job[][] handles = new Job[submitters.length][10_000];
+            CountDownLatch go = new CountDownLatch(1);
+            for (int t = 0; t < submitters.length; t++) {
+                Job[] mine = handles[t];
+                submitters[t] = new Thread(() -> {
+                    try {
+                        go.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int i = 0; i < mine.length; i++) {
+                        int value = i;
+                        mine[i] = jobs.submit(() -> sum.addAndGet(value));
+                    }
+                    for (Job job : mine) {
+                        job.await();
+                    }
+                });
+                submitters[t].start();
+            }
+            go.countDown();
+            for (Thread submitter : submitters) {
+                submitter.join();
+            }
+
+            assertEquals(4L * (9_999L * 10_000L / 2), sum.get());
+            assertEquals(40_000, jobs.getCompletedCount());
+        }
+    }
+
+    @Test void testDependenciesFinishFirst() {
+        try (JobSystem jobs = new JobSystem(4)) {
+            for (int round = 0; round < 500; round++) {
+                // A diamond: a before b and c, both before d
+                AtomicInteger clock = new AtomicInteger();
+                int[] at = new int[4];
+                Job a = jobs.submit(() -> at[0] = clock.incrementAndGet());
+                Job b = jobs.submit(() -> at[1] = clock.incrementAndGet(), a);
+                Job c = jobs.submit(() -> at[2] = clock.incrementAndGet(), a);
+                Job d = jobs.submit(() -> at[3] = clock.incrementAndGet(), b, c);
+                d.await();
+
+                assertTrue(at[0] < at[1] && at[0] < at[2], "Round " + round);
+                assertTrue(at[1] < at[3] && at[2] < at[3], "Round " + round);
+            }
+
+            // Depending on a finished job starts straight away
+            Job done = jobs.submit(() -> { });
+            done.await();
+            jobs.submit(() -> { }, done).await();
+        }
+    }
+
+    @Test void testJobsSubmittedFromJobsCanWait() {
+        try (JobSystem jobs = new JobSystem(2)) {
+            // Far more waiting jobs than workers, which only works if a
+            // waiting worker runs other jobs
+            assertEquals(610, fibonacci(jobs, 15));
+        }
+    }
+
+    private static int fibonacci(JobSystem jobs, int n) {
+        if (n < 2) {
+            return n;
+        }
+        int[] left = new int[1];
+        Job job = jobs.submit(() -> left[0] = fibonacci(jobs, n - 1));
+        int right = fibonacci(jobs, n - 2);
+        job.await();
+        return left[0] + right;
+    }
+
+    @Test void testParallelForCoversEveryIndexOnce() {
+        try (JobSystem jobs = new JobSystem(4)) {
+            for (int count : new int[] { 0, 1, 7, 1000, 100_003 }) {
+                AtomicIntegerArray hits = new AtomicIntegerArray(Math.max(1, count));
+                jobs.parallelFor(count, 64, (start, end) -> {
+                    for (int i = start; i < end; i++) {
+                        hits.incrementAndGet(i);
+                    }
+                });
+                for (int i = 0; i < count; i++) {
+                    assertEquals(1, hits.get(i), "Index " + i + " of " + count);
+                }
+            }
+
+            AtomicInteger chunks = new AtomicInteger();
+            jobs.submitParallelFor(1000, 100, (start, end) -> chunks.incrementAndGet()).await();
+            assertEquals(16, chunks.get());
+        }
+    }
+
+    @Test void testMainThreadJobsRunOnMainThread() {
+        try (JobSystem jobs = new JobSystem(2)) {
+            Thread main = Thread.currentThread();
+            assertTrue(jobs.isMainThread());
+            Thread[] ranOn = new Thread[1];
+            Job worker = jobs.submit(() -> { });
+            Job upload = jobs.submitMainThread(() -> ranOn[0] = Thread.currentThread(), worker);
+
+            // Awaiting from the main thread runs the queue
+            upload.await();
+            assertSame(main, ranOn[0]);
+
+            worker.await();
+            jobs.submitMainThread(() -> { });
+            jobs.submitMainThread(() -> { });
+            assertEquals(2, jobs.runMainThreadJobs());
+            assertEquals(0, jobs.runMainThreadJobs());
+
+            Job fromWorker = jobs.submit(() -> assertThrows(IllegalStateException.class,
+                    jobs::runMainThreadJobs));
+            fromWorker.await();
+        }
+    }
+
+    @Test void testFailuresSkipDependents() {
+        try (JobSystem jobs = new JobSystem(2)) {
+            AtomicInteger ran = new AtomicInteger();
+            Job broken = jobs.submit(() -> {
+                throw new IllegalStateException("boom");
+            });
+            Job after = jobs.submit(ran::incrementAndGet, broken);
+
+            RuntimeException e = assertThrows(RuntimeException.class, after::await);
+            assertEquals("boom", e.getCause().getMessage());
+            assertTrue(broken.isFailed());
+            assertTrue(after.isFailed());
+            assertEquals(0, ran.get());
+
+            // The workers are still fine
+            jobs.submit(ran::incrementAndGet).await();
+            assertEquals(1, ran.get());
+        }
+    }
+
+    @Test void testGraphRunsEveryFrame() {
+        try (JobSystem jobs = new JobSystem(4)) {
+            JobGraph graph = new JobGraph(jobs);
+            int[] values = new int[64];
+            AtomicInteger order = new AtomicInteger();
+            int[] uploadedSum = new int[1];
+            Thread main = Thread.currentThread();
+
+            int clear = graph.add(() -> java.util.Arrays.fill(values, 0));
+            int fill = graph.addParallelFor(values.length, 8, (start, end) -> {
+                for (int i = start; i < end; i++) {
+                    values[i] = i;
+                }
+            }, clear);
+            int count = graph.add(order::incrementAndGet, clear);
+            graph.addMainThread(() -> {
+                assertSame(main, Thread.currentThread());
+                int sum = 0;
+                for (int value : values) {
+                    sum += value;
+                }
+                uploadedSum[0] = sum;
+            }, fill, count);
+            assertEquals(4, graph.size());
+
+            for (int frame = 0; frame < 200; frame++) {
+                uploadedSum[0] = -1;
+                graph.run();
+                assertEquals(63 * 64 / 2, uploadedSum[0], "Frame " + frame);
+            }
+            assertEquals(200, order.get());
+            assertTrue(graph.getJob(fill).isDone());
+        }
+    }
+
+    @Test void testGraphReportsTheFailedNode() {
+        try (JobSystem jobs = new JobSystem(2)) {
+            JobGraph graph = new JobGraph(jobs);
+            boolean[] fail = { true };
+            int first = graph.add(() -> {
+                if (fail[0]) {
+                    throw new IllegalArgumentException("bad frame");
+                }
+            });
+            AtomicInteger ran = new AtomicInteger();
+            graph.add(ran::incrementAndGet, first);
+
+            RuntimeException e = assertThrows(RuntimeException.class, graph::run);
+            assertEquals("JobGraph: Node 0 failed.", e.getMessage());
+            assertEquals(0, ran.get());
+
+            // The next frame starts clean
+            fail[0] = false;
+            graph.run();
+            assertEquals(1, ran.get());
+        }
+    }
+
+    @Test void testInvalidInputs() {
+        try (JobSystem jobs = new JobSystem(1)) {
+            assertThrows(IllegalArgumentException.class, () -> new JobSystem(0));
+            assertThrows(IllegalArgumentException.class, () -> jobs.submit(null));
+            assertThrows(IllegalArgumentException.class, () -> jobs.submit(() -> { }, (Job) null));
+            assertThrows(IllegalArgumentException.class, () -> jobs.parallelFor(-1, 1, (s, e) -> { }));
+            assertThrows(IllegalArgumentException.class, () -> jobs.parallelFor(10, 0, (s, e) -> { }));
+            assertThrows(IllegalArgumentException.class, () -> new JobGraph(null));
+
+            JobGraph graph = new JobGraph(jobs);
+            assertThrows(IllegalArgumentException.class, () -> graph.add(() -> { }, 0));
+            CountDownLatch release = new CountDownLatch(1);
+            graph.add(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            graph.start();
+            assertThrows(IllegalStateException.class, graph::start);
+            assertThrows(IllegalStateException.class, () -> graph.add(() -> { }));
+            release.countDown();
+            graph.await();
+            assertThrows(IllegalStateException.class, graph::await);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package anchora.engine.list;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Builds a list of {@code size} strings and reads it back the way
+ * {@code JoinUtils.join} does, once with the original node-walking list and
+ * once with the array-backed lists. The node list grows quadratically with
+ * {@code size}; the others grow linearly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    int size;
+
+    private String[] values;
+
+    @Setup
+    public void setUp() {
+        values = new String[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = "token" + i;
+        }
+    }
+
+    @Benchmark
+    public void nodeList(Blackhole blackhole) {
+        NodeList list = new NodeList();
+        for (String value : values) {
+            list.add(value);
+        }
+        for (int i = 0; i < list.size(); ++i) {
+            blackhole.consume(list.get(i));
+        }
+    }
+
+    @Benchmark
+    public void linkedListAdapter(Blackhole blackhole) {
+        LinkedList list = new LinkedList();
+        for (String value : values) {
+            list.add(value);
+        }
+        for (int i = 0; i < list.size(); ++i) {
+            blackhole.consume(list.get(i));
+        }
+    }
+
+    @Benchmark
+    public void objectList(Blackhole blackhole) {
+        ObjectList<String> list = new ObjectList<>();
+        for (String value : values) {
+            list.add(value);
+        }
+        list.forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public int intList() {
+        IntList list = new IntList();
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+
+        int sum = 0;
+        for (int i = 0; i < list.size(); i++) {
+            sum += list.get(i);
+        }
+        return sum;
+    }
+
+    /**
+     * The singly linked list that {@link LinkedList} used to be, kept here as
+     * the baseline.
+     */
+    static class NodeList {
+        private Node head;
+
+        void add(String element) {
+            Node newNode = new Node(element);
+            Node it;
+            for (it = head; it != null && it.next != null; it = it.next) {}
+            if (it == null) {
+                head = newNode;
+            } else {
+                it.next = newNode;
+            }
+        }
+
+        int size() {
+            int size = 0;
+            for (Node it = head; it != null; ++size, it = it.next) {}
+            return size;
+        }
+
+        String get(int index) {
+            Node it = head;
+            while (index > 0 && it != null) {
+                it = it.next;
+                index--;
+            }
+            if (it == null) {
+                throw new IndexOutOfBoundsException("Index is out of range");
+            }
+            return it.data;
+        }
+
+        private static class Node {
+            final String data;
+            Node next;
+
+            Node(String data) {
+                this.data = data;
+            }
+        }
+    }
+}
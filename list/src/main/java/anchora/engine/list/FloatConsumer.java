@@ -0,0 +1,9 @@
+package anchora.engine.list;
+
+/**
+ * The {@code float} counterpart of {@link java.util.function.IntConsumer}.
+ */
+@FunctionalInterface
+public interface FloatConsumer {
+    void accept(float value);
+}
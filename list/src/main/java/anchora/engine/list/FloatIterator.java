@@ -0,0 +1,10 @@
+package anchora.engine.list;
+
+/**
+ * An iterator over {@code float} values that does not box them.
+ */
+public interface FloatIterator {
+    boolean hasNext();
+
+    float nextFloat();
+}
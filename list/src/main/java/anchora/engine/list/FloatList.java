@@ -0,0 +1,157 @@
+package anchora.engine.list;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A growable list of primitive {@code float} values backed by a single
+ * {@code float[]}, with no boxing. Meant for vertex and index data that is
+ * built up on the CPU and then copied to a buffer in one go.
+ */
+public class FloatList {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private float[] elements;
+    private int size;
+
+    public FloatList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public FloatList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative");
+        }
+
+        elements = new float[initialCapacity];
+    }
+
+    public void add(float value) {
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        elements[size++] = value;
+    }
+
+    public void addAll(float... values) {
+        addAll(values, 0, values.length);
+    }
+
+    /**
+     * Appends {@code length} values of {@code values} starting at {@code offset}.
+     */
+    public void addAll(float[] values, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > values.length) {
+            throw new IndexOutOfBoundsException("Range is out of bounds");
+        }
+
+        ensureCapacity(size + length);
+        System.arraycopy(values, offset, elements, size, length);
+        size += length;
+    }
+
+    public void addAll(FloatList other) {
+        addAll(other.elements, 0, other.size);
+    }
+
+    public float get(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    public void set(int index, float value) {
+        checkIndex(index);
+        elements[index] = value;
+    }
+
+    /**
+     * Removes the element at {@code index}, shifting later elements down.
+     *
+     * @return The removed value.
+     */
+    public float removeAt(int index) {
+        checkIndex(index);
+        float removed = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        return removed;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every value but keeps the capacity for reuse.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity > elements.length) {
+            grow(capacity);
+        }
+    }
+
+    /**
+     * @return The backing array. Only the first {@link #size()} values are
+     *         meaningful, and the array is replaced whenever the list grows.
+     */
+    public float[] elements() {
+        return elements;
+    }
+
+    public float[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    /**
+     * Copies every value into {@code dst} at its current position, advancing it.
+     */
+    public void writeTo(FloatBuffer dst) {
+        dst.put(elements, 0, size);
+    }
+
+    public void forEach(FloatConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(elements[i]);
+        }
+    }
+
+    public FloatIterator iterator() {
+        return new FloatIterator() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public float nextFloat() {
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                return elements[next++];
+            }
+        };
+    }
+
+    private void grow(int minimumCapacity) {
+        int capacity = Math.max(minimumCapacity, elements.length + (elements.length >> 1) + 1);
+        elements = Arrays.copyOf(elements, capacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index is out of range");
+        }
+    }
+}
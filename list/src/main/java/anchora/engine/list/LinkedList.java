@@ -3,79 +3,35 @@
  */
 package anchora.engine.list;
 
+/**
+ * The original string list API, kept for existing callers. It is now a thin
+ * adapter over an array-backed {@link ObjectList}, so {@link #add(String)},
+ * {@link #size()} and {@link #get(int)} are O(1) instead of walking a chain
+ * of nodes.
+ */
 public class LinkedList {
-    private Node head;
+    private final ObjectList<String> elements = new ObjectList<>();
 
     public void add(String element) {
-        Node newNode = new Node(element);
-
-        Node it = tail(head);
-        if (it == null) {
-            head = newNode;
-        } else {
-            it.next = newNode;
-        }
-    }
-
-    private static Node tail(Node head) {
-        Node it;
-
-        for (it = head; it != null && it.next != null; it = it.next) {}
-
-        return it;
+        elements.add(element);
     }
 
     public boolean remove(String element) {
-        boolean result = false;
-        Node previousIt = null;
-        Node it = null;
-        for (it = head; !result && it != null; previousIt = it, it = it.next) {
-            if (0 == element.compareTo(it.data)) {
-                result = true;
-                unlink(previousIt, it);
-                break;
+        for (int i = 0; i < elements.size(); i++) {
+            if (0 == element.compareTo(elements.get(i))) {
+                elements.removeAt(i);
+                return true;
             }
         }
 
-        return result;
-    }
-
-    private void unlink(Node previousIt, Node currentIt) {
-        if (currentIt == head) {
-            head = currentIt.next;
-        } else {
-            previousIt.next = currentIt.next;
-        }
+        return false;
     }
 
     public int size() {
-        int size = 0;
-
-        for (Node it = head; it != null; ++size, it = it.next) {}
-
-        return size;
+        return elements.size();
     }
 
     public String get(int index) {
-        Node it = head;
-        while (index > 0 && it != null) {
-            it = it.next;
-            index--;
-        }
-
-        if (it == null) {
-            throw new IndexOutOfBoundsException("Index is out of range");
-        }
-
-        return it.data;
-    }
-
-    private static class Node {
-        final String data;
-        Node next;
-
-        Node(String data) {
-            this.data = data;
-        }
+        return elements.get(index);
     }
 }
@@ -0,0 +1,84 @@
+package anchora.engine.list;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.FloatBuffer;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+class FloatListTest {
+    @Test void testAddGetAndGrow() {
+        FloatList list = new FloatList(0);
+
+        for (int i = 0; i < 100; i++) {
+            list.add(i * 0.5f);
+        }
+
+        assertEquals(100, list.size());
+        assertEquals(0f, list.get(0));
+        assertEquals(49.5f, list.get(99));
+        assertTrue(list.elements().length >= 100);
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(100));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(-1));
+    }
+
+    @Test void testBulkAdd() {
+        FloatList list = new FloatList(1);
+        list.addAll(1.5f, 2.5f);
+        list.addAll(new float[] { 9, 3.5f, 4.5f, 9 }, 1, 2);
+        FloatList other = new FloatList();
+        other.add(5.5f);
+        list.addAll(other);
+
+        assertArrayEquals(new float[] { 1.5f, 2.5f, 3.5f, 4.5f, 5.5f }, list.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.addAll(new float[2], 1, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.addAll(new float[2], 0, -1));
+        assertEquals(5, list.size());
+    }
+
+    @Test void testSetRemoveAndClear() {
+        FloatList list = new FloatList();
+        list.addAll(1f, 2f, 3f);
+
+        list.set(1, 5f);
+        assertEquals(5f, list.get(1));
+        assertEquals(1f, list.removeAt(0));
+        assertArrayEquals(new float[] { 5f, 3f }, list.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.set(2, 0f));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.removeAt(2));
+
+        int capacity = list.elements().length;
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertEquals(capacity, list.elements().length);
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+    }
+
+    @Test void testIterationAndWrite() {
+        FloatList list = new FloatList();
+        list.addAll(0.5f, 2.5f, 3.5f);
+
+        float[] sum = { 0 };
+        list.forEach(value -> sum[0] += value);
+        assertEquals(6.5f, sum[0]);
+
+        FloatIterator iterator = list.iterator();
+        float total = 0;
+        while (iterator.hasNext()) {
+            total += iterator.nextFloat();
+        }
+        assertEquals(6.5f, total);
+        assertThrows(NoSuchElementException.class, iterator::nextFloat);
+
+        FloatBuffer buffer = FloatBuffer.allocate(4);
+        buffer.put(9);
+        list.writeTo(buffer);
+        assertEquals(4, buffer.position());
+        assertEquals(3.5f, buffer.get(3));
+    }
+
+    @Test void testNegativeCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new FloatList(-1));
+    }
+}
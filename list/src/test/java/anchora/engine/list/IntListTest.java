@@ -0,0 +1,85 @@
+package anchora.engine.list;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.IntBuffer;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import org.junit.jupiter.api.Test;
+
+class IntListTest {
+    @Test void testAddGetAndGrow() {
+        IntList list = new IntList(0);
+
+        for (int i = 0; i < 100; i++) {
+            list.add(i * 2);
+        }
+
+        assertEquals(100, list.size());
+        assertEquals(0, list.get(0));
+        assertEquals(198, list.get(99));
+        assertTrue(list.elements().length >= 100);
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(100));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(-1));
+    }
+
+    @Test void testBulkAdd() {
+        IntList list = new IntList(1);
+        list.addAll(0, 1, 2);
+        list.addAll(new int[] { 9, 2, 3, 0, 9 }, 1, 3);
+        IntList other = new IntList();
+        other.add(4);
+        list.addAll(other);
+
+        assertArrayEquals(new int[] { 0, 1, 2, 2, 3, 0, 4 }, list.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.addAll(new int[2], 1, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.addAll(new int[2], -1, 1));
+        assertEquals(7, list.size());
+    }
+
+    @Test void testSetRemoveAndClear() {
+        IntList list = new IntList();
+        list.addAll(1, 2, 3);
+
+        list.set(1, 5);
+        assertEquals(5, list.get(1));
+        assertEquals(1, list.removeAt(0));
+        assertArrayEquals(new int[] { 5, 3 }, list.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.set(2, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.removeAt(2));
+
+        int capacity = list.elements().length;
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertEquals(capacity, list.elements().length);
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+    }
+
+    @Test void testIterationAndWrite() {
+        IntList list = new IntList();
+        list.addAll(1, 2, 3);
+
+        int[] sum = { 0 };
+        list.forEach(value -> sum[0] += value);
+        assertEquals(6, sum[0]);
+
+        PrimitiveIterator.OfInt iterator = list.iterator();
+        int total = 0;
+        while (iterator.hasNext()) {
+            total += iterator.nextInt();
+        }
+        assertEquals(6, total);
+        assertThrows(NoSuchElementException.class, iterator::nextInt);
+
+        IntBuffer buffer = IntBuffer.allocate(4);
+        buffer.put(9);
+        list.writeTo(buffer);
+        assertEquals(4, buffer.position());
+        assertEquals(3, buffer.get(3));
+    }
+
+    @Test void testNegativeCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new IntList(-1));
+    }
+}
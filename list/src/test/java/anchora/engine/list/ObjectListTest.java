@@ -0,0 +1,61 @@
+package anchora.engine.list;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+class ObjectListTest {
+    @Test void testAddGetAndGrow() {
+        ObjectList<String> list = new ObjectList<>(0);
+
+        for (int i = 0; i < 100; i++) {
+            list.add("item" + i);
+        }
+
+        assertEquals(100, list.size());
+        assertEquals("item0", list.get(0));
+        assertEquals("item99", list.get(99));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(100));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(-1));
+    }
+
+    @Test void testBulkAddAndRemove() {
+        ObjectList<String> list = new ObjectList<>();
+        list.addAll("a", "b", "c");
+        ObjectList<String> other = new ObjectList<>();
+        other.addAll("d", "b");
+        list.addAll(other);
+
+        assertTrue(list.remove("b"));
+        assertFalse(list.remove("z"));
+        assertEquals("c", list.removeAt(1));
+        assertEquals("b", list.set(2, "e"));
+
+        List<String> seen = new ArrayList<>();
+        list.forEach(seen::add);
+        assertEquals(List.of("a", "d", "e"), seen);
+
+        list.clear();
+        assertTrue(list.isEmpty());
+    }
+
+    @Test void testIterator() {
+        ObjectList<Integer> list = new ObjectList<>();
+        list.addAll(1, 2, 3);
+
+        int sum = 0;
+        for (int value : list) {
+            sum += value;
+        }
+        assertEquals(6, sum);
+
+        Iterator<Integer> iterator = new ObjectList<Integer>().iterator();
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+}
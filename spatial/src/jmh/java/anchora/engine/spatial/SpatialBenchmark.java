@@ -0,0 +1,129 @@
+package anchora.engine.spatial;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import anchora.engine.list.IntList;
+
+/**
+ * Compares the indexes against brute force on {@code count} small boxes
+ * spread over a world sized so density stays constant: rebuilding from
+ * columns, moving every object a little, answering a batch of screen-sized
+ * queries, and enumerating overlapping pairs. Brute-force pairs are
+ * quadratic, so expect that case to take seconds at 100k.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpatialBenchmark {
+
+    private static final int QUERIES = 64;
+    private static final float OBJECT_SIZE = 4f;
+
+    @Param({ "1000", "10000", "100000" })
+    int count;
+
+    @Param({ "grid", "quadtree", "brute" })
+    String index;
+
+    private SpatialIndex spatial;
+    private float[] minX, minY, maxX, maxY;
+    private float[] queryX, queryY;
+    private float world, view;
+    private float direction = 0.5f;
+    private final IntList results = new IntList(1024);
+
+    @Setup
+    public void setUp() {
+        // About one object per 100 square units, and queries a tenth of the world wide
+        world = (float) Math.sqrt(count * 100.0);
+        view = world * 0.1f;
+
+        Random random = new Random(1);
+        minX = new float[count];
+        minY = new float[count];
+        maxX = new float[count];
+        maxY = new float[count];
+        for (int i = 0; i < count; i++) {
+            float size = 1f + random.nextFloat() * OBJECT_SIZE;
+            minX[i] = random.nextFloat() * world;
+            minY[i] = random.nextFloat() * world;
+            maxX[i] = minX[i] + size;
+            maxY[i] = minY[i] + size;
+        }
+
+        queryX = new float[QUERIES];
+        queryY = new float[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queryX[i] = random.nextFloat() * (world - view);
+            queryY[i] = random.nextFloat() * (world - view);
+        }
+
+        switch (index) {
+            case "grid":
+                spatial = new UniformGrid(OBJECT_SIZE * 2f);
+                break;
+            case "quadtree":
+                // Deepest cells about the size of the objects
+                int depth = Math.min(12, 32 - Integer.numberOfLeadingZeros((int) (world / OBJECT_SIZE)));
+                spatial = new LooseQuadtree(0f, 0f, world, depth);
+                break;
+            default:
+                spatial = new BruteForceIndex();
+                break;
+        }
+        spatial.rebuild(count, minX, minY, maxX, maxY);
+    }
+
+    @Benchmark
+    public int rebuild() {
+        spatial.rebuild(count, minX, minY, maxX, maxY);
+        return spatial.size();
+    }
+
+    @Benchmark
+    public int moveAll() {
+        // Every other invocation moves the objects back, so they oscillate
+        // around where they started instead of drifting out of the bounds
+        direction = -direction;
+        for (int i = 0; i < count; i++) {
+            float step = (i & 1) == 0 ? direction : -direction;
+            minX[i] += step;
+            maxX[i] += step;
+            spatial.update(i, minX[i], minY[i], maxX[i], maxY[i]);
+        }
+        return spatial.size();
+    }
+
+    @Benchmark
+    public int query() {
+        int found = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            results.clear();
+            spatial.query(queryX[i], queryY[i], queryX[i] + view, queryY[i] + view, results);
+            found += results.size();
+        }
+        return found;
+    }
+
+    @Benchmark
+    public void pairs(Blackhole blackhole) {
+        spatial.forEachPair((a, b) -> blackhole.consume(a ^ b));
+    }
+}
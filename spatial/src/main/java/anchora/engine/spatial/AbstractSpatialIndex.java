@@ -0,0 +1,148 @@
+package anchora.engine.spatial;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the bounds of every object in struct-of-arrays form, indexed by ID,
+ * for the concrete indexes to build their cells on.
+ */
+public abstract class AbstractSpatialIndex implements SpatialIndex {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    protected float[] minX, minY, maxX, maxY;
+    protected boolean[] present;
+    private int size;
+
+    protected AbstractSpatialIndex() {
+        minX = new float[DEFAULT_CAPACITY];
+        minY = new float[DEFAULT_CAPACITY];
+        maxX = new float[DEFAULT_CAPACITY];
+        maxY = new float[DEFAULT_CAPACITY];
+        present = new boolean[DEFAULT_CAPACITY];
+    }
+
+    @Override
+    public void insert(int id, float minX, float minY, float maxX, float maxY) {
+        if (id < 0) {
+            throw new IllegalArgumentException(getClass().getSimpleName() + ": Invalid ID " + id);
+        }
+        checkBounds(minX, minY, maxX, maxY);
+        ensureCapacity(id + 1);
+
+        if (present[id]) {
+            update(id, minX, minY, maxX, maxY);
+            return;
+        }
+
+        setBounds(id, minX, minY, maxX, maxY);
+        present[id] = true;
+        size++;
+        link(id);
+    }
+
+    @Override
+    public void update(int id, float minX, float minY, float maxX, float maxY) {
+        checkBounds(minX, minY, maxX, maxY);
+        checkPresent(id);
+
+        if (!move(id, minX, minY, maxX, maxY)) {
+            unlink(id);
+            setBounds(id, minX, minY, maxX, maxY);
+            link(id);
+        }
+    }
+
+    @Override
+    public void remove(int id) {
+        checkPresent(id);
+        unlink(id);
+        present[id] = false;
+        size--;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(present, false);
+        size = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int id) {
+        return id >= 0 && id < present.length && present[id];
+    }
+
+    /**
+     * Adds an object whose bounds are already stored to the cell structure.
+     */
+    protected abstract void link(int id);
+
+    /**
+     * Takes an object out of the cell structure. Its bounds are still the old
+     * ones.
+     */
+    protected abstract void unlink(int id);
+
+    /**
+     * Stores new bounds in place when the object stays in the same cell.
+     *
+     * @return Whether the move was handled; if not the object is unlinked
+     *         and linked again.
+     */
+    protected abstract boolean move(int id, float minX, float minY, float maxX, float maxY);
+
+    /**
+     * Grows the per-object arrays of the subclass to the new capacity.
+     */
+    protected abstract void growObjects(int capacity);
+
+    protected final void setBounds(int id, float minX, float minY, float maxX, float maxY) {
+        this.minX[id] = minX;
+        this.minY[id] = minY;
+        this.maxX[id] = maxX;
+        this.maxY[id] = maxY;
+    }
+
+    protected final boolean overlaps(int id, float minX, float minY, float maxX, float maxY) {
+        return SpatialIndex.overlaps(this.minX[id], this.minY[id], this.maxX[id], this.maxY[id],
+                minX, minY, maxX, maxY);
+    }
+
+    /**
+     * @return One more than the highest ID the arrays can hold.
+     */
+    protected final int capacity() {
+        return present.length;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= present.length) {
+            return;
+        }
+
+        int grown = Math.max(capacity, present.length * 2);
+        minX = Arrays.copyOf(minX, grown);
+        minY = Arrays.copyOf(minY, grown);
+        maxX = Arrays.copyOf(maxX, grown);
+        maxY = Arrays.copyOf(maxY, grown);
+        present = Arrays.copyOf(present, grown);
+        growObjects(grown);
+    }
+
+    private void checkPresent(int id) {
+        if (!contains(id)) {
+            throw new IllegalArgumentException(getClass().getSimpleName()
+                    + ": No object with ID " + id);
+        }
+    }
+
+    private void checkBounds(float minX, float minY, float maxX, float maxY) {
+        if (!(minX <= maxX && minY <= maxY)) {
+            throw new IllegalArgumentException(getClass().getSimpleName() + ": Invalid bounds.");
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package anchora.engine.spatial;
+
+import java.util.Arrays;
+
+import anchora.engine.list.IntList;
+
+/**
+ * Tests every object against the query, and every pair against each other.
+ * The baseline the real indexes are measured and tested against; fine on its
+ * own for a few dozen objects.
+ */
+public class BruteForceIndex extends AbstractSpatialIndex {
+
+    // Dense list of present IDs, and where each ID sits in it
+    private final IntList ids = new IntList();
+    private int[] slots = new int[capacity()];
+
+    @Override
+    public void query(float minX, float minY, float maxX, float maxY, IntList out) {
+        for (int i = 0; i < ids.size(); i++) {
+            int id = ids.get(i);
+            if (overlaps(id, minX, minY, maxX, maxY)) {
+                out.add(id);
+            }
+        }
+    }
+
+    @Override
+    public void forEachPair(PairConsumer consumer) {
+        int count = ids.size();
+        for (int i = 0; i < count; i++) {
+            int a = ids.get(i);
+            for (int j = i + 1; j < count; j++) {
+                int b = ids.get(j);
+                if (overlaps(a, minX[b], minY[b], maxX[b], maxY[b])) {
+                    consumer.accept(Math.min(a, b), Math.max(a, b));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        ids.clear();
+    }
+
+    @Override
+    protected void link(int id) {
+        slots[id] = ids.size();
+        ids.add(id);
+    }
+
+    @Override
+    protected void unlink(int id) {
+        int slot = slots[id];
+        int last = ids.removeAt(ids.size() - 1);
+        if (last != id) {
+            ids.set(slot, last);
+            slots[last] = slot;
+        }
+    }
+
+    @Override
+    protected boolean move(int id, float minX, float minY, float maxX, float maxY) {
+        setBounds(id, minX, minY, maxX, maxY);
+        return true;
+    }
+
+    @Override
+    protected void growObjects(int capacity) {
+        slots = Arrays.copyOf(slots, capacity);
+    }
+}
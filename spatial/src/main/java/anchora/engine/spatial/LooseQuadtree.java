@@ -0,0 +1,259 @@
+package anchora.engine.spatial;
+
+import java.util.Arrays;
+
+import anchora.engine.list.IntList;
+
+/**
+ * A loose quadtree over a fixed square region, stored as one flat grid per
+ * level instead of linked nodes. Level {@code L} splits the region into
+ * {@code 2^L x 2^L} cells, and each cell's loose bounds extend half a cell
+ * past its edges, so an object fits any cell that holds its center as long as
+ * it is no larger than the cell. Each object lives in exactly one cell of the
+ * deepest level it fits, which makes moves O(1) and queries free of
+ * duplicates.
+ *
+ * <p>Unlike {@link UniformGrid} this handles objects of very different sizes
+ * well, at the cost of visiting every level per query. Objects whose center
+ * leaves the region are kept in an overflow list that every query scans.
+ */
+public class LooseQuadtree extends AbstractSpatialIndex {
+
+    public static final int DEFAULT_DEPTH = 8;
+
+    private static final int NONE = -1;
+    private static final int OVERFLOW = -1;
+
+    private final float originX, originY, size;
+    private final int depth;
+
+    // heads[level][cell]; level 0 is the single root cell
+    private final int[][] heads;
+    private final int[] levelCounts;
+    private int overflowHead = NONE;
+    private int overflowCount;
+
+    // Per object: level (or OVERFLOW), cell, and chain neighbours
+    private int[] level, cell, next, prev;
+    private final IntList scratch = new IntList();
+
+    public LooseQuadtree(float originX, float originY, float size) {
+        this(originX, originY, size, DEFAULT_DEPTH);
+    }
+
+    /**
+     * @param originX The left edge of the region.
+     * @param originY The bottom edge of the region.
+     * @param size    The side of the square region.
+     * @param depth   The deepest level, between 0 and 12. Its cells should be
+     *                about the size of the smallest objects.
+     */
+    public LooseQuadtree(float originX, float originY, float size, int depth) {
+        if (!(size > 0f) || depth < 0 || depth > 12) {
+            throw new IllegalArgumentException("LooseQuadtree: Invalid tree inputs.");
+        }
+
+        this.originX = originX;
+        this.originY = originY;
+        this.size = size;
+        this.depth = depth;
+
+        heads = new int[depth + 1][];
+        for (int l = 0; l <= depth; l++) {
+            heads[l] = new int[1 << (2 * l)];
+            Arrays.fill(heads[l], NONE);
+        }
+        levelCounts = new int[depth + 1];
+
+        level = new int[capacity()];
+        cell = new int[capacity()];
+        next = new int[capacity()];
+        prev = new int[capacity()];
+    }
+
+    @Override
+    public void query(float minX, float minY, float maxX, float maxY, IntList out) {
+        collect(minX, minY, maxX, maxY, NONE, out);
+    }
+
+    @Override
+    public void forEachPair(PairConsumer consumer) {
+        for (int id = 0; id < capacity(); id++) {
+            if (!present[id]) {
+                continue;
+            }
+
+            scratch.clear();
+            collect(minX[id], minY[id], maxX[id], maxY[id], id, scratch);
+            for (int i = 0; i < scratch.size(); i++) {
+                consumer.accept(id, scratch.get(i));
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        for (int[] levelHeads : heads) {
+            Arrays.fill(levelHeads, NONE);
+        }
+        Arrays.fill(levelCounts, 0);
+        overflowHead = NONE;
+        overflowCount = 0;
+    }
+
+    @Override
+    protected void link(int id) {
+        int l = levelOf(minX[id], minY[id], maxX[id], maxY[id]);
+        int c = l == OVERFLOW ? 0 : cellOf(l, minX[id], minY[id], maxX[id], maxY[id]);
+        level[id] = l;
+        cell[id] = c;
+        prev[id] = NONE;
+
+        int head = headOf(l, c);
+        next[id] = head;
+        if (head != NONE) {
+            prev[head] = id;
+        }
+        setHead(l, c, id);
+
+        if (l == OVERFLOW) {
+            overflowCount++;
+        } else {
+            levelCounts[l]++;
+        }
+    }
+
+    @Override
+    protected void unlink(int id) {
+        int l = level[id];
+        if (prev[id] != NONE) {
+            next[prev[id]] = next[id];
+        } else {
+            setHead(l, cell[id], next[id]);
+        }
+        if (next[id] != NONE) {
+            prev[next[id]] = prev[id];
+        }
+
+        if (l == OVERFLOW) {
+            overflowCount--;
+        } else {
+            levelCounts[l]--;
+        }
+    }
+
+    @Override
+    protected boolean move(int id, float minX, float minY, float maxX, float maxY) {
+        int l = levelOf(minX, minY, maxX, maxY);
+        if (l != level[id] || (l != OVERFLOW && cellOf(l, minX, minY, maxX, maxY) != cell[id])) {
+            return false;
+        }
+
+        setBounds(id, minX, minY, maxX, maxY);
+        return true;
+    }
+
+    @Override
+    protected void growObjects(int capacity) {
+        level = Arrays.copyOf(level, capacity);
+        cell = Arrays.copyOf(cell, capacity);
+        next = Arrays.copyOf(next, capacity);
+        prev = Arrays.copyOf(prev, capacity);
+    }
+
+    private void collect(float minX, float minY, float maxX, float maxY, int skipUpTo,
+            IntList out) {
+
+        if (overflowCount > 0) {
+            collectChain(overflowHead, minX, minY, maxX, maxY, skipUpTo, out);
+        }
+
+        for (int l = 0; l <= depth; l++) {
+            if (levelCounts[l] == 0) {
+                continue;
+            }
+
+            // Widen by the looseness, half a cell, and clamp to the grid
+            int resolution = 1 << l;
+            float cellSize = size / resolution;
+            float slack = cellSize * 0.5f;
+            int cellMinX = clamp(column(minX - slack, cellSize), resolution);
+            int cellMinY = clamp(row(minY - slack, cellSize), resolution);
+            int cellMaxX = clamp(column(maxX + slack, cellSize), resolution);
+            int cellMaxY = clamp(row(maxY + slack, cellSize), resolution);
+
+            int[] levelHeads = heads[l];
+            for (int cy = cellMinY; cy <= cellMaxY; cy++) {
+                for (int cx = cellMinX; cx <= cellMaxX; cx++) {
+                    collectChain(levelHeads[cy * resolution + cx], minX, minY, maxX, maxY,
+                            skipUpTo, out);
+                }
+            }
+        }
+    }
+
+    private void collectChain(int head, float minX, float minY, float maxX, float maxY,
+            int skipUpTo, IntList out) {
+
+        for (int id = head; id != NONE; id = next[id]) {
+            if (id > skipUpTo && overlaps(id, minX, minY, maxX, maxY)) {
+                out.add(id);
+            }
+        }
+    }
+
+    /**
+     * @return The deepest level whose cells are at least as large as the box,
+     *         or {@link #OVERFLOW} if its center is outside the region.
+     */
+    private int levelOf(float minX, float minY, float maxX, float maxY) {
+        float centerX = (minX + maxX) * 0.5f;
+        float centerY = (minY + maxY) * 0.5f;
+        if (centerX < originX || centerY < originY
+                || centerX >= originX + size || centerY >= originY + size) {
+            return OVERFLOW;
+        }
+
+        float extent = Math.max(maxX - minX, maxY - minY);
+        int l = 0;
+        float cellSize = size;
+        while (l < depth && extent <= cellSize * 0.5f) {
+            cellSize *= 0.5f;
+            l++;
+        }
+        return l;
+    }
+
+    private int cellOf(int l, float minX, float minY, float maxX, float maxY) {
+        int resolution = 1 << l;
+        float cellSize = size / resolution;
+        int cx = clamp(column((minX + maxX) * 0.5f, cellSize), resolution);
+        int cy = clamp(row((minY + maxY) * 0.5f, cellSize), resolution);
+        return cy * resolution + cx;
+    }
+
+    private int column(float x, float cellSize) {
+        return (int) Math.floor((x - originX) / cellSize);
+    }
+
+    private int row(float y, float cellSize) {
+        return (int) Math.floor((y - originY) / cellSize);
+    }
+
+    private static int clamp(int index, int resolution) {
+        return Math.max(0, Math.min(resolution - 1, index));
+    }
+
+    private int headOf(int l, int c) {
+        return l == OVERFLOW ? overflowHead : heads[l][c];
+    }
+
+    private void setHead(int l, int c, int id) {
+        if (l == OVERFLOW) {
+            overflowHead = id;
+        } else {
+            heads[l][c] = id;
+        }
+    }
+}
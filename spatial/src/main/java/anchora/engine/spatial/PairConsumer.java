@@ -0,0 +1,11 @@
+package anchora.engine.spatial;
+
+/**
+ * Receives each pair of overlapping objects found by
+ * {@link SpatialIndex#forEachPair(PairConsumer)}, once per pair.
+ */
+@FunctionalInterface
+public interface PairConsumer {
+
+    void accept(int a, int b);
+}
@@ -0,0 +1,64 @@
+package anchora.engine.spatial;
+
+import anchora.engine.list.IntList;
+
+/**
+ * A broad-phase index over axis-aligned bounding boxes, identified by small
+ * non-negative {@code int} IDs such as ECS rows. Queries and pair enumeration
+ * do not allocate; results are appended to a caller-owned {@link IntList} or
+ * handed to a callback.
+ *
+ * <p>Implementations are not thread-safe.
+ */
+public interface SpatialIndex {
+
+    /**
+     * Adds an object. Inserting an ID that is already present moves it.
+     */
+    void insert(int id, float minX, float minY, float maxX, float maxY);
+
+    /**
+     * Moves an object to new bounds, cheaply when it stays in the same cell.
+     */
+    void update(int id, float minX, float minY, float maxX, float maxY);
+
+    void remove(int id);
+
+    void clear();
+
+    /**
+     * @return The number of objects in the index.
+     */
+    int size();
+
+    /**
+     * Appends the ID of every object whose bounds overlap the given box,
+     * each exactly once and in no particular order.
+     */
+    void query(float minX, float minY, float maxX, float maxY, IntList out);
+
+    /**
+     * Reports every pair of objects whose bounds overlap, each pair once with
+     * the smaller ID first.
+     */
+    void forEachPair(PairConsumer consumer);
+
+    /**
+     * Replaces the contents with objects {@code 0} to {@code count - 1},
+     * reading their bounds from struct-of-arrays columns.
+     */
+    default void rebuild(int count, float[] minX, float[] minY, float[] maxX, float[] maxY) {
+        clear();
+        for (int id = 0; id < count; id++) {
+            insert(id, minX[id], minY[id], maxX[id], maxY[id]);
+        }
+    }
+
+    /**
+     * @return Whether two boxes overlap; touching edges count as overlapping.
+     */
+    static boolean overlaps(float aMinX, float aMinY, float aMaxX, float aMaxY,
+            float bMinX, float bMinY, float bMaxX, float bMaxY) {
+        return aMinX <= bMaxX && bMinX <= aMaxX && aMinY <= bMaxY && bMinY <= aMaxY;
+    }
+}
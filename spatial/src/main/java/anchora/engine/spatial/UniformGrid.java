@@ -0,0 +1,214 @@
+package anchora.engine.spatial;
+
+import java.util.Arrays;
+
+import anchora.engine.list.IntList;
+
+/**
+ * An unbounded uniform grid stored as a spatial hash. Each object is filed
+ * under the one cell that holds its center, in a bucket chained through
+ * primitive {@code next}/{@code prev} arrays, so moving an object is O(1) and
+ * nothing is allocated per object.
+ *
+ * <p>Queries widen their box by the largest half-size seen since the last
+ * {@link #clear()}, which catches objects that reach into the box from a
+ * neighbouring cell. The cell size should be around the size of a typical
+ * object; a few objects much larger than that make every query wider.
+ */
+public class UniformGrid extends AbstractSpatialIndex {
+
+    private static final int DEFAULT_BUCKETS = 4096;
+    private static final int NONE = -1;
+
+    private final float inverseCellSize;
+    private int[] heads;
+    private int mask;
+
+    // Per object: its bucket and its neighbours in that bucket's chain
+    private int[] bucket, next, prev;
+
+    // Marks objects already seen by the current query, since several cells
+    // can hash to the same bucket
+    private int[] stamps;
+    private int stamp;
+
+    private float maxHalfWidth, maxHalfHeight;
+    private final IntList scratch = new IntList();
+
+    /**
+     * @param cellSize The side of a grid cell, in world units.
+     */
+    public UniformGrid(float cellSize) {
+        if (!(cellSize > 0f)) {
+            throw new IllegalArgumentException("UniformGrid: Invalid cell size.");
+        }
+
+        inverseCellSize = 1f / cellSize;
+        heads = new int[DEFAULT_BUCKETS];
+        mask = DEFAULT_BUCKETS - 1;
+        Arrays.fill(heads, NONE);
+
+        bucket = new int[capacity()];
+        next = new int[capacity()];
+        prev = new int[capacity()];
+        stamps = new int[capacity()];
+    }
+
+    @Override
+    public void query(float minX, float minY, float maxX, float maxY, IntList out) {
+        collect(minX, minY, maxX, maxY, NONE, out);
+    }
+
+    @Override
+    public void forEachPair(PairConsumer consumer) {
+        for (int id = 0; id < capacity(); id++) {
+            if (!present[id]) {
+                continue;
+            }
+
+            scratch.clear();
+            collect(minX[id], minY[id], maxX[id], maxY[id], id, scratch);
+            for (int i = 0; i < scratch.size(); i++) {
+                consumer.accept(id, scratch.get(i));
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        Arrays.fill(heads, NONE);
+        maxHalfWidth = 0f;
+        maxHalfHeight = 0f;
+    }
+
+    @Override
+    protected void link(int id) {
+        growExtents(id);
+        chain(id);
+
+        // Keep chains short as the grid fills up
+        if (size() > heads.length) {
+            rehash(heads.length * 2);
+        }
+    }
+
+    @Override
+    protected void unlink(int id) {
+        if (prev[id] != NONE) {
+            next[prev[id]] = next[id];
+        } else {
+            heads[bucket[id]] = next[id];
+        }
+        if (next[id] != NONE) {
+            prev[next[id]] = prev[id];
+        }
+    }
+
+    @Override
+    protected boolean move(int id, float minX, float minY, float maxX, float maxY) {
+        int b = hash(cell((minX + maxX) * 0.5f), cell((minY + maxY) * 0.5f));
+        if (b != bucket[id]) {
+            return false;
+        }
+
+        setBounds(id, minX, minY, maxX, maxY);
+        growExtents(id);
+        return true;
+    }
+
+    @Override
+    protected void growObjects(int capacity) {
+        bucket = Arrays.copyOf(bucket, capacity);
+        next = Arrays.copyOf(next, capacity);
+        prev = Arrays.copyOf(prev, capacity);
+        stamps = Arrays.copyOf(stamps, capacity);
+    }
+
+    /**
+     * Appends the objects overlapping the box, skipping IDs up to and
+     * including {@code skipUpTo} so pair enumeration reports each pair once.
+     */
+    private void collect(float minX, float minY, float maxX, float maxY, int skipUpTo,
+            IntList out) {
+
+        if (++stamp == 0) {
+            Arrays.fill(stamps, 0);
+            stamp = 1;
+        }
+
+        int cellMinX = cell(minX - maxHalfWidth);
+        int cellMinY = cell(minY - maxHalfHeight);
+        int cellMaxX = cell(maxX + maxHalfWidth);
+        int cellMaxY = cell(maxY + maxHalfHeight);
+
+        long cells = ((long) cellMaxX - cellMinX + 1) * ((long) cellMaxY - cellMinY + 1);
+        if (cells >= heads.length) {
+            // Wider than the table; every bucket would be visited anyway
+            for (int b = 0; b < heads.length; b++) {
+                collectBucket(b, minX, minY, maxX, maxY, skipUpTo, out);
+            }
+            return;
+        }
+
+        for (int cy = cellMinY; cy <= cellMaxY; cy++) {
+            for (int cx = cellMinX; cx <= cellMaxX; cx++) {
+                collectBucket(hash(cx, cy), minX, minY, maxX, maxY, skipUpTo, out);
+            }
+        }
+    }
+
+    private void collectBucket(int b, float minX, float minY, float maxX, float maxY,
+            int skipUpTo, IntList out) {
+
+        for (int id = heads[b]; id != NONE; id = next[id]) {
+            if (stamps[id] == stamp) {
+                continue;
+            }
+            stamps[id] = stamp;
+            if (id > skipUpTo && overlaps(id, minX, minY, maxX, maxY)) {
+                out.add(id);
+            }
+        }
+    }
+
+    private void rehash(int bucketCount) {
+        heads = new int[bucketCount];
+        mask = bucketCount - 1;
+        Arrays.fill(heads, NONE);
+        for (int id = 0; id < capacity(); id++) {
+            if (present[id]) {
+                chain(id);
+            }
+        }
+    }
+
+    private void chain(int id) {
+        int b = bucketOf(id);
+        bucket[id] = b;
+        prev[id] = NONE;
+        next[id] = heads[b];
+        if (heads[b] != NONE) {
+            prev[heads[b]] = id;
+        }
+        heads[b] = id;
+    }
+
+    private void growExtents(int id) {
+        maxHalfWidth = Math.max(maxHalfWidth, (maxX[id] - minX[id]) * 0.5f);
+        maxHalfHeight = Math.max(maxHalfHeight, (maxY[id] - minY[id]) * 0.5f);
+    }
+
+    private int bucketOf(int id) {
+        return hash(cell((minX[id] + maxX[id]) * 0.5f), cell((minY[id] + maxY[id]) * 0.5f));
+    }
+
+    private int cell(float coordinate) {
+        return (int) Math.floor(coordinate * inverseCellSize);
+    }
+
+    private int hash(int cellX, int cellY) {
+        int h = cellX * 0x8DA6B343 ^ cellY * 0xD8163841;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
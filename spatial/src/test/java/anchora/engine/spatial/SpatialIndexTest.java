@@ -0,0 +1,165 @@
+package anchora.engine.spatial;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import anchora.engine.list.IntList;
+import anchora.engine.utilities.AllocationProbe;
+
+class SpatialIndexTest {
+
+    private static final int COUNT = 2000;
+    private static final float WORLD = 1000f;
+
+    private static int[] sorted(IntList list) {
+        int[] values = list.toArray();
+        Arrays.sort(values);
+        return values;
+    }
+
+    private static long[] pairs(SpatialIndex index) {
+        IntList encoded = new IntList();
+        index.forEachPair((a, b) -> {
+            assertTrue(a < b, "Pair not ordered: " + a + ", " + b);
+            encoded.add(a);
+            encoded.add(b);
+        });
+
+        long[] result = new long[encoded.size() / 2];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (long) encoded.get(2 * i) << 32 | encoded.get(2 * i + 1);
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Mostly small boxes with a few large ones, some poking out of the world,
+     * all mirrored into a brute-force index as the reference.
+     */
+    private static void fill(Random random, SpatialIndex index, SpatialIndex reference) {
+        for (int id = 0; id < COUNT; id++) {
+            float size = random.nextInt(50) == 0 ? 100f + random.nextFloat() * 200f
+                    : 1f + random.nextFloat() * 10f;
+            float x = random.nextFloat() * (WORLD + 100f) - 50f;
+            float y = random.nextFloat() * (WORLD + 100f) - 50f;
+            index.insert(id, x, y, x + size, y + size);
+            reference.insert(id, x, y, x + size, y + size);
+        }
+    }
+
+    private static void checkAgainstBruteForce(Supplier<SpatialIndex> factory) {
+        Random random = new Random(7);
+        SpatialIndex index = factory.get();
+        SpatialIndex reference = new BruteForceIndex();
+        fill(random, index, reference);
+
+        // Move a third, small steps and long jumps, and remove a tenth
+        for (int id = 0; id < COUNT; id += 3) {
+            float x = random.nextFloat() * WORLD;
+            float y = random.nextFloat() * WORLD;
+            index.update(id, x, y, x + 4f, y + 4f);
+            reference.update(id, x, y, x + 4f, y + 4f);
+        }
+        for (int id = 1; id < COUNT; id += 10) {
+            index.remove(id);
+            reference.remove(id);
+        }
+        assertEquals(reference.size(), index.size());
+
+        IntList expected = new IntList();
+        IntList actual = new IntList();
+        for (int q = 0; q < 200; q++) {
+            float x = random.nextFloat() * WORLD;
+            float y = random.nextFloat() * WORLD;
+            float w = random.nextFloat() * 200f;
+            float h = random.nextFloat() * 200f;
+            expected.clear();
+            actual.clear();
+            reference.query(x, y, x + w, y + h, expected);
+            index.query(x, y, x + w, y + h, actual);
+            assertArrayEquals(sorted(expected), sorted(actual), "Query " + q);
+        }
+
+        assertArrayEquals(pairs(reference), pairs(index));
+    }
+
+    @Test void testUniformGridMatchesBruteForce() {
+        checkAgainstBruteForce(() -> new UniformGrid(16f));
+    }
+
+    @Test void testLooseQuadtreeMatchesBruteForce() {
+        checkAgainstBruteForce(() -> new LooseQuadtree(0f, 0f, WORLD, 6));
+    }
+
+    @Test void testRebuildFromColumns() {
+        float[] minX = { 0f, 5f, 100f };
+        float[] minY = { 0f, 5f, 100f };
+        float[] maxX = { 10f, 15f, 110f };
+        float[] maxY = { 10f, 15f, 110f };
+
+        for (SpatialIndex index : new SpatialIndex[] { new UniformGrid(8f),
+                new LooseQuadtree(0f, 0f, 128f), new BruteForceIndex() }) {
+            index.insert(50, 0f, 0f, 1f, 1f);
+            index.rebuild(3, minX, minY, maxX, maxY);
+            assertEquals(3, index.size());
+
+            IntList out = new IntList();
+            index.query(-1f, -1f, 1f, 1f, out);
+            assertArrayEquals(new int[] { 0 }, sorted(out));
+            assertArrayEquals(new long[] { 1L }, pairs(index));
+        }
+    }
+
+    @Test void testInvalidInputs() {
+        UniformGrid grid = new UniformGrid(1f);
+        assertThrows(IllegalArgumentException.class, () -> grid.insert(-1, 0f, 0f, 1f, 1f));
+        assertThrows(IllegalArgumentException.class, () -> grid.insert(0, 1f, 0f, 0f, 1f));
+        assertThrows(IllegalArgumentException.class, () -> grid.remove(3));
+        assertThrows(IllegalArgumentException.class, () -> new UniformGrid(0f));
+        assertThrows(IllegalArgumentException.class, () -> new LooseQuadtree(0f, 0f, 1f, 13));
+
+        grid.insert(0, 0f, 0f, 1f, 1f);
+        grid.remove(0);
+        assertFalse(grid.contains(0));
+    }
+
+    @Test void testQueriesDoNotAllocate() {
+        Random random = new Random(3);
+        SpatialIndex[] indexes = { new UniformGrid(16f), new LooseQuadtree(0f, 0f, WORLD, 6) };
+        for (SpatialIndex index : indexes) {
+            fill(random, index, new BruteForceIndex());
+        }
+        IntList out = new IntList(COUNT);
+        int[] pairCount = new int[1];
+        PairConsumer counter = (a, b) -> pairCount[0]++;
+
+        // Warm up so the scratch lists reach their steady-state size
+        for (SpatialIndex index : indexes) {
+            index.forEachPair(counter);
+        }
+
+        long before = AllocationProbe.allocatedBytes();
+        for (SpatialIndex index : indexes) {
+            for (int q = 0; q < 100; q++) {
+                out.clear();
+                index.query(q * 5f, q * 5f, q * 5f + 100f, q * 5f + 100f, out);
+                index.update(q, q, q, q + 2f, q + 2f);
+            }
+            index.forEachPair(counter);
+        }
+        long allocated = AllocationProbe.allocatedBytes() - before;
+
+        assertTrue(pairCount[0] > 0);
+        assertTrue(allocated < 1024, "Queries allocated " + allocated + " bytes");
+    }
+}
@@ -0,0 +1,62 @@
+package anchora.engine.utilities;
+
+/**
+ * A read-only view of a range of another {@link CharSequence}. Creating one
+ * never copies characters; only {@link #toString()} does.
+ */
+public final class CharSlice implements CharSequence {
+    private final CharSequence source;
+    private final int start;
+    private final int end;
+
+    public CharSlice(CharSequence source, int start, int end) {
+        if (start < 0 || end < start || end > source.length()) {
+            throw new IndexOutOfBoundsException("Range is out of bounds");
+        }
+
+        this.source = source;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length()) {
+            throw new IndexOutOfBoundsException("Index is out of range");
+        }
+        return source.charAt(start + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end < start || end > length()) {
+            throw new IndexOutOfBoundsException("Range is out of bounds");
+        }
+        return new CharSlice(source, this.start + start, this.start + end);
+    }
+
+    /**
+     * @return Whether this slice holds exactly the characters of {@code other}.
+     */
+    public boolean contentEquals(CharSequence other) {
+        if (other.length() != length()) {
+            return false;
+        }
+        for (int i = 0; i < length(); i++) {
+            if (source.charAt(start + i) != other.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return source.subSequence(start, end).toString();
+    }
+}
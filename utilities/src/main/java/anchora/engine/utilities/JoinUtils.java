@@ -17,4 +17,18 @@ class JoinUtils {
 
         return result.toString();
     }
+
+    public static String join(Iterable<? extends CharSequence> source, String separator) {
+        StringBuilder result = new StringBuilder();
+        boolean first = true;
+        for (CharSequence token : source) {
+            if (!first) {
+                result.append(separator);
+            }
+            result.append(token);
+            first = false;
+        }
+
+        return result.toString();
+    }
 }
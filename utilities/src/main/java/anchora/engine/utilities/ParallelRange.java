@@ -0,0 +1,76 @@
+package anchora.engine.utilities;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits a loop over {@code [0, count)} into fork-join tasks, so a loop over
+ * 100k elements uses every core. Ranges are halved until they are no larger
+ * than the grain, which should be big enough that a chunk takes a few
+ * microseconds.
+ */
+public final class ParallelRange {
+
+    private ParallelRange() {
+    }
+
+    /**
+     * Runs {@code body} over {@code [0, count)} in chunks and returns once
+     * every chunk has run. Runs inline when the range is no bigger than one
+     * grain. Called from a worker of {@code pool}, the chunks are forked from
+     * the calling task, so the worker helps instead of blocking; otherwise
+     * they are submitted to {@code pool}.
+     *
+     * @param pool  The pool the chunks run on.
+     * @param count The number of elements.
+     * @param grain The largest chunk run as a single task, at least 1.
+     * @param body  The loop body.
+     * @throws IllegalArgumentException If an argument is invalid.
+     */
+    public static void forEach(ForkJoinPool pool, int count, int grain, RangeBody body) {
+        if (pool == null || count < 0 || grain < 1 || body == null) {
+            throw new IllegalArgumentException("ParallelRange: Invalid range inputs.");
+        }
+
+        if (count <= grain) {
+            if (count > 0) {
+                body.run(0, count);
+            }
+            return;
+        }
+
+        RangeTask task = new RangeTask(body, 0, count, grain);
+        if (ForkJoinTask.getPool() == pool) {
+            task.invoke();
+        } else {
+            pool.invoke(task);
+        }
+    }
+
+    private static final class RangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final RangeBody body;
+        private final int start, end, grain;
+
+        RangeTask(RangeBody body, int start, int end, int grain) {
+            this.body = body;
+            this.start = start;
+            this.end = end;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= grain) {
+                body.run(start, end);
+                return;
+            }
+
+            int middle = (start + end) >>> 1;
+            invokeAll(new RangeTask(body, start, middle, grain),
+                    new RangeTask(body, middle, end, grain));
+        }
+    }
+}
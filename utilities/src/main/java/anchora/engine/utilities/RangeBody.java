@@ -0,0 +1,10 @@
+package anchora.engine.utilities;
+
+/**
+ * A loop body over a half-open range of indices, run by {@link ParallelRange}.
+ */
+@FunctionalInterface
+public interface RangeBody {
+
+    void run(int start, int end);
+}
@@ -7,33 +7,21 @@ import anchora.engine.list.LinkedList;
 
 class SplitUtils {
     public static LinkedList split(String source) {
-        int lastFind = 0;
-        int currentFind = 0;
-        LinkedList result = new LinkedList();
+        return split(source, " ");
+    }
 
-        while ((currentFind = source.indexOf(" ", lastFind)) != -1) {
-            String token = source.substring(lastFind);
-            if (currentFind != -1) {
-                token = token.substring(0, currentFind - lastFind);
-            }
+    /**
+     * Copies every token of {@code source} into a list. Each character is read
+     * once and each token copied once, so splitting is linear in the input.
+     */
+    public static LinkedList split(String source, String delimiters) {
+        LinkedList result = new LinkedList();
 
-            addIfValid(token, result);
-            lastFind = currentFind + 1;
+        Tokenizer.Cursor cursor = new Tokenizer(source, delimiters).cursor();
+        while (cursor.next()) {
+            result.add(source.substring(cursor.start(), cursor.end()));
         }
 
-        String token = source.substring(lastFind);
-        addIfValid(token, result);
-
         return result;
     }
-
-    private static void addIfValid(String token, LinkedList list) {
-        if (isTokenValid(token)) {
-            list.add(token);
-        }
-    }
-
-    private static boolean isTokenValid(String token) {
-        return !token.isEmpty();
-    }
 }
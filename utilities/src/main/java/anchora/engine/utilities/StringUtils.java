@@ -10,7 +10,22 @@ public class StringUtils {
         return JoinUtils.join(source);
     }
 
+    public static String join(Iterable<? extends CharSequence> source, String separator) {
+        return JoinUtils.join(source, separator);
+    }
+
     public static LinkedList split(String source) {
         return SplitUtils.split(source);
     }
+
+    public static LinkedList split(String source, String delimiters) {
+        return SplitUtils.split(source, delimiters);
+    }
+
+    /**
+     * @return A lazy tokenizer over {@code source} that does not copy it.
+     */
+    public static Tokenizer tokenize(CharSequence source, String delimiters) {
+        return new Tokenizer(source, delimiters);
+    }
 }
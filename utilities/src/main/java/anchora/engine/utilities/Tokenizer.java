@@ -0,0 +1,202 @@
+package anchora.engine.utilities;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Splits a {@link CharSequence}, such as a {@code String} or a
+ * {@code CharBuffer}, into tokens separated by any of a set of delimiter
+ * characters. Empty tokens are skipped.
+ *
+ * <p>Nothing is split up front. Tokens are found lazily, either as
+ * {@code (start, end)} offsets through a {@link Cursor}, which never
+ * allocates, or as {@link CharSlice} views through {@link #iterator()} and
+ * {@link #stream()}, which never copy characters.
+ */
+public final class Tokenizer implements Iterable<CharSequence> {
+    private final CharSequence source;
+
+    // One bit per ASCII delimiter, the rest are looked up in a string
+    private final long lowDelimiters;
+    private final long highDelimiters;
+    private final String otherDelimiters;
+
+    /**
+     * @param source     The text to split.
+     * @param delimiters Every character that separates tokens.
+     */
+    public Tokenizer(CharSequence source, String delimiters) {
+        if (source == null || delimiters == null || delimiters.isEmpty()) {
+            throw new IllegalArgumentException("Tokenizer: Invalid tokenizer inputs.");
+        }
+
+        long low = 0;
+        long high = 0;
+        StringBuilder other = new StringBuilder();
+        for (int i = 0; i < delimiters.length(); i++) {
+            char c = delimiters.charAt(i);
+            if (c < 64) {
+                low |= 1L << c;
+            } else if (c < 128) {
+                high |= 1L << (c - 64);
+            } else {
+                other.append(c);
+            }
+        }
+
+        this.source = source;
+        this.lowDelimiters = low;
+        this.highDelimiters = high;
+        this.otherDelimiters = other.toString();
+    }
+
+    public CharSequence getSource() {
+        return source;
+    }
+
+    /**
+     * @return A new cursor positioned before the first token.
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    @Override
+    public Iterator<CharSequence> iterator() {
+        return new Iterator<CharSequence>() {
+            private final Cursor cursor = cursor();
+            private boolean ready;
+
+            @Override
+            public boolean hasNext() {
+                if (!ready) {
+                    ready = cursor.next();
+                }
+                return ready;
+            }
+
+            @Override
+            public CharSequence next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ready = false;
+                return cursor.token();
+            }
+        };
+    }
+
+    @Override
+    public Spliterator<CharSequence> spliterator() {
+        return new Spliterator<CharSequence>() {
+            private final Cursor cursor = cursor();
+
+            @Override
+            public boolean tryAdvance(Consumer<? super CharSequence> action) {
+                if (!cursor.next()) {
+                    return false;
+                }
+                action.accept(cursor.token());
+                return true;
+            }
+
+            @Override
+            public Spliterator<CharSequence> trySplit() {
+                return null;
+            }
+
+            @Override
+            public long estimateSize() {
+                return Long.MAX_VALUE;
+            }
+
+            @Override
+            public int characteristics() {
+                return ORDERED | NONNULL;
+            }
+        };
+    }
+
+    /**
+     * @return A sequential stream of the tokens as {@link CharSlice} views.
+     */
+    public Stream<CharSequence> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    private boolean isDelimiter(char c) {
+        if (c < 64) {
+            return (lowDelimiters & (1L << c)) != 0;
+        } else if (c < 128) {
+            return (highDelimiters & (1L << (c - 64))) != 0;
+        }
+        return otherDelimiters.indexOf(c) >= 0;
+    }
+
+    /**
+     * Walks the tokens one at a time by offset, without allocating.
+     *
+     * <pre>
+     * Tokenizer.Cursor cursor = tokenizer.cursor();
+     * while (cursor.next()) {
+     *     parse(source, cursor.start(), cursor.end());
+     * }
+     * </pre>
+     */
+    public final class Cursor {
+        private int start;
+        private int end;
+
+        private Cursor() {
+        }
+
+        /**
+         * Moves to the next non-empty token.
+         *
+         * @return Whether there was one.
+         */
+        public boolean next() {
+            int length = source.length();
+            int position = end;
+            while (position < length && isDelimiter(source.charAt(position))) {
+                position++;
+            }
+            if (position == length) {
+                start = end = length;
+                return false;
+            }
+
+            start = position;
+            while (position < length && !isDelimiter(source.charAt(position))) {
+                position++;
+            }
+            end = position;
+            return true;
+        }
+
+        /**
+         * @return The offset of the first character of the current token.
+         */
+        public int start() {
+            return start;
+        }
+
+        /**
+         * @return The offset just past the last character of the current token.
+         */
+        public int end() {
+            return end;
+        }
+
+        /**
+         * @return A view of the current token.
+         */
+        public CharSequence token() {
+            return new CharSlice(source, start, end);
+        }
+    }
+}
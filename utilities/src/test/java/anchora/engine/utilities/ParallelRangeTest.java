@@ -0,0 +1,61 @@
+package anchora.engine.utilities;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.jupiter.api.Test;
+
+class ParallelRangeTest {
+
+    @Test void testCoversEveryIndexOnce() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int count : new int[] { 0, 1, 100, 10_000, 10_007 }) {
+                AtomicIntegerArray hits = new AtomicIntegerArray(Math.max(1, count));
+                ParallelRange.forEach(pool, count, 100, (start, end) -> {
+                    for (int i = start; i < end; i++) {
+                        hits.incrementAndGet(i);
+                    }
+                });
+                for (int i = 0; i < count; i++) {
+                    assertEquals(1, hits.get(i), "Index " + i + " of " + count);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test void testChunksAreNoLargerThanTheGrain() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            AtomicInteger chunks = new AtomicInteger();
+            AtomicInteger largest = new AtomicInteger();
+            ParallelRange.forEach(pool, 1000, 100, (start, end) -> {
+                chunks.incrementAndGet();
+                largest.accumulateAndGet(end - start, Math::max);
+            });
+            assertEquals(16, chunks.get());
+            assertEquals(63, largest.get());
+
+            // A range of one grain runs inline, as one chunk
+            chunks.set(0);
+            ParallelRange.forEach(pool, 100, 100, (start, end) -> chunks.incrementAndGet());
+            assertEquals(1, chunks.get());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test void testInvalidInputs() {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        assertThrows(IllegalArgumentException.class, () -> ParallelRange.forEach(null, 1, 1, (s, e) -> { }));
+        assertThrows(IllegalArgumentException.class, () -> ParallelRange.forEach(pool, -1, 1, (s, e) -> { }));
+        assertThrows(IllegalArgumentException.class, () -> ParallelRange.forEach(pool, 10, 0, (s, e) -> { }));
+        assertThrows(IllegalArgumentException.class, () -> ParallelRange.forEach(pool, 10, 1, null));
+    }
+}
@@ -0,0 +1,77 @@
+package anchora.engine.utilities;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.CharBuffer;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import anchora.engine.list.LinkedList;
+
+class TokenizerTest {
+    @Test void testSplitSkipsEmptyTokens() {
+        LinkedList tokens = StringUtils.split("  Hello owo   World :3! ");
+
+        assertEquals(4, tokens.size());
+        assertEquals("Hello", tokens.get(0));
+        assertEquals(":3!", tokens.get(3));
+        assertEquals("Hello owo World :3!", StringUtils.join(tokens));
+        assertEquals(0, StringUtils.split("").size());
+        assertEquals(0, StringUtils.split("   ").size());
+    }
+
+    @Test void testCursorReportsOffsets() {
+        String source = "key=value;\tother = 2";
+        Tokenizer.Cursor cursor = new Tokenizer(source, "=; \t").cursor();
+
+        int[][] expected = { { 0, 3 }, { 4, 9 }, { 11, 16 }, { 19, 20 } };
+        for (int[] range : expected) {
+            assertTrue(cursor.next());
+            assertEquals(range[0], cursor.start());
+            assertEquals(range[1], cursor.end());
+        }
+        assertFalse(cursor.next());
+        assertFalse(cursor.next());
+    }
+
+    @Test void testIteratorAndStreamReturnViews() {
+        Tokenizer tokenizer = StringUtils.tokenize("a,b;;c\u00b7d", ",;\u00b7");
+
+        Iterator<CharSequence> iterator = tokenizer.iterator();
+        CharSequence first = iterator.next();
+        assertTrue(first instanceof CharSlice);
+        assertTrue(((CharSlice) first).contentEquals("a"));
+
+        List<String> tokens = tokenizer.stream().map(CharSequence::toString).collect(Collectors.toList());
+        assertEquals(List.of("a", "b", "c", "d"), tokens);
+        assertEquals("a|b|c|d", StringUtils.join(tokenizer, "|"));
+
+        Iterator<CharSequence> empty = StringUtils.tokenize(";;", ";").iterator();
+        assertFalse(empty.hasNext());
+        assertThrows(NoSuchElementException.class, empty::next);
+    }
+
+    @Test void testCharBufferSource() {
+        CharBuffer buffer = CharBuffer.wrap("skip uniform vec4 color".toCharArray());
+        buffer.position(5);
+
+        List<String> tokens = new Tokenizer(buffer, " ").stream()
+                .map(CharSequence::toString).collect(Collectors.toList());
+        assertEquals(List.of("uniform", "vec4", "color"), tokens);
+    }
+
+    @Test void testSliceBounds() {
+        CharSlice slice = new CharSlice("engine", 1, 5);
+
+        assertEquals("ngin", slice.toString());
+        assertEquals("gi", slice.subSequence(1, 3).toString());
+        assertEquals('n', slice.charAt(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> slice.charAt(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> new CharSlice("abc", 2, 4));
+        assertThrows(IllegalArgumentException.class, () -> new Tokenizer("abc", ""));
+    }
+}
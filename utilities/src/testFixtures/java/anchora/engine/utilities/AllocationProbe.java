@@ -0,0 +1,25 @@
+package anchora.engine.utilities;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Counts the bytes the calling thread allocates, for tests that check a hot
+ * path reaches a steady state with no garbage. Needs a JVM with HotSpot's
+ * {@code com.sun.management} extensions, which every supported one has.
+ */
+public final class AllocationProbe {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private AllocationProbe() {
+    }
+
+    /**
+     * @return The bytes allocated by the calling thread so far. Only the
+     *         difference between two calls is meaningful.
+     */
+    public static long allocatedBytes() {
+        return THREADS.getCurrentThreadAllocatedBytes();
+    }
+}